@@ -35,6 +35,11 @@ public class AuthConfig {
      */
     private String token;
 
+    /**
+     * The provider which keeps the token up to date or null if the token doesn't change.
+     */
+    private TokenProvider tokenProvider;
+
     /**
      * Creates a empty auth config for a cloud which doesn't require authorization.
      */
@@ -114,4 +119,22 @@ public class AuthConfig {
     public void setToken(String token) {
         this.token = token;
     }
+
+    /**
+     * Returns the provider which keeps the token up to date.
+     *
+     * @return The token provider or null if the token doesn't change.
+     */
+    public TokenProvider getTokenProvider() {
+        return tokenProvider;
+    }
+
+    /**
+     * Sets the provider which keeps the token up to date. If it's set, it's used instead of the token.
+     *
+     * @param tokenProvider The token provider.
+     */
+    public void setTokenProvider(TokenProvider tokenProvider) {
+        this.tokenProvider = tokenProvider;
+    }
 }
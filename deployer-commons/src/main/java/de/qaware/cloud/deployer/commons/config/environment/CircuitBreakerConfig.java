@@ -0,0 +1,144 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.config.environment;
+
+/**
+ * Represents the policy which defines when calls to a environment are rejected because the environment is unhealthy.
+ * The outcomes of the last calls are tracked, a call fails if the server couldn't be reached, answered with a server
+ * error or took too long. If too many of them failed, all further calls are rejected immediately until a probe call
+ * succeeds.
+ */
+public class CircuitBreakerConfig {
+
+    /**
+     * The default number of calls whose outcomes are tracked.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 20;
+
+    /**
+     * The default number of calls which have to be tracked before the circuit may open.
+     */
+    public static final int DEFAULT_MINIMUM_CALLS = 10;
+
+    /**
+     * The default fraction of failed calls which opens the circuit.
+     */
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+
+    /**
+     * The default duration in milliseconds after which a call counts as failed.
+     */
+    public static final long DEFAULT_SLOW_CALL_DURATION = 20000;
+
+    /**
+     * The default duration in milliseconds the circuit stays open before a probe call is allowed.
+     */
+    public static final long DEFAULT_OPEN_DURATION = 30000;
+
+    /**
+     * The number of calls whose outcomes are tracked.
+     */
+    private final int windowSize;
+
+    /**
+     * The number of calls which have to be tracked before the circuit may open.
+     */
+    private final int minimumCalls;
+
+    /**
+     * The fraction of failed calls which opens the circuit.
+     */
+    private final double failureRateThreshold;
+
+    /**
+     * The duration in milliseconds after which a call counts as failed.
+     */
+    private final long slowCallDuration;
+
+    /**
+     * The duration in milliseconds the circuit stays open before a probe call is allowed.
+     */
+    private final long openDuration;
+
+    /**
+     * Creates a default circuit breaker config.
+     */
+    public CircuitBreakerConfig() {
+        this(DEFAULT_WINDOW_SIZE, DEFAULT_MINIMUM_CALLS, DEFAULT_FAILURE_RATE_THRESHOLD, DEFAULT_SLOW_CALL_DURATION, DEFAULT_OPEN_DURATION);
+    }
+
+    /**
+     * Creates a new circuit breaker config.
+     *
+     * @param windowSize           The number of calls whose outcomes are tracked.
+     * @param minimumCalls         The number of calls which have to be tracked before the circuit may open.
+     * @param failureRateThreshold The fraction (0 to 1) of failed calls which opens the circuit.
+     * @param slowCallDuration     The duration in milliseconds after which a call counts as failed.
+     * @param openDuration         The duration in milliseconds the circuit stays open before a probe call is allowed.
+     */
+    public CircuitBreakerConfig(int windowSize, int minimumCalls, double failureRateThreshold, long slowCallDuration, long openDuration) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallDuration = slowCallDuration;
+        this.openDuration = openDuration;
+    }
+
+    /**
+     * Returns the number of calls whose outcomes are tracked.
+     *
+     * @return The window size.
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Returns the number of calls which have to be tracked before the circuit may open.
+     *
+     * @return The minimum number of calls.
+     */
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    /**
+     * Returns the fraction of failed calls which opens the circuit.
+     *
+     * @return The failure rate threshold.
+     */
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    /**
+     * Returns the duration in milliseconds after which a call counts as failed.
+     *
+     * @return The slow call duration.
+     */
+    public long getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    /**
+     * Returns the duration in milliseconds the circuit stays open before a probe call is allowed.
+     *
+     * @return The open duration.
+     */
+    public long getOpenDuration() {
+        return openDuration;
+    }
+}
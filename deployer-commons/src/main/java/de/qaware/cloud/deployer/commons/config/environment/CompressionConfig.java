@@ -0,0 +1,79 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.config.environment;
+
+/**
+ * Represents the compression of the requests to a environment. If it's enabled, request bodies which reach the
+ * threshold are gzip-encoded. The backend has to accept gzip-encoded request bodies.
+ */
+public class CompressionConfig {
+
+    /**
+     * The default value for the compression - it's disabled.
+     */
+    public static final boolean DEFAULT_ENABLED = false;
+
+    /**
+     * The default size in bytes a request body needs to be compressed.
+     */
+    public static final long DEFAULT_THRESHOLD = 1024;
+
+    /**
+     * Indicates whether request bodies are compressed.
+     */
+    private final boolean enabled;
+
+    /**
+     * The size in bytes a request body needs to be compressed.
+     */
+    private final long threshold;
+
+    /**
+     * Creates a default compression config which doesn't compress the requests.
+     */
+    public CompressionConfig() {
+        this(DEFAULT_ENABLED, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates a new compression config.
+     *
+     * @param enabled   Indicates whether request bodies are compressed.
+     * @param threshold The size in bytes a request body needs to be compressed.
+     */
+    public CompressionConfig(boolean enabled, long threshold) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Indicates whether request bodies are compressed.
+     *
+     * @return TRUE if request bodies are compressed, FALSE otherwise.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the size in bytes a request body needs to be compressed.
+     *
+     * @return The threshold.
+     */
+    public long getThreshold() {
+        return threshold;
+    }
+}
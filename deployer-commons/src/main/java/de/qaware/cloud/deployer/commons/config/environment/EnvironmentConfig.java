@@ -17,6 +17,9 @@ package de.qaware.cloud.deployer.commons.config.environment;
 
 import de.qaware.cloud.deployer.commons.strategy.Strategy;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Represents a configuration for a environment.
  */
@@ -47,6 +50,46 @@ public class EnvironmentConfig {
      */
     private SSLConfig sslConfig;
 
+    /**
+     * The execution configuration for this environment.
+     */
+    private ExecutionConfig executionConfig = new ExecutionConfig();
+
+    /**
+     * The wait configuration which is used for all resource types without a own profile.
+     */
+    private WaitConfig waitConfig = new WaitConfig();
+
+    /**
+     * The retry configuration for this environment.
+     */
+    private RetryConfig retryConfig = new RetryConfig();
+
+    /**
+     * The circuit breaker configuration for this environment.
+     */
+    private CircuitBreakerConfig circuitBreakerConfig = new CircuitBreakerConfig();
+
+    /**
+     * The rate limit configuration for this environment.
+     */
+    private RateLimitConfig rateLimitConfig = new RateLimitConfig();
+
+    /**
+     * The compression configuration for this environment.
+     */
+    private CompressionConfig compressionConfig = new CompressionConfig();
+
+    /**
+     * The http client tuning for this environment.
+     */
+    private HttpConfig httpConfig = new HttpConfig();
+
+    /**
+     * The wait configurations for special resource types mapped by the resource type.
+     */
+    private Map<String, WaitConfig> waitProfiles = new HashMap<>();
+
     /**
      * Creates a new environment config.
      *
@@ -122,4 +165,160 @@ public class EnvironmentConfig {
     public void setSslConfig(SSLConfig sslConfig) {
         this.sslConfig = sslConfig;
     }
+
+    /**
+     * Returns the environment's execution config.
+     *
+     * @return The environment's execution config.
+     */
+    public ExecutionConfig getExecutionConfig() {
+        return executionConfig;
+    }
+
+    /**
+     * Sets the environment's execution config.
+     *
+     * @param executionConfig The environment's execution config.
+     */
+    public void setExecutionConfig(ExecutionConfig executionConfig) {
+        this.executionConfig = executionConfig;
+    }
+
+    /**
+     * Returns the environment's default wait config.
+     *
+     * @return The environment's default wait config.
+     */
+    public WaitConfig getWaitConfig() {
+        return waitConfig;
+    }
+
+    /**
+     * Sets the environment's default wait config.
+     *
+     * @param waitConfig The environment's default wait config.
+     */
+    public void setWaitConfig(WaitConfig waitConfig) {
+        this.waitConfig = waitConfig;
+    }
+
+    /**
+     * Returns the wait configs for special resource types mapped by the resource type.
+     *
+     * @return The wait profiles.
+     */
+    public Map<String, WaitConfig> getWaitProfiles() {
+        return waitProfiles;
+    }
+
+    /**
+     * Sets the wait configs for special resource types mapped by the resource type.
+     *
+     * @param waitProfiles The wait profiles.
+     */
+    public void setWaitProfiles(Map<String, WaitConfig> waitProfiles) {
+        this.waitProfiles = waitProfiles;
+    }
+
+    /**
+     * Returns the wait config for the specified resource type. If there is no profile for the type, the default wait
+     * config is returned.
+     *
+     * @param resourceType The resource type (e.g. Deployment or App).
+     * @return The wait config for the resource type.
+     */
+    public WaitConfig getWaitConfig(String resourceType) {
+        WaitConfig profile = waitProfiles.get(resourceType);
+        return profile != null ? profile : waitConfig;
+    }
+
+    /**
+     * Returns the environment's retry config.
+     *
+     * @return The environment's retry config.
+     */
+    public RetryConfig getRetryConfig() {
+        return retryConfig;
+    }
+
+    /**
+     * Sets the environment's retry config.
+     *
+     * @param retryConfig The environment's retry config.
+     */
+    public void setRetryConfig(RetryConfig retryConfig) {
+        this.retryConfig = retryConfig;
+    }
+
+    /**
+     * Returns the environment's circuit breaker config.
+     *
+     * @return The environment's circuit breaker config.
+     */
+    public CircuitBreakerConfig getCircuitBreakerConfig() {
+        return circuitBreakerConfig;
+    }
+
+    /**
+     * Sets the environment's circuit breaker config.
+     *
+     * @param circuitBreakerConfig The environment's circuit breaker config.
+     */
+    public void setCircuitBreakerConfig(CircuitBreakerConfig circuitBreakerConfig) {
+        this.circuitBreakerConfig = circuitBreakerConfig;
+    }
+
+    /**
+     * Returns the environment's rate limit config.
+     *
+     * @return The environment's rate limit config.
+     */
+    public RateLimitConfig getRateLimitConfig() {
+        return rateLimitConfig;
+    }
+
+    /**
+     * Sets the environment's rate limit config.
+     *
+     * @param rateLimitConfig The environment's rate limit config.
+     */
+    public void setRateLimitConfig(RateLimitConfig rateLimitConfig) {
+        this.rateLimitConfig = rateLimitConfig;
+    }
+
+    /**
+     * Returns the environment's compression config.
+     *
+     * @return The environment's compression config.
+     */
+    public CompressionConfig getCompressionConfig() {
+        return compressionConfig;
+    }
+
+    /**
+     * Sets the environment's compression config.
+     *
+     * @param compressionConfig The environment's compression config.
+     */
+    public void setCompressionConfig(CompressionConfig compressionConfig) {
+        this.compressionConfig = compressionConfig;
+    }
+
+    /**
+     * Returns the environment's http config.
+     *
+     * @return The environment's http config.
+     */
+    public HttpConfig getHttpConfig() {
+        return httpConfig;
+    }
+
+    /**
+     * Sets the environment's http config.
+     *
+     * @param httpConfig The environment's http config.
+     */
+    public void setHttpConfig(HttpConfig httpConfig) {
+        this.httpConfig = httpConfig;
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.config.environment;
+
+/**
+ * Represents the configuration which defines how the resources of a environment are processed.
+ */
+public class ExecutionConfig {
+
+    /**
+     * The default number of resources which are processed at the same time.
+     */
+    public static final int DEFAULT_PARALLELISM = 1;
+
+    /**
+     * The number of resources which are processed at the same time.
+     */
+    private final int parallelism;
+
+    /**
+     * Indicates whether all existing resources are deleted before the first resource is created (replace only).
+     */
+    private final boolean deleteBeforeCreate;
+
+    /**
+     * Creates a default execution config which processes all resources one after another.
+     */
+    public ExecutionConfig() {
+        this(DEFAULT_PARALLELISM, false);
+    }
+
+    /**
+     * Creates a new execution config.
+     *
+     * @param parallelism        The number of resources which are processed at the same time.
+     * @param deleteBeforeCreate Indicates whether all deletions finish before the first creation starts.
+     */
+    public ExecutionConfig(int parallelism, boolean deleteBeforeCreate) {
+        this.parallelism = parallelism;
+        this.deleteBeforeCreate = deleteBeforeCreate;
+    }
+
+    /**
+     * Returns the number of resources which are processed at the same time.
+     *
+     * @return The parallelism.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Indicates whether all resources are processed one after another.
+     *
+     * @return TRUE if the resources are processed sequentially, FALSE otherwise.
+     */
+    public boolean isSequential() {
+        return parallelism <= 1;
+    }
+
+    /**
+     * Indicates whether all deletions finish before the first creation starts.
+     *
+     * @return TRUE if deletions and creations are separated, FALSE otherwise.
+     */
+    public boolean isDeleteBeforeCreate() {
+        return deleteBeforeCreate;
+    }
+}
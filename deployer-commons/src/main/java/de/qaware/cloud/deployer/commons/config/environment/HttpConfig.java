@@ -0,0 +1,290 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.config.environment;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents the tuning of the http client which talks to a environment. It specifies the connection pool, the
+ * dispatcher limits, the protocols, the timeouts and the size of the tls session cache.
+ */
+public class HttpConfig {
+
+    /**
+     * The name of the http/1.1 protocol.
+     */
+    public static final String PROTOCOL_HTTP_1_1 = "http/1.1";
+
+    /**
+     * The name of the http/2 protocol.
+     */
+    public static final String PROTOCOL_HTTP_2 = "h2";
+
+    /**
+     * The default number of idle connections which are kept in the pool.
+     */
+    public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+
+    /**
+     * The default duration in milliseconds an idle connection is kept alive.
+     */
+    public static final long DEFAULT_KEEP_ALIVE_DURATION = 300000;
+
+    /**
+     * The default number of requests which are executed concurrently.
+     */
+    public static final int DEFAULT_MAX_REQUESTS = 64;
+
+    /**
+     * The default number of requests which are executed concurrently for one host.
+     */
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 5;
+
+    /**
+     * The default protocols - http/2 is used if the server supports it.
+     */
+    public static final List<String> DEFAULT_PROTOCOLS = Collections.unmodifiableList(Arrays.asList(PROTOCOL_HTTP_2, PROTOCOL_HTTP_1_1));
+
+    /**
+     * The default duration in milliseconds after which connecting times out.
+     */
+    public static final long DEFAULT_CONNECT_TIMEOUT = 10000;
+
+    /**
+     * The default duration in milliseconds after which reading times out.
+     */
+    public static final long DEFAULT_READ_TIMEOUT = 10000;
+
+    /**
+     * The default duration in milliseconds after which writing times out.
+     */
+    public static final long DEFAULT_WRITE_TIMEOUT = 10000;
+
+    /**
+     * The default duration in milliseconds after which a whole call times out - 0 means calls don't time out.
+     */
+    public static final long DEFAULT_CALL_TIMEOUT = 0;
+
+    /**
+     * The default number of cached tls sessions - 0 means the platform's default is used.
+     */
+    public static final int DEFAULT_TLS_SESSION_CACHE_SIZE = 0;
+
+    /**
+     * The number of idle connections which are kept in the pool.
+     */
+    private final int maxIdleConnections;
+
+    /**
+     * The duration in milliseconds an idle connection is kept alive.
+     */
+    private final long keepAliveDuration;
+
+    /**
+     * The number of requests which are executed concurrently.
+     */
+    private final int maxRequests;
+
+    /**
+     * The number of requests which are executed concurrently for one host.
+     */
+    private final int maxRequestsPerHost;
+
+    /**
+     * The protocols which may be used, in order of preference.
+     */
+    private final List<String> protocols;
+
+    /**
+     * The duration in milliseconds after which connecting times out.
+     */
+    private final long connectTimeout;
+
+    /**
+     * The duration in milliseconds after which reading times out.
+     */
+    private final long readTimeout;
+
+    /**
+     * The duration in milliseconds after which writing times out.
+     */
+    private final long writeTimeout;
+
+    /**
+     * The duration in milliseconds after which a whole call times out.
+     */
+    private final long callTimeout;
+
+    /**
+     * The number of cached tls sessions.
+     */
+    private final int tlsSessionCacheSize;
+
+    /**
+     * Creates a default http config.
+     */
+    public HttpConfig() {
+        this(DEFAULT_MAX_IDLE_CONNECTIONS, DEFAULT_KEEP_ALIVE_DURATION, DEFAULT_MAX_REQUESTS, DEFAULT_MAX_REQUESTS_PER_HOST, DEFAULT_PROTOCOLS,
+                DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT, DEFAULT_WRITE_TIMEOUT, DEFAULT_CALL_TIMEOUT, DEFAULT_TLS_SESSION_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a new http config.
+     *
+     * @param maxIdleConnections  The number of idle connections which are kept in the pool.
+     * @param keepAliveDuration   The duration in milliseconds an idle connection is kept alive.
+     * @param maxRequests         The number of requests which are executed concurrently.
+     * @param maxRequestsPerHost  The number of requests which are executed concurrently for one host.
+     * @param protocols           The protocols which may be used, in order of preference.
+     * @param connectTimeout      The duration in milliseconds after which connecting times out (0 means never).
+     * @param readTimeout         The duration in milliseconds after which reading times out (0 means never).
+     * @param writeTimeout        The duration in milliseconds after which writing times out (0 means never).
+     * @param callTimeout         The duration in milliseconds after which a whole call times out (0 means never).
+     * @param tlsSessionCacheSize The number of cached tls sessions (0 means the platform's default).
+     */
+    public HttpConfig(int maxIdleConnections, long keepAliveDuration, int maxRequests, int maxRequestsPerHost, List<String> protocols,
+                      long connectTimeout, long readTimeout, long writeTimeout, long callTimeout, int tlsSessionCacheSize) {
+        this.maxIdleConnections = maxIdleConnections;
+        this.keepAliveDuration = keepAliveDuration;
+        this.maxRequests = maxRequests;
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        this.protocols = Collections.unmodifiableList(Arrays.asList(protocols.toArray(new String[protocols.size()])));
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.writeTimeout = writeTimeout;
+        this.callTimeout = callTimeout;
+        this.tlsSessionCacheSize = tlsSessionCacheSize;
+    }
+
+    /**
+     * Returns the number of idle connections which are kept in the pool.
+     *
+     * @return The maximum number of idle connections.
+     */
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    /**
+     * Returns the duration in milliseconds an idle connection is kept alive.
+     *
+     * @return The keep-alive duration.
+     */
+    public long getKeepAliveDuration() {
+        return keepAliveDuration;
+    }
+
+    /**
+     * Returns the number of requests which are executed concurrently.
+     *
+     * @return The maximum number of requests.
+     */
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    /**
+     * Returns the number of requests which are executed concurrently for one host.
+     *
+     * @return The maximum number of requests per host.
+     */
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    /**
+     * Returns the protocols which may be used, in order of preference.
+     *
+     * @return The protocols.
+     */
+    public List<String> getProtocols() {
+        return protocols;
+    }
+
+    /**
+     * Returns the duration in milliseconds after which connecting times out.
+     *
+     * @return The connect timeout.
+     */
+    public long getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * Returns the duration in milliseconds after which reading times out.
+     *
+     * @return The read timeout.
+     */
+    public long getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * Returns the duration in milliseconds after which writing times out.
+     *
+     * @return The write timeout.
+     */
+    public long getWriteTimeout() {
+        return writeTimeout;
+    }
+
+    /**
+     * Returns the duration in milliseconds after which a whole call times out.
+     *
+     * @return The call timeout.
+     */
+    public long getCallTimeout() {
+        return callTimeout;
+    }
+
+    /**
+     * Returns the number of cached tls sessions.
+     *
+     * @return The tls session cache size.
+     */
+    public int getTlsSessionCacheSize() {
+        return tlsSessionCacheSize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        HttpConfig that = (HttpConfig) o;
+        return maxIdleConnections == that.maxIdleConnections &&
+                keepAliveDuration == that.keepAliveDuration &&
+                maxRequests == that.maxRequests &&
+                maxRequestsPerHost == that.maxRequestsPerHost &&
+                connectTimeout == that.connectTimeout &&
+                readTimeout == that.readTimeout &&
+                writeTimeout == that.writeTimeout &&
+                callTimeout == that.callTimeout &&
+                tlsSessionCacheSize == that.tlsSessionCacheSize &&
+                Objects.equals(protocols, that.protocols);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxIdleConnections, keepAliveDuration, maxRequests, maxRequestsPerHost, protocols, connectTimeout, readTimeout, writeTimeout, callTimeout, tlsSessionCacheSize);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.config.environment;
+
+/**
+ * Represents the limit of the request rate to a environment. It's enforced by a token bucket which is refilled with
+ * the configured number of requests per second and holds up to burst requests.
+ */
+public class RateLimitConfig {
+
+    /**
+     * The default number of requests per second - 0 means unlimited.
+     */
+    public static final double DEFAULT_QPS = 0;
+
+    /**
+     * The default number of requests which may be sent at once.
+     */
+    public static final int DEFAULT_BURST = 10;
+
+    /**
+     * The number of requests per second - 0 means unlimited.
+     */
+    private final double qps;
+
+    /**
+     * The number of requests which may be sent at once.
+     */
+    private final int burst;
+
+    /**
+     * Creates a default rate limit config which doesn't limit the requests.
+     */
+    public RateLimitConfig() {
+        this(DEFAULT_QPS, DEFAULT_BURST);
+    }
+
+    /**
+     * Creates a new rate limit config.
+     *
+     * @param qps   The number of requests per second - 0 means unlimited.
+     * @param burst The number of requests which may be sent at once.
+     */
+    public RateLimitConfig(double qps, int burst) {
+        this.qps = qps;
+        this.burst = burst;
+    }
+
+    /**
+     * Returns the number of requests per second - 0 means unlimited.
+     *
+     * @return The number of requests per second.
+     */
+    public double getQps() {
+        return qps;
+    }
+
+    /**
+     * Returns the number of requests which may be sent at once.
+     *
+     * @return The burst.
+     */
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * Indicates whether the requests are limited.
+     *
+     * @return TRUE if the requests are limited, FALSE otherwise.
+     */
+    public boolean isLimited() {
+        return qps > 0;
+    }
+}
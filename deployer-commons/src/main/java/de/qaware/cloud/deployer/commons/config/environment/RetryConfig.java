@@ -0,0 +1,164 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.config.environment;
+
+/**
+ * Represents the policy which defines how calls which failed because of a busy or failing server are retried. The
+ * delay between two attempts grows exponentially with a random jitter. A budget limits the number of retries of all
+ * calls of a deploy run, so a unhealthy server can't multiply the duration of the run.
+ */
+public class RetryConfig {
+
+    /**
+     * The default maximum number of attempts of a single call (including the first one).
+     */
+    public static final int DEFAULT_MAX_ATTEMPTS = 4;
+
+    /**
+     * The default delay in milliseconds before the first retry.
+     */
+    public static final long DEFAULT_INITIAL_DELAY = 1000;
+
+    /**
+     * The default maximum delay in milliseconds before a retry.
+     */
+    public static final long DEFAULT_MAX_DELAY = 30000;
+
+    /**
+     * The default factor the delay grows with after every retry.
+     */
+    public static final double DEFAULT_MULTIPLIER = 2;
+
+    /**
+     * The default fraction by which a delay is randomly increased or decreased.
+     */
+    public static final double DEFAULT_JITTER = 0.2;
+
+    /**
+     * The default maximum number of retries of all calls of a deploy run.
+     */
+    public static final int DEFAULT_BUDGET = 20;
+
+    /**
+     * The maximum number of attempts of a single call (including the first one).
+     */
+    private final int maxAttempts;
+
+    /**
+     * The delay in milliseconds before the first retry.
+     */
+    private final long initialDelay;
+
+    /**
+     * The maximum delay in milliseconds before a retry.
+     */
+    private final long maxDelay;
+
+    /**
+     * The factor the delay grows with after every retry.
+     */
+    private final double multiplier;
+
+    /**
+     * The fraction by which a delay is randomly increased or decreased.
+     */
+    private final double jitter;
+
+    /**
+     * The maximum number of retries of all calls of a deploy run.
+     */
+    private final int budget;
+
+    /**
+     * Creates a default retry config.
+     */
+    public RetryConfig() {
+        this(DEFAULT_MAX_ATTEMPTS, DEFAULT_INITIAL_DELAY, DEFAULT_MAX_DELAY, DEFAULT_MULTIPLIER, DEFAULT_JITTER, DEFAULT_BUDGET);
+    }
+
+    /**
+     * Creates a new retry config.
+     *
+     * @param maxAttempts  The maximum number of attempts of a single call (including the first one).
+     * @param initialDelay The delay in milliseconds before the first retry.
+     * @param maxDelay     The maximum delay in milliseconds before a retry.
+     * @param multiplier   The factor the delay grows with after every retry.
+     * @param jitter       The fraction (0 to 1) by which a delay is randomly increased or decreased.
+     * @param budget       The maximum number of retries of all calls of a deploy run.
+     */
+    public RetryConfig(int maxAttempts, long initialDelay, long maxDelay, double multiplier, double jitter, int budget) {
+        this.maxAttempts = maxAttempts;
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+        this.budget = budget;
+    }
+
+    /**
+     * Returns the maximum number of attempts of a single call (including the first one).
+     *
+     * @return The maximum number of attempts.
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Returns the delay in milliseconds before the first retry.
+     *
+     * @return The initial delay.
+     */
+    public long getInitialDelay() {
+        return initialDelay;
+    }
+
+    /**
+     * Returns the maximum delay in milliseconds before a retry.
+     *
+     * @return The maximum delay.
+     */
+    public long getMaxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * Returns the factor the delay grows with after every retry.
+     *
+     * @return The multiplier.
+     */
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    /**
+     * Returns the fraction by which a delay is randomly increased or decreased.
+     *
+     * @return The jitter.
+     */
+    public double getJitter() {
+        return jitter;
+    }
+
+    /**
+     * Returns the maximum number of retries of all calls of a deploy run.
+     *
+     * @return The retry budget.
+     */
+    public int getBudget() {
+        return budget;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.config.environment;
+
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+
+/**
+ * Provides a token which may expire and be refreshed while the deployment is running.
+ */
+public interface TokenProvider {
+
+    /**
+     * Returns a valid token. It's retrieved if there's no token yet or the current token expired.
+     *
+     * @return The token.
+     * @throws ResourceException If the token can't be retrieved.
+     */
+    String getToken() throws ResourceException;
+
+    /**
+     * Replaces the specified token which was rejected by the server. If the token was already replaced in the
+     * meantime, the current token is returned without retrieving a new one.
+     *
+     * @param rejectedToken The token which was rejected or null if it's unknown.
+     * @return The new token.
+     * @throws ResourceException If the token can't be retrieved.
+     */
+    String refreshToken(String rejectedToken) throws ResourceException;
+}
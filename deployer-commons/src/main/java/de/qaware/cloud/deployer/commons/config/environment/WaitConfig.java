@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.config.environment;
+
+/**
+ * Represents the policy which defines how long and how often the state of a resource is checked while waiting for a
+ * backend operation to finish. The delay between two checks starts at the initial delay and grows exponentially until
+ * it reaches the maximum delay. A random jitter is applied to every delay to spread the checks of concurrent waits.
+ */
+public class WaitConfig {
+
+    /**
+     * The default delay in milliseconds before the second check.
+     */
+    public static final long DEFAULT_INITIAL_DELAY = 100;
+
+    /**
+     * The default maximum delay in milliseconds between two checks.
+     */
+    public static final long DEFAULT_MAX_DELAY = 5000;
+
+    /**
+     * The default factor the delay grows with after every check.
+     */
+    public static final double DEFAULT_MULTIPLIER = 2;
+
+    /**
+     * The default fraction by which a delay is randomly increased or decreased.
+     */
+    public static final double DEFAULT_JITTER = 0.2;
+
+    /**
+     * The default maximum duration in milliseconds of a wait.
+     */
+    public static final long DEFAULT_TIMEOUT = 300000;
+
+    /**
+     * The delay in milliseconds before the second check.
+     */
+    private final long initialDelay;
+
+    /**
+     * The maximum delay in milliseconds between two checks.
+     */
+    private final long maxDelay;
+
+    /**
+     * The factor the delay grows with after every check.
+     */
+    private final double multiplier;
+
+    /**
+     * The fraction by which a delay is randomly increased or decreased.
+     */
+    private final double jitter;
+
+    /**
+     * The maximum duration in milliseconds of a wait.
+     */
+    private final long timeout;
+
+    /**
+     * Creates a default wait config.
+     */
+    public WaitConfig() {
+        this(DEFAULT_INITIAL_DELAY, DEFAULT_MAX_DELAY, DEFAULT_MULTIPLIER, DEFAULT_JITTER, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Creates a new wait config.
+     *
+     * @param initialDelay The delay in milliseconds before the second check.
+     * @param maxDelay     The maximum delay in milliseconds between two checks.
+     * @param multiplier   The factor the delay grows with after every check.
+     * @param jitter       The fraction (0 to 1) by which a delay is randomly increased or decreased.
+     * @param timeout      The maximum duration in milliseconds of a wait.
+     */
+    public WaitConfig(long initialDelay, long maxDelay, double multiplier, double jitter, long timeout) {
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Returns the delay in milliseconds before the second check.
+     *
+     * @return The initial delay.
+     */
+    public long getInitialDelay() {
+        return initialDelay;
+    }
+
+    /**
+     * Returns the maximum delay in milliseconds between two checks.
+     *
+     * @return The maximum delay.
+     */
+    public long getMaxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * Returns the factor the delay grows with after every check.
+     *
+     * @return The multiplier.
+     */
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    /**
+     * Returns the fraction by which a delay is randomly increased or decreased.
+     *
+     * @return The jitter.
+     */
+    public double getJitter() {
+        return jitter;
+    }
+
+    /**
+     * Returns the maximum duration in milliseconds of a wait.
+     *
+     * @return The timeout.
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+}
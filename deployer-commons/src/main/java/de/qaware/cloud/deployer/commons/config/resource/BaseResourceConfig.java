@@ -15,10 +15,19 @@
  */
 package de.qaware.cloud.deployer.commons.config.resource;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import de.qaware.cloud.deployer.commons.config.util.ContentTreeUtil;
+import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
+
+import java.nio.charset.StandardCharsets;
+
 import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
 
 /**
- * Represents a basic resource config which contains common fields independent of the target cloud system.
+ * Represents a basic resource config which contains common fields independent of the target cloud system. The content
+ * is kept as utf-8 encoded slice of the file buffer which is sent without further copies. It's parsed at most once,
+ * the parsed document and its json representation are cached until the content changes. Once the resource has been
+ * applied, the content is released using {@link #releaseContent()}.
  */
 public abstract class BaseResourceConfig {
 
@@ -38,9 +47,19 @@ public abstract class BaseResourceConfig {
     private String resourceId;
 
     /**
-     * The config file content.
+     * The utf-8 encoded config file content. It's shared with the request bodies and the other configs of the file.
+     */
+    private ConfigContent content;
+
+    /**
+     * The parsed content. It's created on first use and is shared, so it must not be modified.
+     */
+    private JsonNode objectTree;
+
+    /**
+     * The json representation of the content. It's created on first use.
      */
-    private String content;
+    private byte[] jsonContent;
 
     /**
      * Creates a new base resource config.
@@ -50,9 +69,37 @@ public abstract class BaseResourceConfig {
      * @param content     The content of the config file.
      */
     public BaseResourceConfig(String filename, ContentType contentType, String content) {
-        this.filename = filename;
-        this.content = content;
+        this(filename, contentType, content, null);
+    }
+
+    /**
+     * Creates a new base resource config whose content has already been parsed.
+     *
+     * @param filename    The name of the file this config belongs to.
+     * @param contentType The content type of the file.
+     * @param content     The content of the config file.
+     * @param objectTree  The parsed content or null if it should be parsed on first use. It must not be modified
+     *                    afterwards.
+     */
+    public BaseResourceConfig(String filename, ContentType contentType, String content, JsonNode objectTree) {
+        this(filename, contentType, encode(content), objectTree);
+    }
+
+    /**
+     * Creates a new base resource config using the utf-8 encoded content. The filename is interned, because all
+     * configs of a file share it.
+     *
+     * @param filename    The name of the file this config belongs to.
+     * @param contentType The content type of the file.
+     * @param content     The utf-8 encoded content of the config file.
+     * @param objectTree  The parsed content or null if it should be parsed on first use. It must not be modified
+     *                    afterwards.
+     */
+    public BaseResourceConfig(String filename, ContentType contentType, ConfigContent content, JsonNode objectTree) {
+        this.filename = filename == null ? null : filename.intern();
+        this.content = content == null ? ConfigContent.EMPTY : content;
         this.contentType = contentType;
+        this.objectTree = objectTree;
     }
 
     /**
@@ -92,21 +139,101 @@ public abstract class BaseResourceConfig {
     }
 
     /**
-     * Returns the content.
+     * Returns the content. It's decoded on every call, use {@link #getContentBytes()} to avoid the copy.
      *
      * @return The content.
      */
-    public String getContent() {
+    public synchronized String getContent() {
+        return content.toString();
+    }
+
+    /**
+     * Returns the utf-8 encoded content. The returned array may be shared and must not be modified, use
+     * {@link #getConfigContent()} to avoid the copy of a slice.
+     *
+     * @return The encoded content.
+     */
+    public synchronized byte[] getContentBytes() {
+        return content.toByteArray();
+    }
+
+    /**
+     * Returns the utf-8 encoded content as slice of the shared buffer.
+     *
+     * @return The encoded content.
+     */
+    public synchronized ConfigContent getConfigContent() {
         return content;
     }
 
     /**
-     * Sets the content.
+     * Sets the content. The cached document and json representation are discarded.
      *
      * @param content The content.
      */
-    public void setContent(String content) {
-        this.content = content;
+    public synchronized void setContent(String content) {
+        this.content = encode(content);
+        this.objectTree = null;
+        this.jsonContent = null;
+    }
+
+    /**
+     * Returns the parsed content. The content is parsed on first use only. The returned document is shared and must
+     * not be modified - modify a copy and set it using {@link #setObjectTree(JsonNode)} instead.
+     *
+     * @return The parsed content.
+     * @throws ResourceConfigException If the content is empty or can't be parsed.
+     */
+    public synchronized JsonNode getObjectTree() throws ResourceConfigException {
+        if (objectTree == null) {
+            objectTree = ContentTreeUtil.createObjectTree(contentType, content);
+        }
+        return objectTree;
+    }
+
+    /**
+     * Replaces the content with the specified document. The content is written in the config's content type once.
+     *
+     * @param objectTree The new document. It must not be modified afterwards.
+     * @throws ResourceConfigException If the document can't be written.
+     */
+    public synchronized void setObjectTree(JsonNode objectTree) throws ResourceConfigException {
+        this.content = new ConfigContent(ContentTreeUtil.writeAsBytes(contentType, objectTree));
+        this.objectTree = objectTree;
+        this.jsonContent = null;
+    }
+
+    /**
+     * Returns the json representation of the content. It's written on first use only.
+     *
+     * @return The utf-8 encoded json representation.
+     * @throws ResourceConfigException If the content can't be parsed or written.
+     */
+    public synchronized byte[] getJsonContent() throws ResourceConfigException {
+        if (jsonContent == null) {
+            jsonContent = ContentTreeUtil.writeAsBytes(ContentType.JSON, getObjectTree());
+        }
+        return jsonContent;
+    }
+
+    /**
+     * Releases the content, the parsed document and the json representation once they aren't needed anymore (e.g.
+     * after the resource has been applied). The filename and the resource's id are kept for logging.
+     */
+    public synchronized void releaseContent() {
+        this.content = ConfigContent.EMPTY;
+        this.objectTree = null;
+        this.jsonContent = null;
+    }
+
+    /**
+     * Encodes the specified content using utf-8.
+     *
+     * @param content The content to encode.
+     * @return The encoded content or the empty content if the content is null.
+     */
+    protected static ConfigContent encode(String content) {
+        return content == null ? ConfigContent.EMPTY : new ConfigContent(content.getBytes(StandardCharsets.UTF_8));
     }
 
     @Override
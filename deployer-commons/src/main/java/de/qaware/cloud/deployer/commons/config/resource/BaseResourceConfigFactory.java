@@ -15,13 +15,20 @@
  */
 package de.qaware.cloud.deployer.commons.config.resource;
 
+import de.qaware.cloud.deployer.commons.config.environment.ExecutionConfig;
 import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
 import org.apache.commons.io.FilenameUtils;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 
+import static de.qaware.cloud.deployer.commons.error.ErrorAggregationUtil.assertNoErrors;
 import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
 
 /**
@@ -32,18 +39,56 @@ import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMM
 public abstract class BaseResourceConfigFactory<ConfigType extends BaseResourceConfig> {
 
     /**
-     * Creates a list of config objects out of the specified list of files.
+     * The number of files which are read and parsed at the same time.
+     */
+    private final int parallelism;
+
+    /**
+     * Creates a new factory which reads and parses the files one after another.
+     */
+    public BaseResourceConfigFactory() {
+        this(ExecutionConfig.DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Creates a new factory which reads and parses up to the specified number of files at the same time.
+     *
+     * @param parallelism The number of files which are read and parsed at the same time.
+     */
+    public BaseResourceConfigFactory(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Creates a list of config objects out of the specified list of files. The configs are returned in the order of
+     * the files, even if the files are read and parsed in parallel.
      *
      * @param files The files which are the sources for the configs.
      * @return The created configs.
-     * @throws ResourceConfigException If an error during config creation occurs.
+     * @throws ResourceConfigException If an error during config creation occurs. If multiple files couldn't be
+     *                                 read in parallel mode, all errors are referenced as suppressed exceptions.
      */
     public List<ConfigType> createConfigs(List<File> files) throws ResourceConfigException {
-        List<ConfigType> resourceConfigs = new ArrayList<>();
-        for (File file : files) {
-            resourceConfigs.add(createConfig(file));
+        if (parallelism <= 1 || files.size() <= 1) {
+            List<ConfigType> resourceConfigs = new ArrayList<>();
+            for (File file : files) {
+                resourceConfigs.addAll(createConfigsFromFile(file));
+            }
+            return resourceConfigs;
         }
-        return resourceConfigs;
+        return createConfigsInParallel(files);
+    }
+
+    /**
+     * Creates all configs which are contained in the specified file. Per default a file contains a single config.
+     * This method may be called concurrently for different files.
+     *
+     * @param file The file which is the source for the configs.
+     * @return The created configs in the order of their occurrence in the file.
+     * @throws ResourceConfigException If an error during config creation occurs.
+     */
+    protected List<ConfigType> createConfigsFromFile(File file) throws ResourceConfigException {
+        return Collections.singletonList(createConfig(file));
     }
 
     /**
@@ -73,4 +118,60 @@ public abstract class BaseResourceConfigFactory<ConfigType extends BaseResourceC
                 throw new ResourceConfigException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_UNKNOWN_CONTENT_TYPE", file.getName()));
         }
     }
+
+    /**
+     * Reads and parses the specified files using a fork-join pool. Waits for all files, even if some of them fail.
+     *
+     * @param files The files which are the sources for the configs.
+     * @return The created configs in the order of the files.
+     * @throws ResourceConfigException If the creation of at least one config failed.
+     */
+    private List<ConfigType> createConfigsInParallel(List<File> files) throws ResourceConfigException {
+        ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, files.size()));
+        try {
+            // 1. Submit a task for every file.
+            List<CompletableFuture<List<ConfigType>>> tasks = new ArrayList<>();
+            for (File file : files) {
+                tasks.add(createConfigsAsync(file, pool));
+            }
+
+            // 2. Collect the results in the order of the files.
+            List<ConfigType> resourceConfigs = new ArrayList<>();
+            List<Throwable> errors = new ArrayList<>();
+            for (CompletableFuture<List<ConfigType>> task : tasks) {
+                try {
+                    resourceConfigs.addAll(task.get());
+                } catch (ExecutionException e) {
+                    errors.add(e.getCause());
+                }
+            }
+
+            // 3. Report all errors at once.
+            assertNoErrors(errors, ResourceConfigException.class, messages -> new ResourceConfigException(
+                    COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_CONFIG_CREATION_FAILED", errors.size(), files.size(), messages)));
+            return resourceConfigs;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceConfigException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_INTERRUPTED_DURING_CONFIG_CREATION"), e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Creates the configs of the specified file using the specified pool.
+     *
+     * @param file The file which is the source for the configs.
+     * @param pool The pool which reads and parses the file.
+     * @return The future which completes with the configs or the original exception.
+     */
+    private CompletableFuture<List<ConfigType>> createConfigsAsync(File file, ForkJoinPool pool) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return createConfigsFromFile(file);
+            } catch (ResourceConfigException e) {
+                throw new CompletionException(e);
+            }
+        }, pool);
+    }
 }
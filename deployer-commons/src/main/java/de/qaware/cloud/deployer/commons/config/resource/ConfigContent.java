@@ -0,0 +1,173 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.config.resource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The utf-8 encoded content of a config. It's an immutable slice of a buffer, so multiple configs are able to share
+ * the buffer of the file they were read from. The buffer must not be modified.
+ */
+public final class ConfigContent {
+
+    /**
+     * The empty content.
+     */
+    public static final ConfigContent EMPTY = new ConfigContent(new byte[0]);
+
+    /**
+     * The buffer which contains the content.
+     */
+    private final byte[] buffer;
+
+    /**
+     * The offset of the content within the buffer.
+     */
+    private final int offset;
+
+    /**
+     * The length of the content in bytes.
+     */
+    private final int length;
+
+    /**
+     * Creates a new content which spans the whole buffer.
+     *
+     * @param buffer The buffer which contains the content.
+     */
+    public ConfigContent(byte[] buffer) {
+        this(buffer, 0, buffer.length);
+    }
+
+    /**
+     * Creates a new content which spans a part of the buffer.
+     *
+     * @param buffer The buffer which contains the content.
+     * @param offset The offset of the content within the buffer.
+     * @param length The length of the content in bytes.
+     */
+    public ConfigContent(byte[] buffer, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > buffer.length) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", buffer: " + buffer.length);
+        }
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Returns the buffer which contains the content. It's shared and must not be modified.
+     *
+     * @return The buffer.
+     */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Returns the offset of the content within the buffer.
+     *
+     * @return The offset.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the length of the content in bytes.
+     *
+     * @return The length.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Indicates whether the content is empty.
+     *
+     * @return TRUE if the content is empty, FALSE otherwise.
+     */
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * Creates a content which shares the buffer of this content.
+     *
+     * @param sliceOffset The offset of the slice relative to this content.
+     * @param sliceLength The length of the slice in bytes.
+     * @return The slice.
+     */
+    public ConfigContent slice(int sliceOffset, int sliceLength) {
+        if (sliceOffset < 0 || sliceLength < 0 || sliceOffset + sliceLength > length) {
+            throw new IndexOutOfBoundsException("offset: " + sliceOffset + ", length: " + sliceLength + ", content: " + length);
+        }
+        return new ConfigContent(buffer, offset + sliceOffset, sliceLength);
+    }
+
+    /**
+     * Returns the content as byte array. If the content spans the whole buffer, the shared buffer is returned,
+     * otherwise a copy.
+     *
+     * @return The content as byte array.
+     */
+    public byte[] toByteArray() {
+        if (offset == 0 && length == buffer.length) {
+            return buffer;
+        }
+        return Arrays.copyOfRange(buffer, offset, offset + length);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ConfigContent that = (ConfigContent) o;
+        if (length != that.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer[offset + i] != that.buffer[that.offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = offset; i < offset + length; i++) {
+            result = 31 * result + buffer[i];
+        }
+        return result;
+    }
+
+    /**
+     * Returns the decoded content.
+     *
+     * @return The content as string.
+     */
+    @Override
+    public String toString() {
+        return new String(buffer, offset, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.config.resource;
+
+import de.qaware.cloud.deployer.commons.config.util.FileUtil;
+import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
+
+import java.io.File;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stores the contents of config files, so a file which is read repeatedly (e.g. by several deployers or tasks of the
+ * same build) is kept in memory only once. The buffers are weakly referenced, thus they are released as soon as no
+ * config uses them anymore.
+ */
+public final class ConfigContentStore {
+
+    /**
+     * The stored buffers mapped by the identity of the file they were read from.
+     */
+    private static final Map<FileKey, BufferReference> BUFFERS = new ConcurrentHashMap<>();
+
+    /**
+     * The queue which contains the references of released buffers.
+     */
+    private static final ReferenceQueue<byte[]> RELEASED_BUFFERS = new ReferenceQueue<>();
+
+    /**
+     * UTILITY.
+     */
+    private ConfigContentStore() {
+    }
+
+    /**
+     * Returns the content of the specified file. If the unchanged file was read before and its content is still in
+     * use, the stored buffer is shared instead of reading the file again.
+     *
+     * @param file The file whose content will be returned.
+     * @return The content of the file.
+     * @throws ResourceConfigException If a problem with the file occurs.
+     */
+    public static ConfigContent read(File file) throws ResourceConfigException {
+
+        // 1. Let the file util report invalid and missing files.
+        if (file == null || !file.isFile()) {
+            return FileUtil.readConfigContent(file);
+        }
+
+        // 2. Remove the entries of released buffers.
+        expungeReleasedBuffers();
+
+        // 3. Reuse the stored buffer if it's still available.
+        FileKey key = new FileKey(file);
+        BufferReference reference = BUFFERS.get(key);
+        if (reference != null) {
+            byte[] buffer = reference.get();
+            if (buffer != null) {
+                return new ConfigContent(buffer, reference.offset, reference.length);
+            }
+        }
+
+        // 4. Read the file and store its buffer.
+        ConfigContent content = FileUtil.readConfigContent(file);
+        BUFFERS.put(key, new BufferReference(key, content));
+        return content;
+    }
+
+    /**
+     * Removes all stored buffers.
+     */
+    public static void clear() {
+        BUFFERS.clear();
+        expungeReleasedBuffers();
+    }
+
+    /**
+     * Returns the number of stored buffers.
+     *
+     * @return The number of stored buffers.
+     */
+    static int size() {
+        expungeReleasedBuffers();
+        return BUFFERS.size();
+    }
+
+    /**
+     * Removes the entries whose buffers were released by the garbage collector.
+     */
+    private static void expungeReleasedBuffers() {
+        Reference<? extends byte[]> reference;
+        while ((reference = RELEASED_BUFFERS.poll()) != null) {
+            BufferReference bufferReference = (BufferReference) reference;
+            BUFFERS.remove(bufferReference.key, bufferReference);
+        }
+    }
+
+    /**
+     * Identifies a file and its state. A modified file gets a new key.
+     */
+    private static final class FileKey {
+
+        /**
+         * The absolute path of the file.
+         */
+        private final String path;
+
+        /**
+         * The length of the file.
+         */
+        private final long length;
+
+        /**
+         * The time the file was modified last.
+         */
+        private final long lastModified;
+
+        /**
+         * Creates a new key for the specified file.
+         *
+         * @param file The file.
+         */
+        FileKey(File file) {
+            this.path = file.getAbsolutePath();
+            this.length = file.length();
+            this.lastModified = file.lastModified();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            FileKey fileKey = (FileKey) o;
+            return length == fileKey.length && lastModified == fileKey.lastModified && path.equals(fileKey.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, length, lastModified);
+        }
+    }
+
+    /**
+     * A weak reference to a stored buffer which remembers the trimmed part of the buffer.
+     */
+    private static final class BufferReference extends WeakReference<byte[]> {
+
+        /**
+         * The key the reference is stored with.
+         */
+        private final FileKey key;
+
+        /**
+         * The offset of the content within the buffer.
+         */
+        private final int offset;
+
+        /**
+         * The length of the content in bytes.
+         */
+        private final int length;
+
+        /**
+         * Creates a new reference to the buffer of the specified content.
+         *
+         * @param key     The key the reference is stored with.
+         * @param content The content whose buffer is referenced.
+         */
+        BufferReference(FileKey key, ConfigContent content) {
+            super(content.getBuffer(), RELEASED_BUFFERS);
+            this.key = key;
+            this.offset = content.getOffset();
+            this.length = content.getLength();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.config.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.qaware.cloud.deployer.commons.config.resource.ConfigContent;
+import de.qaware.cloud.deployer.commons.config.resource.ContentType;
+import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
+
+/**
+ * Utility which extracts selected values of json/yaml content using a streaming parser. Only the selected values are
+ * turned into nodes, all other values are skipped without building a tree. The paths of the values are specified
+ * using dots as separator (e.g. "metadata.name").
+ */
+public final class ContentPathExtractor {
+
+    /**
+     * The separator of the path segments.
+     */
+    private static final String PATH_SEPARATOR = ".";
+
+    /**
+     * UTILITY.
+     */
+    private ContentPathExtractor() {
+    }
+
+    /**
+     * Extracts the values with the specified paths out of the content. Parsing stops as soon as all values are found,
+     * so syntax errors behind the last value aren't detected.
+     *
+     * @param contentType The type of the content (json, yaml, ...)
+     * @param content     The utf-8 encoded content.
+     * @param paths       The paths of the values.
+     * @return An object tree which only contains the found values at their original position.
+     * @throws ResourceConfigException If the content is empty, the content type isn't supported or an error during
+     *                                 parsing occurs.
+     */
+    public static JsonNode extract(ContentType contentType, byte[] content, String... paths) throws ResourceConfigException {
+        return extract(contentType, content == null ? null : new ConfigContent(content), paths);
+    }
+
+    /**
+     * Extracts the values with the specified paths out of the content. Parsing stops as soon as all values are found,
+     * so syntax errors behind the last value aren't detected.
+     *
+     * @param contentType The type of the content (json, yaml, ...)
+     * @param content     The utf-8 encoded content.
+     * @param paths       The paths of the values.
+     * @return An object tree which only contains the found values at their original position.
+     * @throws ResourceConfigException If the content is empty, the content type isn't supported or an error during
+     *                                 parsing occurs.
+     */
+    public static JsonNode extract(ContentType contentType, ConfigContent content, String... paths) throws ResourceConfigException {
+        if (content == null || content.isEmpty()) {
+            throw new ResourceConfigException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_EMPTY_CONTENT"));
+        }
+        try (JsonParser parser = ContentTreeUtil.createParser(contentType, content)) {
+            parser.nextToken();
+            return extract(parser, false, paths);
+        } catch (IOException ex) {
+            throw new ResourceConfigException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_DURING_CONTENT_PARSING"), ex);
+        }
+    }
+
+    /**
+     * Extracts the values with the specified paths out of the value the parser currently points to.
+     *
+     * @param parser       The parser which points to the first token of the value. It has to be created by an object
+     *                     mapper.
+     * @param consumeValue TRUE if the parser should be moved to the last token of the value, FALSE if it may stop as
+     *                     soon as all paths are found.
+     * @param paths        The paths of the values.
+     * @return An object tree which only contains the found values at their original position.
+     * @throws IOException If an error during parsing occurs.
+     */
+    public static JsonNode extract(JsonParser parser, boolean consumeValue, String... paths) throws IOException {
+        ObjectNode objectTree = JsonNodeFactory.instance.objectNode();
+        if (parser.getCurrentToken() == JsonToken.START_OBJECT) {
+            Set<String> remainingPaths = new HashSet<>(Arrays.asList(paths));
+            readObject(parser, "", remainingPaths, objectTree, consumeValue);
+        } else if (consumeValue) {
+            parser.skipChildren();
+        }
+        return objectTree;
+    }
+
+    /**
+     * Reads the fields of the object the parser currently points to and adds the selected values to the target.
+     *
+     * @param parser         The parser which points to the start of the object.
+     * @param prefix         The path of the object including a trailing separator, empty for the root object.
+     * @param remainingPaths The paths which haven't been found yet. Found paths are removed.
+     * @param target         The node which receives the values of this object.
+     * @param consumeValue   TRUE if the whole object should be read, FALSE if reading stops when all paths are found.
+     * @throws IOException If an error during parsing occurs.
+     */
+    private static void readObject(JsonParser parser, String prefix, Set<String> remainingPaths, ObjectNode target, boolean consumeValue) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            String path = prefix + name;
+            JsonToken value = parser.nextToken();
+            if (remainingPaths.remove(path)) {
+                // 1. A selected value, read it completely.
+                target.set(name, readValue(parser));
+            } else if (isParent(path, remainingPaths)) {
+                // 2. Contains selected values, descend if it's an object.
+                if (value == JsonToken.START_OBJECT) {
+                    readObject(parser, path + PATH_SEPARATOR, remainingPaths, target.putObject(name), consumeValue);
+                } else {
+                    target.set(name, readValue(parser));
+                }
+            } else {
+                // 3. Not selected, skip it without building nodes.
+                parser.skipChildren();
+            }
+            if (remainingPaths.isEmpty() && !consumeValue) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads the value the parser currently points to.
+     *
+     * @param parser The parser.
+     * @return The value as node.
+     * @throws IOException If an error during parsing occurs.
+     */
+    private static JsonNode readValue(JsonParser parser) throws IOException {
+        TreeNode value = parser.readValueAsTree();
+        return value == null ? JsonNodeFactory.instance.nullNode() : (JsonNode) value;
+    }
+
+    /**
+     * Checks whether the specified path is the parent of one of the specified paths.
+     *
+     * @param path  The path to check.
+     * @param paths The paths.
+     * @return TRUE if the path is a parent, FALSE otherwise.
+     */
+    private static boolean isParent(String path, Set<String> paths) {
+        String prefix = path + PATH_SEPARATOR;
+        return paths.stream().anyMatch(candidate -> candidate.startsWith(prefix));
+    }
+}
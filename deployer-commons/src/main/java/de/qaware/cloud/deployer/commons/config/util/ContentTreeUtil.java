@@ -16,11 +16,13 @@
 package de.qaware.cloud.deployer.commons.config.util;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import de.qaware.cloud.deployer.commons.config.resource.ConfigContent;
 import de.qaware.cloud.deployer.commons.config.resource.ContentType;
 import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
 
@@ -33,6 +35,16 @@ import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMM
  */
 public final class ContentTreeUtil {
 
+    /**
+     * The mapper for yaml content. It's thread safe and shared, because creating mappers is expensive.
+     */
+    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
+
+    /**
+     * The mapper for json content. It's thread safe and shared, because creating mappers is expensive.
+     */
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper(new JsonFactory());
+
     /**
      * UTILITY.
      */
@@ -59,6 +71,66 @@ public final class ContentTreeUtil {
         }
     }
 
+    /**
+     * Parses the utf-8 encoded content and creates a object tree. The content isn't decoded into a string first.
+     *
+     * @param contentType The type of the content (json, yaml, ...)
+     * @param content     The content.
+     * @return The object tree.
+     * @throws ResourceConfigException If the content type isn't supported or an error during parsing occurs.
+     */
+    public static JsonNode createObjectTree(ContentType contentType, byte[] content) throws ResourceConfigException {
+        return createObjectTree(contentType, content == null ? null : new ConfigContent(content));
+    }
+
+    /**
+     * Parses the utf-8 encoded content and creates a object tree. The content isn't decoded into a string first.
+     *
+     * @param contentType The type of the content (json, yaml, ...)
+     * @param content     The content.
+     * @return The object tree.
+     * @throws ResourceConfigException If the content type isn't supported or an error during parsing occurs.
+     */
+    public static JsonNode createObjectTree(ContentType contentType, ConfigContent content) throws ResourceConfigException {
+        if (content == null || content.isEmpty()) {
+            throw new ResourceConfigException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_EMPTY_CONTENT"));
+        }
+        try (JsonParser parser = createParser(contentType, content)) {
+            return retrieveObjectMapper(contentType).readTree(parser);
+        } catch (IOException ex) {
+            throw new ResourceConfigException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_DURING_CONTENT_PARSING"), ex);
+        }
+    }
+
+    /**
+     * Creates a streaming parser for the utf-8 encoded content. The parser is able to read trees of its values.
+     *
+     * @param contentType The type of the content (json, yaml, ...)
+     * @param content     The content.
+     * @return The parser. It has to be closed by the caller.
+     * @throws ResourceConfigException If the content type isn't supported or the parser can't be created.
+     */
+    public static JsonParser createParser(ContentType contentType, byte[] content) throws ResourceConfigException {
+        return createParser(contentType, new ConfigContent(content));
+    }
+
+    /**
+     * Creates a streaming parser for the utf-8 encoded content. The parser is able to read trees of its values.
+     *
+     * @param contentType The type of the content (json, yaml, ...)
+     * @param content     The content.
+     * @return The parser. It has to be closed by the caller.
+     * @throws ResourceConfigException If the content type isn't supported or the parser can't be created.
+     */
+    public static JsonParser createParser(ContentType contentType, ConfigContent content) throws ResourceConfigException {
+        try {
+            ObjectMapper objectMapper = retrieveObjectMapper(contentType);
+            return objectMapper.getFactory().createParser(content.getBuffer(), content.getOffset(), content.getLength());
+        } catch (IOException ex) {
+            throw new ResourceConfigException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_DURING_CONTENT_PARSING"), ex);
+        }
+    }
+
     /**
      * Reads the node with the specified key in the object tree.
      *
@@ -132,7 +204,24 @@ public final class ContentTreeUtil {
     }
 
     /**
-     * Returns the object mapper for the specified content type.
+     * Writes the specified content as utf-8 encoded bytes in the specified format.
+     *
+     * @param contentType The format the object is written to.
+     * @param object      The object that will be written.
+     * @return The written object as bytes.
+     * @throws ResourceConfigException If a error during object writing occurs.
+     */
+    public static byte[] writeAsBytes(ContentType contentType, Object object) throws ResourceConfigException {
+        try {
+            ObjectMapper objectMapper = retrieveObjectMapper(contentType);
+            return objectMapper.writeValueAsBytes(object);
+        } catch (JsonProcessingException ex) {
+            throw new ResourceConfigException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_DURING_CONTENT_WRITING"), ex);
+        }
+    }
+
+    /**
+     * Returns the shared object mapper for the specified content type.
      *
      * @param contentType The content type.
      * @return The object mapper.
@@ -142,10 +231,10 @@ public final class ContentTreeUtil {
         ObjectMapper mapper;
         switch (contentType) {
             case YAML:
-                mapper = new ObjectMapper(new YAMLFactory());
+                mapper = YAML_MAPPER;
                 break;
             case JSON:
-                mapper = new ObjectMapper(new JsonFactory());
+                mapper = JSON_MAPPER;
                 break;
             default:
                 throw new ResourceConfigException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_UNSUPPORTED_CONTENT_TYPE"));
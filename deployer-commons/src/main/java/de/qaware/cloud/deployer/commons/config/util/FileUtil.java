@@ -15,6 +15,7 @@
  */
 package de.qaware.cloud.deployer.commons.config.util;
 
+import de.qaware.cloud.deployer.commons.config.resource.ConfigContent;
 import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
 import org.apache.commons.io.FileUtils;
 
@@ -26,7 +27,7 @@ import java.nio.charset.Charset;
 import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
 
 /**
- * Offers functionality to read the content of a file into a string.
+ * Offers functionality to read the content of a file into a string or a byte array.
  */
 public final class FileUtil {
 
@@ -61,14 +62,72 @@ public final class FileUtil {
      */
     public static String readFileContent(File file) throws ResourceConfigException {
         try {
-            if (file == null) {
-                throw new ResourceConfigException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_INVALID_FILENAME"));
-            } else if (!file.exists()) {
-                throw new ResourceConfigException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_MISSING_FILE", file.getName()));
-            }
+            checkFile(file);
             return FileUtils.readFileToString(file, Charset.defaultCharset()).trim();
         } catch (IOException e) {
             throw new ResourceConfigException(e.getMessage(), e);
         }
     }
+
+    /**
+     * Reads the content of the specified file into a byte array. Leading and trailing whitespaces are removed, the
+     * bytes aren't decoded.
+     *
+     * @param file The file whose content will be returned.
+     * @return The content of the file.
+     * @throws ResourceConfigException If a problem with the file occurs.
+     */
+    public static byte[] readFileBytes(File file) throws ResourceConfigException {
+        return readConfigContent(file).toByteArray();
+    }
+
+    /**
+     * Reads the content of the specified file into a buffer. Leading and trailing whitespaces are excluded from the
+     * returned slice of the buffer without copying it, the bytes aren't decoded.
+     *
+     * @param file The file whose content will be returned.
+     * @return The content of the file.
+     * @throws ResourceConfigException If a problem with the file occurs.
+     */
+    public static ConfigContent readConfigContent(File file) throws ResourceConfigException {
+        try {
+            checkFile(file);
+            return trim(FileUtils.readFileToByteArray(file));
+        } catch (IOException e) {
+            throw new ResourceConfigException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Checks whether the specified file exists.
+     *
+     * @param file The file to check.
+     * @throws ResourceConfigException If the file is null or doesn't exist.
+     */
+    private static void checkFile(File file) throws ResourceConfigException {
+        if (file == null) {
+            throw new ResourceConfigException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_INVALID_FILENAME"));
+        } else if (!file.exists()) {
+            throw new ResourceConfigException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_MISSING_FILE", file.getName()));
+        }
+    }
+
+    /**
+     * Removes leading and trailing whitespaces and control characters the same way {@link String#trim()} does.
+     * Multi-byte utf-8 sequences are never affected, because all of their bytes are above the trimmed range.
+     *
+     * @param bytes The bytes to trim.
+     * @return The slice of the bytes without leading and trailing whitespaces.
+     */
+    private static ConfigContent trim(byte[] bytes) {
+        int start = 0;
+        int end = bytes.length;
+        while (start < end && (bytes[start] & 0xff) <= ' ') {
+            start++;
+        }
+        while (end > start && (bytes[end - 1] & 0xff) <= ' ') {
+            end--;
+        }
+        return new ConfigContent(bytes, start, end - start);
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.error;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Combines the errors of operations which were applied to several items at once into a single exception.
+ */
+public final class ErrorAggregationUtil {
+
+    /**
+     * UTILITY.
+     */
+    private ErrorAggregationUtil() {
+    }
+
+    /**
+     * Throws a exception if the specified list contains errors. A single error of the specified type is rethrown as it
+     * is. Otherwise the factory creates one exception out of the listed messages of all errors, and all errors are
+     * attached to it as suppressed exceptions.
+     *
+     * @param errors          The errors which occurred.
+     * @param errorType       The type of the thrown exception.
+     * @param errorFactory    Creates the combined exception out of the listed error messages.
+     * @param <ExceptionType> The type of the thrown exception.
+     * @throws ExceptionType If the list of errors isn't empty.
+     */
+    public static <ExceptionType extends Exception> void assertNoErrors(List<Throwable> errors, Class<ExceptionType> errorType,
+                                                                        Function<String, ExceptionType> errorFactory) throws ExceptionType {
+        if (errors.isEmpty()) {
+            return;
+        }
+        if (errors.size() == 1 && errorType.isInstance(errors.get(0))) {
+            throw errorType.cast(errors.get(0));
+        }
+        ExceptionType exception = errorFactory.apply(listMessages(errors));
+        errors.forEach(exception::addSuppressed);
+        throw exception;
+    }
+
+    /**
+     * Lists the messages of the specified errors, one per line.
+     *
+     * @param errors The errors.
+     * @return The listed messages.
+     */
+    public static String listMessages(List<Throwable> errors) {
+        return errors.stream()
+                .map(error -> "- " + error.getMessage())
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
+
+/**
+ * Keeps the id of the environment which is processed by the current thread. The messages of loggers created by
+ * {@link #getLogger(Class)} are prefixed with this id, so the output of environments which are processed at the same
+ * time can be told apart. Threads which don't process a environment log their messages unchanged.
+ */
+public final class EnvironmentLogContext {
+
+    /**
+     * The names of the logger methods which log a message.
+     */
+    private static final Set<String> LOG_METHODS = new HashSet<>(Arrays.asList("trace", "debug", "info", "warn", "error"));
+
+    /**
+     * The id of the environment which is processed by the current thread.
+     */
+    private static final ThreadLocal<String> ENVIRONMENT_ID = new ThreadLocal<>();
+
+    /**
+     * UTILITY.
+     */
+    private EnvironmentLogContext() {
+    }
+
+    /**
+     * Returns a logger for the specified class whose messages are prefixed with the id of the current environment.
+     *
+     * @param clazz The class which logs.
+     * @return The logger.
+     */
+    public static Logger getLogger(Class<?> clazz) {
+        return prefixing(LoggerFactory.getLogger(clazz));
+    }
+
+    /**
+     * Returns the id of the environment which is processed by the current thread.
+     *
+     * @return The environment id or null if the thread doesn't process a environment.
+     */
+    public static String getEnvironmentId() {
+        return ENVIRONMENT_ID.get();
+    }
+
+    /**
+     * Executes the specified task in the context of the specified environment. The previous context of the thread is
+     * restored afterwards.
+     *
+     * @param environmentId The id of the environment which is processed by the task.
+     * @param task          The task.
+     * @param <T>           The type of the task's result.
+     * @return The result of the task.
+     * @throws Exception If the task failed.
+     */
+    public static <T> T call(String environmentId, Callable<T> task) throws Exception {
+        String previousEnvironmentId = ENVIRONMENT_ID.get();
+        ENVIRONMENT_ID.set(environmentId);
+        try {
+            return task.call();
+        } finally {
+            if (previousEnvironmentId == null) {
+                ENVIRONMENT_ID.remove();
+            } else {
+                ENVIRONMENT_ID.set(previousEnvironmentId);
+            }
+        }
+    }
+
+    /**
+     * Wraps the specified task, so that it's executed in the context of the current thread's environment. It's used
+     * to hand the context over to worker threads.
+     *
+     * @param task The task.
+     * @param <T>  The type of the task's result.
+     * @return The wrapped task.
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        String environmentId = ENVIRONMENT_ID.get();
+        return () -> call(environmentId, task);
+    }
+
+    /**
+     * Prefixes the specified message with the id of the current environment.
+     *
+     * @param message The message.
+     * @return The prefixed message or the message itself if the thread doesn't process a environment.
+     */
+    static String prefix(String message) {
+        String environmentId = ENVIRONMENT_ID.get();
+        if (environmentId == null) {
+            return message;
+        }
+        return COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_ENVIRONMENT_PREFIX", environmentId, message);
+    }
+
+    /**
+     * Wraps the specified logger, so that its messages are prefixed with the id of the current environment.
+     *
+     * @param logger The logger which logs the prefixed messages.
+     * @return The prefixing logger.
+     */
+    static Logger prefixing(Logger logger) {
+        return (Logger) Proxy.newProxyInstance(EnvironmentLogContext.class.getClassLoader(), new Class<?>[]{Logger.class}, (proxy, method, args) -> {
+            if (args != null && LOG_METHODS.contains(method.getName())) {
+                int messageIndex = args[0] instanceof Marker ? 1 : 0;
+                if (args.length > messageIndex && args[messageIndex] instanceof String) {
+                    args[messageIndex] = prefix((String) args[messageIndex]);
+                }
+            }
+            try {
+                return method.invoke(logger, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.resource;
+
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Offers functionality to execute calls asynchronously and to bridge between futures and the synchronous api.
+ */
+public final class AsyncCallUtil {
+
+    /**
+     * The number of threads which execute scheduled tasks.
+     */
+    private static final int SCHEDULER_THREADS = 2;
+
+    /**
+     * The prefix of the scheduler thread names.
+     */
+    private static final String THREAD_NAME_PREFIX = "deployer-scheduler-";
+
+    /**
+     * The scheduler which is shared by all resources. It only triggers follow-up requests and never blocks.
+     */
+    private static final ScheduledExecutorService SCHEDULER = createScheduler();
+
+    /**
+     * UTILITY.
+     */
+    private AsyncCallUtil() {
+    }
+
+    /**
+     * Enqueues the specified call and returns a future which is completed with its response.
+     *
+     * @param call The call to enqueue.
+     * @return The future which is completed with the response or exceptionally if the request failed.
+     */
+    public static CompletableFuture<Response<ResponseBody>> enqueue(Call<ResponseBody> call) {
+        CompletableFuture<Response<ResponseBody>> future = new CompletableFuture<>();
+        call.enqueue(new Callback<ResponseBody>() {
+            @Override
+            public void onResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
+                future.complete(response);
+            }
+
+            @Override
+            public void onFailure(Call<ResponseBody> call, Throwable throwable) {
+                future.completeExceptionally(new ResourceException(throwable));
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Returns a future which is completed after the specified delay.
+     *
+     * @param delay The delay in milliseconds.
+     * @return The future.
+     */
+    public static CompletableFuture<Void> delay(long delay) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        SCHEDULER.schedule(() -> future.complete(null), delay, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    /**
+     * Executes the specified task after the specified delay on the shared scheduler.
+     *
+     * @param task  The task.
+     * @param delay The delay in milliseconds.
+     * @return The future which can be used to cancel the task.
+     */
+    public static ScheduledFuture<?> schedule(Runnable task, long delay) {
+        return SCHEDULER.schedule(task, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns a future which is completed exceptionally with the specified exception.
+     *
+     * @param exception The exception.
+     * @param <T>       The type of the future's value.
+     * @return The failed future.
+     */
+    public static <T> CompletableFuture<T> failed(Throwable exception) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(exception);
+        return future;
+    }
+
+    /**
+     * Waits for the specified future and returns its value.
+     *
+     * @param future The future.
+     * @param <T>    The type of the future's value.
+     * @return The value of the future.
+     * @throws ResourceException If the future completed exceptionally or the waiting thread was interrupted.
+     */
+    public static <T> T join(CompletableFuture<T> future) throws ResourceException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceException(e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Extracts the resource exception out of the specified completion error.
+     *
+     * @param throwable The error a future was completed with.
+     * @return The resource exception which caused the error or a new one which wraps the cause.
+     */
+    public static ResourceException unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof ResourceException) {
+            return (ResourceException) cause;
+        }
+        return new ResourceException(cause);
+    }
+
+    /**
+     * Creates the shared scheduler which uses daemon threads.
+     *
+     * @return The scheduler.
+     */
+    private static ScheduledExecutorService createScheduler() {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newScheduledThreadPool(SCHEDULER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
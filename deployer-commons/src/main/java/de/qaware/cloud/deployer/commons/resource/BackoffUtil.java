@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.resource;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Calculates the delays of exponential backoffs.
+ */
+final class BackoffUtil {
+
+    /**
+     * UTILITY.
+     */
+    private BackoffUtil() {
+    }
+
+    /**
+     * Calculates the delay of the specified attempt. The delay starts with the initial delay and grows with the
+     * multiplier until it reaches the maximum delay.
+     *
+     * @param initialDelay The delay of the first attempt.
+     * @param maxDelay     The maximum delay.
+     * @param multiplier   The factor the delay grows with after every attempt.
+     * @param attempt      The number of the attempt (starting with 1).
+     * @return The delay of the attempt.
+     */
+    static long exponentialDelay(long initialDelay, long maxDelay, double multiplier, int attempt) {
+        double delay = initialDelay * Math.pow(multiplier, attempt - 1);
+        return (long) Math.min(maxDelay, delay);
+    }
+
+    /**
+     * Randomly increases or decreases the specified delay by the jitter fraction.
+     *
+     * @param delay  The delay.
+     * @param jitter The fraction (0 to 1) by which the delay is changed at most.
+     * @return The delay with jitter.
+     */
+    static long applyJitter(long delay, double jitter) {
+        if (jitter <= 0) {
+            return delay;
+        }
+        double factor = 1 + jitter * (ThreadLocalRandom.current().nextDouble() * 2 - 1);
+        return Math.max(1, (long) (delay * factor));
+    }
+}
@@ -15,45 +15,40 @@
  */
 package de.qaware.cloud.deployer.commons.resource;
 
+import de.qaware.cloud.deployer.commons.config.environment.WaitConfig;
 import de.qaware.cloud.deployer.commons.config.resource.BaseResourceConfig;
+import de.qaware.cloud.deployer.commons.config.resource.ConfigContent;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.logging.EnvironmentLogContext;
 import okhttp3.MediaType;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
+import org.slf4j.Logger;
 import retrofit2.Call;
 import retrofit2.Response;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
 
 /**
  * Implements a basic resource independent of the target cloud system. It offers functionality for backend communication.
+ * All calls are executed asynchronously, the synchronous operations wait for the corresponding futures.
  *
  * @param <ConfigType> The type of ResourceConfig this base resource is defined for.
  */
 public abstract class BaseResource<ConfigType extends BaseResourceConfig> implements Resource {
 
     /**
-     * Id of the error message for a unhandled http status code.
-     */
-    private static final String ERROR_UNHANDLED_HTTP_STATUS_CODE = "DEPLOYER_COMMONS_ERROR_UNHANDLED_HTTP_STATUS_CODE";
-
-    /**
-     * The timeout defines the maximum duration of a backend operation in seconds. If it takes longer to execute the
-     * operation a error will be thrown.
-     */
-    private static final double TIMEOUT = 300;
-
-    /**
-     * The time in seconds between two requests to check if the backend operation finished.
+     * The logger of this class.
      */
-    private static final double BLOCK_TIME = 0.5;
+    private static final Logger LOGGER = EnvironmentLogContext.getLogger(BaseResource.class);
 
     /**
-     * The time in seconds to wait in the case of a server error before retrying a call.
+     * Id of the error message for a unhandled http status code.
      */
-    private static final int SERVER_ERROR_WAITING_TIME = 10;
+    private static final String ERROR_UNHANDLED_HTTP_STATUS_CODE = "DEPLOYER_COMMONS_ERROR_UNHANDLED_HTTP_STATUS_CODE";
 
     /**
      * The config this resource belongs to.
@@ -65,6 +60,12 @@ public abstract class BaseResource<ConfigType extends BaseResourceConfig> implem
      */
     private final ClientFactory clientFactory;
 
+    /**
+     * The config which defines how long and how often this resource's state is checked while waiting for a backend
+     * operation to finish.
+     */
+    private WaitConfig waitConfig = new WaitConfig();
+
     /**
      * Creates a new base resource.
      *
@@ -94,6 +95,31 @@ public abstract class BaseResource<ConfigType extends BaseResourceConfig> implem
         return resourceConfig;
     }
 
+    /**
+     * Returns the type of this resource (e.g. Deployment or App). It selects the wait profile of the resource.
+     *
+     * @return The resource type.
+     */
+    public abstract String getResourceType();
+
+    /**
+     * Returns the config which defines how long and how often this resource's state is checked while waiting.
+     *
+     * @return The wait config.
+     */
+    public WaitConfig getWaitConfig() {
+        return waitConfig;
+    }
+
+    /**
+     * Sets the config which defines how long and how often this resource's state is checked while waiting.
+     *
+     * @param waitConfig The wait config.
+     */
+    public void setWaitConfig(WaitConfig waitConfig) {
+        this.waitConfig = waitConfig;
+    }
+
     @Override
     public abstract String toString();
 
@@ -108,6 +134,21 @@ public abstract class BaseResource<ConfigType extends BaseResourceConfig> implem
         return clientFactory.create(serviceClass);
     }
 
+    @Override
+    public boolean exists() throws ResourceException {
+        return AsyncCallUtil.join(existsAsync());
+    }
+
+    @Override
+    public void create() throws ResourceException {
+        AsyncCallUtil.join(createAsync());
+    }
+
+    @Override
+    public void delete() throws ResourceException {
+        AsyncCallUtil.join(deleteAsync());
+    }
+
     /**
      * Executes a call and interprets the answer. It returns when the answer signals success.
      *
@@ -115,14 +156,23 @@ public abstract class BaseResource<ConfigType extends BaseResourceConfig> implem
      * @throws ResourceException If the response contains a unhandled or negative status code.
      */
     protected void executeCall(Call<ResponseBody> call) throws ResourceException {
-        try {
-            Response<ResponseBody> response = call.execute();
+        AsyncCallUtil.join(executeCallAsync(call));
+    }
+
+    /**
+     * Executes a call asynchronously and interprets the answer.
+     *
+     * @param call The call which will be executed.
+     * @return The future which is completed when the answer signals success or exceptionally if the response contains
+     * a unhandled or negative status code.
+     */
+    protected CompletableFuture<Void> executeCallAsync(Call<ResponseBody> call) {
+        return clientFactory.getRetryPolicy().enqueueOnce(call).thenCompose(response -> {
             if (!isSuccessResponse(response)) {
-                throw new ResourceException(COMMONS_MESSAGE_BUNDLE.getMessage(ERROR_UNHANDLED_HTTP_STATUS_CODE, response.code(), retrieveBody(response)));
+                return AsyncCallUtil.failed(createUnhandledResponseException(response));
             }
-        } catch (IOException e) {
-            throw new ResourceException(e);
-        }
+            return CompletableFuture.completedFuture(null);
+        });
     }
 
     /**
@@ -133,25 +183,30 @@ public abstract class BaseResource<ConfigType extends BaseResourceConfig> implem
      * @throws ResourceException If the response contains a unhandled status code.
      */
     protected boolean executeExistsCall(Call<ResponseBody> existsCall) throws ResourceException {
-        try {
-            Response<ResponseBody> response = existsCall.execute();
-
-            // Retry the call if the server had an error
-            if (isServerErrorResponse(response)) {
-                response = retryCall(existsCall);
-            }
+        return AsyncCallUtil.join(executeExistsCallAsync(existsCall));
+    }
 
-            // Interpret result
+    /**
+     * Executes a exists call asynchronously and interprets the answer. Only the status code is evaluated and the body is
+     * closed. If the call's method is annotated with {@link retrofit2.http.Streaming}, the body isn't buffered and
+     * closing it skips the remaining bytes, so the connection is returned to the pool right away.
+     *
+     * @param existsCall The call which will be executed.
+     * @return The future which is completed with TRUE if the resource exists, FALSE otherwise. It is completed
+     * exceptionally if the response contains a unhandled status code.
+     */
+    protected CompletableFuture<Boolean> executeExistsCallAsync(Call<ResponseBody> existsCall) {
+        return enqueueWithRetry(existsCall).thenCompose(response -> {
             if (isSuccessResponse(response)) {
-                return true;
+                discardBody(response);
+                return CompletableFuture.completedFuture(true);
             } else if (ResponseInterpreterUtil.isNotFoundResponse(response)) {
-                return false;
+                discardBody(response);
+                return CompletableFuture.completedFuture(false);
             } else {
-                throw new ResourceException(COMMONS_MESSAGE_BUNDLE.getMessage(ERROR_UNHANDLED_HTTP_STATUS_CODE, response.code(), retrieveBody(response)));
+                return AsyncCallUtil.failed(createUnhandledResponseException(response));
             }
-        } catch (IOException | InterruptedException e) {
-            throw new ResourceException(e);
-        }
+        });
     }
 
     /**
@@ -162,26 +217,23 @@ public abstract class BaseResource<ConfigType extends BaseResourceConfig> implem
      *                           is unhandled.
      */
     protected void executeCreateCallAndBlock(Call<ResponseBody> createCall) throws ResourceException {
-        try {
-            Response<ResponseBody> response = createCall.execute();
-
-            // Retry the call if the server had an error
-            if (isServerErrorResponse(response)) {
-                response = retryCall(createCall);
-            }
+        AsyncCallUtil.join(executeCreateCallAndWait(createCall));
+    }
 
-            // Interpret result
+    /**
+     * Executes a create call asynchronously and waits without blocking until the resource exists.
+     *
+     * @param createCall The call which will be executed.
+     * @return The future which is completed when the resource exists. It is completed exceptionally if the backend
+     * operation didn't finish within the specified interval or the status code is unhandled.
+     */
+    protected CompletableFuture<Void> executeCreateCallAndWait(Call<ResponseBody> createCall) {
+        return enqueueWithRetry(createCall).thenCompose(response -> {
             if (isSuccessResponse(response)) {
-                Blocker blocker = new Blocker(TIMEOUT, BLOCK_TIME, COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_TIMEOUT_DURING_CREATION"));
-                while (!this.exists()) {
-                    blocker.block();
-                }
-            } else {
-                throw new ResourceException(COMMONS_MESSAGE_BUNDLE.getMessage(ERROR_UNHANDLED_HTTP_STATUS_CODE, response.code(), retrieveBody(response)));
+                return awaitExistence(true, COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_TIMEOUT_DURING_CREATION"));
             }
-        } catch (IOException | InterruptedException e) {
-            throw new ResourceException(e);
-        }
+            return AsyncCallUtil.failed(createUnhandledResponseException(response));
+        });
     }
 
     /**
@@ -192,36 +244,44 @@ public abstract class BaseResource<ConfigType extends BaseResourceConfig> implem
      *                           is unhandled.
      */
     protected void executeDeleteCallAndBlock(Call<ResponseBody> deleteCall) throws ResourceException {
-        try {
-            Response<ResponseBody> response = deleteCall.execute();
-
-            // Retry the call if the server had an error
-            if (isServerErrorResponse(response)) {
-                response = retryCall(deleteCall);
-            }
+        AsyncCallUtil.join(executeDeleteCallAndWait(deleteCall));
+    }
 
-            // Interpret result
+    /**
+     * Executes a delete call asynchronously and waits without blocking until the resource doesn't exist anymore.
+     *
+     * @param deleteCall The call which will be executed.
+     * @return The future which is completed when the resource doesn't exist anymore. It is completed exceptionally if
+     * the backend operation didn't finish within the specified interval or the status code is unhandled.
+     */
+    protected CompletableFuture<Void> executeDeleteCallAndWait(Call<ResponseBody> deleteCall) {
+        return enqueueWithRetry(deleteCall).thenCompose(response -> {
             if (isSuccessResponse(response)) {
-                Blocker blocker = new Blocker(TIMEOUT, BLOCK_TIME, COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_TIMEOUT_DURING_DELETION"));
-                while (this.exists()) {
-                    blocker.block();
-                }
-            } else {
-                throw new ResourceException(COMMONS_MESSAGE_BUNDLE.getMessage(ERROR_UNHANDLED_HTTP_STATUS_CODE, response.code(), retrieveBody(response)));
+                return awaitExistence(false, COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_TIMEOUT_DURING_DELETION"));
             }
-        } catch (IOException | InterruptedException e) {
-            throw new ResourceException(e);
-        }
+            return AsyncCallUtil.failed(createUnhandledResponseException(response));
+        });
     }
 
     /**
-     * Creates a request body using the content and the content type of the config file.
+     * Creates a request body using the content and the content type of the config file. The body writes the encoded
+     * content of the config directly to the connection, no copy of the content is created.
      *
      * @return The request body for the content of the config file.
      * @throws ResourceException If the media type isn't valid.
      */
     protected RequestBody createRequestBody() throws ResourceException {
-        return RequestBody.create(createMediaType(), getResourceConfig().getContent());
+        MediaType mediaType = createMediaType();
+        if (mediaType != null && mediaType.charset() == null) {
+            mediaType = MediaType.parse(mediaType + "; charset=utf-8");
+        }
+        ConfigContent content = getResourceConfig().getConfigContent();
+        return RequestBody.create(mediaType, content.getBuffer(), content.getOffset(), content.getLength());
+    }
+
+    @Override
+    public void release() {
+        getResourceConfig().releaseContent();
     }
 
     /**
@@ -233,13 +293,91 @@ public abstract class BaseResource<ConfigType extends BaseResourceConfig> implem
     protected abstract MediaType createMediaType() throws ResourceException;
 
     /**
-     * Retries a call after a waiting period.
+     * Fetches the existence of this resource from the backend. It's used to check the state while waiting for a
+     * backend operation to finish. By default it's the same check as {@link #existsAsync()}, subclasses which answer
+     * existsAsync from a local index override it to query the backend.
      *
-     * @return The response of the call.
+     * @return The future which is completed with TRUE if the resource exists, FALSE otherwise.
+     * @throws ResourceException If the check can't be started.
+     */
+    protected CompletableFuture<Boolean> fetchExistsAsync() throws ResourceException {
+        return existsAsync();
+    }
+
+    /**
+     * Enqueues the specified call using the retry policy of the client factory.
+     *
+     * @param call The call which will be executed.
+     * @return The future which is completed with the response of the call or its last retry.
      */
-    private Response<ResponseBody> retryCall(Call<ResponseBody> call) throws IOException, InterruptedException {
-        Thread.sleep(SERVER_ERROR_WAITING_TIME * 1000);
-        return call.clone().execute();
+    private CompletableFuture<Response<ResponseBody>> enqueueWithRetry(Call<ResponseBody> call) {
+        return clientFactory.getRetryPolicy().enqueue(call);
+    }
+
+    /**
+     * Waits until the existence of this resource matches the expected state. By default the existence is checked
+     * repeatedly, the checks are scheduled with the growing delays of a blocker and don't block a thread. The number of
+     * polls and the elapsed time are logged when the state is reached. Subclasses may
+     * override this to use a more efficient notification mechanism of their backend.
+     *
+     * @param expectedExistence The state to wait for.
+     * @param errorMessage      The error message which is used if the state isn't reached in time.
+     * @return The future which is completed when the resource reached the expected state.
+     */
+    protected CompletableFuture<Void> awaitExistence(boolean expectedExistence, String errorMessage) {
+        Blocker blocker = new Blocker(waitConfig, errorMessage);
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        checkExistence(expectedExistence, blocker, result);
+        return result.thenRun(() -> LOGGER.debug(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_WAIT_FINISHED", this, blocker.getPolls(), blocker.getElapsedTime())));
+    }
+
+    /**
+     * Checks the existence of this resource once and completes the result or schedules the next check.
+     *
+     * @param expectedExistence The state to wait for.
+     * @param blocker           The blocker which defines the delay until the next check.
+     * @param result            The future which is completed when the expected state is reached.
+     */
+    private void checkExistence(boolean expectedExistence, Blocker blocker, CompletableFuture<Void> result) {
+        try {
+            fetchExistsAsync().whenComplete((exists, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(AsyncCallUtil.unwrap(error));
+                } else if (exists == expectedExistence) {
+                    result.complete(null);
+                } else {
+                    scheduleExistenceCheck(expectedExistence, blocker, result);
+                }
+            });
+        } catch (ResourceException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Schedules the next existence check using the blocker's delay.
+     *
+     * @param expectedExistence The state to wait for.
+     * @param blocker           The blocker which defines the delay until the next check.
+     * @param result            The future which is completed when the expected state is reached.
+     */
+    private void scheduleExistenceCheck(boolean expectedExistence, Blocker blocker, CompletableFuture<Void> result) {
+        try {
+            long delay = blocker.nextDelay();
+            AsyncCallUtil.schedule(() -> checkExistence(expectedExistence, blocker, result), delay);
+        } catch (ResourceException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Creates a exception for a response with a unhandled status code.
+     *
+     * @param response The response.
+     * @return The exception which contains the status code and the body of the response.
+     */
+    private ResourceException createUnhandledResponseException(Response<ResponseBody> response) {
+        return new ResourceException(COMMONS_MESSAGE_BUNDLE.getMessage(ERROR_UNHANDLED_HTTP_STATUS_CODE, response.code(), retrieveBody(response)));
     }
 
     /**
@@ -253,13 +391,17 @@ public abstract class BaseResource<ConfigType extends BaseResourceConfig> implem
     }
 
     /**
-     * Indicates whether the server threw an error.
+     * Closes the body of the specified response without consuming it.
      *
-     * @param response The response which contains the response code.
-     * @return TRUE if the server threw an error, FALSE otherwise.
+     * @param response The response whose body is discarded.
      */
-    private boolean isServerErrorResponse(Response<ResponseBody> response) {
-        return ResponseInterpreterUtil.isServerErrorResponse(response);
+    private static void discardBody(Response<ResponseBody> response) {
+        if (response.body() != null) {
+            response.body().close();
+        }
+        if (response.errorBody() != null) {
+            response.errorBody().close();
+        }
     }
 
     /**
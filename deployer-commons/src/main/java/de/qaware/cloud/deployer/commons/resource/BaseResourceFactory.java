@@ -18,8 +18,8 @@ package de.qaware.cloud.deployer.commons.resource;
 import de.qaware.cloud.deployer.commons.config.environment.EnvironmentConfig;
 import de.qaware.cloud.deployer.commons.config.resource.BaseResourceConfig;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.logging.EnvironmentLogContext;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -39,10 +39,15 @@ public abstract class BaseResourceFactory<ResourceType extends BaseResource, Con
      */
     private final ClientFactory clientFactory;
 
+    /**
+     * The configuration of the environment this factory belongs to.
+     */
+    private final EnvironmentConfig environmentConfig;
+
     /**
      * The logger of this class.
      */
-    private static final Logger LOGGER = LoggerFactory.getLogger(BaseResourceFactory.class);
+    private static final Logger LOGGER = EnvironmentLogContext.getLogger(BaseResourceFactory.class);
 
     /**
      * Creates a new base resource factory.
@@ -60,6 +65,7 @@ public abstract class BaseResourceFactory<ResourceType extends BaseResource, Con
 
         // Create a client factory
         this.clientFactory = new ClientFactory(environmentConfig);
+        this.environmentConfig = environmentConfig;
     }
 
     /**
@@ -81,11 +87,23 @@ public abstract class BaseResourceFactory<ResourceType extends BaseResource, Con
     public List<ResourceType> createResources(List<ConfigType> resourceConfigs) throws ResourceException {
         List<ResourceType> resources = new ArrayList<>();
         for (ConfigType resourceConfig : resourceConfigs) {
-            resources.add(createResource(resourceConfig));
+            ResourceType resource = createResource(resourceConfig);
+            applyWaitConfig(resource);
+            resources.add(resource);
         }
         return resources;
     }
 
+    /**
+     * Sets the wait config of the environment on the specified resource. If the environment defines a wait profile for
+     * the resource's type, the profile is used.
+     *
+     * @param resource The resource.
+     */
+    protected void applyWaitConfig(BaseResource<?> resource) {
+        resource.setWaitConfig(environmentConfig.getWaitConfig(resource.getResourceType()));
+    }
+
     /**
      * Creates a resource out of the specified config.
      *
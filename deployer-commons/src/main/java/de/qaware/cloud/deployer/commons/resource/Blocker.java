@@ -15,30 +15,46 @@
  */
 package de.qaware.cloud.deployer.commons.resource;
 
+import de.qaware.cloud.deployer.commons.config.environment.WaitConfig;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Blocks for specified amount of time and throws an exception if the maximum duration is exceeded. It's block method is
- * intended to be called in a loop.
+ * intended to be called in a loop. Asynchronous waits use the next delay instead of blocking a thread. The delays grow
+ * exponentially with a random jitter as defined in the wait config.
  */
 class Blocker {
 
-    private final int timeout;
-    private final int blockTime;
+    private final WaitConfig waitConfig;
     private final String errorMessage;
-    private int timeoutCounter = 0;
+    private final long startTime = System.nanoTime();
+    private long waitedTime = 0;
+    private long currentDelay;
+    private int polls = 0;
 
     /**
-     * Creates a new blocker using the specified parameters.
+     * Creates a new blocker which blocks for a fixed time.
      *
      * @param timeout      The maximum duration in seconds until an exception is thrown.
-     * @param blockTime     The time in seconds this blocker blocks when the block function is called.
+     * @param blockTime    The time in seconds this blocker blocks when the block function is called.
      * @param errorMessage The error message which will be used in the exception if the maximum duration is exceeded.
      */
     Blocker(double timeout, double blockTime, String errorMessage) {
-        this.timeout = (int) timeout * 1000;
-        this.blockTime = (int) (blockTime * 1000);
+        this(new WaitConfig((long) (blockTime * 1000), (long) (blockTime * 1000), 1, 0, (long) (timeout * 1000)), errorMessage);
+    }
+
+    /**
+     * Creates a new blocker using the specified wait config.
+     *
+     * @param waitConfig   The config which defines the delays and the maximum duration.
+     * @param errorMessage The error message which will be used in the exception if the maximum duration is exceeded.
+     */
+    Blocker(WaitConfig waitConfig, String errorMessage) {
+        this.waitConfig = waitConfig;
         this.errorMessage = errorMessage;
+        this.currentDelay = waitConfig.getInitialDelay();
     }
 
     /**
@@ -48,13 +64,51 @@ class Blocker {
      */
     void block() throws ResourceException {
         try {
-            timeoutCounter += blockTime;
-            if (timeoutCounter > timeout) {
-                throw new ResourceException(errorMessage);
-            }
-            Thread.sleep(blockTime);
+            Thread.sleep(nextDelay());
         } catch (InterruptedException e) {
             throw new ResourceException(e);
         }
     }
+
+    /**
+     * Returns the time in milliseconds until the next check and counts it towards the maximum duration. The last delay
+     * is shortened to the remaining time.
+     *
+     * @return The delay in milliseconds.
+     * @throws ResourceException If the maximum duration is exceeded.
+     */
+    long nextDelay() throws ResourceException {
+        long remainingTime = waitConfig.getTimeout() - waitedTime;
+        if (remainingTime <= 0) {
+            throw new ResourceException(errorMessage);
+        }
+
+        // 1. Calculate the delay and apply the jitter
+        long delay = Math.min(BackoffUtil.applyJitter(currentDelay, waitConfig.getJitter()), remainingTime);
+
+        // 2. Grow the delay for the next call
+        currentDelay = Math.min(waitConfig.getMaxDelay(), (long) (currentDelay * waitConfig.getMultiplier()));
+
+        waitedTime += delay;
+        polls++;
+        return delay;
+    }
+
+    /**
+     * Returns how often this blocker was asked for a delay.
+     *
+     * @return The number of polls.
+     */
+    int getPolls() {
+        return polls;
+    }
+
+    /**
+     * Returns the wall time in milliseconds since this blocker was created.
+     *
+     * @return The elapsed time.
+     */
+    long getElapsedTime() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
 }
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.qaware.cloud.deployer.commons.config.environment.TokenProvider;
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import okio.ByteString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+
+import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
+
+/**
+ * A token provider which keeps the token in memory and, if its expiry is known, in a file. Json web tokens carry
+ * their expiry, so they are refreshed in the background shortly before they expire. Other tokens are kept until
+ * they are rejected by the server.
+ */
+final class CachedTokenProvider implements TokenProvider {
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachedTokenProvider.class);
+
+    /**
+     * The mapper which reads the payload of json web tokens.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * The duration in milliseconds a token is refreshed before it expires. Short-lived tokens are refreshed when
+     * half of their remaining lifetime passed.
+     */
+    static final long REFRESH_MARGIN = 300000;
+
+    /**
+     * The value which marks an unknown expiry.
+     */
+    static final long UNKNOWN_EXPIRY = Long.MAX_VALUE;
+
+    /**
+     * The extension of the files which store the tokens.
+     */
+    private static final String FILE_EXTENSION = ".token";
+
+    /**
+     * The permissions of the files which store the tokens - only the owner may read them.
+     */
+    private static final Set<PosixFilePermission> FILE_PERMISSIONS = PosixFilePermissions.fromString("rw-------");
+
+    /**
+     * The permissions of the directory which stores the tokens - only the owner may access it.
+     */
+    private static final Set<PosixFilePermission> DIRECTORY_PERMISSIONS = PosixFilePermissions.fromString("rwx------");
+
+    /**
+     * The name of the file attribute view which supports posix permissions.
+     */
+    private static final String POSIX_VIEW = "posix";
+
+    /**
+     * The key which identifies this provider.
+     */
+    private final String key;
+
+    /**
+     * The file which stores the token or null if the token is only kept in memory.
+     */
+    private final File file;
+
+    /**
+     * The supplier which retrieves a new token.
+     */
+    private final TokenCache.TokenSupplier supplier;
+
+    /**
+     * The current token or null if no token was retrieved yet.
+     */
+    private volatile String token;
+
+    /**
+     * The point in time (epoch milliseconds) the current token expires.
+     */
+    private volatile long expiry;
+
+    /**
+     * The scheduled background refresh or null if none is scheduled.
+     */
+    private ScheduledFuture<?> scheduledRefresh;
+
+    /**
+     * Signals whether this provider was closed, closed providers don't refresh in the background anymore.
+     */
+    private boolean closed;
+
+    /**
+     * Creates a new cached token provider.
+     *
+     * @param key       The key which identifies this provider.
+     * @param directory The directory which stores the token or null if the token is only kept in memory.
+     * @param supplier  The supplier which retrieves a new token.
+     */
+    CachedTokenProvider(String key, File directory, TokenCache.TokenSupplier supplier) {
+        this.key = key;
+        this.file = directory == null ? null : new File(directory, ByteString.encodeUtf8(key).sha256().hex() + FILE_EXTENSION);
+        this.supplier = supplier;
+    }
+
+    @Override
+    public String getToken() throws ResourceException {
+        String currentToken = token;
+        if (currentToken != null && System.currentTimeMillis() < expiry) {
+            return currentToken;
+        }
+        synchronized (this) {
+            if (token != null && System.currentTimeMillis() < expiry) {
+                return token;
+            }
+            if (token == null && loadStoredToken()) {
+                return token;
+            }
+            return retrieveToken();
+        }
+    }
+
+    @Override
+    public synchronized String refreshToken(String rejectedToken) throws ResourceException {
+        if (token != null && !token.equals(rejectedToken)) {
+            return token;
+        }
+        return retrieveToken();
+    }
+
+    /**
+     * Stops the background refresh of this provider.
+     */
+    synchronized void close() {
+        closed = true;
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+            scheduledRefresh = null;
+        }
+    }
+
+    /**
+     * Retrieves a new token, stores it and schedules its refresh.
+     *
+     * @return The new token.
+     * @throws ResourceException If the token can't be retrieved.
+     */
+    private synchronized String retrieveToken() throws ResourceException {
+        String newToken = supplier.retrieve();
+        long newExpiry = parseExpiry(newToken);
+        token = newToken;
+        expiry = newExpiry;
+        LOGGER.debug(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_TOKEN_RETRIEVED", key));
+        storeToken(newToken, newExpiry);
+        scheduleRefresh(newToken, newExpiry);
+        return newToken;
+    }
+
+    /**
+     * Loads the stored token if it isn't about to expire.
+     *
+     * @return TRUE if a valid token was loaded, FALSE otherwise.
+     */
+    private boolean loadStoredToken() {
+        if (file == null || !file.isFile()) {
+            return false;
+        }
+        try {
+            String storedToken = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).trim();
+            long storedExpiry = parseExpiry(storedToken);
+            if (storedExpiry == UNKNOWN_EXPIRY || calculateRefreshTime(storedExpiry, System.currentTimeMillis()) <= System.currentTimeMillis()) {
+                return false;
+            }
+            token = storedToken;
+            expiry = storedExpiry;
+            scheduleRefresh(storedToken, storedExpiry);
+            return true;
+        } catch (IOException e) {
+            LOGGER.debug(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_TOKEN_NOT_STORED", file.getPath(), e.getMessage()));
+            return false;
+        }
+    }
+
+    /**
+     * Stores the specified token, if its expiry is known. Tokens without expiry aren't stored, since it can't be
+     * decided later whether they are still valid. The directory and the file are only accessible by the owner, if the
+     * file system can't restrict the permissions the token is only kept in memory.
+     *
+     * @param newToken  The token.
+     * @param newExpiry The point in time (epoch milliseconds) the token expires.
+     */
+    private void storeToken(String newToken, long newExpiry) {
+        if (file == null || newExpiry == UNKNOWN_EXPIRY) {
+            return;
+        }
+        Path directory = file.getParentFile().toPath();
+        if (!directory.getFileSystem().supportedFileAttributeViews().contains(POSIX_VIEW)) {
+            LOGGER.debug(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_TOKEN_NOT_PROTECTED", file.getPath()));
+            return;
+        }
+        try {
+            // 1. Create the directory which is only accessible by the owner
+            Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(DIRECTORY_PERMISSIONS));
+            Files.setPosixFilePermissions(directory, DIRECTORY_PERMISSIONS);
+
+            // 2. Write the token to a file which is only readable by the owner and replace the stored token
+            Path tempFile = Files.createTempFile(directory, null, FILE_EXTENSION, PosixFilePermissions.asFileAttribute(FILE_PERMISSIONS));
+            try {
+                Files.write(tempFile, newToken.getBytes(StandardCharsets.UTF_8));
+                Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            LOGGER.debug(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_TOKEN_NOT_STORED", file.getPath(), e.getMessage()));
+        }
+    }
+
+    /**
+     * Schedules the background refresh of the specified token, if its expiry is known.
+     *
+     * @param scheduledToken The token which will be refreshed.
+     * @param tokenExpiry    The point in time (epoch milliseconds) the token expires.
+     */
+    private synchronized void scheduleRefresh(String scheduledToken, long tokenExpiry) {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+            scheduledRefresh = null;
+        }
+        if (closed || tokenExpiry == UNKNOWN_EXPIRY) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long delay = Math.max(0, calculateRefreshTime(tokenExpiry, now) - now);
+        scheduledRefresh = AsyncCallUtil.schedule(() -> CompletableFuture.runAsync(() -> refreshInBackground(scheduledToken)), delay);
+    }
+
+    /**
+     * Refreshes the specified token, unless it was already replaced. A failed refresh is only logged, the token is
+     * retrieved again on the next use after it expired.
+     *
+     * @param scheduledToken The token which will be refreshed.
+     */
+    private void refreshInBackground(String scheduledToken) {
+        try {
+            synchronized (this) {
+                if (!closed) {
+                    refreshToken(scheduledToken);
+                }
+            }
+        } catch (ResourceException e) {
+            LOGGER.warn(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_TOKEN_REFRESH_FAILED", key, e.getMessage()));
+        }
+    }
+
+    /**
+     * Calculates the point in time a token is refreshed.
+     *
+     * @param tokenExpiry The point in time (epoch milliseconds) the token expires.
+     * @param now         The current point in time (epoch milliseconds).
+     * @return The point in time (epoch milliseconds) the token is refreshed.
+     */
+    static long calculateRefreshTime(long tokenExpiry, long now) {
+        return tokenExpiry - Math.min(REFRESH_MARGIN, Math.max(0, tokenExpiry - now) / 2);
+    }
+
+    /**
+     * Parses the expiry of a json web token.
+     *
+     * @param token The token.
+     * @return The point in time (epoch milliseconds) the token expires or {@link #UNKNOWN_EXPIRY} if the token isn't
+     * a json web token or carries no expiry.
+     */
+    static long parseExpiry(String token) {
+        String[] parts = token == null ? new String[0] : token.split("\\.");
+        if (parts.length != 3) {
+            return UNKNOWN_EXPIRY;
+        }
+        ByteString payload = ByteString.decodeBase64(parts[1]);
+        if (payload == null) {
+            return UNKNOWN_EXPIRY;
+        }
+        try {
+            JsonNode expiryNode = OBJECT_MAPPER.readTree(payload.toByteArray()).path("exp");
+            return expiryNode.isNumber() ? expiryNode.asLong() * 1000 : UNKNOWN_EXPIRY;
+        } catch (IOException e) {
+            return UNKNOWN_EXPIRY;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.resource;
+
+import de.qaware.cloud.deployer.commons.config.environment.CircuitBreakerConfig;
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import retrofit2.Call;
+import retrofit2.Response;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+
+import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
+
+/**
+ * Guards the calls to a environment. It tracks the outcomes of the last calls, a call fails if the server couldn't be
+ * reached, answered with a server error or took too long. If the failure rate exceeds the threshold, the circuit opens
+ * and all calls are rejected immediately instead of waiting for their retries and timeouts. After the open duration a
+ * single probe call is allowed, the circuit closes again if it succeeds.
+ */
+public class CircuitBreaker {
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    /**
+     * The states of the circuit.
+     */
+    enum State {
+        /**
+         * Calls are allowed and their outcomes are tracked.
+         */
+        CLOSED,
+        /**
+         * Calls are rejected.
+         */
+        OPEN,
+        /**
+         * A single probe call is allowed, its outcome decides whether the circuit closes or opens again.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * The id of the environment whose calls are guarded.
+     */
+    private final String environmentId;
+
+    /**
+     * The config which describes this circuit breaker.
+     */
+    private final CircuitBreakerConfig circuitBreakerConfig;
+
+    /**
+     * The clock which returns the current time in milliseconds.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * The outcomes of the last calls, TRUE marks a failed call. It's used as ring buffer.
+     */
+    private final boolean[] outcomes;
+
+    /**
+     * The position in the ring buffer the next outcome is written to.
+     */
+    private int position;
+
+    /**
+     * The number of tracked outcomes.
+     */
+    private int calls;
+
+    /**
+     * The number of failed calls among the tracked outcomes.
+     */
+    private int failures;
+
+    /**
+     * The current state of the circuit.
+     */
+    private State state = State.CLOSED;
+
+    /**
+     * The time the circuit opened.
+     */
+    private long openedAt;
+
+    /**
+     * The number of failed calls which opened the circuit.
+     */
+    private int openingFailures;
+
+    /**
+     * The number of tracked calls when the circuit opened.
+     */
+    private int openingCalls;
+
+    /**
+     * Signals whether the probe call is running.
+     */
+    private boolean probing;
+
+    /**
+     * Creates a new closed circuit breaker.
+     *
+     * @param environmentId        The id of the environment whose calls are guarded.
+     * @param circuitBreakerConfig The config which describes the circuit breaker.
+     */
+    public CircuitBreaker(String environmentId, CircuitBreakerConfig circuitBreakerConfig) {
+        this(environmentId, circuitBreakerConfig, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a new closed circuit breaker which uses the specified clock.
+     *
+     * @param environmentId        The id of the environment whose calls are guarded.
+     * @param circuitBreakerConfig The config which describes the circuit breaker.
+     * @param clock                The clock which returns the current time in milliseconds.
+     */
+    CircuitBreaker(String environmentId, CircuitBreakerConfig circuitBreakerConfig, LongSupplier clock) {
+        this.environmentId = environmentId;
+        this.circuitBreakerConfig = circuitBreakerConfig;
+        this.clock = clock;
+        this.outcomes = new boolean[Math.max(1, circuitBreakerConfig.getWindowSize())];
+    }
+
+    /**
+     * Enqueues the specified call if the circuit allows it and tracks its outcome.
+     *
+     * @param call The call which will be executed.
+     * @return The future which is completed with the response of the call or exceptionally if the call was rejected
+     * or failed.
+     */
+    public CompletableFuture<Response<ResponseBody>> enqueue(Call<ResponseBody> call) {
+        ResourceException rejection = acquirePermission();
+        if (rejection != null) {
+            return AsyncCallUtil.failed(rejection);
+        }
+        long start = clock.getAsLong();
+        return AsyncCallUtil.enqueue(call).whenComplete((response, error) -> {
+            boolean failed = error != null || isFailure(response);
+            boolean slow = clock.getAsLong() - start >= circuitBreakerConfig.getSlowCallDuration();
+            record(failed || slow);
+        });
+    }
+
+    /**
+     * Returns the current state of the circuit.
+     *
+     * @return The state.
+     */
+    synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Checks whether a call is allowed. A open circuit allows a probe call once the open duration elapsed.
+     *
+     * @return The exception which explains the rejection or null if the call is allowed.
+     */
+    private synchronized ResourceException acquirePermission() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= circuitBreakerConfig.getOpenDuration()) {
+            state = State.HALF_OPEN;
+            LOGGER.info(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_CIRCUIT_PROBING", environmentId));
+        }
+        if (state == State.CLOSED || (state == State.HALF_OPEN && !probing)) {
+            probing = state == State.HALF_OPEN;
+            return null;
+        }
+        long remaining = Math.max(0, openedAt + circuitBreakerConfig.getOpenDuration() - clock.getAsLong());
+        return new ResourceException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_CIRCUIT_OPEN", environmentId, openingFailures, openingCalls, circuitBreakerConfig.getSlowCallDuration(), remaining));
+    }
+
+    /**
+     * Records the outcome of a call and changes the state of the circuit if necessary.
+     *
+     * @param failed TRUE if the call failed, FALSE otherwise.
+     */
+    private synchronized void record(boolean failed) {
+        switch (state) {
+            case HALF_OPEN:
+                // 1. The probe decides about the state
+                probing = false;
+                if (failed) {
+                    open();
+                } else {
+                    close();
+                }
+                break;
+            case CLOSED:
+                // 2. Track the outcome and open the circuit if there are too many failures
+                track(failed);
+                if (calls >= circuitBreakerConfig.getMinimumCalls() && failures >= circuitBreakerConfig.getFailureRateThreshold() * calls) {
+                    openingFailures = failures;
+                    openingCalls = calls;
+                    open();
+                }
+                break;
+            default:
+                // 3. Calls which were started before the circuit opened don't matter anymore
+                break;
+        }
+    }
+
+    /**
+     * Adds the outcome of a call to the ring buffer and drops the oldest one if the buffer is full.
+     *
+     * @param failed TRUE if the call failed, FALSE otherwise.
+     */
+    private void track(boolean failed) {
+        if (calls == outcomes.length) {
+            if (outcomes[position]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        outcomes[position] = failed;
+        if (failed) {
+            failures++;
+        }
+        position = (position + 1) % outcomes.length;
+    }
+
+    /**
+     * Opens the circuit.
+     */
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+        LOGGER.warn(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_CIRCUIT_OPENED", environmentId, openingFailures, openingCalls, circuitBreakerConfig.getSlowCallDuration(), circuitBreakerConfig.getOpenDuration()));
+    }
+
+    /**
+     * Closes the circuit and forgets the tracked outcomes.
+     */
+    private void close() {
+        state = State.CLOSED;
+        position = 0;
+        calls = 0;
+        failures = 0;
+        LOGGER.info(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_CIRCUIT_CLOSED", environmentId));
+    }
+
+    /**
+     * Checks whether the specified response signals a unhealthy server.
+     *
+     * @param response The response.
+     * @return TRUE if the server failed, FALSE otherwise.
+     */
+    private static boolean isFailure(Response<ResponseBody> response) {
+        return response.code() >= 500;
+    }
+}
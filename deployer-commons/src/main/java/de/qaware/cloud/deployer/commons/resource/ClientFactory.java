@@ -16,27 +16,25 @@
 package de.qaware.cloud.deployer.commons.resource;
 
 import de.qaware.cloud.deployer.commons.config.environment.AuthConfig;
+import de.qaware.cloud.deployer.commons.config.environment.CompressionConfig;
 import de.qaware.cloud.deployer.commons.config.environment.EnvironmentConfig;
+import de.qaware.cloud.deployer.commons.config.environment.HttpConfig;
 import de.qaware.cloud.deployer.commons.config.environment.SSLConfig;
+import de.qaware.cloud.deployer.commons.config.environment.TokenProvider;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
+import okhttp3.ConnectionPool;
 import okhttp3.Credentials;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.Request;
-import okio.ByteString;
 import retrofit2.Retrofit;
 import retrofit2.converter.jackson.JacksonConverterFactory;
 
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.TrustManagerFactory;
-import javax.net.ssl.X509TrustManager;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.security.*;
-import java.security.cert.CertificateException;
-import java.security.cert.CertificateFactory;
-import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
 
@@ -46,69 +44,124 @@ import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMM
 public class ClientFactory {
 
     /**
-     * Specifies the algorithm which is used for trust manager creation.
+     * The shared client which is used to build the clients. It's shared with all factories using the same options.
      */
-    private static final String SSL_ALGORITHM = "SSL";
+    private final HttpClientRegistry.SharedClient sharedClient;
 
     /**
-     * The factory which is used for certificate creation.
+     * The policy which retries the calls of the created clients. Its retry budget and circuit breaker are shared by all
+     * calls.
      */
-    private static final String CERTIFICATE_FACTORY_TYPE = "X509";
-
-    /**
-     * The type of the keystore used for custom certificate storage.
-     */
-    private static final String KEYSTORE_TYPE = "JKS";
-
-    /**
-     * The retrofit instance which is used to build the clients.
-     */
-    private final Retrofit retrofit;
+    private final RetryPolicy retryPolicy;
 
     /**
      * Creates a new ClientFactory which creates clients. Those are initialized with the specified cloud config.
+     * Factories whose configs specify the same base url, authentication, ssl, rate limit, compression and http options
+     * share the same http client.
      *
      * @param environmentConfig The config which is used for the clients.
      * @throws ResourceException If an error occurs.
      */
     public ClientFactory(EnvironmentConfig environmentConfig) throws ResourceException {
-        this.retrofit = createRetrofit(environmentConfig);
+
+        // 1. Check if url is specified.
+        if (environmentConfig.getBaseUrl() == null || environmentConfig.getBaseUrl().isEmpty()) {
+            throw new ResourceException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_NO_URL_SPECIFIED"));
+        }
+
+        // 2. Use default auth, ssl and http configs if none are specified.
+        if (environmentConfig.getAuthConfig() == null) {
+            environmentConfig.setAuthConfig(new AuthConfig());
+        }
+        if (environmentConfig.getSslConfig() == null) {
+            environmentConfig.setSslConfig(new SSLConfig());
+        }
+        if (environmentConfig.getHttpConfig() == null) {
+            environmentConfig.setHttpConfig(new HttpConfig());
+        }
+
+        // 3. Reuse the client of a factory with the same options or create a new one.
+        this.sharedClient = HttpClientRegistry.getClient(environmentConfig, () -> createRetrofit(environmentConfig));
+        CircuitBreaker circuitBreaker = HttpClientRegistry.getCircuitBreaker(environmentConfig);
+        RateLimiter rateLimiter = HttpClientRegistry.getRateLimiter(environmentConfig);
+        this.retryPolicy = new RetryPolicy(environmentConfig.getRetryConfig(), circuitBreaker, rateLimiter, environmentConfig.getHttpConfig().getCallTimeout());
     }
 
     /**
-     * Creates a new client using the factory's config.
+     * Creates a new client using the factory's config. Clients are cached, so the same instance is returned for the
+     * same class.
      *
      * @param serviceClass The client's class.
      * @param <T>          The client's class
-     * @return A new client instance of the specified class initialized with the factory's config.
+     * @return A client instance of the specified class initialized with the factory's config.
      */
     public <T> T create(Class<T> serviceClass) {
-        return retrofit.create(serviceClass);
+        return sharedClient.getService(serviceClass);
+    }
+
+    /**
+     * Creates a new client for long-lived streaming requests (e.g. watches) using the factory's config. Its requests
+     * have no read timeout. Clients are cached, so the same instance is returned for the same class.
+     *
+     * @param serviceClass The client's class.
+     * @param <T>          The client's class
+     * @return A streaming client instance of the specified class initialized with the factory's config.
+     */
+    public <T> T createStreamingClient(Class<T> serviceClass) {
+        return sharedClient.getStreamingService(serviceClass);
     }
 
     /**
-     * Creates the retrofit instance using the specified environment config. It adds headers and ssl.
+     * Returns the policy which retries the calls of the created clients.
      *
-     * @param environmentConfig The config which specifies the headers and ssl options.
+     * @return The retry policy.
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Creates a retrofit instance which shares the configuration and the connections of the specified instance but
+     * doesn't time out while reading.
+     *
+     * @param retrofit The retrofit instance to derive from.
+     * @return The retrofit instance for streaming requests.
+     */
+    static Retrofit createStreamingRetrofit(Retrofit retrofit) {
+        OkHttpClient client = ((OkHttpClient) retrofit.callFactory()).newBuilder()
+                .readTimeout(0, TimeUnit.MILLISECONDS)
+                .build();
+        return new Retrofit.Builder()
+                .baseUrl(retrofit.baseUrl())
+                .addConverterFactory(JacksonConverterFactory.create())
+                .client(client)
+                .build();
+    }
+
+    /**
+     * Creates the retrofit instance using the specified environment config. It adds the http tuning, headers and ssl.
+     *
+     * @param environmentConfig The config which specifies the http tuning, headers and ssl options.
      * @return The retrofit instance.
-     * @throws ResourceException If an error occurs during ssl configuration.
+     * @throws ResourceException If an error occurs during http or ssl configuration.
      */
     private Retrofit createRetrofit(EnvironmentConfig environmentConfig) throws ResourceException {
 
-        // Check if url is specified.
-        if (environmentConfig.getBaseUrl() == null || environmentConfig.getBaseUrl().isEmpty()) {
-            throw new ResourceException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_NO_URL_SPECIFIED"));
-        }
-
         // Create a client builder.
         OkHttpClient.Builder builder = new OkHttpClient.Builder();
 
+        // Add the http tuning.
+        addHttpTuning(environmentConfig, builder);
+
         // Add credentials header if credentials are specified.
         addCredentials(environmentConfig, builder);
 
         // Add token header if token is specified.
         addToken(environmentConfig, builder);
 
+        // Add request compression if enabled.
+        addCompression(environmentConfig, builder);
+
         // Add ssl config if specified.
         addSSLConfig(environmentConfig, builder);
 
@@ -123,7 +176,8 @@ public class ClientFactory {
     }
 
     /**
-     * Adds ssl configuration as specified in the config to the builder, if existing.
+     * Adds ssl configuration as specified in the config to the builder. The ssl contexts are shared with all clients
+     * using the same trust material, so their tls sessions can be resumed.
      *
      * @param environmentConfig The config which specifies how to configure ssl.
      * @param builder           The builder which will be configured.
@@ -131,153 +185,127 @@ public class ClientFactory {
      */
     private void addSSLConfig(EnvironmentConfig environmentConfig, OkHttpClient.Builder builder) throws ResourceException {
         SSLConfig sslConfig = environmentConfig.getSslConfig();
-        if (sslConfig != null) {
-            try {
-                if (sslConfig.isTrustAll()) {
-                    addTrustAllTrustManager(builder);
-                } else if (sslConfig.hasCertificate()) {
-                    addTrustCertTrustManager(builder, sslConfig.getCertificate());
-                }
-            } catch (Exception e) {
-                throw new ResourceException(e);
+        int sessionCacheSize = environmentConfig.getHttpConfig().getTlsSessionCacheSize();
+        try {
+            SSLContextCache.CachedContext context;
+            if (sslConfig.isTrustAll()) {
+                context = SSLContextCache.getTrustAllContext(sessionCacheSize);
+                builder.hostnameVerifier((hostname, sslSession) -> true);
+            } else if (sslConfig.hasCertificate()) {
+                context = SSLContextCache.getCertificateContext(sslConfig.getCertificate(), sessionCacheSize);
+            } else {
+                context = SSLContextCache.getDefaultContext(sessionCacheSize);
             }
-        } else {
-            environmentConfig.setSslConfig(new SSLConfig());
+            builder.sslSocketFactory(context.getSocketFactory(), context.getTrustManager());
+        } catch (Exception e) {
+            throw new ResourceException(e);
         }
     }
 
     /**
-     * Adds a credentials header using the credentials in the config to the builder, if existing.
+     * Adds the connection pool, the dispatcher limits, the protocols and the timeouts as specified in the config to
+     * the builder.
      *
-     * @param environmentConfig The config which specifies the credentials.
+     * @param environmentConfig The config which specifies the http tuning.
      * @param builder           The builder which will be configured.
+     * @throws ResourceException If a protocol is unknown or http/1.1 isn't allowed.
      */
-    private void addCredentials(EnvironmentConfig environmentConfig, OkHttpClient.Builder builder) {
-        AuthConfig authConfig = environmentConfig.getAuthConfig();
-        if (authConfig != null) {
-            String username = authConfig.getUsername();
-            String password = authConfig.getPassword();
-            if (username != null && !username.isEmpty() && password != null && !password.isEmpty()) {
-                builder.addInterceptor(chain -> {
-                    String credentials = Credentials.basic(username, password);
-                    Request original = chain.request();
-                    Request request = original.newBuilder()
-                            .addHeader("Authorization", credentials)
-                            .build();
-                    return chain.proceed(request);
-                });
+    private void addHttpTuning(EnvironmentConfig environmentConfig, OkHttpClient.Builder builder) throws ResourceException {
+        HttpConfig httpConfig = environmentConfig.getHttpConfig();
+
+        // 1. Size the connection pool and the dispatcher.
+        builder.connectionPool(new ConnectionPool(httpConfig.getMaxIdleConnections(), httpConfig.getKeepAliveDuration(), TimeUnit.MILLISECONDS));
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(httpConfig.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(httpConfig.getMaxRequestsPerHost());
+        builder.dispatcher(dispatcher);
+
+        // 2. Set the timeouts.
+        builder.connectTimeout(httpConfig.getConnectTimeout(), TimeUnit.MILLISECONDS);
+        builder.readTimeout(httpConfig.getReadTimeout(), TimeUnit.MILLISECONDS);
+        builder.writeTimeout(httpConfig.getWriteTimeout(), TimeUnit.MILLISECONDS);
+
+        // 3. Select the protocols.
+        try {
+            List<Protocol> protocols = new ArrayList<>();
+            for (String protocol : httpConfig.getProtocols()) {
+                protocols.add(Protocol.get(protocol));
             }
-        } else {
-            environmentConfig.setAuthConfig(new AuthConfig());
+            builder.protocols(protocols);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ResourceException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_INVALID_PROTOCOLS", httpConfig.getProtocols()), e);
         }
     }
 
     /**
-     * Adds a token header using the token specified in the config to the builder, if existing.
+     * Adds a compressor as specified in the config to the builder, if the compression is enabled. It's the last
+     * interceptor, so the request is complete when its body is compressed.
      *
-     * @param environmentConfig The config which specifies the token.
+     * @param environmentConfig The config which specifies the compression.
      * @param builder           The builder which will be configured.
      */
-    private void addToken(EnvironmentConfig environmentConfig, OkHttpClient.Builder builder) {
-        AuthConfig authConfig = environmentConfig.getAuthConfig();
-        if (authConfig != null) {
-            String token = authConfig.getToken();
-            if (token != null && !token.isEmpty()) {
-                builder.addInterceptor(chain -> {
-                    Request original = chain.request();
-                    Request request = original.newBuilder()
-                            .addHeader("Authorization", "token=" + token)
-                            .build();
-                    return chain.proceed(request);
-                });
-            }
-        } else {
-            environmentConfig.setAuthConfig(new AuthConfig());
+    private void addCompression(EnvironmentConfig environmentConfig, OkHttpClient.Builder builder) {
+        CompressionConfig compressionConfig = environmentConfig.getCompressionConfig();
+        if (compressionConfig != null && compressionConfig.isEnabled()) {
+            builder.addInterceptor(new RequestCompressor(compressionConfig));
         }
     }
 
     /**
-     * Adds a trust manager which trusts all certificates to the specified builder.
-     *
-     * @param builder The builder which will use the all-trusting trust manager.
-     * @throws NoSuchAlgorithmException If the ssl algorithm doesn't exist - shouldn't occur.
-     * @throws KeyManagementException   If a problem during trust manager creation occurs - shouldn't occur.
-     */
-    private void addTrustAllTrustManager(OkHttpClient.Builder builder) throws NoSuchAlgorithmException, KeyManagementException {
-        final TrustManager[] trustManagers = new TrustManager[]{
-                new X509TrustManager() {
-                    @Override
-                    public void checkClientTrusted(java.security.cert.X509Certificate[] chain, String authType) throws CertificateException {
-                    }
-
-                    @Override
-                    public void checkServerTrusted(java.security.cert.X509Certificate[] chain, String authType) throws CertificateException {
-                    }
-
-                    @Override
-                    public java.security.cert.X509Certificate[] getAcceptedIssuers() {
-                        return new java.security.cert.X509Certificate[]{};
-                    }
-                }
-        };
-
-        SSLContext sslContext = SSLContext.getInstance(SSL_ALGORITHM);
-        sslContext.init(null, trustManagers, new java.security.SecureRandom());
-
-        X509TrustManager reqLogger = (X509TrustManager) trustManagers[0];
-
-        builder.sslSocketFactory(sslContext.getSocketFactory(), reqLogger);
-        builder.hostnameVerifier((hostname, sslSession) -> true);
-    }
-
-    /**
-     * Adds a trust manager which trusts the specified certificate to the specified builder.
+     * Adds a credentials header using the credentials in the config to the builder, if existing.
      *
-     * @param builder  The builder which will use the trust manager.
-     * @param certData The certificate to use.
-     * @throws NoSuchAlgorithmException If the ssl algorithm doesn't exist - shouldn't occur.
-     * @throws KeyStoreException        If a problem with the key store occurs.
-     * @throws CertificateException     If a problem with the certificate exists.
-     * @throws IOException              If a problem during trust store loading occurs - shouldn't occur.
-     * @throws KeyManagementException   If a problem during trust manager creation occurs - shouldn't occur.
+     * @param environmentConfig The config which specifies the credentials.
+     * @param builder           The builder which will be configured.
      */
-    private void addTrustCertTrustManager(OkHttpClient.Builder builder, String certData) throws NoSuchAlgorithmException, KeyStoreException, CertificateException, IOException, KeyManagementException {
-
-        TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
-        CertificateFactory certFactory = CertificateFactory.getInstance(CERTIFICATE_FACTORY_TYPE);
-
-        InputStream certInputStream = createCertInputStream(certData);
-        X509Certificate cert = (X509Certificate) certFactory.generateCertificate(certInputStream);
-        String alias = cert.getSubjectX500Principal().getName();
-
-        KeyStore trustStore = KeyStore.getInstance(KEYSTORE_TYPE);
-        trustStore.load(null);
-        trustStore.setCertificateEntry(alias, cert);
-        trustManagerFactory.init(trustStore);
-        TrustManager[] trustManagers = trustManagerFactory.getTrustManagers();
-
-        SSLContext sslContext = SSLContext.getInstance(SSL_ALGORITHM);
-        sslContext.init(null, trustManagers, new SecureRandom());
-
-        X509TrustManager reqLogger = (X509TrustManager) trustManagers[0];
-
-        builder.sslSocketFactory(sslContext.getSocketFactory(), reqLogger);
+    private void addCredentials(EnvironmentConfig environmentConfig, OkHttpClient.Builder builder) {
+        AuthConfig authConfig = environmentConfig.getAuthConfig();
+        String username = authConfig.getUsername();
+        String password = authConfig.getPassword();
+        if (username != null && !username.isEmpty() && password != null && !password.isEmpty()) {
+            builder.addInterceptor(chain -> {
+                String credentials = Credentials.basic(username, password);
+                Request original = chain.request();
+                Request request = original.newBuilder()
+                        .addHeader("Authorization", credentials)
+                        .build();
+                return chain.proceed(request);
+            });
+        }
     }
 
     /**
-     * Creates a input stream for the specified certificate data.
+     * Adds a token header using the token specified in the config to the builder, if existing. If the config specifies
+     * a token provider, each request uses its current token and rejected requests are replayed with a refreshed token.
      *
-     * @param certData The certificate data.
-     * @return The input stream.
+     * @param environmentConfig The config which specifies the token.
+     * @param builder           The builder which will be configured.
      */
-    private InputStream createCertInputStream(String certData) {
-        ByteString decoded = ByteString.decodeBase64(certData);
-        byte[] bytes;
-        if (decoded != null) {
-            bytes = decoded.toByteArray();
-        } else {
-            bytes = certData.getBytes();
+    private void addToken(EnvironmentConfig environmentConfig, OkHttpClient.Builder builder) {
+        TokenProvider tokenProvider = environmentConfig.getAuthConfig().getTokenProvider();
+        String token = environmentConfig.getAuthConfig().getToken();
+        if (tokenProvider != null) {
+            builder.addInterceptor(chain -> {
+                String currentToken;
+                try {
+                    currentToken = tokenProvider.getToken();
+                } catch (ResourceException e) {
+                    throw new IOException(e.getMessage(), e);
+                }
+                Request original = chain.request();
+                Request request = original.newBuilder()
+                        .header(TokenAuthenticator.AUTHORIZATION_HEADER, TokenAuthenticator.TOKEN_PREFIX + currentToken)
+                        .build();
+                return chain.proceed(request);
+            });
+            builder.authenticator(new TokenAuthenticator(tokenProvider));
+        } else if (token != null && !token.isEmpty()) {
+            builder.addInterceptor(chain -> {
+                Request original = chain.request();
+                Request request = original.newBuilder()
+                        .addHeader("Authorization", "token=" + token)
+                        .build();
+                return chain.proceed(request);
+            });
         }
-        return new ByteArrayInputStream(bytes);
     }
 }
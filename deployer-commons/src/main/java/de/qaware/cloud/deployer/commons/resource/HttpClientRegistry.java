@@ -0,0 +1,363 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.resource;
+
+import de.qaware.cloud.deployer.commons.config.environment.AuthConfig;
+import de.qaware.cloud.deployer.commons.config.environment.CompressionConfig;
+import de.qaware.cloud.deployer.commons.config.environment.EnvironmentConfig;
+import de.qaware.cloud.deployer.commons.config.environment.HttpConfig;
+import de.qaware.cloud.deployer.commons.config.environment.RateLimitConfig;
+import de.qaware.cloud.deployer.commons.config.environment.SSLConfig;
+import de.qaware.cloud.deployer.commons.config.environment.TokenProvider;
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import okhttp3.OkHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import retrofit2.Retrofit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
+
+/**
+ * Keeps the http clients which are shared by all client factories of a build. Client factories whose environment
+ * configs specify the same base url, authentication, ssl, compression and http options reuse the same connection
+ * pool, dispatcher and client instances. All client factories of a environment share one circuit breaker, so it sees
+ * the error rate of all calls to the environment, and one rate limiter, so the rate applies to all of its calls. The
+ * clients, circuit breakers and rate limiters are released by calling {@link #closeAll()} when the build finished.
+ */
+public final class HttpClientRegistry {
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientRegistry.class);
+
+    /**
+     * The registered clients, identified by the options they were created with.
+     */
+    private static final Map<ClientKey, SharedClient> CLIENTS = new ConcurrentHashMap<>();
+
+    /**
+     * The circuit breakers of the environments, identified by the environment ids.
+     */
+    private static final Map<String, CircuitBreaker> CIRCUIT_BREAKERS = new ConcurrentHashMap<>();
+
+    /**
+     * The rate limiters of the environments, identified by the environment ids.
+     */
+    private static final Map<String, RateLimiter> RATE_LIMITERS = new ConcurrentHashMap<>();
+
+    /**
+     * UTILITY.
+     */
+    private HttpClientRegistry() {
+    }
+
+    /**
+     * Returns the shared client for the specified environment config. If no client with the same options is
+     * registered yet, the specified creator is used to create it.
+     *
+     * @param environmentConfig The environment config which specifies the client's options.
+     * @param creator           The creator which creates the retrofit instance if no client is registered yet.
+     * @return The shared client.
+     * @throws ResourceException If an error occurs during client creation.
+     */
+    static SharedClient getClient(EnvironmentConfig environmentConfig, RetrofitCreator creator) throws ResourceException {
+        ClientKey key = new ClientKey(environmentConfig);
+        SharedClient client = CLIENTS.get(key);
+        if (client == null) {
+            synchronized (CLIENTS) {
+                client = CLIENTS.get(key);
+                if (client == null) {
+                    client = new SharedClient(creator.create());
+                    CLIENTS.put(key, client);
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Returns the circuit breaker of the specified environment. It's created on first use.
+     *
+     * @param environmentConfig The environment config which specifies the circuit breaker.
+     * @return The circuit breaker.
+     */
+    static CircuitBreaker getCircuitBreaker(EnvironmentConfig environmentConfig) {
+        return CIRCUIT_BREAKERS.computeIfAbsent(environmentConfig.getId(),
+                environmentId -> new CircuitBreaker(environmentId, environmentConfig.getCircuitBreakerConfig()));
+    }
+
+    /**
+     * Returns the rate limiter of the specified environment. It's created on first use.
+     *
+     * @param environmentConfig The environment config which specifies the rate limit.
+     * @return The rate limiter or null if the environment's requests aren't limited.
+     */
+    static RateLimiter getRateLimiter(EnvironmentConfig environmentConfig) {
+        RateLimitConfig rateLimitConfig = environmentConfig.getRateLimitConfig();
+        if (rateLimitConfig == null || !rateLimitConfig.isLimited()) {
+            return null;
+        }
+        return RATE_LIMITERS.computeIfAbsent(environmentConfig.getId(), environmentId -> new RateLimiter(rateLimitConfig));
+    }
+
+    /**
+     * Evicts all registered clients, circuit breakers and rate limiters and releases the connections and dispatcher
+     * threads of the clients. Client factories created afterwards use new instances.
+     */
+    public static void closeAll() {
+        List<SharedClient> clients;
+        synchronized (CLIENTS) {
+            clients = new ArrayList<>(CLIENTS.values());
+            CLIENTS.clear();
+            CIRCUIT_BREAKERS.clear();
+            RATE_LIMITERS.clear();
+        }
+        clients.forEach(SharedClient::close);
+        if (!clients.isEmpty()) {
+            LOGGER.debug(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_HTTP_CLIENTS_CLOSED", clients.size()));
+        }
+    }
+
+    /**
+     * Returns the number of registered clients.
+     *
+     * @return The number of registered clients.
+     */
+    static int size() {
+        return CLIENTS.size();
+    }
+
+    /**
+     * Creates the retrofit instance of a new shared client.
+     */
+    @FunctionalInterface
+    interface RetrofitCreator {
+
+        /**
+         * Creates the retrofit instance.
+         *
+         * @return The retrofit instance.
+         * @throws ResourceException If an error occurs during creation.
+         */
+        Retrofit create() throws ResourceException;
+    }
+
+    /**
+     * A client which is shared by all client factories with the same options. It caches the service proxies it
+     * created.
+     */
+    static final class SharedClient {
+
+        /**
+         * The retrofit instance which is used to build the services.
+         */
+        private final Retrofit retrofit;
+
+        /**
+         * The retrofit instance which is used to build services for long-lived streaming requests. It's created on
+         * first use.
+         */
+        private volatile Retrofit streamingRetrofit;
+
+        /**
+         * The services created by the retrofit instance.
+         */
+        private final Map<Class<?>, Object> services = new ConcurrentHashMap<>();
+
+        /**
+         * The services created by the streaming retrofit instance.
+         */
+        private final Map<Class<?>, Object> streamingServices = new ConcurrentHashMap<>();
+
+        /**
+         * Creates a new shared client using the specified retrofit instance.
+         *
+         * @param retrofit The retrofit instance.
+         */
+        SharedClient(Retrofit retrofit) {
+            this.retrofit = retrofit;
+        }
+
+        /**
+         * Returns the service of the specified class. It's created on first use.
+         *
+         * @param serviceClass The service's class.
+         * @param <T>          The service's class.
+         * @return The service.
+         */
+        <T> T getService(Class<T> serviceClass) {
+            return serviceClass.cast(services.computeIfAbsent(serviceClass, retrofit::create));
+        }
+
+        /**
+         * Returns the streaming service of the specified class. It's created on first use.
+         *
+         * @param serviceClass The service's class.
+         * @param <T>          The service's class.
+         * @return The streaming service.
+         */
+        <T> T getStreamingService(Class<T> serviceClass) {
+            return serviceClass.cast(streamingServices.computeIfAbsent(serviceClass, getStreamingRetrofit()::create));
+        }
+
+        /**
+         * Returns the retrofit instance.
+         *
+         * @return The retrofit instance.
+         */
+        Retrofit getRetrofit() {
+            return retrofit;
+        }
+
+        /**
+         * Returns the retrofit instance for streaming requests. It shares the connections and the dispatcher of the
+         * retrofit instance but doesn't time out while reading.
+         *
+         * @return The retrofit instance for streaming requests.
+         */
+        Retrofit getStreamingRetrofit() {
+            if (streamingRetrofit == null) {
+                synchronized (this) {
+                    if (streamingRetrofit == null) {
+                        streamingRetrofit = ClientFactory.createStreamingRetrofit(retrofit);
+                    }
+                }
+            }
+            return streamingRetrofit;
+        }
+
+        /**
+         * Releases the connections and the dispatcher threads of this client. The bytes saved by compression are
+         * reported before.
+         */
+        void close() {
+            OkHttpClient client = (OkHttpClient) retrofit.callFactory();
+            client.interceptors().stream()
+                    .filter(RequestCompressor.class::isInstance)
+                    .forEach(interceptor -> ((RequestCompressor) interceptor).report(retrofit.baseUrl().toString()));
+            client.dispatcher().cancelAll();
+            client.dispatcher().executorService().shutdown();
+            client.connectionPool().evictAll();
+        }
+    }
+
+    /**
+     * Identifies a shared client by the options which are used for its creation.
+     */
+    private static final class ClientKey {
+
+        /**
+         * The base url.
+         */
+        private final String baseUrl;
+
+        /**
+         * The username used for basic authentication.
+         */
+        private final String username;
+
+        /**
+         * The password used for basic authentication.
+         */
+        private final String password;
+
+        /**
+         * The token used for token authentication.
+         */
+        private final String token;
+
+        /**
+         * The provider of the token used for token authentication. Its token may change, so the provider itself
+         * identifies the client.
+         */
+        private final TokenProvider tokenProvider;
+
+        /**
+         * Indicates whether all certificates are trusted.
+         */
+        private final boolean trustAll;
+
+        /**
+         * The trusted certificate.
+         */
+        private final String certificate;
+
+        /**
+         * Indicates whether request bodies are compressed.
+         */
+        private final boolean compressed;
+
+        /**
+         * The size in bytes a request body needs to be compressed.
+         */
+        private final long compressionThreshold;
+
+        /**
+         * The tuning of the http client.
+         */
+        private final HttpConfig httpConfig;
+
+        /**
+         * Creates a new key for the specified environment config.
+         *
+         * @param environmentConfig The environment config.
+         */
+        ClientKey(EnvironmentConfig environmentConfig) {
+            AuthConfig authConfig = environmentConfig.getAuthConfig();
+            SSLConfig sslConfig = environmentConfig.getSslConfig();
+            CompressionConfig compressionConfig = environmentConfig.getCompressionConfig();
+            this.baseUrl = environmentConfig.getBaseUrl();
+            this.username = authConfig != null ? authConfig.getUsername() : null;
+            this.password = authConfig != null ? authConfig.getPassword() : null;
+            this.tokenProvider = authConfig != null ? authConfig.getTokenProvider() : null;
+            this.token = authConfig != null && tokenProvider == null ? authConfig.getToken() : null;
+            this.trustAll = sslConfig != null && sslConfig.isTrustAll();
+            this.certificate = sslConfig != null ? sslConfig.getCertificate() : null;
+            this.compressed = compressionConfig != null && compressionConfig.isEnabled();
+            this.compressionThreshold = compressionConfig != null ? compressionConfig.getThreshold() : 0;
+            this.httpConfig = environmentConfig.getHttpConfig();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ClientKey clientKey = (ClientKey) o;
+            return trustAll == clientKey.trustAll &&
+                    compressed == clientKey.compressed &&
+                    compressionThreshold == clientKey.compressionThreshold &&
+                    Objects.equals(baseUrl, clientKey.baseUrl) &&
+                    Objects.equals(username, clientKey.username) &&
+                    Objects.equals(password, clientKey.password) &&
+                    Objects.equals(token, clientKey.token) &&
+                    Objects.equals(tokenProvider, clientKey.tokenProvider) &&
+                    Objects.equals(certificate, clientKey.certificate) &&
+                    Objects.equals(httpConfig, clientKey.httpConfig);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(baseUrl, username, password, token, tokenProvider, trustAll, certificate, compressed, compressionThreshold, httpConfig);
+        }
+    }
+}
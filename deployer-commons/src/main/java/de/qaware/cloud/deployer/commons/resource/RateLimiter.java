@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.resource;
+
+import de.qaware.cloud.deployer.commons.config.environment.RateLimitConfig;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the rate of the requests of a http client using a token bucket. The bucket holds up to burst tokens and is
+ * refilled with the configured number of tokens per second. Every request takes a token, a request which finds the
+ * bucket empty waits until its token is refilled. The waiting requests are queued in the order of their arrival. The
+ * wait is a scheduled delay, so no thread is blocked while a request waits for its token.
+ */
+class RateLimiter {
+
+    /**
+     * The number of nanoseconds per second.
+     */
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * The number of nanoseconds per millisecond.
+     */
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * The number of tokens which are refilled per second.
+     */
+    private final double qps;
+
+    /**
+     * The maximum number of tokens in the bucket.
+     */
+    private final double burst;
+
+    /**
+     * The clock which returns the current time in nanoseconds.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * The number of tokens in the bucket. It's negative if requests wait for their tokens.
+     */
+    private double tokens;
+
+    /**
+     * The time the bucket was refilled last.
+     */
+    private long refilledAt;
+
+    /**
+     * Creates a new rate limiter with a full bucket.
+     *
+     * @param rateLimitConfig The config which specifies the rate and the burst.
+     */
+    RateLimiter(RateLimitConfig rateLimitConfig) {
+        this(rateLimitConfig, System::nanoTime);
+    }
+
+    /**
+     * Creates a new rate limiter with a full bucket which uses the specified clock.
+     *
+     * @param rateLimitConfig The config which specifies the rate and the burst.
+     * @param clock           The clock which returns the current time in nanoseconds.
+     */
+    RateLimiter(RateLimitConfig rateLimitConfig, LongSupplier clock) {
+        this.qps = rateLimitConfig.getQps();
+        this.burst = Math.max(1, rateLimitConfig.getBurst());
+        this.clock = clock;
+        this.tokens = burst;
+        this.refilledAt = clock.getAsLong();
+    }
+
+    /**
+     * Takes a token out of the bucket and waits for it if the bucket is empty.
+     *
+     * @return The future which is completed when the token is available.
+     */
+    CompletableFuture<Void> acquire() {
+        long wait = reserve();
+        if (wait <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return AsyncCallUtil.delay(TimeUnit.NANOSECONDS.toMillis(wait + NANOS_PER_MILLI - 1));
+    }
+
+    /**
+     * Takes a token out of the bucket. If the bucket is empty, the token is reserved and the time until it's refilled
+     * is returned.
+     *
+     * @return The time in nanoseconds the request has to wait for its token.
+     */
+    synchronized long reserve() {
+        // 1. Refill the bucket
+        long now = clock.getAsLong();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * qps / NANOS_PER_SECOND);
+        refilledAt = now;
+
+        // 2. Take the token
+        tokens--;
+        if (tokens >= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(-tokens * NANOS_PER_SECOND / qps);
+    }
+}
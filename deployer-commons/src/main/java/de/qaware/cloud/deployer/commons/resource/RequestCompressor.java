@@ -0,0 +1,208 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.resource;
+
+import de.qaware.cloud.deployer.commons.config.environment.CompressionConfig;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ByteString;
+import okio.GzipSink;
+import okio.Okio;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
+
+/**
+ * Gzip-encodes the request bodies of a http client which reach the configured threshold. Compressed responses are
+ * negotiated by okhttp itself, which requests and decodes them transparently as long as no accept-encoding header is
+ * set. If the backend rejects a compressed body as unsupported media type, the request is sent again uncompressed and
+ * the compression is disabled for this client. The compressor counts the bytes it saved, so they can be reported
+ * when the client is closed.
+ */
+class RequestCompressor implements Interceptor {
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestCompressor.class);
+
+    /**
+     * The name of the header which specifies the encoding of a body.
+     */
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+
+    /**
+     * The encoding of the compressed bodies.
+     */
+    private static final String GZIP = "gzip";
+
+    /**
+     * The status code of a response which rejects the encoding of the request body.
+     */
+    private static final int UNSUPPORTED_MEDIA_TYPE = 415;
+
+    /**
+     * The size in bytes a request body needs to be compressed.
+     */
+    private final long threshold;
+
+    /**
+     * Indicates whether the backend accepts compressed request bodies.
+     */
+    private volatile boolean supported = true;
+
+    /**
+     * The number of requests which were sent compressed.
+     */
+    private final AtomicLong compressedRequests = new AtomicLong();
+
+    /**
+     * The size of the compressed request bodies before compression.
+     */
+    private final AtomicLong originalBytes = new AtomicLong();
+
+    /**
+     * The size of the compressed request bodies after compression.
+     */
+    private final AtomicLong sentBytes = new AtomicLong();
+
+    /**
+     * The number of responses which were received compressed.
+     */
+    private final AtomicLong compressedResponses = new AtomicLong();
+
+    /**
+     * Creates a new request compressor.
+     *
+     * @param compressionConfig The config which specifies the threshold.
+     */
+    RequestCompressor(CompressionConfig compressionConfig) {
+        this.threshold = compressionConfig.getThreshold();
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        RequestBody body = request.body();
+
+        // 1. Send the request unchanged if its body is missing, encoded already or too small
+        if (!supported || body == null || request.header(CONTENT_ENCODING) != null || body.contentLength() < threshold) {
+            return countResponse(chain.proceed(request));
+        }
+
+        // 2. Compress the body and send it unchanged if that doesn't save anything
+        ByteString compressed = compress(body);
+        long originalLength = body.contentLength();
+        if (compressed.size() >= originalLength) {
+            return countResponse(chain.proceed(request));
+        }
+        Request compressedRequest = request.newBuilder()
+                .header(CONTENT_ENCODING, GZIP)
+                .method(request.method(), RequestBody.create(body.contentType(), compressed))
+                .build();
+        Response response = chain.proceed(compressedRequest);
+
+        // 3. Send the request again uncompressed if the backend doesn't accept compressed bodies
+        if (response.code() == UNSUPPORTED_MEDIA_TYPE) {
+            response.close();
+            supported = false;
+            LOGGER.warn(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_COMPRESSION_UNSUPPORTED", request.url().host()));
+            return countResponse(chain.proceed(request));
+        }
+
+        // 4. Count the saved bytes
+        compressedRequests.incrementAndGet();
+        originalBytes.addAndGet(originalLength);
+        sentBytes.addAndGet(compressed.size());
+        return countResponse(response);
+    }
+
+    /**
+     * Logs the bytes which were saved by this compressor, if any request was compressed.
+     *
+     * @param baseUrl The base url of the client this compressor belongs to.
+     */
+    void report(String baseUrl) {
+        if (compressedRequests.get() > 0 || compressedResponses.get() > 0) {
+            LOGGER.info(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_COMPRESSION_SUMMARY",
+                    compressedRequests.get(), baseUrl, getSavedBytes(), originalBytes.get(), compressedResponses.get()));
+        }
+    }
+
+    /**
+     * Returns the number of requests which were sent compressed.
+     *
+     * @return The number of compressed requests.
+     */
+    long getCompressedRequests() {
+        return compressedRequests.get();
+    }
+
+    /**
+     * Returns the number of bytes which were saved by compressing the request bodies.
+     *
+     * @return The number of saved bytes.
+     */
+    long getSavedBytes() {
+        return originalBytes.get() - sentBytes.get();
+    }
+
+    /**
+     * Returns the number of responses which were received compressed.
+     *
+     * @return The number of compressed responses.
+     */
+    long getCompressedResponses() {
+        return compressedResponses.get();
+    }
+
+    /**
+     * Counts the specified response if it was received compressed.
+     *
+     * @param response The response.
+     * @return The specified response.
+     */
+    private Response countResponse(Response response) {
+        Response networkResponse = response.networkResponse();
+        if (networkResponse != null && GZIP.equalsIgnoreCase(networkResponse.header(CONTENT_ENCODING))) {
+            compressedResponses.incrementAndGet();
+        }
+        return response;
+    }
+
+    /**
+     * Gzip-encodes the specified request body.
+     *
+     * @param body The body to compress.
+     * @return The compressed body.
+     * @throws IOException If the body can't be written.
+     */
+    private static ByteString compress(RequestBody body) throws IOException {
+        Buffer buffer = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new GzipSink(buffer))) {
+            body.writeTo(sink);
+        }
+        return buffer.readByteString();
+    }
+}
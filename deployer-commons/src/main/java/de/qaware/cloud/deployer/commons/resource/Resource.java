@@ -18,6 +18,8 @@ package de.qaware.cloud.deployer.commons.resource;
 
 import de.qaware.cloud.deployer.commons.error.ResourceException;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Specifies the operations a resource has to offer.
  */
@@ -51,4 +53,35 @@ public interface Resource {
      * @throws ResourceException If an error during updating occurs.
      */
     void update() throws ResourceException;
+
+    /**
+     * Checks asynchronously whether the resource exists in the cloud or not.
+     *
+     * @return The future which is completed with TRUE if the resource exists, FALSE otherwise.
+     * @throws ResourceException If the request can't be created.
+     */
+    CompletableFuture<Boolean> existsAsync() throws ResourceException;
+
+    /**
+     * Creates the resource asynchronously.
+     *
+     * @return The future which is completed when the resource exists.
+     * @throws ResourceException If the request can't be created.
+     */
+    CompletableFuture<Void> createAsync() throws ResourceException;
+
+    /**
+     * Deletes the resource asynchronously.
+     *
+     * @return The future which is completed when the resource doesn't exist anymore.
+     * @throws ResourceException If the request can't be created.
+     */
+    CompletableFuture<Void> deleteAsync() throws ResourceException;
+
+    /**
+     * Releases the content of the resource once it has been applied. Afterwards the resource can't be created or
+     * updated anymore, but it can still be checked for existence and deleted.
+     */
+    default void release() {
+    }
 }
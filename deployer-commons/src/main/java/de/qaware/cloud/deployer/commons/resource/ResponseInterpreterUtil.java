@@ -58,4 +58,14 @@ public final class ResponseInterpreterUtil {
     public static boolean isServerErrorResponse(Response<ResponseBody> response) {
         return response.code() == 409 || response.code() == 500;
     }
+
+    /**
+     * Indicates whether the server rejected the request because too many requests were sent.
+     *
+     * @param response The response which contains the response code.
+     * @return TRUE if the server asks to slow down, FALSE otherwise.
+     */
+    public static boolean isTooManyRequestsResponse(Response<ResponseBody> response) {
+        return response.code() == 429;
+    }
 }
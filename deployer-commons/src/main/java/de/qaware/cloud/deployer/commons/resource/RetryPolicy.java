@@ -0,0 +1,320 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.resource;
+
+import de.qaware.cloud.deployer.commons.config.environment.RetryConfig;
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import retrofit2.Call;
+import retrofit2.Response;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
+
+/**
+ * Executes calls and retries them if the server is busy or failed. The delay between two attempts grows
+ * exponentially with a random jitter, a Retry-After header of the server is honoured up to the maximum delay. All
+ * retries of failed calls count towards a budget which is shared by all calls of a deploy run. Calls which were
+ * rejected because too many requests were sent (429) are retried without using the budget, the server is healthy and
+ * only asks to slow down. Every attempt first waits for its token of the environment's rate limiter, then passes the
+ * circuit breaker of the environment, so no attempts are made while the environment is unhealthy. If a call timeout is
+ * specified, attempts which take longer are canceled. The time spent waiting for the rate limiter counts neither
+ * towards the call timeout nor towards the duration the circuit breaker measures.
+ */
+public class RetryPolicy {
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(RetryPolicy.class);
+
+    /**
+     * The name of the header which contains the server's retry advice.
+     */
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    /**
+     * The config which describes this policy.
+     */
+    private final RetryConfig retryConfig;
+
+    /**
+     * The circuit breaker which guards the attempts.
+     */
+    private final CircuitBreaker circuitBreaker;
+
+    /**
+     * The rate limiter which throttles the attempts or null if they aren't limited.
+     */
+    private final RateLimiter rateLimiter;
+
+    /**
+     * The duration in milliseconds after which an attempt is canceled - 0 means attempts aren't canceled.
+     */
+    private final long callTimeout;
+
+    /**
+     * The number of retries which are still allowed in this run.
+     */
+    private final AtomicInteger remainingBudget;
+
+    /**
+     * Signals whether the exhaustion of the budget was already logged.
+     */
+    private final AtomicBoolean exhaustionLogged = new AtomicBoolean();
+
+    /**
+     * Creates a new retry policy with a full budget.
+     *
+     * @param retryConfig    The config which describes the policy.
+     * @param circuitBreaker The circuit breaker which guards the attempts.
+     */
+    public RetryPolicy(RetryConfig retryConfig, CircuitBreaker circuitBreaker) {
+        this(retryConfig, circuitBreaker, 0);
+    }
+
+    /**
+     * Creates a new retry policy with a full budget which cancels attempts taking longer than the call timeout.
+     *
+     * @param retryConfig    The config which describes the policy.
+     * @param circuitBreaker The circuit breaker which guards the attempts.
+     * @param callTimeout    The duration in milliseconds after which an attempt is canceled (0 means never).
+     */
+    public RetryPolicy(RetryConfig retryConfig, CircuitBreaker circuitBreaker, long callTimeout) {
+        this(retryConfig, circuitBreaker, null, callTimeout);
+    }
+
+    /**
+     * Creates a new retry policy with a full budget whose attempts are throttled by the specified rate limiter.
+     *
+     * @param retryConfig    The config which describes the policy.
+     * @param circuitBreaker The circuit breaker which guards the attempts.
+     * @param rateLimiter    The rate limiter which throttles the attempts (null means unlimited).
+     * @param callTimeout    The duration in milliseconds after which an attempt is canceled (0 means never).
+     */
+    RetryPolicy(RetryConfig retryConfig, CircuitBreaker circuitBreaker, RateLimiter rateLimiter, long callTimeout) {
+        this.retryConfig = retryConfig;
+        this.circuitBreaker = circuitBreaker;
+        this.rateLimiter = rateLimiter;
+        this.callTimeout = callTimeout;
+        this.remainingBudget = new AtomicInteger(retryConfig.getBudget());
+    }
+
+    /**
+     * Returns the circuit breaker which guards the attempts.
+     *
+     * @return The circuit breaker.
+     */
+    CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Returns the rate limiter which throttles the attempts.
+     *
+     * @return The rate limiter or null if the attempts aren't limited.
+     */
+    RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Enqueues the specified call and retries it as long as the server is busy or failed and retries are allowed.
+     *
+     * @param call The call which will be executed.
+     * @return The future which is completed with the response of the last attempt.
+     */
+    public CompletableFuture<Response<ResponseBody>> enqueue(Call<ResponseBody> call) {
+        return enqueue(call, 1);
+    }
+
+    /**
+     * Enqueues a single attempt of the specified call without retrying it. Like every attempt it waits for the rate
+     * limiter, passes the circuit breaker and is canceled after the call timeout.
+     *
+     * @param call The call which will be executed.
+     * @return The future which is completed with the response of the call.
+     */
+    public CompletableFuture<Response<ResponseBody>> enqueueOnce(Call<ResponseBody> call) {
+        return enqueueAttempt(call);
+    }
+
+    /**
+     * Returns the number of retries which are still allowed in this run.
+     *
+     * @return The remaining budget.
+     */
+    public int getRemainingBudget() {
+        return Math.max(0, remainingBudget.get());
+    }
+
+    /**
+     * Enqueues the specified attempt of a call and schedules the next attempt if necessary.
+     *
+     * @param call    The call which will be executed.
+     * @param attempt The number of the attempt (starting with 1).
+     * @return The future which is completed with the response of the last attempt.
+     */
+    private CompletableFuture<Response<ResponseBody>> enqueue(Call<ResponseBody> call, int attempt) {
+        return enqueueAttempt(call).thenCompose(response -> {
+            if (!isRetryable(response) || attempt >= retryConfig.getMaxAttempts()) {
+                return CompletableFuture.completedFuture(response);
+            }
+            if (!ResponseInterpreterUtil.isTooManyRequestsResponse(response) && !acquireRetry()) {
+                return CompletableFuture.completedFuture(response);
+            }
+
+            // 1. Release the connection of the failed attempt
+            ResponseBody errorBody = response.errorBody();
+            if (errorBody != null) {
+                errorBody.close();
+            }
+
+            // 2. Schedule the next attempt
+            long delay = calculateDelay(response, attempt);
+            Request request = response.raw().request();
+            LOGGER.debug(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_RETRYING_CALL", request.method(), request.url(), response.code(), delay, attempt + 1, retryConfig.getMaxAttempts()));
+            return AsyncCallUtil.delay(delay).thenCompose(ignored -> enqueue(call.clone(), attempt + 1));
+        });
+    }
+
+    /**
+     * Enqueues a single attempt of a call once its token of the rate limiter is available.
+     *
+     * @param call The call which will be executed.
+     * @return The future which is completed with the response of the attempt.
+     */
+    private CompletableFuture<Response<ResponseBody>> enqueueAttempt(Call<ResponseBody> call) {
+        return acquireToken().thenCompose(ignored -> enqueueGuarded(call));
+    }
+
+    /**
+     * Takes a token of the rate limiter.
+     *
+     * @return The future which is completed when the token is available.
+     */
+    private CompletableFuture<Void> acquireToken() {
+        return rateLimiter != null ? rateLimiter.acquire() : CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Enqueues a single attempt of a call through the circuit breaker and cancels it if it takes longer than the call
+     * timeout.
+     *
+     * @param call The call which will be executed.
+     * @return The future which is completed with the response of the attempt.
+     */
+    private CompletableFuture<Response<ResponseBody>> enqueueGuarded(Call<ResponseBody> call) {
+        if (callTimeout <= 0) {
+            return circuitBreaker.enqueue(call);
+        }
+
+        // 1. Cancel the attempt if it isn't done in time
+        AtomicBoolean timedOut = new AtomicBoolean();
+        CompletableFuture<Response<ResponseBody>> attempt = circuitBreaker.enqueue(call);
+        AsyncCallUtil.schedule(() -> {
+            if (!attempt.isDone() && timedOut.compareAndSet(false, true)) {
+                call.cancel();
+            }
+        }, callTimeout);
+
+        // 2. Report a canceled attempt as timed out
+        CompletableFuture<Response<ResponseBody>> result = new CompletableFuture<>();
+        attempt.whenComplete((response, error) -> {
+            if (error == null) {
+                result.complete(response);
+            } else if (timedOut.get()) {
+                Request request = call.request();
+                result.completeExceptionally(new ResourceException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_CALL_TIMED_OUT", request.method(), request.url(), callTimeout)));
+            } else {
+                result.completeExceptionally(error);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Checks whether the specified response signals a busy or failed server.
+     *
+     * @param response The response of the attempt.
+     * @return TRUE if the call may be retried, FALSE otherwise.
+     */
+    private static boolean isRetryable(Response<ResponseBody> response) {
+        return ResponseInterpreterUtil.isServerErrorResponse(response) || ResponseInterpreterUtil.isTooManyRequestsResponse(response);
+    }
+
+    /**
+     * Takes a retry out of the budget.
+     *
+     * @return TRUE if the retry is allowed, FALSE if the budget is exhausted.
+     */
+    private boolean acquireRetry() {
+        if (remainingBudget.getAndDecrement() > 0) {
+            return true;
+        }
+        if (exhaustionLogged.compareAndSet(false, true)) {
+            LOGGER.warn(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_RETRY_BUDGET_EXHAUSTED", retryConfig.getBudget()));
+        }
+        return false;
+    }
+
+    /**
+     * Calculates the delay before the next attempt. It's the exponential backoff with jitter or the server's advice
+     * if that's longer, but never more than the maximum delay.
+     *
+     * @param response The response of the failed attempt.
+     * @param attempt  The number of the failed attempt.
+     * @return The delay in milliseconds.
+     */
+    long calculateDelay(Response<ResponseBody> response, int attempt) {
+        long backoff = BackoffUtil.exponentialDelay(retryConfig.getInitialDelay(), retryConfig.getMaxDelay(), retryConfig.getMultiplier(), attempt);
+        long delay = Math.max(BackoffUtil.applyJitter(backoff, retryConfig.getJitter()), parseRetryAfter(response.headers().get(RETRY_AFTER_HEADER)));
+        return Math.min(delay, retryConfig.getMaxDelay());
+    }
+
+    /**
+     * Parses the value of a Retry-After header. It's either a number of seconds or a http date.
+     *
+     * @param retryAfter The header value or null if the header isn't set.
+     * @return The advised delay in milliseconds or 0 if the value is missing or invalid.
+     */
+    static long parseRetryAfter(String retryAfter) {
+        if (retryAfter == null || retryAfter.trim().isEmpty()) {
+            return 0;
+        }
+        String value = retryAfter.trim();
+        try {
+            return Math.max(0, Long.parseLong(value) * 1000);
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(date.getZone()), date).toMillis());
+            } catch (DateTimeParseException dateTimeParseException) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.resource;
+
+import okio.ByteString;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.SecureRandom;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the ssl contexts and the trust material which are shared by all http clients of the jvm. Contexts trusting a
+ * certificate are identified by the certificate's fingerprint. Sharing a context shares its session cache, so repeated
+ * connections to the same server resume the session instead of doing a full handshake.
+ */
+final class SSLContextCache {
+
+    /**
+     * Specifies the protocol of the ssl contexts.
+     */
+    private static final String SSL_PROTOCOL = "TLS";
+
+    /**
+     * The factory which is used for certificate creation.
+     */
+    private static final String CERTIFICATE_FACTORY_TYPE = "X509";
+
+    /**
+     * The type of the keystore used for custom certificate storage.
+     */
+    private static final String KEYSTORE_TYPE = "JKS";
+
+    /**
+     * The key of the context which trusts all certificates.
+     */
+    private static final String TRUST_ALL_KEY = "trust-all";
+
+    /**
+     * The key of the context which uses the platform's trust material.
+     */
+    private static final String DEFAULT_KEY = "default";
+
+    /**
+     * The cached contexts, identified by their trust material and session cache size.
+     */
+    private static final Map<String, CachedContext> CONTEXTS = new ConcurrentHashMap<>();
+
+    /**
+     * UTILITY.
+     */
+    private SSLContextCache() {
+    }
+
+    /**
+     * Returns the context which trusts all certificates.
+     *
+     * @param sessionCacheSize The number of cached tls sessions (0 means the platform's default).
+     * @return The context.
+     * @throws GeneralSecurityException If the context can't be created - shouldn't occur.
+     * @throws IOException              If the trust material can't be loaded - shouldn't occur.
+     */
+    static CachedContext getTrustAllContext(int sessionCacheSize) throws GeneralSecurityException, IOException {
+        return getContext(TRUST_ALL_KEY, sessionCacheSize, SSLContextCache::createTrustAllTrustManager);
+    }
+
+    /**
+     * Returns the context which uses the platform's trust material.
+     *
+     * @param sessionCacheSize The number of cached tls sessions (0 means the platform's default).
+     * @return The context.
+     * @throws GeneralSecurityException If the context can't be created - shouldn't occur.
+     * @throws IOException              If the trust material can't be loaded - shouldn't occur.
+     */
+    static CachedContext getDefaultContext(int sessionCacheSize) throws GeneralSecurityException, IOException {
+        return getContext(DEFAULT_KEY, sessionCacheSize, () -> createTrustManager(null));
+    }
+
+    /**
+     * Returns the context which trusts the specified certificate.
+     *
+     * @param certData         The base64 encoded or plain certificate.
+     * @param sessionCacheSize The number of cached tls sessions (0 means the platform's default).
+     * @return The context.
+     * @throws GeneralSecurityException If the certificate is invalid.
+     * @throws IOException              If the trust material can't be loaded - shouldn't occur.
+     */
+    static CachedContext getCertificateContext(String certData, int sessionCacheSize) throws GeneralSecurityException, IOException {
+        CertificateFactory certFactory = CertificateFactory.getInstance(CERTIFICATE_FACTORY_TYPE);
+        X509Certificate cert = (X509Certificate) certFactory.generateCertificate(createCertInputStream(certData));
+        String fingerprint = ByteString.of(cert.getEncoded()).sha256().hex();
+        return getContext(fingerprint, sessionCacheSize, () -> {
+            KeyStore trustStore = KeyStore.getInstance(KEYSTORE_TYPE);
+            trustStore.load(null);
+            trustStore.setCertificateEntry(cert.getSubjectX500Principal().getName(), cert);
+            return createTrustManager(trustStore);
+        });
+    }
+
+    /**
+     * Evicts all cached contexts.
+     */
+    static void clear() {
+        CONTEXTS.clear();
+    }
+
+    /**
+     * Returns the number of cached contexts.
+     *
+     * @return The number of cached contexts.
+     */
+    static int size() {
+        return CONTEXTS.size();
+    }
+
+    /**
+     * Returns the cached context for the specified trust material. If it isn't cached yet, it's created using the
+     * trust manager of the specified creator.
+     *
+     * @param trustKey         The key which identifies the trust material.
+     * @param sessionCacheSize The number of cached tls sessions (0 means the platform's default).
+     * @param creator          The creator of the trust manager.
+     * @return The context.
+     * @throws GeneralSecurityException If the context can't be created.
+     * @throws IOException              If the trust material can't be loaded.
+     */
+    private static CachedContext getContext(String trustKey, int sessionCacheSize, TrustManagerCreator creator) throws GeneralSecurityException, IOException {
+        String key = trustKey + ":" + sessionCacheSize;
+        CachedContext context = CONTEXTS.get(key);
+        if (context == null) {
+            synchronized (CONTEXTS) {
+                context = CONTEXTS.get(key);
+                if (context == null) {
+                    context = new CachedContext(creator.create(), sessionCacheSize);
+                    CONTEXTS.put(key, context);
+                }
+            }
+        }
+        return context;
+    }
+
+    /**
+     * Creates a trust manager which trusts the certificates of the specified trust store.
+     *
+     * @param trustStore The trust store or null if the platform's trust material is used.
+     * @return The trust manager.
+     * @throws GeneralSecurityException If the trust manager can't be created.
+     */
+    private static X509TrustManager createTrustManager(KeyStore trustStore) throws GeneralSecurityException {
+        TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagerFactory.init(trustStore);
+        return (X509TrustManager) trustManagerFactory.getTrustManagers()[0];
+    }
+
+    /**
+     * Creates a trust manager which trusts all certificates.
+     *
+     * @return The all-trusting trust manager.
+     */
+    private static X509TrustManager createTrustAllTrustManager() {
+        return new X509TrustManager() {
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+            }
+
+            @Override
+            public X509Certificate[] getAcceptedIssuers() {
+                return new X509Certificate[]{};
+            }
+        };
+    }
+
+    /**
+     * Creates a input stream for the specified certificate data.
+     *
+     * @param certData The certificate data.
+     * @return The input stream.
+     */
+    private static InputStream createCertInputStream(String certData) {
+        ByteString decoded = ByteString.decodeBase64(certData);
+        byte[] bytes;
+        if (decoded != null) {
+            bytes = decoded.toByteArray();
+        } else {
+            bytes = certData.getBytes();
+        }
+        return new ByteArrayInputStream(bytes);
+    }
+
+    /**
+     * Creates the trust manager of a context which isn't cached yet.
+     */
+    @FunctionalInterface
+    private interface TrustManagerCreator {
+
+        /**
+         * Creates the trust manager.
+         *
+         * @return The trust manager.
+         * @throws GeneralSecurityException If the trust manager can't be created.
+         * @throws IOException              If the trust material can't be loaded.
+         */
+        X509TrustManager create() throws GeneralSecurityException, IOException;
+    }
+
+    /**
+     * A ssl context and the trust manager it was initialized with.
+     */
+    static final class CachedContext {
+
+        /**
+         * The ssl context.
+         */
+        private final SSLContext sslContext;
+
+        /**
+         * The socket factory of the ssl context.
+         */
+        private final SSLSocketFactory socketFactory;
+
+        /**
+         * The trust manager of the ssl context.
+         */
+        private final X509TrustManager trustManager;
+
+        /**
+         * Creates a new ssl context using the specified trust manager.
+         *
+         * @param trustManager     The trust manager.
+         * @param sessionCacheSize The number of cached tls sessions (0 means the platform's default).
+         * @throws GeneralSecurityException If the context can't be created - shouldn't occur.
+         */
+        CachedContext(X509TrustManager trustManager, int sessionCacheSize) throws GeneralSecurityException {
+            this.trustManager = trustManager;
+            this.sslContext = SSLContext.getInstance(SSL_PROTOCOL);
+            this.sslContext.init(null, new TrustManager[]{trustManager}, new SecureRandom());
+            if (sessionCacheSize > 0) {
+                this.sslContext.getClientSessionContext().setSessionCacheSize(sessionCacheSize);
+            }
+            this.socketFactory = sslContext.getSocketFactory();
+        }
+
+        /**
+         * Returns the ssl context.
+         *
+         * @return The ssl context.
+         */
+        SSLContext getSslContext() {
+            return sslContext;
+        }
+
+        /**
+         * Returns the socket factory of the ssl context.
+         *
+         * @return The socket factory.
+         */
+        SSLSocketFactory getSocketFactory() {
+            return socketFactory;
+        }
+
+        /**
+         * Returns the trust manager of the ssl context.
+         *
+         * @return The trust manager.
+         */
+        X509TrustManager getTrustManager() {
+            return trustManager;
+        }
+    }
+}
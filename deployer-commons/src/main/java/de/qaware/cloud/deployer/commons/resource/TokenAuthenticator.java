@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.resource;
+
+import de.qaware.cloud.deployer.commons.config.environment.TokenProvider;
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import okhttp3.Authenticator;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.Route;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
+
+/**
+ * Answers a rejected request (401) by refreshing the token and replaying the request once. If the retrieval of the
+ * new token fails or the replayed request is rejected as well, the rejection is passed to the caller.
+ */
+class TokenAuthenticator implements Authenticator {
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenAuthenticator.class);
+
+    /**
+     * The name of the header which contains the token.
+     */
+    static final String AUTHORIZATION_HEADER = "Authorization";
+
+    /**
+     * The prefix of the token in the authorization header.
+     */
+    static final String TOKEN_PREFIX = "token=";
+
+    /**
+     * The provider which refreshes the token.
+     */
+    private final TokenProvider tokenProvider;
+
+    /**
+     * Creates a new token authenticator.
+     *
+     * @param tokenProvider The provider which refreshes the token.
+     */
+    TokenAuthenticator(TokenProvider tokenProvider) {
+        this.tokenProvider = tokenProvider;
+    }
+
+    @Override
+    public Request authenticate(Route route, Response response) {
+        // 1. Replay the request only once
+        if (response.priorResponse() != null) {
+            return null;
+        }
+
+        // 2. Refresh the rejected token
+        Request request = response.request();
+        String header = request.header(AUTHORIZATION_HEADER);
+        String rejectedToken = header != null && header.startsWith(TOKEN_PREFIX) ? header.substring(TOKEN_PREFIX.length()) : null;
+        String token;
+        try {
+            token = tokenProvider.refreshToken(rejectedToken);
+        } catch (ResourceException e) {
+            LOGGER.warn(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_TOKEN_REFRESH_FAILED", request.url(), e.getMessage()));
+            return null;
+        }
+
+        // 3. Replay the request using the new token
+        LOGGER.debug(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_REPLAYING_REJECTED_CALL", request.method(), request.url()));
+        return request.newBuilder()
+                .header(AUTHORIZATION_HEADER, TOKEN_PREFIX + token)
+                .build();
+    }
+}
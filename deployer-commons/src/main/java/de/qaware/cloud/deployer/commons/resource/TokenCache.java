@@ -0,0 +1,94 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.resource;
+
+import de.qaware.cloud.deployer.commons.config.environment.TokenProvider;
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the token providers which are shared by all environments of a build. A provider is identified by a key which
+ * describes the environment and the credentials used to retrieve the token. Tokens with a known expiry are also
+ * stored in a directory, so later builds reuse them until they are about to expire. The providers are released by
+ * calling {@link #clear()} when the build finished.
+ */
+public final class TokenCache {
+
+    /**
+     * The registered providers, identified by their keys.
+     */
+    private static final Map<String, CachedTokenProvider> PROVIDERS = new ConcurrentHashMap<>();
+
+    /**
+     * UTILITY.
+     */
+    private TokenCache() {
+    }
+
+    /**
+     * Returns the token provider for the specified key. If no provider with the same key is registered yet, a new
+     * one is created which uses the specified supplier to retrieve tokens.
+     *
+     * @param key       The key which identifies the environment and the credentials.
+     * @param directory The directory which stores the tokens or null if the tokens are only kept in memory.
+     * @param supplier  The supplier which retrieves a new token.
+     * @return The token provider.
+     */
+    public static TokenProvider getProvider(String key, File directory, TokenSupplier supplier) {
+        return PROVIDERS.computeIfAbsent(key, providerKey -> new CachedTokenProvider(providerKey, directory, supplier));
+    }
+
+    /**
+     * Evicts all registered providers and stops their background refreshes. The stored tokens are kept.
+     */
+    public static void clear() {
+        List<CachedTokenProvider> providers;
+        synchronized (PROVIDERS) {
+            providers = new ArrayList<>(PROVIDERS.values());
+            PROVIDERS.clear();
+        }
+        providers.forEach(CachedTokenProvider::close);
+    }
+
+    /**
+     * Returns the number of registered providers.
+     *
+     * @return The number of registered providers.
+     */
+    static int size() {
+        return PROVIDERS.size();
+    }
+
+    /**
+     * Retrieves a new token, e.g. by logging in.
+     */
+    @FunctionalInterface
+    public interface TokenSupplier {
+
+        /**
+         * Retrieves a new token.
+         *
+         * @return The token.
+         * @throws ResourceException If the token can't be retrieved.
+         */
+        String retrieve() throws ResourceException;
+    }
+}
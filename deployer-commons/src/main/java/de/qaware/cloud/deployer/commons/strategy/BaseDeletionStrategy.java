@@ -15,10 +15,11 @@
  */
 package de.qaware.cloud.deployer.commons.strategy;
 
+import de.qaware.cloud.deployer.commons.config.environment.ExecutionConfig;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.logging.EnvironmentLogContext;
 import de.qaware.cloud.deployer.commons.resource.Resource;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.util.List;
 
@@ -26,14 +27,36 @@ import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMM
 
 /**
  * Implements the basic delete features for a strategy. Meaning that all resources in the list are deleted. Non existing
- * resources are skipped. All resources which are not in the list stay untouched.
+ * resources are skipped. All resources which are not in the list stay untouched. The execution config defines whether
+ * the resources are processed one after another or concurrently.
  */
 public abstract class BaseDeletionStrategy {
 
     /**
      * The logger of this class.
      */
-    private static final Logger LOGGER = LoggerFactory.getLogger(BaseDeletionStrategy.class);
+    private static final Logger LOGGER = EnvironmentLogContext.getLogger(BaseDeletionStrategy.class);
+
+    /**
+     * The executor which applies the operations to the resources.
+     */
+    private final ResourceExecutor executor;
+
+    /**
+     * Creates a new strategy which processes all resources one after another.
+     */
+    public BaseDeletionStrategy() {
+        this(new ExecutionConfig());
+    }
+
+    /**
+     * Creates a new strategy which processes the resources as defined in the specified execution config.
+     *
+     * @param executionConfig The config which defines how the resources are processed.
+     */
+    public BaseDeletionStrategy(ExecutionConfig executionConfig) {
+        this.executor = new ResourceExecutor(executionConfig);
+    }
 
     /**
      * Deletes the list of specified resources. If the resource doesn't exist it will be skipped.
@@ -46,15 +69,36 @@ public abstract class BaseDeletionStrategy {
 
         LOGGER.info(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_DELETING_RESOURCES_STARTED"));
 
-        for (Resource resource : resources) {
+        executeOperation(resources, resource -> {
             if (resource.exists()) {
                 LOGGER.info(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_DELETING_SINGLE_RESOURCE", resource));
                 resource.delete();
             } else {
                 LOGGER.info(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_DELETING_SINGLE_RESOURCE_SKIPPED", resource));
             }
-        }
+        });
 
         LOGGER.info(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_DELETING_RESOURCES_DONE"));
     }
+
+    /**
+     * Applies the specified operation to all resources as defined in the execution config.
+     *
+     * @param resources      The resources the operation is applied to.
+     * @param operation      The operation.
+     * @param <ResourceType> The type of the resources.
+     * @throws ResourceException If the operation failed for at least one resource.
+     */
+    protected <ResourceType extends Resource> void executeOperation(List<ResourceType> resources, ResourceOperation<ResourceType> operation) throws ResourceException {
+        executor.execute(resources, operation);
+    }
+
+    /**
+     * Returns the config which defines how the resources are processed.
+     *
+     * @return The execution config.
+     */
+    protected ExecutionConfig getExecutionConfig() {
+        return executor.getExecutionConfig();
+    }
 }
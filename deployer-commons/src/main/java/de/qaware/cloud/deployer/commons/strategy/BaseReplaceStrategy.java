@@ -15,44 +15,100 @@
  */
 package de.qaware.cloud.deployer.commons.strategy;
 
+import de.qaware.cloud.deployer.commons.config.environment.ExecutionConfig;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.logging.EnvironmentLogContext;
 import de.qaware.cloud.deployer.commons.resource.Resource;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
 
 /**
  * Implements a basic version of the replace strategy. Meaning that all resources not included in the resources list
- * stay untouched. All included resources are replaced or created.
+ * stay untouched. All included resources are replaced or created. If the execution config requests it, all existing
+ * resources are deleted before the first resource is created.
  */
 public abstract class BaseReplaceStrategy extends BaseDeletionStrategy {
 
     /**
      * The logger of this class.
      */
-    private static final Logger LOGGER = LoggerFactory.getLogger(BaseReplaceStrategy.class);
+    private static final Logger LOGGER = EnvironmentLogContext.getLogger(BaseReplaceStrategy.class);
+
+    /**
+     * Creates a new strategy which processes all resources one after another.
+     */
+    public BaseReplaceStrategy() {
+        super();
+    }
+
+    /**
+     * Creates a new strategy which processes the resources as defined in the specified execution config.
+     *
+     * @param executionConfig The config which defines how the resources are processed.
+     */
+    public BaseReplaceStrategy(ExecutionConfig executionConfig) {
+        super(executionConfig);
+    }
 
     /**
      * Replaces the specified resources. If a resource already exists, it will be replaced. If it doesn't exist,
-     * it will be created.
+     * it will be created. The content of a resource is released once it has been created.
      *
      * @param resources      The resources to replace.
      * @param <ResourceType> The type of the resource.
      * @throws ResourceException If an error during deletion or deployment occurs.
      */
     protected <ResourceType extends Resource> void replaceResources(List<ResourceType> resources) throws ResourceException {
-        for (Resource resource : resources) {
+        if (getExecutionConfig().isDeleteBeforeCreate()) {
+            replaceResourcesWithBarrier(resources);
+        } else {
+            executeOperation(resources, resource -> {
+                if (resource.exists()) {
+                    LOGGER.info(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_RECREATING_SINGLE_RESOURCE", resource));
+                    resource.delete();
+                    resource.create();
+                } else {
+                    LOGGER.info(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_CREATING_SINGLE_RESOURCE", resource));
+                    resource.create();
+                }
+                resource.release();
+            });
+        }
+    }
+
+    /**
+     * Replaces the specified resources in two phases. At first all existing resources are deleted, afterwards all
+     * resources are created.
+     *
+     * @param resources      The resources to replace.
+     * @param <ResourceType> The type of the resource.
+     * @throws ResourceException If an error during deletion or deployment occurs.
+     */
+    private <ResourceType extends Resource> void replaceResourcesWithBarrier(List<ResourceType> resources) throws ResourceException {
+        Set<Resource> deletedResources = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+        // 1. Delete all existing resources
+        executeOperation(resources, resource -> {
             if (resource.exists()) {
                 LOGGER.info(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_RECREATING_SINGLE_RESOURCE", resource));
                 resource.delete();
-                resource.create();
-            } else {
+                deletedResources.add(resource);
+            }
+        });
+
+        // 2. Create all resources
+        executeOperation(resources, resource -> {
+            if (!deletedResources.contains(resource)) {
                 LOGGER.info(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_CREATING_SINGLE_RESOURCE", resource));
-                resource.create();
             }
-        }
+            resource.create();
+            resource.release();
+        });
     }
 }
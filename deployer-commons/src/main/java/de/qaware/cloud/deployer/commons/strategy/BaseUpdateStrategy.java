@@ -15,10 +15,11 @@
  */
 package de.qaware.cloud.deployer.commons.strategy;
 
+import de.qaware.cloud.deployer.commons.config.environment.ExecutionConfig;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.logging.EnvironmentLogContext;
 import de.qaware.cloud.deployer.commons.resource.Resource;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.util.List;
 
@@ -33,18 +34,34 @@ public abstract class BaseUpdateStrategy extends BaseDeletionStrategy {
     /**
      * The logger of this class.
      */
-    private static final Logger LOGGER = LoggerFactory.getLogger(BaseUpdateStrategy.class);
+    private static final Logger LOGGER = EnvironmentLogContext.getLogger(BaseUpdateStrategy.class);
+
+    /**
+     * Creates a new strategy which processes all resources one after another.
+     */
+    public BaseUpdateStrategy() {
+        super();
+    }
+
+    /**
+     * Creates a new strategy which processes the resources as defined in the specified execution config.
+     *
+     * @param executionConfig The config which defines how the resources are processed.
+     */
+    public BaseUpdateStrategy(ExecutionConfig executionConfig) {
+        super(executionConfig);
+    }
 
     /**
      * Updates the specified resources. If a resource already exists, it will be updated. If it doesn't exist, it will
-     * be created.
+     * be created. The content of a resource is released once it has been applied.
      *
      * @param resources      The resources to update.
      * @param <ResourceType> The type of the resources.
      * @throws ResourceException If an error during updating or deployment occurs.
      */
     protected <ResourceType extends Resource> void updateResources(List<ResourceType> resources) throws ResourceException {
-        for (Resource resource : resources) {
+        executeOperation(resources, resource -> {
             if (resource.exists()) {
                 LOGGER.info(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_UPDATING_SINGLE_RESOURCE", resource));
                 resource.update();
@@ -52,6 +69,7 @@ public abstract class BaseUpdateStrategy extends BaseDeletionStrategy {
                 LOGGER.info(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_CREATING_SINGLE_RESOURCE", resource));
                 resource.create();
             }
-        }
+            resource.release();
+        });
     }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.strategy;
+
+import de.qaware.cloud.deployer.commons.config.environment.ExecutionConfig;
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.logging.EnvironmentLogContext;
+import de.qaware.cloud.deployer.commons.resource.Resource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.qaware.cloud.deployer.commons.error.ErrorAggregationUtil.assertNoErrors;
+import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
+
+/**
+ * Applies operations to a list of resources. Depending on the execution config the resources are processed one after
+ * another or by a fixed number of workers at the same time. The workers log in the context of the calling thread's
+ * environment.
+ */
+class ResourceExecutor {
+
+    /**
+     * The prefix of the worker thread names.
+     */
+    private static final String THREAD_NAME_PREFIX = "deployer-worker-";
+
+    /**
+     * The config which defines how the resources are processed.
+     */
+    private final ExecutionConfig executionConfig;
+
+    /**
+     * Creates a new resource executor.
+     *
+     * @param executionConfig The config which defines how the resources are processed.
+     */
+    ResourceExecutor(ExecutionConfig executionConfig) {
+        this.executionConfig = executionConfig;
+    }
+
+    /**
+     * Returns the config which defines how the resources are processed.
+     *
+     * @return The execution config.
+     */
+    ExecutionConfig getExecutionConfig() {
+        return executionConfig;
+    }
+
+    /**
+     * Applies the specified operation to all resources. Sequential execution stops at the first error. Concurrent
+     * execution processes all resources and reports all errors at once afterwards.
+     *
+     * @param resources      The resources the operation is applied to.
+     * @param operation      The operation.
+     * @param <ResourceType> The type of the resources.
+     * @throws ResourceException If the operation failed for at least one resource.
+     */
+    <ResourceType extends Resource> void execute(List<ResourceType> resources, ResourceOperation<ResourceType> operation) throws ResourceException {
+        if (executionConfig.isSequential() || resources.size() <= 1) {
+            for (ResourceType resource : resources) {
+                operation.apply(resource);
+            }
+        } else {
+            executeConcurrently(resources, operation);
+        }
+    }
+
+    /**
+     * Applies the specified operation to all resources using a fixed number of workers.
+     *
+     * @param resources      The resources the operation is applied to.
+     * @param operation      The operation.
+     * @param <ResourceType> The type of the resources.
+     * @throws ResourceException If the operation failed for at least one resource.
+     */
+    private <ResourceType extends Resource> void executeConcurrently(List<ResourceType> resources, ResourceOperation<ResourceType> operation) throws ResourceException {
+        int workers = Math.min(executionConfig.getParallelism(), resources.size());
+        ExecutorService executorService = Executors.newFixedThreadPool(workers, createThreadFactory());
+        try {
+            // 1. Submit one task per resource
+            List<Future<Void>> futures = new ArrayList<>();
+            for (ResourceType resource : resources) {
+                futures.add(executorService.submit(EnvironmentLogContext.wrap(() -> {
+                    operation.apply(resource);
+                    return null;
+                })));
+            }
+
+            // 2. Wait for all tasks and collect the errors
+            List<Throwable> errors = new ArrayList<>();
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    errors.add(e.getCause());
+                }
+            }
+
+            // 3. Report the errors
+            assertNoErrors(errors, ResourceException.class, messages -> new ResourceException(
+                    COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_RESOURCE_OPERATIONS_FAILED", errors.size(), resources.size(), messages)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_INTERRUPTED_DURING_EXECUTION"), e);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Creates a thread factory which creates named daemon threads.
+     *
+     * @return The thread factory.
+     */
+    private static ThreadFactory createThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
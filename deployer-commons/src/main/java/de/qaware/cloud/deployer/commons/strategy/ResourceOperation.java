@@ -0,0 +1,36 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.strategy;
+
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.resource.Resource;
+
+/**
+ * Represents a operation which is applied to a single resource.
+ *
+ * @param <ResourceType> The type of resource this operation is applied to.
+ */
+@FunctionalInterface
+public interface ResourceOperation<ResourceType extends Resource> {
+
+    /**
+     * Applies this operation to the specified resource.
+     *
+     * @param resource The resource.
+     * @throws ResourceException If an error during the operation occurs.
+     */
+    void apply(ResourceType resource) throws ResourceException;
+}
@@ -21,10 +21,14 @@ import org.junit.Test;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -48,6 +52,80 @@ public class BaseResourceConfigFactoryTest {
         verify(testFactory, times(1)).createConfig(file2);
     }
 
+    @Test
+    public void testCreateConfigsInParallel() throws ResourceConfigException {
+        List<File> files = new ArrayList<>();
+        Map<File, BaseResourceConfig> configs = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            File file = mock(File.class);
+            files.add(file);
+            configs.put(file, mock(BaseResourceConfig.class));
+        }
+        BaseResourceConfigFactory<BaseResourceConfig> testFactory = new BaseResourceConfigFactory<BaseResourceConfig>(4) {
+            @Override
+            public BaseResourceConfig createConfig(File file) throws ResourceConfigException {
+                return configs.get(file);
+            }
+        };
+
+        List<BaseResourceConfig> result = testFactory.createConfigs(files);
+        assertEquals(files.size(), result.size());
+        for (int i = 0; i < files.size(); i++) {
+            assertSame(configs.get(files.get(i)), result.get(i));
+        }
+    }
+
+    @Test
+    public void testCreateConfigsInParallelWithSingleError() {
+        File file1 = mock(File.class);
+        File file2 = mock(File.class);
+        ResourceConfigException error = new ResourceConfigException("error");
+        BaseResourceConfigFactory<BaseResourceConfig> testFactory = new BaseResourceConfigFactory<BaseResourceConfig>(2) {
+            @Override
+            public BaseResourceConfig createConfig(File file) throws ResourceConfigException {
+                if (file == file2) {
+                    throw error;
+                }
+                return mock(BaseResourceConfig.class);
+            }
+        };
+
+        boolean exceptionThrown = false;
+        try {
+            testFactory.createConfigs(Arrays.asList(file1, file2));
+        } catch (ResourceConfigException e) {
+            exceptionThrown = true;
+            assertSame(error, e);
+        }
+        assertTrue(exceptionThrown);
+    }
+
+    @Test
+    public void testCreateConfigsInParallelWithMultipleErrors() {
+        File file1 = mock(File.class);
+        File file2 = mock(File.class);
+        File file3 = mock(File.class);
+        BaseResourceConfigFactory<BaseResourceConfig> testFactory = new BaseResourceConfigFactory<BaseResourceConfig>(3) {
+            @Override
+            public BaseResourceConfig createConfig(File file) throws ResourceConfigException {
+                if (file == file2) {
+                    return mock(BaseResourceConfig.class);
+                }
+                throw new ResourceConfigException(file == file1 ? "error1" : "error3");
+            }
+        };
+
+        boolean exceptionThrown = false;
+        try {
+            testFactory.createConfigs(Arrays.asList(file1, file2, file3));
+        } catch (ResourceConfigException e) {
+            exceptionThrown = true;
+            assertEquals(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_CONFIG_CREATION_FAILED", 2, 3, "- error1\n- error3"), e.getMessage());
+            assertEquals(2, e.getSuppressed().length);
+        }
+        assertTrue(exceptionThrown);
+    }
+
     @Test
     public void testRetrieveContentTypeWithJson() throws ResourceConfigException {
         File file = mock(File.class);
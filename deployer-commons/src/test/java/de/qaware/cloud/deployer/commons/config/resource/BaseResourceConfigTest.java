@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.config.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author sjahreis
+ */
+public class BaseResourceConfigTest {
+
+    private static final String YAML_CONTENT = "id: test\nvalue: 1\n";
+
+    private BaseResourceConfig resourceConfig;
+
+    @Before
+    public void setup() {
+        resourceConfig = new BaseResourceConfig("test.yml", ContentType.YAML, YAML_CONTENT) {
+        };
+    }
+
+    @Test
+    public void testGetObjectTree() throws ResourceConfigException {
+        JsonNode objectTree = resourceConfig.getObjectTree();
+        assertEquals("test", objectTree.get("id").asText());
+
+        // Parsed once
+        assertSame(objectTree, resourceConfig.getObjectTree());
+    }
+
+    @Test
+    public void testGetJsonContent() throws ResourceConfigException {
+        byte[] jsonContent = resourceConfig.getJsonContent();
+        assertEquals("{\"id\":\"test\",\"value\":1}", new String(jsonContent, StandardCharsets.UTF_8));
+
+        // Written once
+        assertSame(jsonContent, resourceConfig.getJsonContent());
+    }
+
+    @Test
+    public void testSetObjectTree() throws ResourceConfigException {
+        byte[] jsonContent = resourceConfig.getJsonContent();
+        ObjectNode objectTree = resourceConfig.getObjectTree().deepCopy();
+        objectTree.put("id", "changed");
+
+        resourceConfig.setObjectTree(objectTree);
+
+        assertSame(objectTree, resourceConfig.getObjectTree());
+        assertTrue(resourceConfig.getContent().contains("changed"));
+        assertNotSame(jsonContent, resourceConfig.getJsonContent());
+        assertEquals("{\"id\":\"changed\",\"value\":1}", new String(resourceConfig.getJsonContent(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testSetContent() throws ResourceConfigException {
+        JsonNode objectTree = resourceConfig.getObjectTree();
+
+        resourceConfig.setContent("id: other\n");
+
+        assertNotSame(objectTree, resourceConfig.getObjectTree());
+        assertEquals("other", resourceConfig.getObjectTree().get("id").asText());
+        assertEquals("{\"id\":\"other\"}", new String(resourceConfig.getJsonContent(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testGetContentBytes() throws ResourceConfigException {
+        byte[] content = "id: \u00e4pp\n".getBytes(StandardCharsets.UTF_8);
+        BaseResourceConfig config = new BaseResourceConfig("test.yml", ContentType.YAML, new ConfigContent(content), null) {
+        };
+
+        assertSame(content, config.getContentBytes());
+        assertSame(content, config.getConfigContent().getBuffer());
+        assertEquals("id: \u00e4pp\n", config.getContent());
+        assertEquals("\u00e4pp", config.getObjectTree().get("id").asText());
+    }
+
+    @Test
+    public void testReleaseContent() throws ResourceConfigException {
+        resourceConfig.setResourceId("test");
+        resourceConfig.getJsonContent();
+
+        resourceConfig.releaseContent();
+
+        assertTrue(resourceConfig.getConfigContent().isEmpty());
+        assertEquals("", resourceConfig.getContent());
+        assertEquals("test", resourceConfig.getResourceId());
+        assertEquals("test.yml", resourceConfig.getFilename());
+    }
+
+    @Test
+    public void testFilenameIsInterned() {
+        BaseResourceConfig config = new BaseResourceConfig(new String("test.yml"), ContentType.YAML, YAML_CONTENT) {
+        };
+
+        assertSame(resourceConfig.getFilename(), config.getFilename());
+    }
+}
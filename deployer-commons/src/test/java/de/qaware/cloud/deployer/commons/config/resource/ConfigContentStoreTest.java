@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.config.resource;
+
+import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
+import static org.junit.Assert.*;
+
+/**
+ * @author sjahreis
+ */
+public class ConfigContentStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void tearDown() {
+        ConfigContentStore.clear();
+    }
+
+    @Test
+    public void testRead() throws IOException, ResourceConfigException {
+        File file = createFile("app.yml", "\nid: app\n\n");
+
+        ConfigContent content = ConfigContentStore.read(file);
+
+        assertEquals("id: app", content.toString());
+        assertEquals(1, ConfigContentStore.size());
+    }
+
+    @Test
+    public void testReadSharesBuffer() throws IOException, ResourceConfigException {
+        File file = createFile("app.yml", "id: app\n");
+
+        ConfigContent content = ConfigContentStore.read(file);
+        ConfigContent otherContent = ConfigContentStore.read(new File(file.getPath()));
+
+        assertSame(content.getBuffer(), otherContent.getBuffer());
+        assertEquals(content, otherContent);
+    }
+
+    @Test
+    public void testReadModifiedFile() throws IOException, ResourceConfigException {
+        File file = createFile("app.yml", "id: app\n");
+        ConfigContent content = ConfigContentStore.read(file);
+
+        Files.write(file.toPath(), "id: changed-app\n".getBytes(StandardCharsets.UTF_8));
+        ConfigContent otherContent = ConfigContentStore.read(file);
+
+        assertNotSame(content.getBuffer(), otherContent.getBuffer());
+        assertEquals("id: changed-app", otherContent.toString());
+    }
+
+    @Test
+    public void testReadNotExistingFile() {
+        boolean exceptionThrown = false;
+        try {
+            ConfigContentStore.read(new File(folder.getRoot(), "missing.yml"));
+        } catch (ResourceConfigException e) {
+            exceptionThrown = true;
+            assertEquals(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_MISSING_FILE", "missing.yml"), e.getMessage());
+        }
+        assertTrue(exceptionThrown);
+        assertEquals(0, ConfigContentStore.size());
+    }
+
+    @Test
+    public void testClear() throws IOException, ResourceConfigException {
+        ConfigContentStore.read(createFile("app.yml", "id: app\n"));
+        ConfigContentStore.read(createFile("service.yml", "id: service\n"));
+        assertEquals(2, ConfigContentStore.size());
+
+        ConfigContentStore.clear();
+
+        assertEquals(0, ConfigContentStore.size());
+    }
+
+    private File createFile(String filename, String content) throws IOException {
+        File file = folder.newFile(filename);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
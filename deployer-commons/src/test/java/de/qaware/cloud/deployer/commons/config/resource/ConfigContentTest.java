@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.config.resource;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author sjahreis
+ */
+public class ConfigContentTest {
+
+    private static final byte[] BUFFER = "  id: \u00e4pp  ".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testSlice() {
+        ConfigContent content = new ConfigContent(BUFFER, 2, BUFFER.length - 4);
+        ConfigContent slice = content.slice(4, 4);
+
+        assertSame(BUFFER, slice.getBuffer());
+        assertEquals(6, slice.getOffset());
+        assertEquals(4, slice.getLength());
+        assertEquals("\u00e4pp", slice.toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSliceOutOfBounds() {
+        new ConfigContent(BUFFER, 2, 4).slice(2, 3);
+    }
+
+    @Test
+    public void testToByteArray() {
+        assertSame(BUFFER, new ConfigContent(BUFFER).toByteArray());
+
+        byte[] bytes = new ConfigContent(BUFFER, 2, BUFFER.length - 4).toByteArray();
+        assertNotSame(BUFFER, bytes);
+        assertEquals("id: \u00e4pp", new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testEquals() {
+        ConfigContent content = new ConfigContent(BUFFER, 2, BUFFER.length - 4);
+        ConfigContent copy = new ConfigContent(content.toByteArray());
+
+        assertEquals(content, copy);
+        assertEquals(content.hashCode(), copy.hashCode());
+        assertNotEquals(content, new ConfigContent(BUFFER));
+    }
+
+    @Test
+    public void testEmpty() {
+        assertTrue(ConfigContent.EMPTY.isEmpty());
+        assertTrue(new ConfigContent(BUFFER, 3, 0).isEmpty());
+        assertEquals("", ConfigContent.EMPTY.toString());
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.config.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import de.qaware.cloud.deployer.commons.config.resource.ContentType;
+import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
+import static org.junit.Assert.*;
+
+/**
+ * @author sjahreis
+ */
+public class ContentPathExtractorTest {
+
+    private static final String YAML_CONTENT = "kind: Pod\nspec:\n  containers:\n  - name: nginx\nmetadata:\n  labels:\n    app: test\n  name: test\napiVersion: v1\n";
+
+    @Test
+    public void testExtractFromYaml() throws ResourceConfigException {
+        JsonNode values = ContentPathExtractor.extract(ContentType.YAML, bytes(YAML_CONTENT), "metadata.name", "kind", "apiVersion");
+        assertEquals("test", values.get("metadata").get("name").textValue());
+        assertEquals("Pod", values.get("kind").textValue());
+        assertEquals("v1", values.get("apiVersion").textValue());
+
+        // Only the selected values are contained
+        assertFalse(values.has("spec"));
+        assertFalse(values.get("metadata").has("labels"));
+    }
+
+    @Test
+    public void testExtractFromJson() throws ResourceConfigException {
+        JsonNode values = ContentPathExtractor.extract(ContentType.JSON, bytes("{\"apps\": [{\"id\": \"app\"}], \"id\": \"group\", \"cpus\": null}"), "id", "cpus");
+        assertEquals("group", values.get("id").textValue());
+        assertTrue(values.get("cpus").isNull());
+        assertFalse(values.has("apps"));
+    }
+
+    @Test
+    public void testExtractMissingValues() throws ResourceConfigException {
+        JsonNode values = ContentPathExtractor.extract(ContentType.YAML, bytes("kind: Pod\nmetadata: none\n"), "metadata.name", "apiVersion");
+        assertEquals("none", values.get("metadata").textValue());
+        assertFalse(values.has("apiVersion"));
+        assertFalse(values.has("kind"));
+    }
+
+    @Test
+    public void testExtractStopsEarly() throws ResourceConfigException {
+        JsonNode values = ContentPathExtractor.extract(ContentType.JSON, bytes("{\"id\": \"app\", \"invalid\" }"), "id");
+        assertEquals("app", values.get("id").textValue());
+    }
+
+    @Test
+    public void testExtractConsumesValue() throws ResourceConfigException, IOException {
+        try (JsonParser parser = ContentTreeUtil.createParser(ContentType.JSON, bytes("{\"id\": \"a\", \"other\": {\"x\": 1}} {\"id\": \"b\"}"))) {
+            parser.nextToken();
+            assertEquals("a", ContentPathExtractor.extract(parser, true, "id").get("id").textValue());
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            assertEquals("b", ContentPathExtractor.extract(parser, true, "id").get("id").textValue());
+            assertNull(parser.nextToken());
+        }
+    }
+
+    @Test
+    public void testExtractWithInvalidContent() {
+        boolean exceptionThrown = false;
+        try {
+            ContentPathExtractor.extract(ContentType.JSON, bytes("{\"kind\" \"Pod\", \"id\": \"app\"}"), "id");
+        } catch (ResourceConfigException e) {
+            exceptionThrown = true;
+            assertEquals(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_DURING_CONTENT_PARSING"), e.getMessage());
+        }
+        assertTrue(exceptionThrown);
+    }
+
+    @Test
+    public void testExtractWithEmptyContent() {
+        boolean exceptionThrown = false;
+        try {
+            ContentPathExtractor.extract(ContentType.JSON, new byte[0], "id");
+        } catch (ResourceConfigException e) {
+            exceptionThrown = true;
+            assertEquals(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_EMPTY_CONTENT"), e.getMessage());
+        }
+        assertTrue(exceptionThrown);
+    }
+
+    private byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -20,6 +20,8 @@ import de.qaware.cloud.deployer.commons.config.resource.ContentType;
 import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
+
 import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -32,7 +34,19 @@ public class ContentTreeUtilTest {
     public void testCreateObjectTreeWithNullContent() {
         boolean exceptionThrown = false;
         try {
-            ContentTreeUtil.createObjectTree(ContentType.YAML, null);
+            ContentTreeUtil.createObjectTree(ContentType.YAML, (String) null);
+        } catch (ResourceConfigException e) {
+            exceptionThrown = true;
+            assertEquals(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_EMPTY_CONTENT"), e.getMessage());
+        }
+        assertTrue(exceptionThrown);
+    }
+
+    @Test
+    public void testCreateObjectTreeWithEmptyBytes() {
+        boolean exceptionThrown = false;
+        try {
+            ContentTreeUtil.createObjectTree(ContentType.YAML, new byte[0]);
         } catch (ResourceConfigException e) {
             exceptionThrown = true;
             assertEquals(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_EMPTY_CONTENT"), e.getMessage());
@@ -40,6 +54,14 @@ public class ContentTreeUtilTest {
         assertTrue(exceptionThrown);
     }
 
+    @Test
+    public void testCreateObjectTreeWithBytes() throws ResourceConfigException {
+        byte[] content = "id: \"\u00e4pp\"\nvalue: 1".getBytes(StandardCharsets.UTF_8);
+        JsonNode objectTree = ContentTreeUtil.createObjectTree(ContentType.YAML, content);
+        assertEquals("\u00e4pp", objectTree.get("id").textValue());
+        assertEquals(1, objectTree.get("value").intValue());
+    }
+
     @Test
     public void testCreateObjectTreeWithInvalidJson() {
         boolean exceptionThrown = false;
@@ -160,6 +182,13 @@ public class ContentTreeUtilTest {
         assertTrue(exceptionThrown);
     }
 
+    @Test
+    public void testWriteAsBytes() throws ResourceConfigException {
+        JsonNode objectTree = getYamlTree();
+        byte[] objectTreeAsBytes = ContentTreeUtil.writeAsBytes(ContentType.JSON, objectTree);
+        assertEquals(ContentTreeUtil.writeAsString(ContentType.JSON, objectTree), new String(objectTreeAsBytes, StandardCharsets.UTF_8));
+    }
+
     private void testJsonNode(JsonNode objectTree) {
         assertTrue(objectTree.has("id"));
         assertEquals("zwitscher-eureka", objectTree.get("id").asText());
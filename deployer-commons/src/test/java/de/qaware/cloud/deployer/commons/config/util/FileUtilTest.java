@@ -19,6 +19,7 @@ import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
 import org.junit.Test;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 
 import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
 import static org.junit.Assert.assertEquals;
@@ -84,6 +85,27 @@ public class FileUtilTest {
         assertEquals(expectedContent, content);
     }
 
+    @Test
+    public void testReadFileBytes() throws ResourceConfigException {
+        File file = new File(this.getClass().getResource(TEST_FILE_UNTRIMMED).getPath());
+        String expectedContent = getTestFileContent();
+        byte[] content = FileUtil.readFileBytes(file);
+        assertEquals(expectedContent, new String(content, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testReadFileBytesWithNotExistingFile() {
+        File file = new File("bla.blub");
+        boolean exceptionThrown = false;
+        try {
+            FileUtil.readFileBytes(file);
+        } catch (ResourceConfigException e) {
+            exceptionThrown = true;
+            assertEquals(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_MISSING_FILE", file.getName()), e.getMessage());
+        }
+        assertTrue(exceptionThrown);
+    }
+
     private void assertExceptionOnReadFileContentWithFilename(String filename, String message) {
         boolean exceptionThrown = false;
         try {
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.error;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author sjahreis
+ */
+public class ErrorAggregationUtilTest {
+
+    @Test
+    public void testWithoutErrors() throws ResourceException {
+        ErrorAggregationUtil.assertNoErrors(new ArrayList<>(), ResourceException.class, ResourceException::new);
+    }
+
+    @Test
+    public void testWithSingleError() {
+        ResourceException error = new ResourceException("error");
+        boolean exceptionThrown = false;
+        try {
+            ErrorAggregationUtil.assertNoErrors(Arrays.asList(error), ResourceException.class, ResourceException::new);
+        } catch (ResourceException e) {
+            exceptionThrown = true;
+            assertSame(error, e);
+        }
+        assertTrue(exceptionThrown);
+    }
+
+    @Test
+    public void testWithSingleErrorOfOtherType() {
+        ResourceConfigException error = new ResourceConfigException("error");
+        boolean exceptionThrown = false;
+        try {
+            ErrorAggregationUtil.assertNoErrors(Arrays.asList(error), ResourceException.class, ResourceException::new);
+        } catch (ResourceException e) {
+            exceptionThrown = true;
+            assertEquals("- error", e.getMessage());
+            assertArrayEquals(new Throwable[]{error}, e.getSuppressed());
+        }
+        assertTrue(exceptionThrown);
+    }
+
+    @Test
+    public void testWithMultipleErrors() {
+        List<Throwable> errors = Arrays.asList(new ResourceConfigException("error1"), new ResourceConfigException("error2"));
+        boolean exceptionThrown = false;
+        try {
+            ErrorAggregationUtil.assertNoErrors(errors, ResourceConfigException.class, messages -> new ResourceConfigException("failed:\n" + messages));
+        } catch (ResourceConfigException e) {
+            exceptionThrown = true;
+            assertEquals("failed:\n- error1\n- error2", e.getMessage());
+            assertArrayEquals(errors.toArray(), e.getSuppressed());
+        }
+        assertTrue(exceptionThrown);
+    }
+}
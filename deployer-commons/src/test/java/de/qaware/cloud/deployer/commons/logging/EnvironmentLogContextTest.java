@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.logging;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+
+import java.util.concurrent.Callable;
+
+import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author sjahreis
+ */
+public class EnvironmentLogContextTest {
+
+    @Test
+    public void testPrefix() throws Exception {
+        assertEquals("message", EnvironmentLogContext.prefix("message"));
+
+        String message = EnvironmentLogContext.call("test", () -> EnvironmentLogContext.prefix("message"));
+        assertEquals(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_ENVIRONMENT_PREFIX", "test", "message"), message);
+    }
+
+    @Test
+    public void testCallRestoresContext() throws Exception {
+        EnvironmentLogContext.call("outer", () -> {
+            assertEquals("inner", EnvironmentLogContext.call("inner", EnvironmentLogContext::getEnvironmentId));
+            assertEquals("outer", EnvironmentLogContext.getEnvironmentId());
+            return null;
+        });
+        assertNull(EnvironmentLogContext.getEnvironmentId());
+    }
+
+    @Test
+    public void testWrap() throws Exception {
+        Callable<String> task = EnvironmentLogContext.call("test", () -> EnvironmentLogContext.wrap(EnvironmentLogContext::getEnvironmentId));
+
+        // The wrapped task runs in the context it was created in
+        assertNull(EnvironmentLogContext.getEnvironmentId());
+        assertEquals("test", task.call());
+    }
+
+    @Test
+    public void testPrefixingLogger() throws Exception {
+        Logger logger = mock(Logger.class);
+        when(logger.isDebugEnabled()).thenReturn(true);
+        Logger prefixingLogger = EnvironmentLogContext.prefixing(logger);
+        Exception exception = new Exception();
+
+        prefixingLogger.info("message");
+        EnvironmentLogContext.call("test", () -> {
+            prefixingLogger.info("message");
+            prefixingLogger.warn("message", exception);
+            return null;
+        });
+
+        String message = COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_MESSAGES_ENVIRONMENT_PREFIX", "test", "message");
+        verify(logger, times(1)).info("message");
+        verify(logger, times(1)).info(message);
+        verify(logger, times(1)).warn(message, exception);
+        assertTrue(prefixingLogger.isDebugEnabled());
+    }
+}
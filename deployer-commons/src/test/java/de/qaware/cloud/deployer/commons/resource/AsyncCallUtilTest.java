@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.resource;
+
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import okhttp3.ResponseBody;
+import org.apache.commons.lang3.time.StopWatch;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author sjahreis
+ */
+public class AsyncCallUtilTest {
+
+    @Test
+    public void testEnqueueResponse() throws ResourceException {
+        Response<ResponseBody> response = Response.success(mock(ResponseBody.class));
+        Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
+        doAnswer(invocation -> {
+            ((Callback<ResponseBody>) invocation.getArguments()[0]).onResponse(call, response);
+            return null;
+        }).when(call).enqueue(any());
+
+        assertEquals(response, AsyncCallUtil.join(AsyncCallUtil.enqueue(call)));
+    }
+
+    @Test
+    public void testEnqueueFailure() {
+        IOException exception = new IOException();
+        Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
+        doAnswer(invocation -> {
+            ((Callback<ResponseBody>) invocation.getArguments()[0]).onFailure(call, exception);
+            return null;
+        }).when(call).enqueue(any());
+
+        boolean exceptionThrown = false;
+        try {
+            AsyncCallUtil.join(AsyncCallUtil.enqueue(call));
+        } catch (ResourceException e) {
+            exceptionThrown = true;
+            assertEquals(exception, e.getCause());
+        }
+        assertTrue(exceptionThrown);
+    }
+
+    @Test
+    public void testDelay() throws ResourceException {
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        AsyncCallUtil.join(AsyncCallUtil.delay(500));
+        stopWatch.stop();
+        assertTrue(stopWatch.getTime() >= 500);
+    }
+
+    @Test
+    public void testJoinKeepsResourceException() {
+        ResourceException exception = new ResourceException("error");
+        boolean exceptionThrown = false;
+        try {
+            AsyncCallUtil.join(AsyncCallUtil.failed(exception));
+        } catch (ResourceException e) {
+            exceptionThrown = true;
+            assertEquals(exception, e);
+        }
+        assertTrue(exceptionThrown);
+    }
+
+    @Test
+    public void testUnwrap() {
+        ResourceException exception = new ResourceException("error");
+        assertEquals(exception, AsyncCallUtil.unwrap(new CompletionException(exception)));
+
+        IllegalStateException cause = new IllegalStateException();
+        ResourceException wrapped = AsyncCallUtil.unwrap(new CompletionException(cause));
+        assertEquals(cause, wrapped.getCause());
+    }
+
+    @Test(expected = ResourceException.class)
+    public void testJoinInterrupted() throws ResourceException {
+        Thread.currentThread().interrupt();
+        try {
+            AsyncCallUtil.join(new CompletableFuture<>());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
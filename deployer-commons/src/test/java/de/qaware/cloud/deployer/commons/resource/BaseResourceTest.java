@@ -15,27 +15,40 @@
  */
 package de.qaware.cloud.deployer.commons.resource;
 
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import de.qaware.cloud.deployer.commons.config.environment.CircuitBreakerConfig;
 import de.qaware.cloud.deployer.commons.config.environment.EnvironmentConfig;
+import de.qaware.cloud.deployer.commons.config.environment.HttpConfig;
+import de.qaware.cloud.deployer.commons.config.environment.RetryConfig;
 import de.qaware.cloud.deployer.commons.config.resource.BaseResourceConfig;
 import de.qaware.cloud.deployer.commons.config.resource.ContentType;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
 import de.qaware.cloud.deployer.commons.strategy.Strategy;
+import okhttp3.ConnectionPool;
 import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
 import okhttp3.internal.http.RealResponseBody;
 import okio.Buffer;
 import okio.BufferedSink;
+import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import retrofit2.Call;
+import retrofit2.Callback;
 import retrofit2.Response;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.concurrent.CompletableFuture;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -49,15 +62,21 @@ public class BaseResourceTest {
     private final static String RESOURCE_CONTENT = "content";
     private final static String MEDIA_TYPE = "application/json";
 
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(WireMockConfiguration.options().dynamicPort());
+
     private BaseResource<BaseResourceConfig> baseResource;
     private BaseResourceConfig resourceConfig;
+    private EnvironmentConfig environmentConfig;
     private ClientFactory clientFactory;
 
     @Before
     public void setup() throws ResourceException {
-        String BASE_URL = "http://localhost";
+        HttpClientRegistry.closeAll();
+        String BASE_URL = "http://localhost:" + wireMockRule.port();
 
-        EnvironmentConfig environmentConfig = new EnvironmentConfig("test", BASE_URL, Strategy.REPLACE);
+        environmentConfig = new EnvironmentConfig("test", BASE_URL, Strategy.REPLACE);
+        environmentConfig.setRetryConfig(new RetryConfig(2, 10, 10, 1, 0, 100));
 
         clientFactory = new ClientFactory(environmentConfig);
 
@@ -68,34 +87,12 @@ public class BaseResourceTest {
             }
         };
 
-        baseResource = new BaseResource<BaseResourceConfig>(resourceConfig, clientFactory) {
-            @Override
-            public String toString() {
-                return null;
-            }
-
-            @Override
-            protected MediaType createMediaType() throws ResourceException {
-                return MediaType.parse(MEDIA_TYPE);
-            }
-
-            @Override
-            public boolean exists() throws ResourceException {
-                return false;
-            }
-
-            @Override
-            public void create() throws ResourceException {
-            }
-
-            @Override
-            public void delete() throws ResourceException {
-            }
+        baseResource = createResource(clientFactory);
+    }
 
-            @Override
-            public void update() throws ResourceException {
-            }
-        };
+    @After
+    public void tearDown() {
+        HttpClientRegistry.closeAll();
     }
 
     @Test
@@ -104,11 +101,11 @@ public class BaseResourceTest {
         Response<ResponseBody> response = Response.success(responseBody);
 
         Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
-        when(call.execute()).thenReturn(response);
+        mockResponse(call, response);
 
         baseResource.executeCall(call);
 
-        verify(call, times(1)).execute();
+        verify(call, times(1)).enqueue(any());
     }
 
     @Test
@@ -120,32 +117,78 @@ public class BaseResourceTest {
         Response<ResponseBody> response = Response.error(errorCode, responseBody);
 
         Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
-        when(call.execute()).thenReturn(response);
+        mockResponse(call, response);
 
         String message = COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_UNHANDLED_HTTP_STATUS_CODE", errorCode, errorMessage);
         assertExceptionOnExecuteCall(call, message);
 
-        verify(call, times(1)).execute();
+        verify(call, times(1)).enqueue(any());
     }
 
     @Test(expected = ResourceException.class)
     public void testExecuteCallWithIOException() throws ResourceException, IOException {
         Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
-        when(call.execute()).thenThrow(IOException.class);
+        mockFailure(call, new IOException());
         baseResource.executeCall(call);
     }
 
+    @Test
+    public void testExecuteCallIsRejectedByOpenCircuit() throws ResourceException, IOException {
+        HttpClientRegistry.closeAll();
+        environmentConfig.setCircuitBreakerConfig(new CircuitBreakerConfig(2, 2, 0.5, 10000, 60000));
+        baseResource = createResource(new ClientFactory(environmentConfig));
+
+        // 1. Two failed calls open the circuit
+        for (int i = 0; i < 2; i++) {
+            ResponseBody responseBody = RealResponseBody.create(MediaType.parse("text"), "SERVER ERROR");
+            Call<ResponseBody> failingCall = (Call<ResponseBody>) mock(Call.class);
+            mockResponse(failingCall, Response.error(500, responseBody));
+            String message = COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_UNHANDLED_HTTP_STATUS_CODE", 500, "SERVER ERROR");
+            assertExceptionOnExecuteCall(failingCall, message);
+        }
+
+        // 2. The next call is rejected without being sent
+        Call<ResponseBody> rejectedCall = (Call<ResponseBody>) mock(Call.class);
+        boolean exceptionThrown = false;
+        try {
+            baseResource.executeCall(rejectedCall);
+        } catch (ResourceException e) {
+            exceptionThrown = true;
+            String message = COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_CIRCUIT_OPEN", "test", 2, 2, 10000, 0);
+            assertTrue(e.getMessage().startsWith(message.substring(0, message.indexOf(" in 0 ms"))));
+        }
+        assertTrue(exceptionThrown);
+        verify(rejectedCall, never()).enqueue(any());
+    }
+
+    @Test
+    public void testExecuteCallTimesOut() throws ResourceException {
+        HttpClientRegistry.closeAll();
+        environmentConfig.setHttpConfig(new HttpConfig(HttpConfig.DEFAULT_MAX_IDLE_CONNECTIONS, HttpConfig.DEFAULT_KEEP_ALIVE_DURATION,
+                HttpConfig.DEFAULT_MAX_REQUESTS, HttpConfig.DEFAULT_MAX_REQUESTS_PER_HOST, HttpConfig.DEFAULT_PROTOCOLS,
+                HttpConfig.DEFAULT_CONNECT_TIMEOUT, HttpConfig.DEFAULT_READ_TIMEOUT, HttpConfig.DEFAULT_WRITE_TIMEOUT, 50,
+                HttpConfig.DEFAULT_TLS_SESSION_CACHE_SIZE));
+        baseResource = createResource(new ClientFactory(environmentConfig));
+
+        Call<ResponseBody> call = mockHangingCall();
+
+        String message = COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_CALL_TIMED_OUT", "PATCH", "http://localhost/", 50);
+        assertExceptionOnExecuteCall(call, message);
+
+        verify(call, times(1)).cancel();
+    }
+
     @Test
     public void testExecuteExistsCallPositive() throws IOException, ResourceException {
         ResponseBody responseBody = mock(ResponseBody.class);
         Response<ResponseBody> response = Response.success(responseBody);
 
         Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
-        when(call.execute()).thenReturn(response);
+        mockResponse(call, response);
 
         boolean exists = baseResource.executeExistsCall(call);
 
-        verify(call, times(1)).execute();
+        verify(call, times(1)).enqueue(any());
         assertTrue(exists);
     }
 
@@ -155,14 +198,51 @@ public class BaseResourceTest {
         Response<ResponseBody> response = Response.error(404, responseBody);
 
         Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
-        when(call.execute()).thenReturn(response);
+        mockResponse(call, response);
 
         boolean exists = baseResource.executeExistsCall(call);
 
-        verify(call, times(1)).execute();
+        verify(call, times(1)).enqueue(any());
         assertFalse(exists);
     }
 
+    @Test
+    public void testExecuteExistsCallDiscardsBody() throws IOException, ResourceException {
+        ResponseBody successBody = mock(ResponseBody.class);
+        Call<ResponseBody> successCall = (Call<ResponseBody>) mock(Call.class);
+        mockResponse(successCall, Response.success(successBody));
+
+        ResponseBody notFoundBody = mock(ResponseBody.class);
+        Call<ResponseBody> notFoundCall = (Call<ResponseBody>) mock(Call.class);
+        mockResponse(notFoundCall, Response.error(404, notFoundBody));
+
+        assertTrue(baseResource.executeExistsCall(successCall));
+        assertFalse(baseResource.executeExistsCall(notFoundCall));
+
+        verify(successBody, times(1)).close();
+        verify(successBody, never()).source();
+        verify(notFoundBody, times(1)).close();
+        verify(notFoundBody, never()).source();
+    }
+
+    @Test
+    public void testExecuteExistsCallReusesConnection() throws ResourceException {
+        wireMockRule.stubFor(get(urlEqualTo("/exists"))
+                .willReturn(aResponse().withStatus(200).withBody(new byte[1024 * 1024])));
+        ClientFactoryTestService service = clientFactory.create(ClientFactoryTestService.class);
+        OkHttpClient client = (OkHttpClient) HttpClientRegistry.getClient(environmentConfig, () -> null).getRetrofit().callFactory();
+        ConnectionPool connectionPool = client.connectionPool();
+
+        // The unread body is skipped, the connection is returned to the pool
+        assertTrue(baseResource.executeExistsCall(service.exists()));
+        assertEquals(1, connectionPool.idleConnectionCount());
+
+        // The next call reuses the connection
+        assertTrue(baseResource.executeExistsCall(service.exists()));
+        assertEquals(1, connectionPool.connectionCount());
+        wireMockRule.verify(2, getRequestedFor(urlEqualTo("/exists")));
+    }
+
     @Test
     public void testExecuteExistsCallUnhandledCode() throws IOException, ResourceException {
         int errorCode = 401;
@@ -172,12 +252,12 @@ public class BaseResourceTest {
         Response<ResponseBody> response = Response.error(errorCode, responseBody);
 
         Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
-        when(call.execute()).thenReturn(response);
+        mockResponse(call, response);
 
         String message = COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_UNHANDLED_HTTP_STATUS_CODE", errorCode, errorMessage);
         assertExceptionOnExecuteExistsCall(call, message);
 
-        verify(call, times(1)).execute();
+        verify(call, times(1)).enqueue(any());
     }
 
     @Test
@@ -189,13 +269,13 @@ public class BaseResourceTest {
         Response<ResponseBody> errorResponse = Response.error(errorCode, responseBody);
 
         Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
-        when(call.execute()).thenReturn(errorResponse);
+        mockResponse(call, errorResponse);
         when(call.clone()).thenReturn(call);
 
         String message = COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_UNHANDLED_HTTP_STATUS_CODE", errorCode, errorMessage);
         assertExceptionOnExecuteExistsCall(call, message);
 
-        verify(call, times(2)).execute();
+        verify(call, times(2)).enqueue(any());
     }
 
     @Test
@@ -209,29 +289,34 @@ public class BaseResourceTest {
 
         Call<ResponseBody> errorCall = (Call<ResponseBody>) mock(Call.class);
         Call<ResponseBody> successCall = (Call<ResponseBody>) mock(Call.class);
-        when(errorCall.execute()).thenReturn(errorResponse);
+        mockResponse(errorCall, errorResponse);
         when(errorCall.clone()).thenReturn(successCall);
-        when(successCall.execute()).thenReturn(successResponse);
+        mockResponse(successCall, successResponse);
 
         boolean exists = baseResource.executeExistsCall(errorCall);
 
-        verify(errorCall, times(1)).execute();
-        verify(successCall, times(1)).execute();
+        verify(errorCall, times(1)).enqueue(any());
+        verify(successCall, times(1)).enqueue(any());
         assertTrue(exists);
     }
 
     @Test(expected = ResourceException.class)
     public void testExecuteExistsCallWithIOException() throws ResourceException, IOException {
         Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
-        when(call.execute()).thenThrow(IOException.class);
+        mockFailure(call, new IOException());
         baseResource.executeExistsCall(call);
     }
 
     @Test(expected = ResourceException.class)
     public void testExecuteExistsCallWithInterruptedException() throws ResourceException, IOException {
+        // The call never answers, the waiting thread gets interrupted
         Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
-        when(call.execute()).thenThrow(InterruptedException.class);
-        baseResource.executeExistsCall(call);
+        Thread.currentThread().interrupt();
+        try {
+            baseResource.executeExistsCall(call);
+        } finally {
+            Thread.interrupted();
+        }
     }
 
     @Test
@@ -240,15 +325,15 @@ public class BaseResourceTest {
         Response<ResponseBody> response = Response.success(responseBody);
 
         baseResource = spy(baseResource);
-        when(baseResource.exists()).thenReturn(true);
+        when(baseResource.existsAsync()).thenReturn(CompletableFuture.completedFuture(true));
 
         Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
-        when(call.execute()).thenReturn(response);
+        mockResponse(call, response);
 
         baseResource.executeCreateCallAndBlock(call);
 
-        verify(call, times(1)).execute();
-        verify(baseResource, times(1)).exists();
+        verify(call, times(1)).enqueue(any());
+        verify(baseResource, times(1)).existsAsync();
     }
 
     @Test
@@ -258,21 +343,21 @@ public class BaseResourceTest {
 
         final int[] existCallsCounter = {0};
         baseResource = spy(baseResource);
-        doAnswer(new Answer<Boolean>() {
+        doAnswer(new Answer<CompletableFuture<Boolean>>() {
             @Override
-            public Boolean answer(InvocationOnMock invocation) throws Throwable {
+            public CompletableFuture<Boolean> answer(InvocationOnMock invocation) throws Throwable {
                 existCallsCounter[0] += 1;
-                return existCallsCounter[0] > 3;
+                return CompletableFuture.completedFuture(existCallsCounter[0] > 3);
             }
-        }).when(baseResource).exists();
+        }).when(baseResource).existsAsync();
 
         Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
-        when(call.execute()).thenReturn(response);
+        mockResponse(call, response);
 
         baseResource.executeCreateCallAndBlock(call);
 
-        verify(call, times(1)).execute();
-        verify(baseResource, times(4)).exists();
+        verify(call, times(1)).enqueue(any());
+        verify(baseResource, times(4)).existsAsync();
     }
 
     @Test
@@ -284,12 +369,12 @@ public class BaseResourceTest {
         Response<ResponseBody> response = Response.error(errorCode, responseBody);
 
         Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
-        when(call.execute()).thenReturn(response);
+        mockResponse(call, response);
 
         String message = COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_UNHANDLED_HTTP_STATUS_CODE", errorCode, errorMessage);
         assertExceptionOnExecuteCreateCallAndBlock(call, message);
 
-        verify(call, times(1)).execute();
+        verify(call, times(1)).enqueue(any());
     }
 
     @Test
@@ -303,18 +388,18 @@ public class BaseResourceTest {
 
         Call<ResponseBody> errorCall = (Call<ResponseBody>) mock(Call.class);
         Call<ResponseBody> successCall = (Call<ResponseBody>) mock(Call.class);
-        when(errorCall.execute()).thenReturn(errorResponse);
+        mockResponse(errorCall, errorResponse);
         when(errorCall.clone()).thenReturn(successCall);
-        when(successCall.execute()).thenReturn(successResponse);
+        mockResponse(successCall, successResponse);
 
         baseResource = spy(baseResource);
-        when(baseResource.exists()).thenReturn(true);
+        when(baseResource.existsAsync()).thenReturn(CompletableFuture.completedFuture(true));
 
         baseResource.executeCreateCallAndBlock(errorCall);
 
-        verify(errorCall, times(1)).execute();
-        verify(successCall, times(1)).execute();
-        verify(baseResource, times(1)).exists();
+        verify(errorCall, times(1)).enqueue(any());
+        verify(successCall, times(1)).enqueue(any());
+        verify(baseResource, times(1)).existsAsync();
     }
 
     @Test
@@ -326,27 +411,32 @@ public class BaseResourceTest {
         Response<ResponseBody> errorResponse = Response.error(errorCode, responseBody);
 
         Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
-        when(call.execute()).thenReturn(errorResponse);
+        mockResponse(call, errorResponse);
         when(call.clone()).thenReturn(call);
 
         String message = COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_UNHANDLED_HTTP_STATUS_CODE", errorCode, errorMessage);
         assertExceptionOnExecuteCreateCallAndBlock(call, message);
 
-        verify(call, times(2)).execute();
+        verify(call, times(2)).enqueue(any());
     }
 
     @Test(expected = ResourceException.class)
     public void testExecuteCreateCallAndBlockWithIOException() throws ResourceException, IOException {
         Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
-        when(call.execute()).thenThrow(IOException.class);
+        mockFailure(call, new IOException());
         baseResource.executeCreateCallAndBlock(call);
     }
 
     @Test(expected = ResourceException.class)
     public void testExecuteCreateCallAndBlockWithInterruptedException() throws ResourceException, IOException {
+        // The call never answers, the waiting thread gets interrupted
         Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
-        when(call.execute()).thenThrow(InterruptedException.class);
-        baseResource.executeCreateCallAndBlock(call);
+        Thread.currentThread().interrupt();
+        try {
+            baseResource.executeCreateCallAndBlock(call);
+        } finally {
+            Thread.interrupted();
+        }
     }
 
     @Test
@@ -355,15 +445,15 @@ public class BaseResourceTest {
         Response<ResponseBody> response = Response.success(responseBody);
 
         baseResource = spy(baseResource);
-        when(baseResource.exists()).thenReturn(false);
+        when(baseResource.existsAsync()).thenReturn(CompletableFuture.completedFuture(false));
 
         Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
-        when(call.execute()).thenReturn(response);
+        mockResponse(call, response);
 
         baseResource.executeDeleteCallAndBlock(call);
 
-        verify(call, times(1)).execute();
-        verify(baseResource, times(1)).exists();
+        verify(call, times(1)).enqueue(any());
+        verify(baseResource, times(1)).existsAsync();
     }
 
     @Test
@@ -373,21 +463,21 @@ public class BaseResourceTest {
 
         final int[] existCallsCounter = {0};
         baseResource = spy(baseResource);
-        doAnswer(new Answer<Boolean>() {
+        doAnswer(new Answer<CompletableFuture<Boolean>>() {
             @Override
-            public Boolean answer(InvocationOnMock invocation) throws Throwable {
+            public CompletableFuture<Boolean> answer(InvocationOnMock invocation) throws Throwable {
                 existCallsCounter[0] += 1;
-                return existCallsCounter[0] < 4;
+                return CompletableFuture.completedFuture(existCallsCounter[0] < 4);
             }
-        }).when(baseResource).exists();
+        }).when(baseResource).existsAsync();
 
         Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
-        when(call.execute()).thenReturn(response);
+        mockResponse(call, response);
 
         baseResource.executeDeleteCallAndBlock(call);
 
-        verify(call, times(1)).execute();
-        verify(baseResource, times(4)).exists();
+        verify(call, times(1)).enqueue(any());
+        verify(baseResource, times(4)).existsAsync();
     }
 
     @Test
@@ -399,12 +489,12 @@ public class BaseResourceTest {
         Response<ResponseBody> response = Response.error(errorCode, responseBody);
 
         Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
-        when(call.execute()).thenReturn(response);
+        mockResponse(call, response);
 
         String message = COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_UNHANDLED_HTTP_STATUS_CODE", errorCode, errorMessage);
         assertExceptionOnExecuteDeleteCallAndBlock(call, message);
 
-        verify(call, times(1)).execute();
+        verify(call, times(1)).enqueue(any());
     }
 
     @Test
@@ -418,18 +508,18 @@ public class BaseResourceTest {
 
         Call<ResponseBody> errorCall = (Call<ResponseBody>) mock(Call.class);
         Call<ResponseBody> successCall = (Call<ResponseBody>) mock(Call.class);
-        when(errorCall.execute()).thenReturn(errorResponse);
+        mockResponse(errorCall, errorResponse);
         when(errorCall.clone()).thenReturn(successCall);
-        when(successCall.execute()).thenReturn(successResponse);
+        mockResponse(successCall, successResponse);
 
         baseResource = spy(baseResource);
-        when(baseResource.exists()).thenReturn(false);
+        when(baseResource.existsAsync()).thenReturn(CompletableFuture.completedFuture(false));
 
         baseResource.executeDeleteCallAndBlock(errorCall);
 
-        verify(errorCall, times(1)).execute();
-        verify(successCall, times(1)).execute();
-        verify(baseResource, times(1)).exists();
+        verify(errorCall, times(1)).enqueue(any());
+        verify(successCall, times(1)).enqueue(any());
+        verify(baseResource, times(1)).existsAsync();
     }
 
     @Test
@@ -441,27 +531,32 @@ public class BaseResourceTest {
         Response<ResponseBody> errorResponse = Response.error(errorCode, responseBody);
 
         Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
-        when(call.execute()).thenReturn(errorResponse);
+        mockResponse(call, errorResponse);
         when(call.clone()).thenReturn(call);
 
         String message = COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_UNHANDLED_HTTP_STATUS_CODE", errorCode, errorMessage);
         assertExceptionOnExecuteDeleteCallAndBlock(call, message);
 
-        verify(call, times(2)).execute();
+        verify(call, times(2)).enqueue(any());
     }
 
     @Test(expected = ResourceException.class)
     public void testExecuteDeleteCallAndBlockWithIOException() throws ResourceException, IOException {
         Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
-        when(call.execute()).thenThrow(IOException.class);
+        mockFailure(call, new IOException());
         baseResource.executeDeleteCallAndBlock(call);
     }
 
     @Test(expected = ResourceException.class)
     public void testExecuteDeleteCallAndBlockWithInterruptedException() throws ResourceException, IOException {
+        // The call never answers, the waiting thread gets interrupted
         Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
-        when(call.execute()).thenThrow(InterruptedException.class);
-        baseResource.executeDeleteCallAndBlock(call);
+        Thread.currentThread().interrupt();
+        try {
+            baseResource.executeDeleteCallAndBlock(call);
+        } finally {
+            Thread.interrupted();
+        }
     }
 
     @Test
@@ -492,6 +587,75 @@ public class BaseResourceTest {
         assertEquals(RESOURCE_CONTENT, bufferedSink.buffer().readString(Charset.defaultCharset()));
     }
 
+    private BaseResource<BaseResourceConfig> createResource(ClientFactory clientFactory) {
+        return new BaseResource<BaseResourceConfig>(resourceConfig, clientFactory) {
+            @Override
+            public String getResourceType() {
+                return null;
+            }
+
+            @Override
+            public String toString() {
+                return null;
+            }
+
+            @Override
+            protected MediaType createMediaType() throws ResourceException {
+                return MediaType.parse(MEDIA_TYPE);
+            }
+
+            @Override
+            public CompletableFuture<Boolean> existsAsync() throws ResourceException {
+                return CompletableFuture.completedFuture(false);
+            }
+
+            @Override
+            public CompletableFuture<Void> createAsync() throws ResourceException {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            @Override
+            public CompletableFuture<Void> deleteAsync() throws ResourceException {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            @Override
+            public void update() throws ResourceException {
+            }
+        };
+    }
+
+    private static void mockResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
+        doAnswer(invocation -> {
+            Callback<ResponseBody> callback = (Callback<ResponseBody>) invocation.getArguments()[0];
+            callback.onResponse(call, response);
+            return null;
+        }).when(call).enqueue(any());
+    }
+
+    private static void mockFailure(Call<ResponseBody> call, Throwable throwable) {
+        doAnswer(invocation -> {
+            Callback<ResponseBody> callback = (Callback<ResponseBody>) invocation.getArguments()[0];
+            callback.onFailure(call, throwable);
+            return null;
+        }).when(call).enqueue(any());
+    }
+
+    private static Call<ResponseBody> mockHangingCall() {
+        Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
+        Callback<ResponseBody>[] callback = new Callback[1];
+        doAnswer(invocation -> {
+            callback[0] = (Callback<ResponseBody>) invocation.getArguments()[0];
+            return null;
+        }).when(call).enqueue(any());
+        doAnswer(invocation -> {
+            callback[0].onFailure(call, new IOException("Canceled"));
+            return null;
+        }).when(call).cancel();
+        when(call.request()).thenReturn(new Request.Builder().url("http://localhost/").patch(RequestBody.create(null, "")).build());
+        return call;
+    }
+
     private void assertExceptionOnExecuteCall(Call call, String message) {
         boolean exceptionThrown = false;
         try {
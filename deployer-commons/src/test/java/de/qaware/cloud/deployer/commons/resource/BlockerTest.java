@@ -15,11 +15,13 @@
  */
 package de.qaware.cloud.deployer.commons.resource;
 
+import de.qaware.cloud.deployer.commons.config.environment.WaitConfig;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
 import org.apache.commons.lang3.time.StopWatch;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author sjahreis
@@ -64,4 +66,58 @@ public class BlockerTest {
 
         assertEquals((TIMEOUT / BLOCK_TIME) - BLOCK_TIME, callCounter, 0.5);
     }
+
+    @Test
+    public void testNextDelay() throws ResourceException {
+        Blocker blocker = new Blocker(TIMEOUT, BLOCK_TIME, MESSAGE);
+
+        int callCounter = 0;
+        boolean exceptionThrown = false;
+        try {
+            while (true) {
+                assertEquals(BLOCK_TIME * 1000, blocker.nextDelay(), 0.1);
+                callCounter++;
+            }
+        } catch (ResourceException e) {
+            exceptionThrown = true;
+            assertEquals(MESSAGE, e.getMessage());
+        }
+
+        assertTrue(exceptionThrown);
+        assertEquals(TIMEOUT / BLOCK_TIME, callCounter, 0.1);
+    }
+
+    @Test
+    public void testExponentialBackoff() throws ResourceException {
+        WaitConfig waitConfig = new WaitConfig(100, 800, 2, 0, 2000);
+        Blocker blocker = new Blocker(waitConfig, MESSAGE);
+
+        assertEquals(100, blocker.nextDelay());
+        assertEquals(200, blocker.nextDelay());
+        assertEquals(400, blocker.nextDelay());
+        assertEquals(800, blocker.nextDelay());
+        assertEquals(500, blocker.nextDelay());
+        assertEquals(5, blocker.getPolls());
+
+        boolean exceptionThrown = false;
+        try {
+            blocker.nextDelay();
+        } catch (ResourceException e) {
+            exceptionThrown = true;
+            assertEquals(MESSAGE, e.getMessage());
+        }
+        assertTrue(exceptionThrown);
+    }
+
+    @Test
+    public void testJitter() throws ResourceException {
+        WaitConfig waitConfig = new WaitConfig(1000, 1000, 1, 0.5, 100000);
+        Blocker blocker = new Blocker(waitConfig, MESSAGE);
+
+        for (int i = 0; i < 50; i++) {
+            long delay = blocker.nextDelay();
+            assertTrue(delay >= 500 && delay <= 1500);
+        }
+        assertEquals(50, blocker.getPolls());
+    }
 }
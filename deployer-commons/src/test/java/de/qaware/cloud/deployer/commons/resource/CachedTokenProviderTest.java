@@ -0,0 +1,190 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.resource;
+
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import okio.ByteString;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * @author sjahreis
+ */
+public class CachedTokenProviderTest {
+
+    private static final String KEY = "test|http://localhost";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testParseExpiry() {
+        assertEquals(1500000000000L, CachedTokenProvider.parseExpiry(createJwt(1500000000L)));
+        assertEquals(CachedTokenProvider.UNKNOWN_EXPIRY, CachedTokenProvider.parseExpiry("TOKEN"));
+        assertEquals(CachedTokenProvider.UNKNOWN_EXPIRY, CachedTokenProvider.parseExpiry(createJwt("{\"sub\":\"user\"}")));
+        assertEquals(CachedTokenProvider.UNKNOWN_EXPIRY, CachedTokenProvider.parseExpiry("a.b.c"));
+        assertEquals(CachedTokenProvider.UNKNOWN_EXPIRY, CachedTokenProvider.parseExpiry(null));
+    }
+
+    @Test
+    public void testCalculateRefreshTime() {
+        long now = 1000000;
+        assertEquals(now + 3600000 - CachedTokenProvider.REFRESH_MARGIN, CachedTokenProvider.calculateRefreshTime(now + 3600000, now));
+        assertEquals(now + 30000, CachedTokenProvider.calculateRefreshTime(now + 60000, now));
+        assertEquals(now - 1000, CachedTokenProvider.calculateRefreshTime(now - 1000, now));
+    }
+
+    @Test
+    public void testTokenIsCached() throws ResourceException {
+        AtomicInteger counter = new AtomicInteger();
+        CachedTokenProvider tokenProvider = new CachedTokenProvider(KEY, null, () -> "TOKEN" + counter.incrementAndGet());
+
+        assertEquals("TOKEN1", tokenProvider.getToken());
+        assertEquals("TOKEN1", tokenProvider.getToken());
+        assertEquals(1, counter.get());
+    }
+
+    @Test
+    public void testRefreshToken() throws ResourceException {
+        AtomicInteger counter = new AtomicInteger();
+        CachedTokenProvider tokenProvider = new CachedTokenProvider(KEY, null, () -> "TOKEN" + counter.incrementAndGet());
+
+        assertEquals("TOKEN1", tokenProvider.getToken());
+        assertEquals("TOKEN2", tokenProvider.refreshToken("TOKEN1"));
+
+        // The rejected token was already replaced
+        assertEquals("TOKEN2", tokenProvider.refreshToken("TOKEN1"));
+        assertEquals(2, counter.get());
+    }
+
+    @Test
+    public void testStoredTokenIsReused() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        String jwt = createJwt(System.currentTimeMillis() / 1000 + 3600);
+        AtomicInteger counter = new AtomicInteger();
+
+        CachedTokenProvider tokenProvider1 = new CachedTokenProvider(KEY, directory, () -> {
+            counter.incrementAndGet();
+            return jwt;
+        });
+        assertEquals(jwt, tokenProvider1.getToken());
+        tokenProvider1.close();
+
+        CachedTokenProvider tokenProvider2 = new CachedTokenProvider(KEY, directory, () -> {
+            counter.incrementAndGet();
+            return "OTHER";
+        });
+        assertEquals(jwt, tokenProvider2.getToken());
+        tokenProvider2.close();
+
+        assertEquals(1, counter.get());
+        assertEquals(1, directory.listFiles().length);
+    }
+
+    @Test
+    public void testStoredTokenIsOnlyAccessibleByOwner() throws Exception {
+        File directory = new File(temporaryFolder.getRoot(), "tokens");
+        assumeTrue(directory.toPath().getFileSystem().supportedFileAttributeViews().contains("posix"));
+        String jwt = createJwt(System.currentTimeMillis() / 1000 + 3600);
+
+        CachedTokenProvider tokenProvider = new CachedTokenProvider(KEY, directory, () -> jwt);
+        assertEquals(jwt, tokenProvider.getToken());
+        tokenProvider.close();
+
+        // Only the token file is left, the directory and the file are only accessible by the owner
+        File[] files = directory.listFiles();
+        assertEquals(1, files.length);
+        assertEquals(PosixFilePermissions.fromString("rwx------"), Files.getPosixFilePermissions(directory.toPath()));
+        assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(files[0].toPath()));
+    }
+
+    @Test
+    public void testExpiredStoredTokenIsReplaced() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        String expiredJwt = createJwt(System.currentTimeMillis() / 1000 - 60);
+        String jwt = createJwt(System.currentTimeMillis() / 1000 + 3600);
+
+        CachedTokenProvider tokenProvider1 = new CachedTokenProvider(KEY, directory, () -> expiredJwt);
+        assertEquals(expiredJwt, tokenProvider1.getToken());
+        tokenProvider1.close();
+
+        CachedTokenProvider tokenProvider2 = new CachedTokenProvider(KEY, directory, () -> jwt);
+        assertEquals(jwt, tokenProvider2.getToken());
+        tokenProvider2.close();
+    }
+
+    @Test
+    public void testTokenWithoutExpiryIsNotStored() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        CachedTokenProvider tokenProvider = new CachedTokenProvider(KEY, directory, () -> "TOKEN");
+
+        assertEquals("TOKEN", tokenProvider.getToken());
+        assertEquals(0, directory.listFiles().length);
+    }
+
+    @Test
+    public void testBackgroundRefresh() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        CachedTokenProvider tokenProvider = new CachedTokenProvider(KEY, null, () -> {
+            counter.incrementAndGet();
+            return createJwt(System.currentTimeMillis() / 1000 + 2);
+        });
+
+        String firstToken = tokenProvider.getToken();
+        for (int i = 0; i < 50 && counter.get() < 2; i++) {
+            Thread.sleep(100);
+        }
+        tokenProvider.close();
+
+        assertTrue(counter.get() >= 2);
+        assertNotEquals(firstToken, tokenProvider.getToken());
+    }
+
+    @Test
+    public void testNoBackgroundRefreshAfterClose() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        CachedTokenProvider tokenProvider = new CachedTokenProvider(KEY, null, () -> {
+            counter.incrementAndGet();
+            return createJwt(System.currentTimeMillis() / 1000 + 3);
+        });
+
+        tokenProvider.getToken();
+        tokenProvider.close();
+        Thread.sleep(2000);
+
+        assertEquals(1, counter.get());
+    }
+
+    static String createJwt(long expiry) {
+        return createJwt("{\"sub\":\"user\",\"exp\":" + expiry + "}");
+    }
+
+    private static String createJwt(String payload) {
+        String header = ByteString.encodeUtf8("{\"alg\":\"none\"}").base64Url();
+        return header + "." + ByteString.encodeUtf8(payload).base64Url() + ".signature";
+    }
+}
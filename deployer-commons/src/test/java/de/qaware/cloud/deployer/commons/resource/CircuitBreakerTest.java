@@ -0,0 +1,187 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.resource;
+
+import de.qaware.cloud.deployer.commons.config.environment.CircuitBreakerConfig;
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author sjahreis
+ */
+public class CircuitBreakerTest {
+
+    private static final long SLOW_CALL_DURATION = 5000;
+    private static final long OPEN_DURATION = 1000;
+
+    private long[] now;
+    private CircuitBreaker circuitBreaker;
+
+    @Before
+    public void setup() {
+        now = new long[]{0};
+        circuitBreaker = new CircuitBreaker("test", new CircuitBreakerConfig(4, 4, 0.5, SLOW_CALL_DURATION, OPEN_DURATION), () -> now[0]);
+    }
+
+    @Test
+    public void testStaysClosedBelowMinimumCalls() throws ResourceException {
+        for (int i = 0; i < 3; i++) {
+            AsyncCallUtil.join(circuitBreaker.enqueue(mockCall(500, 0)));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testStaysClosedBelowThreshold() throws ResourceException {
+        AsyncCallUtil.join(circuitBreaker.enqueue(mockCall(500, 0)));
+        for (int i = 0; i < 10; i++) {
+            AsyncCallUtil.join(circuitBreaker.enqueue(mockCall(200, 0)));
+        }
+        AsyncCallUtil.join(circuitBreaker.enqueue(mockCall(404, 0)));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testOpensAndRejectsCalls() throws ResourceException {
+        AsyncCallUtil.join(circuitBreaker.enqueue(mockCall(200, 0)));
+        AsyncCallUtil.join(circuitBreaker.enqueue(mockCall(200, 0)));
+        AsyncCallUtil.join(circuitBreaker.enqueue(mockCall(503, 0)));
+        AsyncCallUtil.join(circuitBreaker.enqueue(mockCall(500, 0)));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        now[0] = 400;
+        Call<ResponseBody> call = mockCall(200, 0);
+        String message = COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_CIRCUIT_OPEN", "test", 2, 4, SLOW_CALL_DURATION, 600);
+        assertRejected(circuitBreaker.enqueue(call), message);
+        verify(call, never()).enqueue(any());
+    }
+
+    @Test
+    public void testSlowAndFailedCallsCountAsFailures() throws ResourceException {
+        AsyncCallUtil.join(circuitBreaker.enqueue(mockCall(200, 0)));
+        AsyncCallUtil.join(circuitBreaker.enqueue(mockCall(200, 0)));
+        AsyncCallUtil.join(circuitBreaker.enqueue(mockCall(200, SLOW_CALL_DURATION)));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        try {
+            AsyncCallUtil.join(circuitBreaker.enqueue(mockFailingCall()));
+            fail();
+        } catch (ResourceException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testSuccessfulProbeClosesCircuit() throws ResourceException {
+        open();
+
+        now[0] += OPEN_DURATION;
+        Call<ResponseBody> pendingProbe = mock(Call.class);
+        CompletableFuture<Response<ResponseBody>> probe = circuitBreaker.enqueue(pendingProbe);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        // Only one probe at a time
+        assertTrue(circuitBreaker.enqueue(mockCall(200, 0)).isCompletedExceptionally());
+
+        completeWith(pendingProbe, 200);
+        assertEquals(200, AsyncCallUtil.join(probe).code());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(200, AsyncCallUtil.join(circuitBreaker.enqueue(mockCall(200, 0))).code());
+    }
+
+    @Test
+    public void testFailedProbeOpensCircuitAgain() throws ResourceException {
+        open();
+
+        now[0] += OPEN_DURATION;
+        AsyncCallUtil.join(circuitBreaker.enqueue(mockCall(500, 0)));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.enqueue(mockCall(200, 0)).isCompletedExceptionally());
+    }
+
+    private void open() throws ResourceException {
+        for (int i = 0; i < 4; i++) {
+            AsyncCallUtil.join(circuitBreaker.enqueue(mockCall(500, 0)));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    private static void assertRejected(CompletableFuture<Response<ResponseBody>> future, String message) {
+        boolean exceptionThrown = false;
+        try {
+            AsyncCallUtil.join(future);
+        } catch (ResourceException e) {
+            exceptionThrown = true;
+            assertEquals(message, e.getMessage());
+        }
+        assertTrue(exceptionThrown);
+    }
+
+    private Call<ResponseBody> mockCall(int code, long duration) {
+        Call<ResponseBody> call = mock(Call.class);
+        doAnswer(invocation -> {
+            now[0] += duration;
+            Callback<ResponseBody> callback = (Callback<ResponseBody>) invocation.getArguments()[0];
+            callback.onResponse(call, createResponse(code));
+            return null;
+        }).when(call).enqueue(any());
+        return call;
+    }
+
+    private static Call<ResponseBody> mockFailingCall() {
+        Call<ResponseBody> call = mock(Call.class);
+        doAnswer(invocation -> {
+            Callback<ResponseBody> callback = (Callback<ResponseBody>) invocation.getArguments()[0];
+            callback.onFailure(call, new IOException("connection refused"));
+            return null;
+        }).when(call).enqueue(any());
+        return call;
+    }
+
+    private static void completeWith(Call<ResponseBody> call, int code) {
+        ArgumentCaptor<Callback> captor = ArgumentCaptor.forClass(Callback.class);
+        verify(call).enqueue(captor.capture());
+        captor.getValue().onResponse(call, createResponse(code));
+    }
+
+    private static Response<ResponseBody> createResponse(int code) {
+        okhttp3.Response rawResponse = new okhttp3.Response.Builder()
+                .code(code)
+                .message("test")
+                .protocol(Protocol.HTTP_1_1)
+                .request(new Request.Builder().url("http://localhost/").build())
+                .build();
+        ResponseBody body = ResponseBody.create(MediaType.parse("text"), "body");
+        return code < 400 ? Response.success(body, rawResponse) : Response.error(body, rawResponse);
+    }
+}
@@ -21,9 +21,12 @@ import com.github.tomakehurst.wiremock.matching.UrlPattern;
 import com.github.tomakehurst.wiremock.verification.LoggedRequest;
 import de.qaware.cloud.deployer.commons.config.environment.AuthConfig;
 import de.qaware.cloud.deployer.commons.config.environment.EnvironmentConfig;
+import de.qaware.cloud.deployer.commons.config.environment.HttpConfig;
 import de.qaware.cloud.deployer.commons.config.environment.SSLConfig;
+import de.qaware.cloud.deployer.commons.config.environment.TokenProvider;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
 import de.qaware.cloud.deployer.commons.strategy.Strategy;
+import okhttp3.OkHttpClient;
 import okio.ByteString;
 import org.junit.Rule;
 import org.junit.Test;
@@ -38,12 +41,17 @@ import java.security.NoSuchAlgorithmException;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -117,6 +125,50 @@ public class ClientFactoryTest {
         wireMockRule.verify(1, getRequestedFor(TEST_PATTERN));
     }
 
+    @Test
+    public void testClientFactoryWithTokenProvider() throws ResourceException, IOException {
+        wireMockRule.stubFor(get(TEST_PATTERN)
+                .withHeader("Authorization", equalTo("token=EXPIRED"))
+                .willReturn(aResponse().withStatus(401)));
+        wireMockRule.stubFor(get(TEST_PATTERN)
+                .withHeader("Authorization", equalTo("token=" + TOKEN))
+                .willReturn(aResponse().withStatus(200)));
+
+        AtomicInteger refreshes = new AtomicInteger();
+        AuthConfig authConfig = new AuthConfig();
+        authConfig.setTokenProvider(createTokenProvider("EXPIRED", TOKEN, refreshes));
+        EnvironmentConfig environmentConfig = new EnvironmentConfig("test", HTTP_BASE_URL + ":" + wireMockRule.port(), Strategy.REPLACE);
+        environmentConfig.setAuthConfig(authConfig);
+        ClientFactory clientFactory = new ClientFactory(environmentConfig);
+        ClientFactoryTestService clientFactoryTestService = clientFactory.create(ClientFactoryTestService.class);
+
+        assertEquals(200, clientFactoryTestService.test().execute().code());
+        assertEquals(200, clientFactoryTestService.test().execute().code());
+
+        // The rejected call is replayed once with the refreshed token, later calls use it directly
+        assertEquals(1, refreshes.get());
+        wireMockRule.verify(1, getRequestedFor(TEST_PATTERN).withHeader("Authorization", equalTo("token=EXPIRED")));
+        wireMockRule.verify(2, getRequestedFor(TEST_PATTERN).withHeader("Authorization", equalTo("token=" + TOKEN)));
+    }
+
+    @Test
+    public void testClientFactoryWithRejectedRefreshedToken() throws ResourceException, IOException {
+        wireMockRule.stubFor(get(TEST_PATTERN)
+                .willReturn(aResponse().withStatus(401)));
+
+        AtomicInteger refreshes = new AtomicInteger();
+        AuthConfig authConfig = new AuthConfig();
+        authConfig.setTokenProvider(createTokenProvider("EXPIRED", TOKEN, refreshes));
+        EnvironmentConfig environmentConfig = new EnvironmentConfig("test", HTTP_BASE_URL + ":" + wireMockRule.port(), Strategy.REPLACE);
+        environmentConfig.setAuthConfig(authConfig);
+        ClientFactory clientFactory = new ClientFactory(environmentConfig);
+        ClientFactoryTestService clientFactoryTestService = clientFactory.create(ClientFactoryTestService.class);
+
+        assertEquals(401, clientFactoryTestService.test().execute().code());
+        assertEquals(1, refreshes.get());
+        wireMockRule.verify(2, getRequestedFor(TEST_PATTERN));
+    }
+
     @Test(expected = SSLException.class)
     public void testClientFactoryWithoutSSLConfig() throws ResourceException, IOException {
         wireMockRule.stubFor(get(TEST_PATTERN)
@@ -160,6 +212,30 @@ public class ClientFactoryTest {
         wireMockRule.verify(1, getRequestedFor(TEST_PATTERN));
     }
 
+    @Test
+    public void testClientFactoryWithSharedSSLContext() throws Exception {
+        wireMockRule.stubFor(get(TEST_PATTERN)
+                .willReturn(aResponse().withStatus(200)));
+
+        String certificate = getKey();
+        EnvironmentConfig environmentConfig1 = new EnvironmentConfig("test", HTTPS_BASE_URL + ":" + wireMockRule.httpsPort(), Strategy.REPLACE);
+        environmentConfig1.setSslConfig(new SSLConfig(certificate));
+        EnvironmentConfig environmentConfig2 = new EnvironmentConfig("test", HTTPS_BASE_URL + ":" + wireMockRule.httpsPort(), Strategy.REPLACE);
+        environmentConfig2.setSslConfig(new SSLConfig(certificate));
+        environmentConfig2.setAuthConfig(new AuthConfig(TOKEN));
+
+        new ClientFactory(environmentConfig1).create(ClientFactoryTestService.class).test().execute();
+        new ClientFactory(environmentConfig2).create(ClientFactoryTestService.class).test().execute();
+
+        // Both clients use the same context, so the session of the first connection can be resumed
+        OkHttpClient client1 = (OkHttpClient) HttpClientRegistry.getClient(environmentConfig1, () -> null).getRetrofit().callFactory();
+        OkHttpClient client2 = (OkHttpClient) HttpClientRegistry.getClient(environmentConfig2, () -> null).getRetrofit().callFactory();
+        assertNotSame(client1, client2);
+        assertSame(client1.sslSocketFactory(), client2.sslSocketFactory());
+        assertTrue(SSLContextCache.getCertificateContext(certificate, 0).getSslContext().getClientSessionContext().getIds().hasMoreElements());
+        wireMockRule.verify(2, getRequestedFor(TEST_PATTERN));
+    }
+
     @Test(expected = ResourceException.class)
     public void testClientFactoryWithTrustOneInvalidSSLConfig() throws ResourceException, IOException, CertificateException, NoSuchAlgorithmException, UnrecoverableKeyException, KeyStoreException {
         EnvironmentConfig environmentConfig = new EnvironmentConfig("test", HTTPS_BASE_URL + ":" + wireMockRule.httpsPort(), Strategy.REPLACE);
@@ -167,6 +243,44 @@ public class ClientFactoryTest {
         new ClientFactory(environmentConfig);
     }
 
+    @Test
+    public void testClientFactoryWithTlsSessionCache() throws ResourceException, IOException {
+        wireMockRule.stubFor(get(TEST_PATTERN)
+                .willReturn(aResponse().withStatus(200)));
+
+        EnvironmentConfig environmentConfig = new EnvironmentConfig("test", HTTPS_BASE_URL + ":" + wireMockRule.httpsPort(), Strategy.REPLACE);
+        environmentConfig.setSslConfig(new SSLConfig(true));
+        environmentConfig.setHttpConfig(new HttpConfig(5, 300000, 64, 5, HttpConfig.DEFAULT_PROTOCOLS, 10000, 10000, 10000, 0, 10));
+        ClientFactory clientFactory = new ClientFactory(environmentConfig);
+        ClientFactoryTestService clientFactoryTestService = clientFactory.create(ClientFactoryTestService.class);
+
+        clientFactoryTestService.test().execute();
+
+        wireMockRule.verify(1, getRequestedFor(TEST_PATTERN));
+    }
+
+    @Test
+    public void testClientFactoryWithInvalidProtocols() {
+        boolean exceptionThrown = false;
+        List<String> protocols = Arrays.asList(HttpConfig.PROTOCOL_HTTP_2, "http/0.9");
+        EnvironmentConfig environmentConfig = new EnvironmentConfig("test", HTTP_BASE_URL + ":" + wireMockRule.port(), Strategy.REPLACE);
+        environmentConfig.setHttpConfig(new HttpConfig(5, 300000, 64, 5, protocols, 10000, 10000, 10000, 0, 0));
+        try {
+            new ClientFactory(environmentConfig);
+        } catch (ResourceException e) {
+            exceptionThrown = true;
+            assertEquals(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_INVALID_PROTOCOLS", protocols), e.getMessage());
+        }
+        assertTrue(exceptionThrown);
+    }
+
+    @Test(expected = ResourceException.class)
+    public void testClientFactoryWithoutHttp11() throws ResourceException {
+        EnvironmentConfig environmentConfig = new EnvironmentConfig("test", HTTP_BASE_URL + ":" + wireMockRule.port(), Strategy.REPLACE);
+        environmentConfig.setHttpConfig(new HttpConfig(5, 300000, 64, 5, Collections.singletonList(HttpConfig.PROTOCOL_HTTP_2), 10000, 10000, 10000, 0, 0));
+        new ClientFactory(environmentConfig);
+    }
+
     @Test
     public void testClientFactoryWithEmptyBaseUrl() {
         boolean exceptionThrown = false;
@@ -193,6 +307,26 @@ public class ClientFactoryTest {
         assertTrue(exceptionThrown);
     }
 
+    private static TokenProvider createTokenProvider(String initialToken, String refreshedToken, AtomicInteger refreshes) {
+        return new TokenProvider() {
+            private volatile String token = initialToken;
+
+            @Override
+            public String getToken() {
+                return token;
+            }
+
+            @Override
+            public synchronized String refreshToken(String rejectedToken) {
+                if (token.equals(rejectedToken)) {
+                    refreshes.incrementAndGet();
+                    token = refreshedToken;
+                }
+                return token;
+            }
+        };
+    }
+
     private String getKey() throws KeyStoreException, IOException, CertificateException, NoSuchAlgorithmException, UnrecoverableKeyException {
         KeyStore ks = KeyStore.getInstance("JKS");
 
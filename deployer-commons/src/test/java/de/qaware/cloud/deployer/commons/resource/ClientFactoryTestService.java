@@ -18,6 +18,7 @@ package de.qaware.cloud.deployer.commons.resource;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.GET;
+import retrofit2.http.Streaming;
 
 /**
  * @author sjahreis
@@ -26,4 +27,8 @@ interface ClientFactoryTestService {
 
     @GET("/test")
     Call<ResponseBody> test();
+
+    @Streaming
+    @GET("/exists")
+    Call<ResponseBody> exists();
 }
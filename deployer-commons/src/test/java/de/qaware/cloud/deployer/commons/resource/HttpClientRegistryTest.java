@@ -0,0 +1,162 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.resource;
+
+import de.qaware.cloud.deployer.commons.config.environment.AuthConfig;
+import de.qaware.cloud.deployer.commons.config.environment.EnvironmentConfig;
+import de.qaware.cloud.deployer.commons.config.environment.CompressionConfig;
+import de.qaware.cloud.deployer.commons.config.environment.HttpConfig;
+import de.qaware.cloud.deployer.commons.config.environment.RateLimitConfig;
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.strategy.Strategy;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author sjahreis
+ */
+public class HttpClientRegistryTest {
+
+    private static final String BASE_URL = "http://localhost:8080";
+
+    @Before
+    public void setup() {
+        HttpClientRegistry.closeAll();
+    }
+
+    @After
+    public void tearDown() {
+        HttpClientRegistry.closeAll();
+    }
+
+    @Test
+    public void testSameConfigSharesClient() throws ResourceException {
+        ClientFactory clientFactory1 = new ClientFactory(new EnvironmentConfig("test1", BASE_URL, Strategy.REPLACE));
+        ClientFactory clientFactory2 = new ClientFactory(new EnvironmentConfig("test2", BASE_URL, Strategy.UPDATE));
+
+        assertEquals(1, HttpClientRegistry.size());
+        assertSame(clientFactory1.create(ClientFactoryTestService.class), clientFactory2.create(ClientFactoryTestService.class));
+        assertSame(clientFactory1.createStreamingClient(ClientFactoryTestService.class), clientFactory2.createStreamingClient(ClientFactoryTestService.class));
+        assertNotSame(clientFactory1.create(ClientFactoryTestService.class), clientFactory1.createStreamingClient(ClientFactoryTestService.class));
+        assertNotSame(clientFactory1.getRetryPolicy(), clientFactory2.getRetryPolicy());
+        assertNotSame(clientFactory1.getRetryPolicy().getCircuitBreaker(), clientFactory2.getRetryPolicy().getCircuitBreaker());
+    }
+
+    @Test
+    public void testSameEnvironmentSharesCircuitBreaker() throws ResourceException {
+        ClientFactory clientFactory1 = new ClientFactory(new EnvironmentConfig("test", BASE_URL, Strategy.REPLACE));
+        EnvironmentConfig tokenConfig = new EnvironmentConfig("test", BASE_URL, Strategy.REPLACE);
+        tokenConfig.setAuthConfig(new AuthConfig("TOKEN"));
+        ClientFactory clientFactory2 = new ClientFactory(tokenConfig);
+
+        assertSame(clientFactory1.getRetryPolicy().getCircuitBreaker(), clientFactory2.getRetryPolicy().getCircuitBreaker());
+
+        HttpClientRegistry.closeAll();
+        ClientFactory clientFactory3 = new ClientFactory(new EnvironmentConfig("test", BASE_URL, Strategy.REPLACE));
+        assertNotSame(clientFactory1.getRetryPolicy().getCircuitBreaker(), clientFactory3.getRetryPolicy().getCircuitBreaker());
+    }
+
+    @Test
+    public void testSameEnvironmentSharesRateLimiter() throws ResourceException {
+        EnvironmentConfig rateLimitConfig = new EnvironmentConfig("test", BASE_URL, Strategy.REPLACE);
+        rateLimitConfig.setRateLimitConfig(new RateLimitConfig(10, 20));
+        ClientFactory clientFactory1 = new ClientFactory(rateLimitConfig);
+        EnvironmentConfig tokenConfig = new EnvironmentConfig("test", BASE_URL, Strategy.REPLACE);
+        tokenConfig.setRateLimitConfig(new RateLimitConfig(10, 20));
+        tokenConfig.setAuthConfig(new AuthConfig("TOKEN"));
+        ClientFactory clientFactory2 = new ClientFactory(tokenConfig);
+        ClientFactory clientFactory3 = new ClientFactory(new EnvironmentConfig("test", BASE_URL, Strategy.REPLACE));
+
+        // The rate limit doesn't split the clients, it's applied per environment
+        assertEquals(2, HttpClientRegistry.size());
+        assertSame(clientFactory1.create(ClientFactoryTestService.class), clientFactory3.create(ClientFactoryTestService.class));
+        assertNotNull(clientFactory1.getRetryPolicy().getRateLimiter());
+        assertSame(clientFactory1.getRetryPolicy().getRateLimiter(), clientFactory2.getRetryPolicy().getRateLimiter());
+        assertNull(clientFactory3.getRetryPolicy().getRateLimiter());
+    }
+
+    @Test
+    public void testDifferentConfigsUseDifferentClients() throws ResourceException {
+        EnvironmentConfig tokenConfig = new EnvironmentConfig("test", BASE_URL, Strategy.REPLACE);
+        tokenConfig.setAuthConfig(new AuthConfig("TOKEN"));
+        EnvironmentConfig credentialsConfig = new EnvironmentConfig("test", BASE_URL, Strategy.REPLACE);
+        credentialsConfig.setAuthConfig(new AuthConfig("USERNAME", "PASSWORD"));
+
+        ClientFactory clientFactory1 = new ClientFactory(new EnvironmentConfig("test", BASE_URL, Strategy.REPLACE));
+        ClientFactory clientFactory2 = new ClientFactory(new EnvironmentConfig("test", "http://localhost:8081", Strategy.REPLACE));
+        ClientFactory clientFactory3 = new ClientFactory(tokenConfig);
+        ClientFactory clientFactory4 = new ClientFactory(credentialsConfig);
+        EnvironmentConfig compressionConfig = new EnvironmentConfig("test", BASE_URL, Strategy.REPLACE);
+        compressionConfig.setCompressionConfig(new CompressionConfig(true, 512));
+        ClientFactory clientFactory5 = new ClientFactory(compressionConfig);
+        EnvironmentConfig httpConfig = new EnvironmentConfig("test", BASE_URL, Strategy.REPLACE);
+        httpConfig.setHttpConfig(new HttpConfig(5, 300000, 64, 20, Collections.singletonList(HttpConfig.PROTOCOL_HTTP_1_1), 10000, 10000, 10000, 0, 0));
+        ClientFactory clientFactory6 = new ClientFactory(httpConfig);
+
+        assertEquals(6, HttpClientRegistry.size());
+        assertNotSame(clientFactory1.create(ClientFactoryTestService.class), clientFactory6.create(ClientFactoryTestService.class));
+        assertNotSame(clientFactory1.create(ClientFactoryTestService.class), clientFactory5.create(ClientFactoryTestService.class));
+        assertNotSame(clientFactory1.create(ClientFactoryTestService.class), clientFactory2.create(ClientFactoryTestService.class));
+        assertNotSame(clientFactory1.create(ClientFactoryTestService.class), clientFactory3.create(ClientFactoryTestService.class));
+        assertNotSame(clientFactory3.create(ClientFactoryTestService.class), clientFactory4.create(ClientFactoryTestService.class));
+    }
+
+    @Test
+    public void testHttpConfig() throws ResourceException {
+        EnvironmentConfig environmentConfig = new EnvironmentConfig("test", BASE_URL, Strategy.REPLACE);
+        environmentConfig.setHttpConfig(new HttpConfig(2, 1000, 32, 16, Collections.singletonList(HttpConfig.PROTOCOL_HTTP_1_1), 1000, 2000, 3000, 0, 100));
+        new ClientFactory(environmentConfig);
+
+        HttpClientRegistry.SharedClient sharedClient = HttpClientRegistry.getClient(environmentConfig, () -> null);
+        OkHttpClient client = (OkHttpClient) sharedClient.getRetrofit().callFactory();
+        assertEquals(32, client.dispatcher().getMaxRequests());
+        assertEquals(16, client.dispatcher().getMaxRequestsPerHost());
+        assertEquals(Collections.singletonList(Protocol.HTTP_1_1), client.protocols());
+        assertEquals(1000, client.connectTimeoutMillis());
+        assertEquals(2000, client.readTimeoutMillis());
+        assertEquals(3000, client.writeTimeoutMillis());
+
+        // The streaming client shares the tuning but doesn't time out while reading
+        OkHttpClient streamingClient = (OkHttpClient) sharedClient.getStreamingRetrofit().callFactory();
+        assertSame(client.connectionPool(), streamingClient.connectionPool());
+        assertSame(client.dispatcher(), streamingClient.dispatcher());
+        assertEquals(0, streamingClient.readTimeoutMillis());
+    }
+
+    @Test
+    public void testCloseAll() throws ResourceException {
+        ClientFactory clientFactory1 = new ClientFactory(new EnvironmentConfig("test", BASE_URL, Strategy.REPLACE));
+        assertEquals(1, HttpClientRegistry.size());
+
+        HttpClientRegistry.closeAll();
+        assertEquals(0, HttpClientRegistry.size());
+
+        ClientFactory clientFactory2 = new ClientFactory(new EnvironmentConfig("test", BASE_URL, Strategy.REPLACE));
+        assertEquals(1, HttpClientRegistry.size());
+        assertNotSame(clientFactory1.create(ClientFactoryTestService.class), clientFactory2.create(ClientFactoryTestService.class));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.resource;
+
+import de.qaware.cloud.deployer.commons.config.environment.RateLimitConfig;
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author sjahreis
+ */
+public class RateLimiterTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void testBurst() {
+        long[] now = {0};
+        RateLimiter rateLimiter = new RateLimiter(new RateLimitConfig(10, 3), () -> now[0]);
+
+        // The full bucket allows the burst
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(0, rateLimiter.reserve());
+
+        // Further requests are queued
+        assertEquals(100 * MILLIS, rateLimiter.reserve());
+        assertEquals(200 * MILLIS, rateLimiter.reserve());
+    }
+
+    @Test
+    public void testRefill() {
+        long[] now = {0};
+        RateLimiter rateLimiter = new RateLimiter(new RateLimitConfig(10, 2), () -> now[0]);
+        rateLimiter.reserve();
+        rateLimiter.reserve();
+
+        now[0] = 150 * MILLIS;
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(50 * MILLIS, rateLimiter.reserve());
+
+        // The bucket never holds more than the burst
+        now[0] = 10000 * MILLIS;
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(100 * MILLIS, rateLimiter.reserve());
+    }
+
+    @Test
+    public void testAcquire() throws ResourceException {
+        RateLimiter rateLimiter = new RateLimiter(new RateLimitConfig(100, 1));
+
+        // The first token is available right away, the next ones are scheduled
+        assertTrue(rateLimiter.acquire().isDone());
+        long start = System.nanoTime();
+        CompletableFuture<Void> second = rateLimiter.acquire();
+        CompletableFuture<Void> third = rateLimiter.acquire();
+        assertFalse(second.isDone());
+
+        // The scheduler has several threads, so the waiting futures may be completed in any order
+        AsyncCallUtil.join(second);
+        AsyncCallUtil.join(third);
+        assertTrue(System.nanoTime() - start >= 19 * MILLIS);
+    }
+}
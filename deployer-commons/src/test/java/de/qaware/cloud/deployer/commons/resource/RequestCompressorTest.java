@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.resource;
+
+import de.qaware.cloud.deployer.commons.config.environment.CompressionConfig;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.GzipSource;
+import okio.Okio;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author sjahreis
+ */
+public class RequestCompressorTest {
+
+    private static final MediaType MEDIA_TYPE = MediaType.parse("application/json");
+    private static final String CONTENT = createContent(2048);
+
+    @Test
+    public void testCompressLargeBody() throws IOException {
+        RequestCompressor compressor = new RequestCompressor(new CompressionConfig(true, 1024));
+        Interceptor.Chain chain = mockChain(createRequest(CONTENT), 200);
+
+        compressor.intercept(chain);
+
+        Request sent = captureRequests(chain, 1).get(0);
+        assertEquals("gzip", sent.header("Content-Encoding"));
+        assertEquals(CONTENT, decompress(sent.body()));
+        assertEquals(1, compressor.getCompressedRequests());
+        assertEquals(CONTENT.length() - sent.body().contentLength(), compressor.getSavedBytes());
+    }
+
+    @Test
+    public void testSmallBodyIsNotCompressed() throws IOException {
+        RequestCompressor compressor = new RequestCompressor(new CompressionConfig(true, 1024));
+        Request request = createRequest("{}");
+        Interceptor.Chain chain = mockChain(request, 200);
+
+        compressor.intercept(chain);
+
+        assertSame(request, captureRequests(chain, 1).get(0));
+        assertEquals(0, compressor.getCompressedRequests());
+        assertEquals(0, compressor.getSavedBytes());
+    }
+
+    @Test
+    public void testUnsupportedCompression() throws IOException {
+        RequestCompressor compressor = new RequestCompressor(new CompressionConfig(true, 1024));
+        Request request = createRequest(CONTENT);
+        Interceptor.Chain chain = mockChain(request, 415);
+
+        compressor.intercept(chain);
+
+        // The request is sent again uncompressed
+        List<Request> sent = captureRequests(chain, 2);
+        assertEquals("gzip", sent.get(0).header("Content-Encoding"));
+        assertSame(request, sent.get(1));
+        assertEquals(0, compressor.getCompressedRequests());
+
+        // Further requests aren't compressed anymore
+        compressor.intercept(chain);
+        assertSame(request, captureRequests(chain, 3).get(2));
+    }
+
+    @Test
+    public void testCountCompressedResponses() throws IOException {
+        RequestCompressor compressor = new RequestCompressor(new CompressionConfig(true, 1024));
+        Request request = new Request.Builder().url("http://localhost/").build();
+        Response networkResponse = new Response.Builder().request(request).protocol(Protocol.HTTP_1_1).code(200)
+                .header("Content-Encoding", "gzip").build();
+        Response response = new Response.Builder().request(request).protocol(Protocol.HTTP_1_1).code(200)
+                .networkResponse(networkResponse).build();
+        Interceptor.Chain chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        when(chain.proceed(any())).thenReturn(response);
+
+        compressor.intercept(chain);
+
+        assertEquals(1, compressor.getCompressedResponses());
+    }
+
+    private static Interceptor.Chain mockChain(Request request, int code) throws IOException {
+        Interceptor.Chain chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        when(chain.proceed(any())).thenAnswer(invocation -> new Response.Builder()
+                .request((Request) invocation.getArguments()[0])
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .body(ResponseBody.create(MEDIA_TYPE, ""))
+                .build());
+        return chain;
+    }
+
+    private static List<Request> captureRequests(Interceptor.Chain chain, int count) throws IOException {
+        ArgumentCaptor<Request> captor = ArgumentCaptor.forClass(Request.class);
+        verify(chain, times(count)).proceed(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static Request createRequest(String content) {
+        return new Request.Builder()
+                .url("http://localhost/")
+                .post(RequestBody.create(MEDIA_TYPE, content))
+                .build();
+    }
+
+    private static String decompress(RequestBody body) throws IOException {
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        return Okio.buffer(new GzipSource(buffer)).readUtf8();
+    }
+
+    private static String createContent(int length) {
+        StringBuilder builder = new StringBuilder();
+        while (builder.length() < length) {
+            builder.append("{\"kind\": \"Deployment\"}");
+        }
+        return builder.toString();
+    }
+}
@@ -103,4 +103,16 @@ public class ResponseInterpreterUtilTest {
         interpreterResponse = ResponseInterpreterUtil.isServerErrorResponse(response);
         assertTrue(interpreterResponse);
     }
+
+    @Test
+    public void testIsTooManyRequestsResponse() {
+        Response<ResponseBody> response = success(body);
+        assertFalse(ResponseInterpreterUtil.isTooManyRequestsResponse(response));
+
+        response = Response.error(500, body);
+        assertFalse(ResponseInterpreterUtil.isTooManyRequestsResponse(response));
+
+        response = Response.error(429, body);
+        assertTrue(ResponseInterpreterUtil.isTooManyRequestsResponse(response));
+    }
 }
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.resource;
+
+import de.qaware.cloud.deployer.commons.config.environment.CircuitBreakerConfig;
+import de.qaware.cloud.deployer.commons.config.environment.RateLimitConfig;
+import de.qaware.cloud.deployer.commons.config.environment.RetryConfig;
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author sjahreis
+ */
+public class RetryPolicyTest {
+
+    @Test
+    public void testRetryUntilSuccess() throws ResourceException {
+        RetryPolicy retryPolicy = new RetryPolicy(new RetryConfig(4, 10, 10, 1, 0, 10), new CircuitBreaker("test", new CircuitBreakerConfig()));
+        Call<ResponseBody> call = mockCall(createResponse(500, null), createResponse(409, null), createResponse(200, null));
+
+        Response<ResponseBody> response = AsyncCallUtil.join(retryPolicy.enqueue(call));
+
+        assertEquals(200, response.code());
+        verify(call, times(3)).enqueue(any());
+        assertEquals(8, retryPolicy.getRemainingBudget());
+    }
+
+    @Test
+    public void testMaxAttempts() throws ResourceException {
+        RetryPolicy retryPolicy = new RetryPolicy(new RetryConfig(3, 10, 10, 1, 0, 10), new CircuitBreaker("test", new CircuitBreakerConfig()));
+        Call<ResponseBody> call = mockCall(createResponse(500, null));
+
+        Response<ResponseBody> response = AsyncCallUtil.join(retryPolicy.enqueue(call));
+
+        assertEquals(500, response.code());
+        verify(call, times(3)).enqueue(any());
+    }
+
+    @Test
+    public void testNoRetryOnClientError() throws ResourceException {
+        RetryPolicy retryPolicy = new RetryPolicy(new RetryConfig(3, 10, 10, 1, 0, 10), new CircuitBreaker("test", new CircuitBreakerConfig()));
+        Call<ResponseBody> call = mockCall(createResponse(404, null));
+
+        Response<ResponseBody> response = AsyncCallUtil.join(retryPolicy.enqueue(call));
+
+        assertEquals(404, response.code());
+        verify(call, times(1)).enqueue(any());
+        assertEquals(10, retryPolicy.getRemainingBudget());
+    }
+
+    @Test
+    public void testBudget() throws ResourceException {
+        RetryPolicy retryPolicy = new RetryPolicy(new RetryConfig(5, 10, 10, 1, 0, 3), new CircuitBreaker("test", new CircuitBreakerConfig()));
+        Call<ResponseBody> firstCall = mockCall(createResponse(500, null));
+        Call<ResponseBody> secondCall = mockCall(createResponse(500, null));
+
+        AsyncCallUtil.join(retryPolicy.enqueue(firstCall));
+        AsyncCallUtil.join(retryPolicy.enqueue(secondCall));
+
+        // The first call uses the whole budget, the second call isn't retried anymore
+        verify(firstCall, times(4)).enqueue(any());
+        verify(secondCall, times(1)).enqueue(any());
+        assertEquals(0, retryPolicy.getRemainingBudget());
+    }
+
+    @Test
+    public void testRetryOnTooManyRequestsWithoutBudget() throws ResourceException {
+        RetryPolicy retryPolicy = new RetryPolicy(new RetryConfig(4, 10, 10, 1, 0, 0), new CircuitBreaker("test", new CircuitBreakerConfig()));
+        Call<ResponseBody> call = mockCall(createResponse(429, "0"), createResponse(429, null), createResponse(200, null));
+
+        Response<ResponseBody> response = AsyncCallUtil.join(retryPolicy.enqueue(call));
+
+        assertEquals(200, response.code());
+        verify(call, times(3)).enqueue(any());
+    }
+
+    @Test
+    public void testCallTimeout() {
+        RetryPolicy retryPolicy = new RetryPolicy(new RetryConfig(3, 10, 10, 1, 0, 10), new CircuitBreaker("test", new CircuitBreakerConfig()), 50);
+        Call<ResponseBody> call = mockHangingCall();
+
+        boolean exceptionThrown = false;
+        try {
+            AsyncCallUtil.join(retryPolicy.enqueue(call));
+        } catch (ResourceException e) {
+            exceptionThrown = true;
+            assertEquals(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_CALL_TIMED_OUT", "GET", "http://localhost/", 50), e.getMessage());
+        }
+        assertTrue(exceptionThrown);
+        verify(call, times(1)).cancel();
+    }
+
+    @Test
+    public void testThrottledCallsNeitherTripCircuitNorTimeOut() throws ResourceException {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", new CircuitBreakerConfig(4, 2, 0.5, 50, 10000));
+        RateLimiter rateLimiter = new RateLimiter(new RateLimitConfig(10, 1));
+        RetryPolicy retryPolicy = new RetryPolicy(new RetryConfig(1, 10, 10, 1, 0, 10), circuitBreaker, rateLimiter, 50);
+        List<Call<ResponseBody>> calls = new ArrayList<>();
+        List<CompletableFuture<Response<ResponseBody>>> futures = new ArrayList<>();
+
+        // The last call waits 400 ms for its token, much longer than the slow call duration and the call timeout
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 5; i++) {
+            Call<ResponseBody> call = mockCall(createResponse(200, null));
+            calls.add(call);
+            futures.add(retryPolicy.enqueue(call));
+        }
+        for (CompletableFuture<Response<ResponseBody>> future : futures) {
+            assertEquals(200, AsyncCallUtil.join(future).code());
+        }
+
+        assertTrue(System.currentTimeMillis() - start >= 350);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        for (Call<ResponseBody> call : calls) {
+            verify(call, never()).cancel();
+        }
+    }
+
+    @Test
+    public void testEnqueueOnceIsThrottled() throws ResourceException {
+        RateLimiter rateLimiter = new RateLimiter(new RateLimitConfig(10, 1));
+        RetryPolicy retryPolicy = new RetryPolicy(new RetryConfig(3, 10, 10, 1, 0, 10), new CircuitBreaker("test", new CircuitBreakerConfig()), rateLimiter, 0);
+        Call<ResponseBody> call = mockCall(createResponse(500, null));
+
+        long start = System.currentTimeMillis();
+        AsyncCallUtil.join(retryPolicy.enqueueOnce(call));
+        Response<ResponseBody> response = AsyncCallUtil.join(retryPolicy.enqueueOnce(call));
+
+        assertEquals(500, response.code());
+        assertTrue(System.currentTimeMillis() - start >= 90);
+        verify(call, times(2)).enqueue(any());
+    }
+
+    @Test
+    public void testExponentialDelay() {
+        RetryPolicy retryPolicy = new RetryPolicy(new RetryConfig(10, 100, 1000, 2, 0, 10), new CircuitBreaker("test", new CircuitBreakerConfig()));
+        Response<ResponseBody> response = createResponse(500, null);
+
+        assertEquals(100, retryPolicy.calculateDelay(response, 1));
+        assertEquals(200, retryPolicy.calculateDelay(response, 2));
+        assertEquals(400, retryPolicy.calculateDelay(response, 3));
+        assertEquals(800, retryPolicy.calculateDelay(response, 4));
+        assertEquals(1000, retryPolicy.calculateDelay(response, 5));
+    }
+
+    @Test
+    public void testJitter() {
+        RetryPolicy retryPolicy = new RetryPolicy(new RetryConfig(10, 1000, 10000, 1, 0.5, 10), new CircuitBreaker("test", new CircuitBreakerConfig()));
+        Response<ResponseBody> response = createResponse(500, null);
+
+        for (int i = 0; i < 50; i++) {
+            long delay = retryPolicy.calculateDelay(response, 1);
+            assertTrue(delay >= 500 && delay <= 1500);
+        }
+    }
+
+    @Test
+    public void testRetryAfter() {
+        RetryPolicy retryPolicy = new RetryPolicy(new RetryConfig(10, 100, 5000, 2, 0, 10), new CircuitBreaker("test", new CircuitBreakerConfig()));
+
+        assertEquals(3000, retryPolicy.calculateDelay(createResponse(500, "3"), 1));
+        assertEquals(5000, retryPolicy.calculateDelay(createResponse(500, "60"), 1));
+        assertEquals(100, retryPolicy.calculateDelay(createResponse(500, "invalid"), 1));
+    }
+
+    @Test
+    public void testParseRetryAfter() {
+        assertEquals(0, RetryPolicy.parseRetryAfter(null));
+        assertEquals(0, RetryPolicy.parseRetryAfter(""));
+        assertEquals(0, RetryPolicy.parseRetryAfter("-5"));
+        assertEquals(120000, RetryPolicy.parseRetryAfter(" 120 "));
+        assertEquals(0, RetryPolicy.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT"));
+
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusSeconds(30));
+        long delay = RetryPolicy.parseRetryAfter(date);
+        assertTrue(delay > 25000 && delay <= 30000);
+    }
+
+    private static Response<ResponseBody> createResponse(int code, String retryAfter) {
+        Headers.Builder headers = new Headers.Builder();
+        if (retryAfter != null) {
+            headers.add("Retry-After", retryAfter);
+        }
+        okhttp3.Response rawResponse = new okhttp3.Response.Builder()
+                .code(code)
+                .message("test")
+                .protocol(Protocol.HTTP_1_1)
+                .headers(headers.build())
+                .request(new Request.Builder().url("http://localhost/").build())
+                .build();
+        ResponseBody body = ResponseBody.create(MediaType.parse("text"), "body");
+        return code < 400 ? Response.success(body, rawResponse) : Response.error(body, rawResponse);
+    }
+
+    private static Call<ResponseBody> mockHangingCall() {
+        Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
+        Callback<ResponseBody>[] callback = new Callback[1];
+        doAnswer(invocation -> {
+            callback[0] = (Callback<ResponseBody>) invocation.getArguments()[0];
+            return null;
+        }).when(call).enqueue(any());
+        doAnswer(invocation -> {
+            callback[0].onFailure(call, new IOException("Canceled"));
+            return null;
+        }).when(call).cancel();
+        when(call.request()).thenReturn(new Request.Builder().url("http://localhost/").build());
+        return call;
+    }
+
+    @SafeVarargs
+    private static Call<ResponseBody> mockCall(Response<ResponseBody>... responses) {
+        Call<ResponseBody> call = (Call<ResponseBody>) mock(Call.class);
+        int[] counter = {0};
+        doAnswer(invocation -> {
+            Callback<ResponseBody> callback = (Callback<ResponseBody>) invocation.getArguments()[0];
+            callback.onResponse(call, responses[Math.min(counter[0]++, responses.length - 1)]);
+            return null;
+        }).when(call).enqueue(any());
+        when(call.clone()).thenReturn(call);
+        return call;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.resource;
+
+import okio.ByteString;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.security.KeyStore;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author sjahreis
+ */
+public class SSLContextCacheTest {
+
+    private static final String KEYSTORE_PATH = SSLContextCacheTest.class.getResource("/certs/identity.jks").getPath();
+
+    @Before
+    public void setup() {
+        SSLContextCache.clear();
+    }
+
+    @After
+    public void tearDown() {
+        SSLContextCache.clear();
+    }
+
+    @Test
+    public void testCertificateContextIsShared() throws Exception {
+        String certificate = getCertificate();
+
+        SSLContextCache.CachedContext context1 = SSLContextCache.getCertificateContext(certificate, 0);
+        SSLContextCache.CachedContext context2 = SSLContextCache.getCertificateContext(certificate, 0);
+
+        assertEquals(1, SSLContextCache.size());
+        assertSame(context1, context2);
+        assertEquals(1, context1.getTrustManager().getAcceptedIssuers().length);
+    }
+
+    @Test
+    public void testSessionCacheSize() throws Exception {
+        String certificate = getCertificate();
+
+        SSLContextCache.CachedContext context1 = SSLContextCache.getCertificateContext(certificate, 0);
+        SSLContextCache.CachedContext context2 = SSLContextCache.getCertificateContext(certificate, 50);
+
+        assertEquals(2, SSLContextCache.size());
+        assertNotSame(context1, context2);
+        assertEquals(50, context2.getSslContext().getClientSessionContext().getSessionCacheSize());
+    }
+
+    @Test
+    public void testTrustAllAndDefaultContexts() throws Exception {
+        SSLContextCache.CachedContext trustAllContext = SSLContextCache.getTrustAllContext(0);
+        SSLContextCache.CachedContext defaultContext = SSLContextCache.getDefaultContext(0);
+
+        assertEquals(2, SSLContextCache.size());
+        assertNotSame(trustAllContext, defaultContext);
+        assertSame(trustAllContext, SSLContextCache.getTrustAllContext(0));
+        assertSame(defaultContext, SSLContextCache.getDefaultContext(0));
+        assertEquals(0, trustAllContext.getTrustManager().getAcceptedIssuers().length);
+    }
+
+    @Test(expected = CertificateException.class)
+    public void testInvalidCertificate() throws Exception {
+        SSLContextCache.getCertificateContext(getCertificate().substring(0, 10), 0);
+    }
+
+    private String getCertificate() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("JKS");
+        try (InputStream inputStream = new FileInputStream(KEYSTORE_PATH)) {
+            keyStore.load(inputStream, "password".toCharArray());
+        }
+        X509Certificate cert = (X509Certificate) keyStore.getCertificate("wiremock");
+        return ByteString.of(cert.getEncoded()).base64();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.resource;
+
+import de.qaware.cloud.deployer.commons.config.environment.TokenProvider;
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author sjahreis
+ */
+public class TokenCacheTest {
+
+    @Before
+    public void setup() {
+        TokenCache.clear();
+    }
+
+    @After
+    public void tearDown() {
+        TokenCache.clear();
+    }
+
+    @Test
+    public void testSameKeySharesProvider() throws ResourceException {
+        AtomicInteger counter = new AtomicInteger();
+        TokenProvider tokenProvider1 = TokenCache.getProvider("test", null, () -> "TOKEN" + counter.incrementAndGet());
+        TokenProvider tokenProvider2 = TokenCache.getProvider("test", null, () -> "OTHER");
+        TokenProvider tokenProvider3 = TokenCache.getProvider("other", null, () -> "OTHER");
+
+        assertEquals(2, TokenCache.size());
+        assertSame(tokenProvider1, tokenProvider2);
+        assertNotSame(tokenProvider1, tokenProvider3);
+        assertEquals("TOKEN1", tokenProvider1.getToken());
+        assertEquals("TOKEN1", tokenProvider2.getToken());
+        assertEquals("OTHER", tokenProvider3.getToken());
+    }
+
+    @Test
+    public void testClear() {
+        TokenProvider tokenProvider1 = TokenCache.getProvider("test", null, () -> "TOKEN");
+        assertEquals(1, TokenCache.size());
+
+        TokenCache.clear();
+        assertEquals(0, TokenCache.size());
+
+        TokenProvider tokenProvider2 = TokenCache.getProvider("test", null, () -> "TOKEN");
+        assertNotSame(tokenProvider1, tokenProvider2);
+    }
+}
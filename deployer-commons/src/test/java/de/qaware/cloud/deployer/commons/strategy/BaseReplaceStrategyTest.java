@@ -15,9 +15,11 @@
  */
 package de.qaware.cloud.deployer.commons.strategy;
 
+import de.qaware.cloud.deployer.commons.config.environment.ExecutionConfig;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
 import de.qaware.cloud.deployer.commons.test.BaseStrategyTest;
 import org.junit.Test;
+import org.mockito.InOrder;
 
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.times;
@@ -83,4 +85,41 @@ public class BaseReplaceStrategyTest extends BaseStrategyTest {
         verify(resource2, times(0)).delete();
         verify(resource2, times(0)).update();
     }
+
+    @Test
+    public void testReplaceExistingResourcesDeleteBeforeCreate() throws ResourceException {
+        when(resource1.exists()).thenReturn(true);
+        when(resource2.exists()).thenReturn(true);
+
+        BaseReplaceStrategy strategy = new BaseReplaceStrategy(new ExecutionConfig(1, true)) {
+        };
+        strategy.replaceResources(resources);
+
+        InOrder inOrder = inOrder(resource1, resource2);
+        inOrder.verify(resource1).delete();
+        inOrder.verify(resource2).delete();
+        inOrder.verify(resource1).create();
+        inOrder.verify(resource2).create();
+
+        verify(resource1, times(1)).exists();
+        verify(resource2, times(1)).exists();
+    }
+
+    @Test
+    public void testReplacePartialExistingResourcesDeleteBeforeCreate() throws ResourceException {
+        when(resource2.exists()).thenReturn(true);
+
+        BaseReplaceStrategy strategy = new BaseReplaceStrategy(new ExecutionConfig(2, true)) {
+        };
+        strategy.replaceResources(resources);
+
+        InOrder inOrder = inOrder(resource2);
+        inOrder.verify(resource2).delete();
+        inOrder.verify(resource2).create();
+
+        verify(resource1, times(1)).create();
+        verify(resource1, times(1)).exists();
+        verify(resource1, times(0)).delete();
+        verify(resource2, times(1)).exists();
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.commons.strategy;
+
+import de.qaware.cloud.deployer.commons.config.environment.ExecutionConfig;
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.test.BaseStrategyTest;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author sjahreis
+ */
+public class ResourceExecutorTest extends BaseStrategyTest {
+
+    @Test
+    public void testSequentialExecution() throws ResourceException {
+        ResourceExecutor executor = new ResourceExecutor(new ExecutionConfig());
+        executor.execute(resources, resource -> resource.create());
+
+        verify(resource1, times(1)).create();
+        verify(resource2, times(1)).create();
+    }
+
+    @Test
+    public void testSequentialExecutionStopsAtFirstError() throws ResourceException {
+        ResourceException exception = new ResourceException("error");
+        doThrow(exception).when(resource1).create();
+
+        ResourceExecutor executor = new ResourceExecutor(new ExecutionConfig());
+        boolean exceptionThrown = false;
+        try {
+            executor.execute(resources, resource -> resource.create());
+        } catch (ResourceException e) {
+            exceptionThrown = true;
+            assertEquals(exception, e);
+        }
+        assertTrue(exceptionThrown);
+
+        verify(resource1, times(1)).create();
+        verify(resource2, times(0)).create();
+    }
+
+    @Test
+    public void testConcurrentExecution() throws ResourceException {
+        // Both operations wait for each other - this only finishes if they run at the same time
+        CountDownLatch latch = new CountDownLatch(2);
+        ResourceExecutor executor = new ResourceExecutor(new ExecutionConfig(2, false));
+        executor.execute(resources, resource -> {
+            latch.countDown();
+            try {
+                assertTrue(latch.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new ResourceException(e);
+            }
+            resource.create();
+        });
+
+        verify(resource1, times(1)).create();
+        verify(resource2, times(1)).create();
+    }
+
+    @Test
+    public void testConcurrentExecutionSingleError() throws ResourceException {
+        ResourceException exception = new ResourceException("error");
+        doThrow(exception).when(resource2).create();
+
+        ResourceExecutor executor = new ResourceExecutor(new ExecutionConfig(2, false));
+        boolean exceptionThrown = false;
+        try {
+            executor.execute(resources, resource -> resource.create());
+        } catch (ResourceException e) {
+            exceptionThrown = true;
+            assertEquals(exception, e);
+        }
+        assertTrue(exceptionThrown);
+
+        verify(resource1, times(1)).create();
+        verify(resource2, times(1)).create();
+    }
+
+    @Test
+    public void testConcurrentExecutionAggregatesErrors() throws ResourceException {
+        ResourceException exception1 = new ResourceException("error1");
+        ResourceException exception2 = new ResourceException("error2");
+        doThrow(exception1).when(resource1).create();
+        doThrow(exception2).when(resource2).create();
+
+        ResourceExecutor executor = new ResourceExecutor(new ExecutionConfig(2, false));
+        boolean exceptionThrown = false;
+        try {
+            executor.execute(resources, resource -> resource.create());
+        } catch (ResourceException e) {
+            exceptionThrown = true;
+            String message = COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_RESOURCE_OPERATIONS_FAILED", 2, 2, "- error1\n- error2");
+            assertEquals(message, e.getMessage());
+            assertArrayEquals(new Throwable[]{exception1, exception2}, e.getSuppressed());
+        }
+        assertTrue(exceptionThrown);
+    }
+}
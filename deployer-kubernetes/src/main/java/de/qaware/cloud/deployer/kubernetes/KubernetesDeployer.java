@@ -51,11 +51,16 @@ public class KubernetesDeployer extends BaseDeployer<KubernetesEnvironmentConfig
         NamespaceResource namespaceResource = resourceContainer.namespaceResource;
         List<KubernetesResource> resources = resourceContainer.resources;
 
-        // 2. Retrieve a strategy
-        KubernetesStrategy strategy = createStrategy();
-
-        // 3. Deploy the resources using the strategy
-        strategy.deploy(namespaceResource, resources);
+        try {
+            // 2. Retrieve a strategy
+            KubernetesStrategy strategy = createStrategy();
+
+            // 3. Deploy the resources using the strategy
+            strategy.deploy(namespaceResource, resources);
+        } finally {
+            // 4. Stop the watches of the resources
+            resourceContainer.resourceFactory.close();
+        }
     }
 
     @Override
@@ -65,11 +70,16 @@ public class KubernetesDeployer extends BaseDeployer<KubernetesEnvironmentConfig
         NamespaceResource namespaceResource = resourceContainer.namespaceResource;
         List<KubernetesResource> resources = resourceContainer.resources;
 
-        // 2. Retrieve a strategy
-        KubernetesStrategy strategy = createStrategy();
+        try {
+            // 2. Retrieve a strategy
+            KubernetesStrategy strategy = createStrategy();
 
-        // 3. Delete resources using the strategy
-        strategy.delete(namespaceResource, resources);
+            // 3. Delete resources using the strategy
+            strategy.delete(namespaceResource, resources);
+        } finally {
+            // 4. Stop the watches of the resources
+            resourceContainer.resourceFactory.close();
+        }
     }
 
     /**
@@ -83,7 +93,7 @@ public class KubernetesDeployer extends BaseDeployer<KubernetesEnvironmentConfig
     private EnvironmentResourceContainer createResources(List<File> files) throws ResourceConfigException, ResourceException {
         // 1. Read and create resource configs
         KubernetesEnvironmentConfig environmentConfig = getEnvironmentConfig();
-        KubernetesResourceConfigFactory resourceConfigFactory = new KubernetesResourceConfigFactory();
+        KubernetesResourceConfigFactory resourceConfigFactory = new KubernetesResourceConfigFactory(getEnvironmentConfig().getExecutionConfig().getParallelism());
         List<KubernetesResourceConfig> resourceConfigs = resourceConfigFactory.createConfigs(files);
 
         // 2. Create a resource factory for the specified namespace
@@ -95,7 +105,7 @@ public class KubernetesDeployer extends BaseDeployer<KubernetesEnvironmentConfig
         // 4. Create the namespace resource
         NamespaceResource namespaceResource = resourceFactory.getNamespaceResource();
 
-        return new EnvironmentResourceContainer(namespaceResource, resources);
+        return new EnvironmentResourceContainer(resourceFactory, namespaceResource, resources);
     }
 
     /**
@@ -105,13 +115,18 @@ public class KubernetesDeployer extends BaseDeployer<KubernetesEnvironmentConfig
      * @throws ResourceException If an error during strategy creation occurs.
      */
     private KubernetesStrategy createStrategy() throws ResourceException {
-        return KubernetesStrategyFactory.create(getEnvironmentConfig().getStrategy());
+        return KubernetesStrategyFactory.create(getEnvironmentConfig().getStrategy(), getEnvironmentConfig().getExecutionConfig());
     }
 
     /**
      * A container which contains all necessary resources for this environment.
      */
     private static final class EnvironmentResourceContainer {
+        /**
+         * The factory which created the resources.
+         */
+        private final KubernetesResourceFactory resourceFactory;
+
         /**
          * The namespace resource of the environment.
          */
@@ -125,10 +140,12 @@ public class KubernetesDeployer extends BaseDeployer<KubernetesEnvironmentConfig
         /**
          * Creates a new container using the specified params.
          *
+         * @param resourceFactory   The factory which created the resources.
          * @param namespaceResource The namespace resource of the environment.
          * @param resources         The resources which belong to this environment.
          */
-        private EnvironmentResourceContainer(NamespaceResource namespaceResource, List<KubernetesResource> resources) {
+        private EnvironmentResourceContainer(KubernetesResourceFactory resourceFactory, NamespaceResource namespaceResource, List<KubernetesResource> resources) {
+            this.resourceFactory = resourceFactory;
             this.namespaceResource = namespaceResource;
             this.resources = resources;
         }
@@ -28,6 +28,21 @@ public class KubernetesEnvironmentConfig extends EnvironmentConfig {
      */
     private final String namespace;
 
+    /**
+     * Signals whether the resource states are tracked using watches instead of polling.
+     */
+    private boolean watchEnabled;
+
+    /**
+     * Signals whether existence checks are answered by a snapshot of the namespace instead of single requests.
+     */
+    private boolean snapshotEnabled = true;
+
+    /**
+     * Signals whether collections are listed and watched using protobuf instead of json.
+     */
+    private boolean protobufEnabled;
+
     /**
      * Creates a new kubernetes environment config.
      *
@@ -49,4 +64,58 @@ public class KubernetesEnvironmentConfig extends EnvironmentConfig {
     public String getNamespace() {
         return namespace;
     }
+
+    /**
+     * Returns whether the resource states are tracked using watches instead of polling.
+     *
+     * @return TRUE if watches are used, FALSE otherwise.
+     */
+    public boolean isWatchEnabled() {
+        return watchEnabled;
+    }
+
+    /**
+     * Sets whether the resource states are tracked using watches instead of polling.
+     *
+     * @param watchEnabled TRUE if watches are used, FALSE otherwise.
+     */
+    public void setWatchEnabled(boolean watchEnabled) {
+        this.watchEnabled = watchEnabled;
+    }
+
+    /**
+     * Returns whether existence checks are answered by a snapshot of the namespace instead of single requests.
+     *
+     * @return TRUE if a snapshot is used, FALSE otherwise.
+     */
+    public boolean isSnapshotEnabled() {
+        return snapshotEnabled;
+    }
+
+    /**
+     * Sets whether existence checks are answered by a snapshot of the namespace instead of single requests.
+     *
+     * @param snapshotEnabled TRUE if a snapshot is used, FALSE otherwise.
+     */
+    public void setSnapshotEnabled(boolean snapshotEnabled) {
+        this.snapshotEnabled = snapshotEnabled;
+    }
+
+    /**
+     * Returns whether collections are listed and watched using protobuf instead of json.
+     *
+     * @return TRUE if protobuf is used, FALSE otherwise.
+     */
+    public boolean isProtobufEnabled() {
+        return protobufEnabled;
+    }
+
+    /**
+     * Sets whether collections are listed and watched using protobuf instead of json.
+     *
+     * @param protobufEnabled TRUE if protobuf is used, FALSE otherwise.
+     */
+    public void setProtobufEnabled(boolean protobufEnabled) {
+        this.protobufEnabled = protobufEnabled;
+    }
 }
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.kubernetes.config.resource;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import de.qaware.cloud.deployer.commons.config.resource.ConfigContent;
+import de.qaware.cloud.deployer.commons.config.resource.ContentType;
+import de.qaware.cloud.deployer.commons.config.util.ContentPathExtractor;
+import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
+
+/**
+ * Reads the documents of a file which may contain multiple kubernetes configs separated by "---". The documents are
+ * parsed one after another in a single pass, a separator within a document (e.g. in a string value) isn't treated as
+ * separator. No trees of the documents are built, only the selected values are extracted. The documents are passed on
+ * as slices of the file's buffer, so their content isn't copied.
+ */
+final class KubernetesDocumentReader {
+
+    /**
+     * The string which separates multiple documents within the same file.
+     */
+    private static final String DOCUMENT_SEPARATOR = "---";
+
+    /**
+     * The mapper for yaml documents. It's thread safe and shared, because creating mappers is expensive.
+     */
+    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
+
+    /**
+     * The mapper for json documents. It's thread safe and shared, because creating mappers is expensive.
+     */
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+
+    /**
+     * UTILITY.
+     */
+    private KubernetesDocumentReader() {
+    }
+
+    /**
+     * Reads all documents of the specified content and passes them to the specified handler in the order of their
+     * occurrence. Empty documents are skipped.
+     *
+     * @param contentType The type of the content (json, yaml).
+     * @param content     The utf-8 encoded content which contains the documents.
+     * @param paths       The paths of the values which are extracted out of every document.
+     * @param handler     The handler which receives the documents.
+     * @return The number of documents passed to the handler.
+     * @throws ResourceConfigException If the content can't be parsed or the handler fails.
+     */
+    static int read(ContentType contentType, ConfigContent content, String[] paths, DocumentHandler handler) throws ResourceConfigException {
+        DocumentSlicer slicer = new DocumentSlicer(content);
+        try {
+            switch (contentType) {
+                case YAML:
+                    return readYaml(slicer, paths, handler);
+                case JSON:
+                    return readJson(slicer, paths, handler);
+                default:
+                    throw new ResourceConfigException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_UNSUPPORTED_CONTENT_TYPE"));
+            }
+        } catch (IOException e) {
+            throw new ResourceConfigException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_DURING_CONTENT_PARSING"), e);
+        }
+    }
+
+    /**
+     * Reads the documents of yaml content using a single streaming parser. The parser signals the end of every
+     * document, so the document's text is located using the positions of its first token and of its end.
+     *
+     * @param slicer  The slicer of the yaml content.
+     * @param paths   The paths of the values which are extracted out of every document.
+     * @param handler The handler which receives the documents.
+     * @return The number of documents passed to the handler.
+     * @throws IOException             If the content can't be parsed.
+     * @throws ResourceConfigException If the handler fails.
+     */
+    private static int readYaml(DocumentSlicer slicer, String[] paths, DocumentHandler handler) throws IOException, ResourceConfigException {
+        int documents = 0;
+        String content = slicer.text;
+        int[] lineOffsets = calculateLineOffsets(content);
+        try (JsonParser parser = YAML_MAPPER.getFactory().createParser(new StringReader(content))) {
+            int start = -1;
+            JsonNode values = null;
+            while (!parser.isClosed()) {
+                JsonToken token = parser.nextToken();
+                if (token != null) {
+                    // 1. Read the document's root value and remember where it starts.
+                    start = toOffset(lineOffsets, parser.getTokenLocation());
+                    values = token == JsonToken.VALUE_NULL ? null : ContentPathExtractor.extract(parser, true, paths);
+                } else if (start >= 0) {
+                    // 2. The document ended, pass it on unless it's empty.
+                    int end = toOffset(lineOffsets, parser.getTokenLocation());
+                    if (values != null) {
+                        handler.handle(slicer.slice(start, Math.max(start, end)), values);
+                        documents++;
+                    }
+                    start = -1;
+                    values = null;
+                }
+            }
+        }
+        return documents;
+    }
+
+    /**
+     * Reads the documents of json content. Every document is read by a parser which stops at the end of the
+     * document's root value, so the separators between the documents are skipped explicitly.
+     *
+     * @param slicer  The slicer of the json content.
+     * @param paths   The paths of the values which are extracted out of every document.
+     * @param handler The handler which receives the documents.
+     * @return The number of documents passed to the handler.
+     * @throws IOException             If the content can't be parsed.
+     * @throws ResourceConfigException If the handler fails.
+     */
+    private static int readJson(DocumentSlicer slicer, String[] paths, DocumentHandler handler) throws IOException, ResourceConfigException {
+        int documents = 0;
+        char[] chars = slicer.text.toCharArray();
+        int start = skipSeparators(chars, 0);
+        while (start < chars.length) {
+            try (JsonParser parser = JSON_MAPPER.getFactory().createParser(chars, start, chars.length - start)) {
+                JsonToken token = parser.nextToken();
+                JsonNode values = ContentPathExtractor.extract(parser, true, paths);
+                int end = (int) parser.getCurrentLocation().getCharOffset();
+                if (token != null && token != JsonToken.VALUE_NULL) {
+                    handler.handle(slicer.slice(start, end), values);
+                    documents++;
+                }
+                start = skipSeparators(chars, end);
+            }
+        }
+        return documents;
+    }
+
+    /**
+     * Skips whitespaces and document separators starting at the specified offset.
+     *
+     * @param chars  The content.
+     * @param offset The offset to start at.
+     * @return The offset of the next document or the length of the content if there are no further documents.
+     */
+    private static int skipSeparators(char[] chars, int offset) {
+        int position = offset;
+        while (position < chars.length) {
+            if (Character.isWhitespace(chars[position])) {
+                position++;
+            } else if (isSeparator(chars, position)) {
+                position += DOCUMENT_SEPARATOR.length();
+            } else {
+                break;
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Checks whether the document separator starts at the specified offset.
+     *
+     * @param chars  The content.
+     * @param offset The offset to check.
+     * @return TRUE if the separator starts at the offset, FALSE otherwise.
+     */
+    private static boolean isSeparator(char[] chars, int offset) {
+        if (offset + DOCUMENT_SEPARATOR.length() > chars.length) {
+            return false;
+        }
+        for (int i = 0; i < DOCUMENT_SEPARATOR.length(); i++) {
+            if (chars[offset + i] != DOCUMENT_SEPARATOR.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calculates the offsets of all lines of the specified content. Line breaks are detected the same way the yaml
+     * parser detects them.
+     *
+     * @param content The content.
+     * @return The offsets of the lines, the first entry belongs to the first line.
+     */
+    private static int[] calculateLineOffsets(String content) {
+        List<Integer> offsets = new ArrayList<>();
+        offsets.add(0);
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c == '\r' && i + 1 < content.length() && content.charAt(i + 1) == '\n') {
+                i++;
+                offsets.add(i + 1);
+            } else if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                offsets.add(i + 1);
+            }
+        }
+        return offsets.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Converts the line and column of the specified location into an offset within the content.
+     *
+     * @param lineOffsets The offsets of the content's lines.
+     * @param location    The location.
+     * @return The offset within the content.
+     */
+    private static int toOffset(int[] lineOffsets, JsonLocation location) {
+        int line = Math.min(Math.max(location.getLineNr(), 1), lineOffsets.length) - 1;
+        return lineOffsets[line] + Math.max(location.getColumnNr(), 1) - 1;
+    }
+
+    /**
+     * Receives the documents of a file.
+     */
+    @FunctionalInterface
+    interface DocumentHandler {
+
+        /**
+         * Handles a document.
+         *
+         * @param content The utf-8 encoded text of the document.
+         * @param values  A tree which only contains the extracted values of the document.
+         * @throws ResourceConfigException If the document is invalid.
+         */
+        void handle(ConfigContent content, JsonNode values) throws ResourceConfigException;
+    }
+
+    /**
+     * Cuts the documents out of the utf-8 encoded content. The parsers report the positions of the documents within
+     * the decoded text, so those are converted into byte offsets. The documents are requested in the order of their
+     * occurrence, thus the conversion continues where the last one stopped.
+     */
+    private static final class DocumentSlicer {
+
+        /**
+         * The encoded content.
+         */
+        private final ConfigContent content;
+
+        /**
+         * The decoded content.
+         */
+        private final String text;
+
+        /**
+         * Indicates whether the decoded content maps to the encoded content char by char. That's not the case if the
+         * content contains malformed byte sequences, those documents are encoded again.
+         */
+        private final boolean mappable;
+
+        /**
+         * The char offset the conversion stopped at.
+         */
+        private int charOffset;
+
+        /**
+         * The byte offset which belongs to the char offset.
+         */
+        private int byteOffset;
+
+        /**
+         * Creates a new slicer for the specified content.
+         *
+         * @param content The encoded content.
+         */
+        DocumentSlicer(ConfigContent content) {
+            this.content = content;
+            this.text = content.toString();
+            this.mappable = toByteOffset(text.length()) == content.getLength();
+            this.charOffset = 0;
+            this.byteOffset = 0;
+        }
+
+        /**
+         * Returns the document between the specified char offsets without leading and trailing whitespaces.
+         *
+         * @param start The char offset the document starts at.
+         * @param end   The char offset the document ends at.
+         * @return The encoded document.
+         */
+        ConfigContent slice(int start, int end) {
+            // 1. Trim the document the same way String.trim() does.
+            int first = start;
+            int last = end;
+            while (first < last && text.charAt(first) <= ' ') {
+                first++;
+            }
+            while (last > first && text.charAt(last - 1) <= ' ') {
+                last--;
+            }
+
+            // 2. Share the buffer if the offsets can be converted, encode the document again otherwise.
+            if (!mappable) {
+                return new ConfigContent(text.substring(first, last).getBytes(StandardCharsets.UTF_8));
+            }
+            int byteStart = toByteOffset(first);
+            int byteEnd = toByteOffset(last);
+            return content.slice(byteStart, byteEnd - byteStart);
+        }
+
+        /**
+         * Converts the specified char offset into a byte offset. The conversion restarts at the beginning if the
+         * offset lies in front of the offset the last conversion stopped at.
+         *
+         * @param offset The char offset.
+         * @return The byte offset.
+         */
+        private int toByteOffset(int offset) {
+            if (offset < charOffset) {
+                charOffset = 0;
+                byteOffset = 0;
+            }
+            while (charOffset < offset) {
+                char c = text.charAt(charOffset);
+                if (c < 0x80) {
+                    byteOffset += 1;
+                } else if (c < 0x800) {
+                    byteOffset += 2;
+                } else if (Character.isHighSurrogate(c) && charOffset + 1 < text.length() && Character.isLowSurrogate(text.charAt(charOffset + 1))) {
+                    byteOffset += 4;
+                    charOffset++;
+                } else {
+                    byteOffset += 3;
+                }
+                charOffset++;
+            }
+            return byteOffset;
+        }
+    }
+}
@@ -17,6 +17,8 @@ package de.qaware.cloud.deployer.kubernetes.config.resource;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import de.qaware.cloud.deployer.commons.config.resource.BaseResourceConfig;
+import de.qaware.cloud.deployer.commons.config.resource.ConfigContent;
+import de.qaware.cloud.deployer.commons.config.util.ContentPathExtractor;
 import de.qaware.cloud.deployer.commons.config.util.ContentTreeUtil;
 import de.qaware.cloud.deployer.commons.config.resource.ContentType;
 import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
@@ -26,6 +28,11 @@ import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
  */
 public class KubernetesResourceConfig extends BaseResourceConfig {
 
+    /**
+     * The paths of the values which identify a kubernetes resource.
+     */
+    static final String[] METADATA_PATHS = {"metadata.name", "kind", "apiVersion"};
+
     /**
      * The version of the resource.
      */
@@ -45,12 +52,41 @@ public class KubernetesResourceConfig extends BaseResourceConfig {
      * @throws ResourceConfigException If the content doesn't contain all necessary attributes or can't be parsed.
      */
     public KubernetesResourceConfig(String filename, ContentType contentType, String content) throws ResourceConfigException {
-        super(filename, contentType, content);
+        this(filename, contentType, content, null);
+    }
+
+    /**
+     * Creates a new resource config for kubernetes whose metadata has already been extracted.
+     *
+     * @param filename    The name of the file which contains this config.
+     * @param contentType The content type (json, yml, ...) of the file.
+     * @param content     The content of the file.
+     * @param metadata    A tree which contains the values of {@link #METADATA_PATHS} or null if they should be
+     *                    extracted out of the content.
+     * @throws ResourceConfigException If the content doesn't contain all necessary attributes or can't be parsed.
+     */
+    public KubernetesResourceConfig(String filename, ContentType contentType, String content, JsonNode metadata) throws ResourceConfigException {
+        this(filename, contentType, encode(content), metadata);
+    }
+
+    /**
+     * Creates a new resource config for kubernetes using the utf-8 encoded content. The content isn't parsed
+     * completely, only the metadata is extracted.
+     *
+     * @param filename    The name of the file which contains this config.
+     * @param contentType The content type (json, yml, ...) of the file.
+     * @param content     The utf-8 encoded content of the file.
+     * @param metadata    A tree which contains the values of {@link #METADATA_PATHS} or null if they should be
+     *                    extracted out of the content.
+     * @throws ResourceConfigException If the content doesn't contain all necessary attributes or can't be parsed.
+     */
+    public KubernetesResourceConfig(String filename, ContentType contentType, ConfigContent content, JsonNode metadata) throws ResourceConfigException {
+        super(filename, contentType, content, null);
 
-        JsonNode contentObjectTree = ContentTreeUtil.createObjectTree(contentType, content);
-        this.setResourceId(ContentTreeUtil.readStringValue(ContentTreeUtil.readNodeValue(contentObjectTree, "metadata"), "name"));
-        this.resourceType = ContentTreeUtil.readStringValue(contentObjectTree, "kind");
-        this.resourceVersion = ContentTreeUtil.readStringValue(contentObjectTree, "apiVersion");
+        JsonNode metadataTree = metadata != null ? metadata : ContentPathExtractor.extract(contentType, getConfigContent(), METADATA_PATHS);
+        this.setResourceId(ContentTreeUtil.readStringValue(ContentTreeUtil.readNodeValue(metadataTree, "metadata"), "name"));
+        this.resourceType = ContentTreeUtil.readStringValue(metadataTree, "kind");
+        this.resourceVersion = ContentTreeUtil.readStringValue(metadataTree, "apiVersion");
     }
 
     /**
@@ -16,15 +16,15 @@
 package de.qaware.cloud.deployer.kubernetes.config.resource;
 
 import de.qaware.cloud.deployer.commons.config.resource.BaseResourceConfigFactory;
+import de.qaware.cloud.deployer.commons.config.resource.ConfigContent;
+import de.qaware.cloud.deployer.commons.config.resource.ConfigContentStore;
 import de.qaware.cloud.deployer.commons.config.resource.ContentType;
-import de.qaware.cloud.deployer.commons.config.util.FileUtil;
 import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
+import de.qaware.cloud.deployer.commons.logging.EnvironmentLogContext;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 import static de.qaware.cloud.deployer.kubernetes.logging.KubernetesMessageBundle.KUBERNETES_MESSAGE_BUNDLE;
@@ -35,71 +35,79 @@ import static de.qaware.cloud.deployer.kubernetes.logging.KubernetesMessageBundl
 public class KubernetesResourceConfigFactory extends BaseResourceConfigFactory<KubernetesResourceConfig> {
 
     /**
-     * The string which splits multiple kubernetes configs within the same file.
+     * The logger of this class.
      */
-    private static final String KUBERNETES_CONFIG_SEPARATOR = "---";
+    private static final Logger LOGGER = EnvironmentLogContext.getLogger(KubernetesResourceConfigFactory.class);
 
     /**
-     * The logger of this class.
+     * Creates a new factory which reads and parses the files one after another.
+     */
+    public KubernetesResourceConfigFactory() {
+        super();
+    }
+
+    /**
+     * Creates a new factory which reads and parses up to the specified number of files at the same time.
+     *
+     * @param parallelism The number of files which are read and parsed at the same time.
      */
-    private static final Logger LOGGER = LoggerFactory.getLogger(KubernetesResourceConfig.class);
+    public KubernetesResourceConfigFactory(int parallelism) {
+        super(parallelism);
+    }
 
     @Override
     public List<KubernetesResourceConfig> createConfigs(List<File> files) throws ResourceConfigException {
         LOGGER.info(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_MESSAGE_READING_CONFIGS_STARTED"));
         List<KubernetesResourceConfig> resourceConfigs = super.createConfigs(files);
-        resourceConfigs = splitConfigs(resourceConfigs, KUBERNETES_CONFIG_SEPARATOR);
+        resourceConfigs.forEach(resourceConfig -> LOGGER.info(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_MESSAGE_READING_CONFIGS_SINGLE_CONFIG", resourceConfig)));
         LOGGER.info(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_MESSAGE_READING_CONFIGS_DONE"));
         return resourceConfigs;
     }
 
     @Override
     public KubernetesResourceConfig createConfig(File file) throws ResourceConfigException {
-        String filename = file.getName();
-        ContentType contentType = retrieveContentType(file);
-        String content = FileUtil.readFileContent(file);
-
-        // Is the content empty?
-        if (content.isEmpty()) {
-            throw new ResourceConfigException(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_ERROR_EMPTY_CONFIG", file.getName()));
-        }
-
-        return new KubernetesResourceConfig(filename, contentType, content);
+        return new KubernetesResourceConfig(file.getName(), retrieveContentType(file), readContent(file), null);
     }
 
     /**
-     * Splits the specified resource configs if they should contain multiple kubernetes configs in their content.
+     * Creates the configs out of the specified file. The file may contain multiple kubernetes configs separated by
+     * "---". The documents are split, their metadata is extracted and they are turned into configs in a single pass.
      *
-     * @param resourceConfigs The configs which might contain multiple kubernetes configs in their content.
-     * @param splitString     The string which is used to split the content if it contains multiple configs.
-     * @return The split configs.
+     * @param file The file which is the source for the configs.
+     * @return The configs in the order of their occurrence in the file.
      * @throws ResourceConfigException If a problem during resource config creation occurs.
      */
-    private List<KubernetesResourceConfig> splitConfigs(List<KubernetesResourceConfig> resourceConfigs, String splitString) throws ResourceConfigException {
-        List<KubernetesResourceConfig> splitResourceConfigs = new ArrayList<>();
-        for (KubernetesResourceConfig resourceConfig : resourceConfigs) {
-            List<String> splitContents = splitContent(resourceConfig.getContent(), splitString);
-            for (String splitContent : splitContents) {
-                KubernetesResourceConfig splitResourceConfig = new KubernetesResourceConfig(resourceConfig.getFilename(), resourceConfig.getContentType(), splitContent);
-                splitResourceConfigs.add(splitResourceConfig);
-                LOGGER.info(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_MESSAGE_READING_CONFIGS_SINGLE_CONFIG", splitResourceConfig));
-            }
+    @Override
+    protected List<KubernetesResourceConfig> createConfigsFromFile(File file) throws ResourceConfigException {
+        String filename = file.getName();
+        ContentType contentType = retrieveContentType(file);
+        ConfigContent content = readContent(file);
+
+        List<KubernetesResourceConfig> resourceConfigs = new ArrayList<>();
+        KubernetesDocumentReader.read(contentType, content, KubernetesResourceConfig.METADATA_PATHS, (documentContent, metadata) ->
+                resourceConfigs.add(new KubernetesResourceConfig(filename, contentType, documentContent, metadata)));
+
+        // Does the file contain empty documents only?
+        if (resourceConfigs.isEmpty()) {
+            throw new ResourceConfigException(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_ERROR_EMPTY_CONFIG", filename));
         }
-        return splitResourceConfigs;
+        return resourceConfigs;
     }
 
     /**
-     * Splits the specified content using the specified string.
+     * Reads the content of the specified file. The content of a file which has been read before is shared.
      *
-     * @param content     The content that might be split.
-     * @param splitString The string that is used for splitting.
-     * @return A list containing the split contents if possible, otherwise it contains the specified content only.
+     * @param file The file to read.
+     * @return The utf-8 encoded content of the file.
+     * @throws ResourceConfigException If the file can't be read or is empty.
      */
-    private List<String> splitContent(String content, String splitString) {
-        List<String> splitContents = new ArrayList<>();
-        List<String> tempSplitContents = Arrays.asList(content.split(splitString));
-        // Remove whitespaces
-        tempSplitContents.forEach(s -> splitContents.add(s.trim()));
-        return splitContents;
+    private ConfigContent readContent(File file) throws ResourceConfigException {
+        ConfigContent content = ConfigContentStore.read(file);
+
+        // Is the content empty?
+        if (content.isEmpty()) {
+            throw new ResourceConfigException(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_ERROR_EMPTY_CONFIG", file.getName()));
+        }
+        return content;
     }
 }
@@ -18,6 +18,7 @@ package de.qaware.cloud.deployer.kubernetes.resource;
 import de.qaware.cloud.deployer.commons.config.environment.EnvironmentConfig;
 import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.logging.EnvironmentLogContext;
 import de.qaware.cloud.deployer.commons.resource.BasePingResource;
 import de.qaware.cloud.deployer.commons.resource.BaseResourceFactory;
 import de.qaware.cloud.deployer.kubernetes.config.cloud.KubernetesEnvironmentConfig;
@@ -30,28 +31,42 @@ import de.qaware.cloud.deployer.kubernetes.resource.ping.KubernetesPingResource;
 import de.qaware.cloud.deployer.kubernetes.resource.pod.PodResource;
 import de.qaware.cloud.deployer.kubernetes.resource.replication.controller.ReplicationControllerResource;
 import de.qaware.cloud.deployer.kubernetes.resource.service.ServiceResource;
+import de.qaware.cloud.deployer.kubernetes.resource.watch.NamespaceSnapshot;
+import de.qaware.cloud.deployer.kubernetes.resource.watch.WatchRegistry;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.util.List;
 
 import static de.qaware.cloud.deployer.kubernetes.logging.KubernetesMessageBundle.KUBERNETES_MESSAGE_BUNDLE;
 
 /**
  * A resource factory which creates kubernetes resources for a special namespace as described in the resource configs.
+ * If watches are enabled, the created resources share the factory's watch registry, which is stopped on close. If the
+ * snapshot is enabled, the created resources answer their existence checks using the factory's namespace snapshot.
  */
-public class KubernetesResourceFactory extends BaseResourceFactory<KubernetesResource, KubernetesResourceConfig> {
+public class KubernetesResourceFactory extends BaseResourceFactory<KubernetesResource, KubernetesResourceConfig> implements Closeable {
 
     /**
      * The logger of this class.
      */
-    private static final Logger LOGGER = LoggerFactory.getLogger(KubernetesResourceFactory.class);
+    private static final Logger LOGGER = EnvironmentLogContext.getLogger(KubernetesResourceFactory.class);
 
     /**
      * The namespace this resource factory creates objects for.
      */
     private final NamespaceResource namespaceResource;
 
+    /**
+     * The registry which provides the watchers for completion tracking. It's null if watches are disabled.
+     */
+    private final WatchRegistry watchRegistry;
+
+    /**
+     * The snapshot which answers the existence checks of the created resources. It's null if the snapshot is disabled.
+     */
+    private final NamespaceSnapshot snapshot;
+
     /**
      * Creates a new factory which creates resources for the specified namespace using the specified cloud config.
      *
@@ -63,6 +78,11 @@ public class KubernetesResourceFactory extends BaseResourceFactory<KubernetesRes
         super(environmentConfig);
         KubernetesResourceConfig namespaceResourceConfig = NamespaceResourceConfigFactory.create(environmentConfig.getNamespace());
         this.namespaceResource = new NamespaceResource(namespaceResourceConfig, getClientFactory());
+        this.watchRegistry = environmentConfig.isWatchEnabled() ? new WatchRegistry(getClientFactory(), environmentConfig.isProtobufEnabled()) : null;
+        this.snapshot = environmentConfig.isSnapshotEnabled() ? new NamespaceSnapshot(getClientFactory(), environmentConfig.isProtobufEnabled()) : null;
+        this.namespaceResource.setWatchRegistry(watchRegistry);
+        this.namespaceResource.setSnapshot(snapshot);
+        applyWaitConfig(namespaceResource);
     }
 
     /**
@@ -89,7 +109,7 @@ public class KubernetesResourceFactory extends BaseResourceFactory<KubernetesRes
         KubernetesResource resource;
 
         // Is the content empty?
-        if (resourceConfig.getContent().isEmpty()) {
+        if (resourceConfig.getConfigContent().isEmpty()) {
             throw new ResourceException(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_ERROR_EMPTY_CONFIG", resourceConfig.getFilename()));
         }
 
@@ -122,6 +142,9 @@ public class KubernetesResourceFactory extends BaseResourceFactory<KubernetesRes
                 throw new ResourceException(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_ERROR_UNKNOWN_API_VERSION", resourceConfig.getFilename()));
         }
 
+        resource.setWatchRegistry(watchRegistry);
+        resource.setSnapshot(snapshot);
+
         LOGGER.info(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_MESSAGE_CREATING_RESOURCES_SINGLE_RESOURCE", resource));
 
         return resource;
@@ -131,4 +154,14 @@ public class KubernetesResourceFactory extends BaseResourceFactory<KubernetesRes
     public BasePingResource createPingResource(EnvironmentConfig environmentConfig) throws ResourceException {
         return new KubernetesPingResource(environmentConfig);
     }
+
+    /**
+     * Stops the watchers which were started for the created resources.
+     */
+    @Override
+    public void close() {
+        if (watchRegistry != null) {
+            watchRegistry.close();
+        }
+    }
 }
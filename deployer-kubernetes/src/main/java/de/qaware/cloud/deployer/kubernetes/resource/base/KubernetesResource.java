@@ -15,16 +15,22 @@
  */
 package de.qaware.cloud.deployer.kubernetes.resource.base;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import de.qaware.cloud.deployer.commons.config.util.ContentTreeUtil;
-import de.qaware.cloud.deployer.commons.config.resource.ContentType;
 import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.logging.EnvironmentLogContext;
 import de.qaware.cloud.deployer.commons.resource.BaseResource;
 import de.qaware.cloud.deployer.commons.resource.ClientFactory;
+import de.qaware.cloud.deployer.commons.resource.AsyncCallUtil;
 import de.qaware.cloud.deployer.kubernetes.config.resource.KubernetesResourceConfig;
+import de.qaware.cloud.deployer.kubernetes.resource.watch.NamespaceSnapshot;
+import de.qaware.cloud.deployer.kubernetes.resource.watch.ResourceWatcher;
+import de.qaware.cloud.deployer.kubernetes.resource.watch.WatchRegistry;
 import okhttp3.MediaType;
 import okhttp3.RequestBody;
+import org.slf4j.Logger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 import static de.qaware.cloud.deployer.kubernetes.logging.KubernetesMessageBundle.KUBERNETES_MESSAGE_BUNDLE;
 
@@ -34,15 +40,36 @@ import static de.qaware.cloud.deployer.kubernetes.logging.KubernetesMessageBundl
 public abstract class KubernetesResource extends BaseResource<KubernetesResourceConfig> {
 
     /**
-     * The content type which is used for an strategy request.
+     * The logger of this class.
+     */
+    private static final Logger LOGGER = EnvironmentLogContext.getLogger(KubernetesResource.class);
+
+    /**
+     * The media type which is used for an strategy request. The json content is always utf-8 encoded.
      */
-    private static final String UPDATE_CONTENT_TYPE = "application/merge-patch+json";
+    private static final MediaType UPDATE_MEDIA_TYPE = MediaType.parse("application/merge-patch+json; charset=utf-8");
+
+    /**
+     * The accept header which is used for existence checks. It requests the resource's metadata only and falls back to
+     * the full object if the backend doesn't support the partial representation.
+     */
+    public static final String EXISTS_ACCEPT_HEADER = "Accept: application/json;as=PartialObjectMetadata;g=meta.k8s.io;v=v1, application/json";
 
     /**
      * The resource's namespace.
      */
     private final String namespace;
 
+    /**
+     * The registry which provides the watchers for completion tracking. If it's null, the state is polled.
+     */
+    private WatchRegistry watchRegistry;
+
+    /**
+     * The snapshot which answers existence checks locally. If it's null, every check requests the backend.
+     */
+    private NamespaceSnapshot snapshot;
+
     /**
      * Creates a new resource using the specified parameters.
      *
@@ -64,6 +91,123 @@ public abstract class KubernetesResource extends BaseResource<KubernetesResource
         return namespace;
     }
 
+    @Override
+    public String getResourceType() {
+        return getResourceConfig().getResourceType();
+    }
+
+    /**
+     * Sets the registry which provides the watchers for completion tracking. If no registry is set, the resource's
+     * state is polled.
+     *
+     * @param watchRegistry The watch registry.
+     */
+    public void setWatchRegistry(WatchRegistry watchRegistry) {
+        this.watchRegistry = watchRegistry;
+    }
+
+    /**
+     * Sets the snapshot which answers existence checks locally. If no snapshot is set, every check requests the
+     * backend.
+     *
+     * @param snapshot The namespace snapshot.
+     */
+    public void setSnapshot(NamespaceSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Returns the path of the collection this resource belongs to (e.g. api/v1/namespaces/test/pods).
+     *
+     * @return The collection path.
+     */
+    protected abstract String getCollectionPath();
+
+    /**
+     * Checks whether this resource exists. If a snapshot is set, the check is answered by the snapshot's index of the
+     * resource's collection. If the collection can't be listed, the backend is requested instead.
+     *
+     * @return The future which is completed with TRUE if the resource exists, FALSE otherwise.
+     * @throws ResourceException If the check can't be started.
+     */
+    @Override
+    public CompletableFuture<Boolean> existsAsync() throws ResourceException {
+        if (snapshot == null) {
+            return fetchExistsAsync();
+        }
+        return snapshot.contains(getCollectionPath(), getId()).handle((exists, error) -> {
+            if (error != null) {
+                LOGGER.debug(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_MESSAGE_SNAPSHOT_UNAVAILABLE", getCollectionPath()), error);
+                try {
+                    return fetchExistsAsync();
+                } catch (ResourceException e) {
+                    return AsyncCallUtil.<Boolean>failed(e);
+                }
+            }
+            return CompletableFuture.completedFuture(exists);
+        }).thenCompose(Function.identity());
+    }
+
+    /**
+     * Requests the existence of this resource from the backend.
+     *
+     * @return The future which is completed with TRUE if the resource exists, FALSE otherwise.
+     * @throws ResourceException If the check can't be started.
+     */
+    @Override
+    protected abstract CompletableFuture<Boolean> fetchExistsAsync() throws ResourceException;
+
+    /**
+     * Waits for the expected state using a watch of the resource's collection if a watch registry is set. If the
+     * collection can't be watched, the state is polled instead. Afterwards the snapshot is updated, if one is set.
+     *
+     * @param expectedExistence The state to wait for.
+     * @param errorMessage      The message of the exception which is thrown when the timeout is reached.
+     * @return The future which is completed as soon as the expected state is reached.
+     */
+    @Override
+    protected CompletableFuture<Void> awaitExistence(boolean expectedExistence, String errorMessage) {
+        CompletableFuture<Void> result;
+        if (watchRegistry == null) {
+            result = super.awaitExistence(expectedExistence, errorMessage);
+        } else {
+            result = awaitExistenceUsingWatch(expectedExistence, errorMessage);
+        }
+        if (snapshot == null) {
+            return result;
+        }
+        return result.thenRun(() -> updateSnapshot(snapshot, expectedExistence));
+    }
+
+    /**
+     * Updates the snapshot after this resource was created or deleted.
+     *
+     * @param snapshot The snapshot to update.
+     * @param exists   The new state of this resource.
+     */
+    protected void updateSnapshot(NamespaceSnapshot snapshot, boolean exists) {
+        snapshot.update(getCollectionPath(), getId(), exists);
+    }
+
+    /**
+     * Waits for the expected state using a watch of the resource's collection. If the collection can't be watched,
+     * the state is polled instead.
+     *
+     * @param expectedExistence The state to wait for.
+     * @param errorMessage      The message of the exception which is thrown when the timeout is reached.
+     * @return The future which is completed as soon as the expected state is reached.
+     */
+    private CompletableFuture<Void> awaitExistenceUsingWatch(boolean expectedExistence, String errorMessage) {
+        ResourceWatcher watcher = watchRegistry.getWatcher(getCollectionPath());
+        return watcher.awaitSync().handle((ignored, error) -> {
+            if (error != null) {
+                LOGGER.debug(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_MESSAGE_WATCH_UNAVAILABLE", getCollectionPath()), error);
+                return super.awaitExistence(expectedExistence, errorMessage);
+            }
+            return watcher.awaitExistence(getId(), expectedExistence, getWaitConfig().getTimeout(), errorMessage);
+        }).thenCompose(Function.identity());
+    }
+
     /**
      * Default kubernetes resource supports no strategy.
      *
@@ -83,11 +227,8 @@ public abstract class KubernetesResource extends BaseResource<KubernetesResource
      */
     protected RequestBody createUpdateRequestBody() throws ResourceException {
         try {
-            String content = getResourceConfig().getContent();
-            ContentType contentType = getResourceConfig().getContentType();
-            JsonNode objectTree = ContentTreeUtil.createObjectTree(contentType, content);
-            String jsonContent = ContentTreeUtil.writeAsString(ContentType.JSON, objectTree);
-            return RequestBody.create(MediaType.parse(UPDATE_CONTENT_TYPE), jsonContent);
+            byte[] jsonContent = getResourceConfig().getJsonContent();
+            return RequestBody.create(UPDATE_MEDIA_TYPE, jsonContent);
         } catch (ResourceConfigException e) {
             throw new ResourceException(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_ERROR_COULD_NOT_CREATE_JSON_REPRESENTATION", toString()), e);
         }
@@ -22,6 +22,8 @@ import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.*;
 
+import static de.qaware.cloud.deployer.kubernetes.resource.base.KubernetesResource.EXISTS_ACCEPT_HEADER;
+
 /**
  * Deployment interface which will be used by retrofit to create a deployment client.
  */
@@ -29,11 +31,15 @@ interface DeploymentClient {
 
     /**
      * Returns the http response for a request to the deployment resource with the specified name and namespace.
+     * Only the metadata of the resource is requested, the response is meant for existence checks.
+     * The body is streamed, so it can be closed without being buffered.
      *
      * @param name      The deployment name.
      * @param namespace The deployment's namespace.
      * @return The server's http response.
      */
+    @Streaming
+    @Headers(EXISTS_ACCEPT_HEADER)
     @GET("apis/extensions/v1beta1/namespaces/{namespace}/deployments/{name}")
     Call<ResponseBody> get(@Path("name") String name, @Path("namespace") String namespace);
 
@@ -24,6 +24,8 @@ import de.qaware.cloud.deployer.kubernetes.resource.api.scale.Scale;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
 
+import java.util.concurrent.CompletableFuture;
+
 import static de.qaware.cloud.deployer.kubernetes.logging.KubernetesMessageBundle.KUBERNETES_MESSAGE_BUNDLE;
 
 /**
@@ -76,31 +78,30 @@ public class DeploymentResource extends KubernetesResource {
     }
 
     @Override
-    public boolean exists() throws ResourceException {
+    protected CompletableFuture<Boolean> fetchExistsAsync() throws ResourceException {
         Call<ResponseBody> call = deploymentClient.get(getId(), getNamespace());
-        return executeExistsCall(call);
+        return executeExistsCallAsync(call);
     }
 
     @Override
-    public void create() throws ResourceException {
+    public CompletableFuture<Void> createAsync() throws ResourceException {
         Call<ResponseBody> request = deploymentClient.create(getNamespace(), createRequestBody());
-        executeCreateCallAndBlock(request);
+        return executeCreateCallAndWait(request);
     }
 
     @Override
-    public void delete() throws ResourceException {
-        // Scale down pods
+    public CompletableFuture<Void> deleteAsync() throws ResourceException {
         Scale scale = new Scale(SCALE_VERSION, SCALE_KIND, getId(), getNamespace(), 0);
         Call<ResponseBody> updateScaleCall = deploymentClient.updateScale(getId(), getNamespace(), scale);
-        executeCall(updateScaleCall);
-
-        // Delete deployment
         Call<ResponseBody> deploymentDeleteCall = deploymentClient.delete(getId(), getNamespace(), new DeleteOptions(0));
-        executeDeleteCallAndBlock(deploymentDeleteCall);
-
-        // Delete the replica set
         Call<ResponseBody> replicaSetDeleteCall = replicaSetClient.delete(getNamespace(), createLabelSelector());
-        executeDeleteCallAndBlock(replicaSetDeleteCall);
+
+        // 1. Scale down pods
+        return executeCallAsync(updateScaleCall)
+                // 2. Delete deployment
+                .thenCompose(ignored -> executeDeleteCallAndWait(deploymentDeleteCall))
+                // 3. Delete the replica set
+                .thenCompose(ignored -> executeDeleteCallAndWait(replicaSetDeleteCall));
     }
 
     @Override
@@ -109,6 +110,11 @@ public class DeploymentResource extends KubernetesResource {
         executeCall(request);
     }
 
+    @Override
+    protected String getCollectionPath() {
+        return "apis/extensions/v1beta1/namespaces/" + getNamespace() + "/deployments";
+    }
+
     @Override
     public String toString() {
         return KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_MESSAGE_DEPLOYMENT", getNamespace(), getId());
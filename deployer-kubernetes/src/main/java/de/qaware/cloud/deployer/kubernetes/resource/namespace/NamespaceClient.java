@@ -21,6 +21,8 @@ import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.*;
 
+import static de.qaware.cloud.deployer.kubernetes.resource.base.KubernetesResource.EXISTS_ACCEPT_HEADER;
+
 /**
  * Namespace interface which will be used by retrofit to create a namespace client.
  */
@@ -28,10 +30,14 @@ interface NamespaceClient {
 
     /**
      * Returns the http response for a request to the namespace resource with the specified name.
+     * Only the metadata of the resource is requested, the response is meant for existence checks.
+     * The body is streamed, so it can be closed without being buffered.
      *
      * @param namespace The namespace's name.
      * @return The server's http response.
      */
+    @Streaming
+    @Headers(EXISTS_ACCEPT_HEADER)
     @GET("api/v1/namespaces/{namespace}")
     Call<ResponseBody> get(@Path("namespace") String namespace);
 
@@ -20,9 +20,12 @@ import de.qaware.cloud.deployer.commons.resource.ClientFactory;
 import de.qaware.cloud.deployer.kubernetes.config.resource.KubernetesResourceConfig;
 import de.qaware.cloud.deployer.kubernetes.resource.base.KubernetesResource;
 import de.qaware.cloud.deployer.kubernetes.resource.api.delete.options.DeleteOptions;
+import de.qaware.cloud.deployer.kubernetes.resource.watch.NamespaceSnapshot;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
 
+import java.util.concurrent.CompletableFuture;
+
 import static de.qaware.cloud.deployer.kubernetes.logging.KubernetesMessageBundle.KUBERNETES_MESSAGE_BUNDLE;
 
 /**
@@ -47,21 +50,41 @@ public class NamespaceResource extends KubernetesResource {
     }
 
     @Override
-    public boolean exists() throws ResourceException {
+    protected CompletableFuture<Boolean> fetchExistsAsync() throws ResourceException {
         Call<ResponseBody> call = namespaceClient.get(getId());
-        return executeExistsCall(call);
+        return executeExistsCallAsync(call);
     }
 
     @Override
-    public void create() throws ResourceException {
+    public CompletableFuture<Void> createAsync() throws ResourceException {
         Call<ResponseBody> request = namespaceClient.create(createRequestBody());
-        executeCreateCallAndBlock(request);
+        return executeCreateCallAndWait(request);
     }
 
     @Override
-    public void delete() throws ResourceException {
+    public CompletableFuture<Void> deleteAsync() throws ResourceException {
         Call<ResponseBody> deleteCall = namespaceClient.delete(getId(), new DeleteOptions(0));
-        executeDeleteCallAndBlock(deleteCall);
+        return executeDeleteCallAndWait(deleteCall);
+    }
+
+    @Override
+    protected String getCollectionPath() {
+        return "api/v1/namespaces";
+    }
+
+    /**
+     * Updates the snapshot after this namespace was created or deleted. A deleted namespace doesn't contain any
+     * resources anymore, so the indices of its collections are cleared.
+     *
+     * @param snapshot The snapshot to update.
+     * @param exists   The new state of this namespace.
+     */
+    @Override
+    protected void updateSnapshot(NamespaceSnapshot snapshot, boolean exists) {
+        super.updateSnapshot(snapshot, exists);
+        if (!exists) {
+            snapshot.clearNamespace(getId());
+        }
     }
 
     @Override
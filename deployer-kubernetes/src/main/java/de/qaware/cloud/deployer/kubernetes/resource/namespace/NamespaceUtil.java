@@ -16,8 +16,8 @@
 package de.qaware.cloud.deployer.kubernetes.resource.namespace;
 
 import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.logging.EnvironmentLogContext;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import static de.qaware.cloud.deployer.kubernetes.logging.KubernetesMessageBundle.KUBERNETES_MESSAGE_BUNDLE;
 
@@ -29,7 +29,7 @@ public final class NamespaceUtil {
     /**
      * The logger of this class.
      */
-    private static final Logger LOGGER = LoggerFactory.getLogger(NamespaceUtil.class);
+    private static final Logger LOGGER = EnvironmentLogContext.getLogger(NamespaceUtil.class);
 
     /**
      * UTILITY.
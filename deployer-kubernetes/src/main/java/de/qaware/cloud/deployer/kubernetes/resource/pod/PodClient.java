@@ -21,6 +21,8 @@ import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.*;
 
+import static de.qaware.cloud.deployer.kubernetes.resource.base.KubernetesResource.EXISTS_ACCEPT_HEADER;
+
 /**
  * Pod interface which will be used by retrofit to create a pod client.
  */
@@ -28,11 +30,15 @@ interface PodClient {
 
     /**
      * Returns the http response for a request to the pod resource with the specified name and namespace.
+     * Only the metadata of the resource is requested, the response is meant for existence checks.
+     * The body is streamed, so it can be closed without being buffered.
      *
      * @param name      The pod name.
      * @param namespace The pod's namespace.
      * @return The server's http response.
      */
+    @Streaming
+    @Headers(EXISTS_ACCEPT_HEADER)
     @GET("api/v1/namespaces/{namespace}/pods/{name}")
     Call<ResponseBody> get(@Path("name") String name, @Path("namespace") String namespace);
 
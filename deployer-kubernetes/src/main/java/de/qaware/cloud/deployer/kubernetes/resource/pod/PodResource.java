@@ -23,6 +23,8 @@ import de.qaware.cloud.deployer.kubernetes.resource.api.delete.options.DeleteOpt
 import okhttp3.ResponseBody;
 import retrofit2.Call;
 
+import java.util.concurrent.CompletableFuture;
+
 import static de.qaware.cloud.deployer.kubernetes.logging.KubernetesMessageBundle.KUBERNETES_MESSAGE_BUNDLE;
 
 /**
@@ -48,21 +50,26 @@ public class PodResource extends KubernetesResource {
     }
 
     @Override
-    public boolean exists() throws ResourceException {
+    protected CompletableFuture<Boolean> fetchExistsAsync() throws ResourceException {
         Call<ResponseBody> call = podClient.get(getId(), getNamespace());
-        return executeExistsCall(call);
+        return executeExistsCallAsync(call);
     }
 
     @Override
-    public void create() throws ResourceException {
+    public CompletableFuture<Void> createAsync() throws ResourceException {
         Call<ResponseBody> call = podClient.create(getNamespace(), createRequestBody());
-        executeCreateCallAndBlock(call);
+        return executeCreateCallAndWait(call);
     }
 
     @Override
-    public void delete() throws ResourceException {
+    public CompletableFuture<Void> deleteAsync() throws ResourceException {
         Call<ResponseBody> deleteCall = podClient.delete(getId(), getNamespace(), new DeleteOptions(0));
-        executeDeleteCallAndBlock(deleteCall);
+        return executeDeleteCallAndWait(deleteCall);
+    }
+
+    @Override
+    protected String getCollectionPath() {
+        return "api/v1/namespaces/" + getNamespace() + "/pods";
     }
 
     @Override
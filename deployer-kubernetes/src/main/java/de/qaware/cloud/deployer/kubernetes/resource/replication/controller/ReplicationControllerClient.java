@@ -22,6 +22,8 @@ import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.*;
 
+import static de.qaware.cloud.deployer.kubernetes.resource.base.KubernetesResource.EXISTS_ACCEPT_HEADER;
+
 /**
  * Replication controller interface which will be used by retrofit to create a replication controller client.
  */
@@ -29,11 +31,15 @@ interface ReplicationControllerClient {
 
     /**
      * Returns the http response for a request to the replication controller resource with the specified name and namespace.
+     * Only the metadata of the resource is requested, the response is meant for existence checks.
+     * The body is streamed, so it can be closed without being buffered.
      *
      * @param name      The replication controller name.
      * @param namespace The replication controller's namespace.
      * @return The server's http response.
      */
+    @Streaming
+    @Headers(EXISTS_ACCEPT_HEADER)
     @GET("api/v1/namespaces/{namespace}/replicationcontrollers/{name}")
     Call<ResponseBody> get(@Path("name") String name, @Path("namespace") String namespace);
 
@@ -24,6 +24,8 @@ import de.qaware.cloud.deployer.kubernetes.resource.base.KubernetesResource;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
 
+import java.util.concurrent.CompletableFuture;
+
 import static de.qaware.cloud.deployer.kubernetes.logging.KubernetesMessageBundle.KUBERNETES_MESSAGE_BUNDLE;
 
 /**
@@ -59,27 +61,32 @@ public class ReplicationControllerResource extends KubernetesResource {
     }
 
     @Override
-    public boolean exists() throws ResourceException {
+    protected CompletableFuture<Boolean> fetchExistsAsync() throws ResourceException {
         Call<ResponseBody> call = replicationControllerClient.get(getId(), getNamespace());
-        return executeExistsCall(call);
+        return executeExistsCallAsync(call);
     }
 
     @Override
-    public void create() throws ResourceException {
+    public CompletableFuture<Void> createAsync() throws ResourceException {
         Call<ResponseBody> request = replicationControllerClient.create(getNamespace(), createRequestBody());
-        executeCreateCallAndBlock(request);
+        return executeCreateCallAndWait(request);
     }
 
     @Override
-    public void delete() throws ResourceException {
-        // Scale pods down
+    public CompletableFuture<Void> deleteAsync() throws ResourceException {
         Scale scale = new Scale(SCALE_VERSION, SCALE_KIND, getId(), getNamespace(), 0);
         Call<ResponseBody> updateScaleCall = replicationControllerClient.updateScale(getId(), getNamespace(), scale);
-        executeCall(updateScaleCall);
-
-        // Delete controller
         Call<ResponseBody> deleteCall = replicationControllerClient.delete(getId(), getNamespace(), new DeleteOptions(0));
-        executeDeleteCallAndBlock(deleteCall);
+
+        // 1. Scale pods down
+        return executeCallAsync(updateScaleCall)
+                // 2. Delete controller
+                .thenCompose(ignored -> executeDeleteCallAndWait(deleteCall));
+    }
+
+    @Override
+    protected String getCollectionPath() {
+        return "api/v1/namespaces/" + getNamespace() + "/replicationcontrollers";
     }
 
     @Override
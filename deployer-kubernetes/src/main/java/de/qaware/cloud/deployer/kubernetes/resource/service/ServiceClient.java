@@ -21,6 +21,8 @@ import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.*;
 
+import static de.qaware.cloud.deployer.kubernetes.resource.base.KubernetesResource.EXISTS_ACCEPT_HEADER;
+
 /**
  * Service interface which will be used by retrofit to create a service client.
  */
@@ -28,11 +30,15 @@ interface ServiceClient {
 
     /**
      * Returns the http response for a request to the service resource with the specified name and namespace.
+     * Only the metadata of the resource is requested, the response is meant for existence checks.
+     * The body is streamed, so it can be closed without being buffered.
      *
      * @param name      The service name.
      * @param namespace The service's namespace.
      * @return The server's http response.
      */
+    @Streaming
+    @Headers(EXISTS_ACCEPT_HEADER)
     @GET("api/v1/namespaces/{namespace}/services/{name}")
     Call<ResponseBody> get(@Path("name") String name, @Path("namespace") String namespace);
 
@@ -23,6 +23,8 @@ import de.qaware.cloud.deployer.kubernetes.resource.api.delete.options.DeleteOpt
 import okhttp3.ResponseBody;
 import retrofit2.Call;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Represents a kubernetes service. It offers methods for deletion and creation.
  */
@@ -46,21 +48,21 @@ public class ServiceResource extends KubernetesResource {
     }
 
     @Override
-    public boolean exists() throws ResourceException {
+    protected CompletableFuture<Boolean> fetchExistsAsync() throws ResourceException {
         Call<ResponseBody> call = serviceClient.get(getId(), getNamespace());
-        return executeExistsCall(call);
+        return executeExistsCallAsync(call);
     }
 
     @Override
-    public void create() throws ResourceException {
+    public CompletableFuture<Void> createAsync() throws ResourceException {
         Call<ResponseBody> request = serviceClient.create(getNamespace(), createRequestBody());
-        executeCreateCallAndBlock(request);
+        return executeCreateCallAndWait(request);
     }
 
     @Override
-    public void delete() throws ResourceException {
+    public CompletableFuture<Void> deleteAsync() throws ResourceException {
         Call<ResponseBody> deleteCall = serviceClient.delete(getId(), getNamespace(), new DeleteOptions(0));
-        executeDeleteCallAndBlock(deleteCall);
+        return executeDeleteCallAndWait(deleteCall);
     }
 
     @Override
@@ -69,6 +71,11 @@ public class ServiceResource extends KubernetesResource {
         executeCall(updateCall);
     }
 
+    @Override
+    protected String getCollectionPath() {
+        return "api/v1/namespaces/" + getNamespace() + "/services";
+    }
+
     @Override
     public String toString() {
         return "Service: " + getNamespace() + "/" + getId();
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.kubernetes.resource.watch;
+
+import okhttp3.ResponseBody;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Extracts the metadata which is necessary for completion tracking out of list responses and watch streams.
+ */
+interface CollectionParser extends Closeable {
+
+    /**
+     * Reads the next event out of the watch stream. It blocks until the event is available.
+     *
+     * @return The next event or null if the stream ended.
+     * @throws IOException If the stream can't be read or is malformed.
+     */
+    WatchEvent nextEvent() throws IOException;
+
+    /**
+     * Reads a complete list response.
+     *
+     * @return The names of the listed resources, the version of the list and the token of the next page.
+     * @throws IOException If the stream can't be read or is malformed.
+     */
+    ResourceList readList() throws IOException;
+
+    /**
+     * Creates a parser for the specified response body. Protobuf bodies are read by a protobuf parser, everything
+     * else (e.g. the json the server falls back to for kinds without protobuf support) by a json parser.
+     *
+     * @param body The response body.
+     * @return The parser.
+     * @throws IOException If the parser can't be created.
+     */
+    static CollectionParser create(ResponseBody body) throws IOException {
+        if (ProtobufWatchEventParser.isProtobuf(body.contentType())) {
+            return new ProtobufWatchEventParser(body.byteStream());
+        }
+        return new WatchEventParser(body.byteStream());
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.kubernetes.resource.watch;
+
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.resource.AsyncCallUtil;
+import de.qaware.cloud.deployer.commons.resource.ClientFactory;
+import de.qaware.cloud.deployer.commons.resource.RetryPolicy;
+import okhttp3.ResponseBody;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static de.qaware.cloud.deployer.kubernetes.logging.KubernetesMessageBundle.KUBERNETES_MESSAGE_BUNDLE;
+
+/**
+ * Answers existence checks using an in-memory index of the resource names of every collection. A collection is listed
+ * page by page when it's checked for the first time, afterwards the checks of all its resources are answered locally.
+ * Creations and deletions of the run have to be reported, so the indices stay up to date.
+ */
+public class NamespaceSnapshot {
+
+    /**
+     * The maximum number of resources which are requested per page.
+     */
+    static final int PAGE_SIZE = 500;
+
+    /**
+     * The client which is used to list the collections.
+     */
+    private final WatchClient listClient;
+
+    /**
+     * The policy which retries the list requests.
+     */
+    private final RetryPolicy retryPolicy;
+
+    /**
+     * The accepted media types of the list requests or null for json.
+     */
+    private final String accept;
+
+    /**
+     * The indices of the listed collections mapped by their collection paths. A failed list stays failed.
+     */
+    private final Map<String, CompletableFuture<Set<String>>> indices = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new snapshot which uses the specified factory to create its client. The collections are listed using
+     * json.
+     *
+     * @param clientFactory The factory which is used to create the client for the backend communication.
+     */
+    public NamespaceSnapshot(ClientFactory clientFactory) {
+        this(clientFactory, false);
+    }
+
+    /**
+     * Creates a new snapshot which uses the specified factory to create its client.
+     *
+     * @param clientFactory The factory which is used to create the client for the backend communication.
+     * @param protobuf      Signals whether the collections are listed using protobuf. Kinds without protobuf support
+     *                      fall back to json.
+     */
+    public NamespaceSnapshot(ClientFactory clientFactory, boolean protobuf) {
+        this.listClient = clientFactory.create(WatchClient.class);
+        this.retryPolicy = clientFactory.getRetryPolicy();
+        this.accept = protobuf ? ProtobufWatchEventParser.ACCEPT : null;
+    }
+
+    /**
+     * Checks whether the specified collection contains a resource with the specified name. The collection is listed
+     * if it isn't indexed yet.
+     *
+     * @param collectionPath The path of the resource collection (e.g. api/v1/namespaces/test/pods).
+     * @param name           The name of the resource.
+     * @return The future which is completed with TRUE if the resource exists, FALSE otherwise. It's completed
+     * exceptionally if the collection can't be listed.
+     */
+    public CompletableFuture<Boolean> contains(String collectionPath, String name) {
+        return indices.computeIfAbsent(collectionPath, this::list)
+                .thenApply(names -> names.contains(name));
+    }
+
+    /**
+     * Updates the index of the specified collection after a resource was created or deleted. Collections which
+     * weren't listed yet are left untouched.
+     *
+     * @param collectionPath The path of the resource collection (e.g. api/v1/namespaces/test/pods).
+     * @param name           The name of the resource.
+     * @param exists         The new state of the resource.
+     */
+    public void update(String collectionPath, String name, boolean exists) {
+        CompletableFuture<Set<String>> index = indices.get(collectionPath);
+        if (index != null) {
+            index.thenAccept(names -> {
+                if (exists) {
+                    names.add(name);
+                } else {
+                    names.remove(name);
+                }
+            });
+        }
+    }
+
+    /**
+     * Clears the indices of all collections in the specified namespace after the namespace was deleted.
+     *
+     * @param namespace The deleted namespace.
+     */
+    public void clearNamespace(String namespace) {
+        String namespaceSegment = "/namespaces/" + namespace + "/";
+        indices.replaceAll((collectionPath, index) -> {
+            if (collectionPath.contains(namespaceSegment)) {
+                return CompletableFuture.completedFuture(ConcurrentHashMap.newKeySet());
+            }
+            return index;
+        });
+    }
+
+    /**
+     * Lists the specified collection page by page and indexes the names of its resources.
+     *
+     * @param collectionPath The path of the resource collection.
+     * @return The future which is completed with the index of the collection.
+     */
+    private CompletableFuture<Set<String>> list(String collectionPath) {
+        Set<String> names = ConcurrentHashMap.newKeySet();
+        return listPage(collectionPath, null, names).thenApply(ignored -> names);
+    }
+
+    /**
+     * Lists a single page of the specified collection and continues with the next page if there is one.
+     *
+     * @param collectionPath The path of the resource collection.
+     * @param continueToken  The token of the page or null for the first page.
+     * @param names          The names which are extended with the resources of the page.
+     * @return The future which is completed when the last page was indexed.
+     */
+    private CompletableFuture<Void> listPage(String collectionPath, String continueToken, Set<String> names) {
+        return retryPolicy.enqueue(listClient.list(collectionPath, PAGE_SIZE, continueToken, accept)).thenCompose(response -> {
+            ResourceList resourceList;
+            try {
+                resourceList = readList(collectionPath, response);
+            } catch (ResourceException e) {
+                return AsyncCallUtil.failed(e);
+            }
+            names.addAll(resourceList.getNames());
+            if (resourceList.getContinueToken() == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return listPage(collectionPath, resourceList.getContinueToken(), names);
+        });
+    }
+
+    /**
+     * Reads the list contained in the specified response.
+     *
+     * @param collectionPath The path of the listed collection.
+     * @param response       The response of the list request.
+     * @return The list.
+     * @throws ResourceException If the request failed or the list can't be read.
+     */
+    private ResourceList readList(String collectionPath, Response<ResponseBody> response) throws ResourceException {
+        if (!response.isSuccessful()) {
+            response.errorBody().close();
+            throw new ResourceException(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_ERROR_SNAPSHOT_FAILED", collectionPath, response.code()));
+        }
+        try (CollectionParser parser = CollectionParser.create(response.body())) {
+            return parser.readList();
+        } catch (IOException e) {
+            throw new ResourceException(e);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.kubernetes.resource.watch;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static de.qaware.cloud.deployer.kubernetes.logging.KubernetesMessageBundle.KUBERNETES_MESSAGE_BUNDLE;
+
+/**
+ * Reads the fields of a protobuf message out of a byte array using the protobuf wire format. It doesn't need the
+ * message's schema, the caller decides by field number which fields to read and which to skip.
+ */
+class ProtobufReader {
+
+    /**
+     * The wire type of varint fields.
+     */
+    static final int VARINT = 0;
+
+    /**
+     * The wire type of 64 bit fields.
+     */
+    private static final int FIXED_64 = 1;
+
+    /**
+     * The wire type of length delimited fields (strings, bytes and embedded messages).
+     */
+    static final int LENGTH_DELIMITED = 2;
+
+    /**
+     * The wire type of 32 bit fields.
+     */
+    private static final int FIXED_32 = 5;
+
+    /**
+     * The buffer which contains the message.
+     */
+    private final byte[] buffer;
+
+    /**
+     * The end of the message in the buffer.
+     */
+    private final int limit;
+
+    /**
+     * The position of the next byte to read.
+     */
+    private int position;
+
+    /**
+     * The tag of the current field.
+     */
+    private int tag;
+
+    /**
+     * Creates a new reader for the message in the specified part of the buffer.
+     *
+     * @param buffer The buffer which contains the message.
+     * @param offset The start of the message.
+     * @param length The length of the message.
+     */
+    ProtobufReader(byte[] buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    /**
+     * Moves to the next field of the message.
+     *
+     * @return TRUE if there is a next field, FALSE if the end of the message is reached.
+     * @throws IOException If the message is malformed.
+     */
+    boolean nextField() throws IOException {
+        if (position >= limit) {
+            return false;
+        }
+        tag = (int) readVarint();
+        return true;
+    }
+
+    /**
+     * Returns the number of the current field.
+     *
+     * @return The field number.
+     */
+    int getFieldNumber() {
+        return tag >>> 3;
+    }
+
+    /**
+     * Returns the wire type of the current field.
+     *
+     * @return The wire type.
+     */
+    int getWireType() {
+        return tag & 7;
+    }
+
+    /**
+     * Reads the value of the current varint field.
+     *
+     * @return The value.
+     * @throws IOException If the message is malformed.
+     */
+    long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = readByte();
+            value |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_ERROR_PROTOBUF_MALFORMED_VARINT"));
+    }
+
+    /**
+     * Reads the value of the current string field.
+     *
+     * @return The string.
+     * @throws IOException If the message is malformed.
+     */
+    String readString() throws IOException {
+        int length = readLength();
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Returns a reader for the current embedded message or bytes field.
+     *
+     * @return The reader for the embedded message.
+     * @throws IOException If the message is malformed.
+     */
+    ProtobufReader readMessage() throws IOException {
+        int length = readLength();
+        ProtobufReader reader = new ProtobufReader(buffer, position, length);
+        position += length;
+        return reader;
+    }
+
+    /**
+     * Skips the value of the current field.
+     *
+     * @throws IOException If the message is malformed or the field is a group.
+     */
+    void skipField() throws IOException {
+        switch (getWireType()) {
+            case VARINT:
+                readVarint();
+                break;
+            case FIXED_64:
+                skip(8);
+                break;
+            case LENGTH_DELIMITED:
+                skip(readLength());
+                break;
+            case FIXED_32:
+                skip(4);
+                break;
+            default:
+                throw new IOException(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_ERROR_PROTOBUF_UNSUPPORTED_WIRE_TYPE", getWireType()));
+        }
+    }
+
+    /**
+     * Checks whether the remaining message starts with the specified bytes.
+     *
+     * @param prefix The expected bytes.
+     * @return TRUE if the message starts with the bytes, FALSE otherwise.
+     */
+    boolean startsWith(byte[] prefix) {
+        if (limit - position < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer[position + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Skips the specified number of bytes.
+     *
+     * @param count The number of bytes to skip.
+     * @throws IOException If the message ends before.
+     */
+    void skip(int count) throws IOException {
+        if (count < 0 || count > limit - position) {
+            throw new EOFException();
+        }
+        position += count;
+    }
+
+    /**
+     * Reads the length of the current length delimited field.
+     *
+     * @return The length.
+     * @throws IOException If the message is malformed.
+     */
+    private int readLength() throws IOException {
+        long length = readVarint();
+        if (length < 0 || length > limit - position) {
+            throw new EOFException();
+        }
+        return (int) length;
+    }
+
+    /**
+     * Reads a single byte.
+     *
+     * @return The byte.
+     * @throws IOException If the message ends before.
+     */
+    private byte readByte() throws IOException {
+        if (position >= limit) {
+            throw new EOFException();
+        }
+        return buffer[position++];
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.kubernetes.resource.watch;
+
+import okhttp3.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+import static de.qaware.cloud.deployer.kubernetes.logging.KubernetesMessageBundle.KUBERNETES_MESSAGE_BUNDLE;
+
+/**
+ * Parses protobuf list responses and watch streams of the api server. Every message is wrapped in an envelope which
+ * starts with a magic number, the watch stream prefixes every event with its length. Only the metadata which is
+ * necessary for completion tracking is read, all other fields are skipped using their wire type. The field numbers
+ * are the same for all built-in kinds, so no generated message classes are needed.
+ */
+class ProtobufWatchEventParser implements CollectionParser {
+
+    /**
+     * The media type of protobuf bodies.
+     */
+    static final String MEDIA_TYPE = "application/vnd.kubernetes.protobuf";
+
+    /**
+     * The accept header value which requests protobuf and falls back to json for kinds without protobuf support.
+     */
+    static final String ACCEPT = MEDIA_TYPE + ", application/json";
+
+    /**
+     * The magic number which starts every envelope ("k8s\0").
+     */
+    private static final byte[] MAGIC = {0x6b, 0x38, 0x73, 0x00};
+
+    /**
+     * The field of the envelope which contains the wrapped message.
+     */
+    private static final int ENVELOPE_RAW = 2;
+
+    /**
+     * The field of a list which contains the list metadata.
+     */
+    private static final int LIST_METADATA = 1;
+
+    /**
+     * The field of a list which contains the items.
+     */
+    private static final int LIST_ITEMS = 2;
+
+    /**
+     * The field of the list metadata which contains the resource version.
+     */
+    private static final int LIST_RESOURCE_VERSION = 2;
+
+    /**
+     * The field of the list metadata which contains the token of the next page.
+     */
+    private static final int LIST_CONTINUE = 3;
+
+    /**
+     * The field of an object which contains the object metadata.
+     */
+    private static final int OBJECT_METADATA = 1;
+
+    /**
+     * The field of the object metadata which contains the name.
+     */
+    private static final int OBJECT_NAME = 1;
+
+    /**
+     * The field of the object metadata which contains the resource version.
+     */
+    private static final int OBJECT_RESOURCE_VERSION = 6;
+
+    /**
+     * The field of a watch event which contains the event type.
+     */
+    private static final int EVENT_TYPE = 1;
+
+    /**
+     * The field of a watch event which contains the object.
+     */
+    private static final int EVENT_OBJECT = 2;
+
+    /**
+     * The field of the event's object which contains the encoded object.
+     */
+    private static final int OBJECT_RAW = 1;
+
+    /**
+     * The field of a status object which contains the status code.
+     */
+    private static final int STATUS_CODE = 6;
+
+    /**
+     * The stream which contains the list or the events.
+     */
+    private final DataInputStream inputStream;
+
+    /**
+     * Creates a new parser for the specified stream.
+     *
+     * @param inputStream The stream which contains the protobuf messages.
+     */
+    ProtobufWatchEventParser(InputStream inputStream) {
+        this.inputStream = new DataInputStream(inputStream);
+    }
+
+    /**
+     * Checks whether the specified content type denotes a protobuf body.
+     *
+     * @param contentType The content type of a body.
+     * @return TRUE if the body is encoded using protobuf, FALSE otherwise.
+     */
+    static boolean isProtobuf(MediaType contentType) {
+        return contentType != null && MEDIA_TYPE.equals(contentType.type() + "/" + contentType.subtype());
+    }
+
+    @Override
+    public WatchEvent nextEvent() throws IOException {
+        // 1. Read the frame of the next event
+        int length;
+        try {
+            length = inputStream.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (length < 0) {
+            throw new IOException(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_ERROR_PROTOBUF_INVALID_FRAME_LENGTH", length));
+        }
+        byte[] frame = new byte[length];
+        inputStream.readFully(frame);
+
+        // 2. Read the event
+        ProtobufReader event = unwrap(new ProtobufReader(frame, 0, length));
+        String type = null;
+        ProtobufReader object = null;
+        while (event.nextField()) {
+            if (event.getFieldNumber() == EVENT_TYPE && event.getWireType() == ProtobufReader.LENGTH_DELIMITED) {
+                type = event.readString();
+            } else if (event.getFieldNumber() == EVENT_OBJECT && event.getWireType() == ProtobufReader.LENGTH_DELIMITED) {
+                object = readEmbeddedObject(event.readMessage());
+            } else {
+                event.skipField();
+            }
+        }
+
+        // 3. Read the metadata of the object or the code of the status object (error events only)
+        if (object == null) {
+            return new WatchEvent(type, null, null, 0);
+        }
+        if (WatchEvent.ERROR.equals(type)) {
+            return new WatchEvent(type, null, null, readStatusCode(object));
+        }
+        ObjectMetadata metadata = new ObjectMetadata();
+        readObjectMetadata(object, metadata);
+        return new WatchEvent(type, metadata.name, metadata.resourceVersion, 0);
+    }
+
+    @Override
+    public ResourceList readList() throws IOException {
+        byte[] content = readFully();
+        ProtobufReader list = unwrap(new ProtobufReader(content, 0, content.length));
+
+        Set<String> names = new HashSet<>();
+        String resourceVersion = null;
+        String continueToken = null;
+        while (list.nextField()) {
+            if (list.getFieldNumber() == LIST_METADATA && list.getWireType() == ProtobufReader.LENGTH_DELIMITED) {
+                ProtobufReader metadata = list.readMessage();
+                while (metadata.nextField()) {
+                    if (metadata.getFieldNumber() == LIST_RESOURCE_VERSION && metadata.getWireType() == ProtobufReader.LENGTH_DELIMITED) {
+                        resourceVersion = metadata.readString();
+                    } else if (metadata.getFieldNumber() == LIST_CONTINUE && metadata.getWireType() == ProtobufReader.LENGTH_DELIMITED) {
+                        continueToken = metadata.readString();
+                    } else {
+                        metadata.skipField();
+                    }
+                }
+            } else if (list.getFieldNumber() == LIST_ITEMS && list.getWireType() == ProtobufReader.LENGTH_DELIMITED) {
+                ObjectMetadata metadata = new ObjectMetadata();
+                readObjectMetadata(list.readMessage(), metadata);
+                if (metadata.name != null) {
+                    names.add(metadata.name);
+                }
+            } else {
+                list.skipField();
+            }
+        }
+        return new ResourceList(names, resourceVersion, continueToken);
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+
+    /**
+     * Reads the name and the resource version out of the metadata of the specified object.
+     *
+     * @param object   The object.
+     * @param metadata The metadata which is filled.
+     * @throws IOException If the object is malformed.
+     */
+    private static void readObjectMetadata(ProtobufReader object, ObjectMetadata metadata) throws IOException {
+        while (object.nextField()) {
+            if (object.getFieldNumber() == OBJECT_METADATA && object.getWireType() == ProtobufReader.LENGTH_DELIMITED) {
+                ProtobufReader fields = object.readMessage();
+                while (fields.nextField()) {
+                    if (fields.getFieldNumber() == OBJECT_NAME && fields.getWireType() == ProtobufReader.LENGTH_DELIMITED) {
+                        metadata.name = fields.readString();
+                    } else if (fields.getFieldNumber() == OBJECT_RESOURCE_VERSION && fields.getWireType() == ProtobufReader.LENGTH_DELIMITED) {
+                        metadata.resourceVersion = fields.readString();
+                    } else {
+                        fields.skipField();
+                    }
+                }
+            } else {
+                object.skipField();
+            }
+        }
+    }
+
+    /**
+     * Reads the status code out of the specified status object.
+     *
+     * @param status The status object.
+     * @return The status code or 0 if it's missing.
+     * @throws IOException If the object is malformed.
+     */
+    private static int readStatusCode(ProtobufReader status) throws IOException {
+        int code = 0;
+        while (status.nextField()) {
+            if (status.getFieldNumber() == STATUS_CODE && status.getWireType() == ProtobufReader.VARINT) {
+                code = (int) status.readVarint();
+            } else {
+                status.skipField();
+            }
+        }
+        return code;
+    }
+
+    /**
+     * Returns the encoded object which is embedded in the object field of a watch event.
+     *
+     * @param rawExtension The object field of the event.
+     * @return The reader for the embedded object or null if it's missing.
+     * @throws IOException If the field is malformed.
+     */
+    private static ProtobufReader readEmbeddedObject(ProtobufReader rawExtension) throws IOException {
+        ProtobufReader object = null;
+        while (rawExtension.nextField()) {
+            if (rawExtension.getFieldNumber() == OBJECT_RAW && rawExtension.getWireType() == ProtobufReader.LENGTH_DELIMITED) {
+                object = unwrap(rawExtension.readMessage());
+            } else {
+                rawExtension.skipField();
+            }
+        }
+        return object;
+    }
+
+    /**
+     * Removes the envelope of the specified message, if it has one.
+     *
+     * @param message The message which may be wrapped in an envelope.
+     * @return The reader for the wrapped message or the specified reader if there is no envelope.
+     * @throws IOException If the envelope is malformed or empty.
+     */
+    private static ProtobufReader unwrap(ProtobufReader message) throws IOException {
+        if (!message.startsWith(MAGIC)) {
+            return message;
+        }
+        message.skip(MAGIC.length);
+        while (message.nextField()) {
+            if (message.getFieldNumber() == ENVELOPE_RAW && message.getWireType() == ProtobufReader.LENGTH_DELIMITED) {
+                return message.readMessage();
+            }
+            message.skipField();
+        }
+        throw new IOException(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_ERROR_PROTOBUF_EMPTY_ENVELOPE"));
+    }
+
+    /**
+     * Reads the remaining stream.
+     *
+     * @return The content of the stream.
+     * @throws IOException If the stream can't be read.
+     */
+    private byte[] readFully() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Collects the extracted metadata of a single api object.
+     */
+    private static final class ObjectMetadata {
+
+        /**
+         * The name of the object.
+         */
+        private String name;
+
+        /**
+         * The resource version of the object.
+         */
+        private String resourceVersion;
+    }
+}
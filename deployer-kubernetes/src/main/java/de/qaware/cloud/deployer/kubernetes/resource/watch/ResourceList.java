@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.kubernetes.resource.watch;
+
+import java.util.Set;
+
+/**
+ * Represents the result of a list request: The names of the existing resources, the version of the list and the token
+ * of the next page if the list is paged.
+ */
+class ResourceList {
+
+    /**
+     * The names of the existing resources.
+     */
+    private final Set<String> names;
+
+    /**
+     * The resource version of the list.
+     */
+    private final String resourceVersion;
+
+    /**
+     * The token which is used to request the next page. It's null or empty for the last page.
+     */
+    private final String continueToken;
+
+    /**
+     * Creates a new resource list.
+     *
+     * @param names           The names of the existing resources.
+     * @param resourceVersion The resource version of the list.
+     * @param continueToken   The token which is used to request the next page.
+     */
+    ResourceList(Set<String> names, String resourceVersion, String continueToken) {
+        this.names = names;
+        this.resourceVersion = resourceVersion;
+        this.continueToken = continueToken;
+    }
+
+    /**
+     * Returns the names of the existing resources.
+     *
+     * @return The names.
+     */
+    Set<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Returns the resource version of the list.
+     *
+     * @return The resource version.
+     */
+    String getResourceVersion() {
+        return resourceVersion;
+    }
+
+    /**
+     * Returns the token which is used to request the next page.
+     *
+     * @return The continue token or null if this is the last page.
+     */
+    String getContinueToken() {
+        return continueToken == null || continueToken.isEmpty() ? null : continueToken;
+    }
+}
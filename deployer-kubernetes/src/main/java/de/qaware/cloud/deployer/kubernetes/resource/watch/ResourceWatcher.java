@@ -0,0 +1,391 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.kubernetes.resource.watch;
+
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.resource.AsyncCallUtil;
+import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import retrofit2.Call;
+import retrofit2.Response;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static de.qaware.cloud.deployer.kubernetes.logging.KubernetesMessageBundle.KUBERNETES_MESSAGE_BUNDLE;
+
+/**
+ * Watches a kubernetes resource collection and keeps track of the names of the existing resources. Instead of polling
+ * the api server repeatedly, callers register for an expected state and are notified as soon as the corresponding
+ * watch event arrives. The collection is listed once, afterwards only the events of the collection are streamed.
+ */
+public class ResourceWatcher implements Closeable {
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResourceWatcher.class);
+
+    /**
+     * The duration (in seconds) after which the server closes a watch stream. The watch is resumed afterwards.
+     */
+    private static final int WATCH_TIMEOUT = 300;
+
+    /**
+     * The time (in milliseconds) to wait before the collection is listed again after a failed watch.
+     */
+    private static final long RECONNECT_DELAY = 1000;
+
+    /**
+     * The status code which signals that the requested resource version is too old to be watched.
+     */
+    private static final int GONE = 410;
+
+    /**
+     * The prefix of the watch thread's name.
+     */
+    private static final String THREAD_NAME_PREFIX = "deployer-watch-";
+
+    /**
+     * The path of the watched resource collection.
+     */
+    private final String collectionPath;
+
+    /**
+     * The client which is used to list the collection.
+     */
+    private final WatchClient listClient;
+
+    /**
+     * The client which is used to stream the events of the collection. It mustn't have a read timeout.
+     */
+    private final WatchClient watchClient;
+
+    /**
+     * The accepted media types of the list and watch requests or null for json.
+     */
+    private final String accept;
+
+    /**
+     * The names of the existing resources. Guarded by the waiters list.
+     */
+    private final Set<String> names = new HashSet<>();
+
+    /**
+     * The registered waiters. It's also the lock for the names.
+     */
+    private final List<Waiter> waiters = new ArrayList<>();
+
+    /**
+     * The future which is completed as soon as the collection was listed for the first time.
+     */
+    private final CompletableFuture<Void> synced = new CompletableFuture<>();
+
+    /**
+     * The thread which lists and watches the collection.
+     */
+    private final Thread thread;
+
+    /**
+     * The call which is currently executed by the watch thread.
+     */
+    private volatile Call<ResponseBody> activeCall;
+
+    /**
+     * Signals whether this watcher was closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Creates a new watcher for the specified resource collection. The watcher doesn't start until start() is called.
+     *
+     * @param collectionPath The path of the resource collection (e.g. api/v1/namespaces/test/pods).
+     * @param listClient     The client which is used to list the collection.
+     * @param watchClient    The client without read timeout which is used to stream the events.
+     * @param accept         The accepted media types of the list and watch requests or null for json.
+     */
+    ResourceWatcher(String collectionPath, WatchClient listClient, WatchClient watchClient, String accept) {
+        this.collectionPath = collectionPath;
+        this.listClient = listClient;
+        this.watchClient = watchClient;
+        this.accept = accept;
+        this.thread = new Thread(this::run, THREAD_NAME_PREFIX + collectionPath);
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts listing and watching the collection.
+     */
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Returns a future which is completed as soon as the collection was listed for the first time. It's completed
+     * exceptionally if the collection can't be listed (for example because the user isn't allowed to).
+     *
+     * @return The future which signals that the watcher is ready.
+     */
+    public CompletableFuture<Void> awaitSync() {
+        return synced;
+    }
+
+    /**
+     * Waits until the resource with the specified name reaches the expected state.
+     *
+     * @param name              The name of the resource.
+     * @param expectedExistence The state to wait for.
+     * @param timeout           The time (in milliseconds) after which waiting fails.
+     * @param errorMessage      The message of the exception which is thrown when the timeout is reached.
+     * @return The future which is completed as soon as the resource reaches the expected state.
+     */
+    public CompletableFuture<Void> awaitExistence(String name, boolean expectedExistence, long timeout, String errorMessage) {
+        Waiter waiter = new Waiter(name, expectedExistence);
+        synchronized (waiters) {
+            if (names.contains(name) == expectedExistence) {
+                return CompletableFuture.completedFuture(null);
+            }
+            waiters.add(waiter);
+        }
+        AsyncCallUtil.schedule(() -> {
+            if (waiter.future.completeExceptionally(new ResourceException(errorMessage))) {
+                removeWaiter(waiter);
+            }
+        }, timeout);
+        return waiter.future;
+    }
+
+    /**
+     * Stops watching the collection. Pending waiters are failed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Call<ResponseBody> call = activeCall;
+        if (call != null) {
+            call.cancel();
+        }
+        thread.interrupt();
+
+        ResourceException exception = new ResourceException(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_ERROR_WATCH_CLOSED", collectionPath));
+        synced.completeExceptionally(exception);
+        synchronized (waiters) {
+            waiters.forEach(waiter -> waiter.future.completeExceptionally(exception));
+            waiters.clear();
+        }
+    }
+
+    /**
+     * Lists and watches the collection until this watcher is closed. If the watch fails, the collection is listed
+     * again. If the first list fails, the watcher stops and signals it using the sync future.
+     */
+    private void run() {
+        String resourceVersion = null;
+        while (!closed) {
+            try {
+                // 1. List the collection if there is no version to continue from
+                if (resourceVersion == null) {
+                    resourceVersion = list();
+                    synced.complete(null);
+                }
+
+                // 2. Watch the collection until the stream ends
+                resourceVersion = watch(resourceVersion);
+            } catch (IOException | ResourceException e) {
+                if (closed) {
+                    return;
+                }
+                if (!synced.isDone()) {
+                    synced.completeExceptionally(e);
+                    return;
+                }
+                LOGGER.debug(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_MESSAGE_WATCH_RECONNECTING", collectionPath), e);
+                resourceVersion = null;
+                try {
+                    Thread.sleep(RECONNECT_DELAY);
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Lists the collection and replaces the known names.
+     *
+     * @return The resource version of the list.
+     * @throws IOException       If the list can't be read.
+     * @throws ResourceException If the server rejects the request.
+     */
+    private String list() throws IOException, ResourceException {
+        Response<ResponseBody> response = execute(listClient.list(collectionPath, accept));
+        try (CollectionParser parser = CollectionParser.create(response.body())) {
+            ResourceList resourceList = parser.readList();
+            synchronized (waiters) {
+                names.clear();
+                names.addAll(resourceList.getNames());
+                waiters.removeIf(this::completeIfReached);
+            }
+            return resourceList.getResourceVersion();
+        }
+    }
+
+    /**
+     * Streams the events of the collection starting after the specified version.
+     *
+     * @param resourceVersion The version after which events are streamed.
+     * @return The version to continue watching from or null if the collection has to be listed again.
+     * @throws IOException       If the stream can't be read.
+     * @throws ResourceException If the server rejects the request or sends an error event.
+     */
+    private String watch(String resourceVersion) throws IOException, ResourceException {
+        Response<ResponseBody> response = execute(watchClient.watch(collectionPath, true, resourceVersion, WATCH_TIMEOUT, accept));
+        String currentVersion = resourceVersion;
+        try (CollectionParser parser = CollectionParser.create(response.body())) {
+            WatchEvent event;
+            while ((event = parser.nextEvent()) != null) {
+                switch (event.getType()) {
+                    case WatchEvent.ADDED:
+                    case WatchEvent.MODIFIED:
+                        update(event.getName(), true);
+                        break;
+                    case WatchEvent.DELETED:
+                        update(event.getName(), false);
+                        break;
+                    case WatchEvent.ERROR:
+                        if (event.getCode() == GONE) {
+                            return null;
+                        }
+                        throw new ResourceException(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_ERROR_WATCH_FAILED", collectionPath, event.getCode()));
+                    default:
+                        break;
+                }
+                if (event.getResourceVersion() != null) {
+                    currentVersion = event.getResourceVersion();
+                }
+            }
+        }
+        return currentVersion;
+    }
+
+    /**
+     * Executes the specified call and remembers it, so that it can be cancelled.
+     *
+     * @param call The call to execute.
+     * @return The successful response.
+     * @throws IOException       If the call fails.
+     * @throws ResourceException If the server's response isn't successful.
+     */
+    private Response<ResponseBody> execute(Call<ResponseBody> call) throws IOException, ResourceException {
+        activeCall = call;
+        if (closed) {
+            call.cancel();
+        }
+        Response<ResponseBody> response = call.execute();
+        if (!response.isSuccessful()) {
+            response.errorBody().close();
+            throw new ResourceException(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_ERROR_WATCH_FAILED", collectionPath, response.code()));
+        }
+        return response;
+    }
+
+    /**
+     * Updates the state of the specified resource and notifies the corresponding waiters.
+     *
+     * @param name   The name of the resource.
+     * @param exists The new state of the resource.
+     */
+    private void update(String name, boolean exists) {
+        synchronized (waiters) {
+            if (exists) {
+                names.add(name);
+            } else {
+                names.remove(name);
+            }
+            Iterator<Waiter> iterator = waiters.iterator();
+            while (iterator.hasNext()) {
+                Waiter waiter = iterator.next();
+                if (waiter.name.equals(name) && completeIfReached(waiter)) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Completes the specified waiter if its resource reached the expected state. Has to be called with the lock held.
+     *
+     * @param waiter The waiter to check.
+     * @return TRUE if the waiter is done and can be removed, FALSE otherwise.
+     */
+    private boolean completeIfReached(Waiter waiter) {
+        if (names.contains(waiter.name) == waiter.expectedExistence) {
+            waiter.future.complete(null);
+        }
+        return waiter.future.isDone();
+    }
+
+    /**
+     * Removes the specified waiter.
+     *
+     * @param waiter The waiter to remove.
+     */
+    private void removeWaiter(Waiter waiter) {
+        synchronized (waiters) {
+            waiters.remove(waiter);
+        }
+    }
+
+    /**
+     * Describes a caller which waits for a resource to reach a state.
+     */
+    private static final class Waiter {
+
+        /**
+         * The name of the resource.
+         */
+        private final String name;
+
+        /**
+         * The state to wait for.
+         */
+        private final boolean expectedExistence;
+
+        /**
+         * The future which is completed when the state is reached.
+         */
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        /**
+         * Creates a new waiter.
+         *
+         * @param name              The name of the resource.
+         * @param expectedExistence The state to wait for.
+         */
+        private Waiter(String name, boolean expectedExistence) {
+            this.name = name;
+            this.expectedExistence = expectedExistence;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.kubernetes.resource.watch;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.Query;
+import retrofit2.http.Streaming;
+import retrofit2.http.Url;
+
+/**
+ * Offers the list and watch operations for arbitrary resource collections. The accept header is passed explicitly, so
+ * the same client can request json or protobuf; if it's null, the server's default (json) is used.
+ */
+interface WatchClient {
+
+    /**
+     * Returns the http response for a request to the specified resource collection.
+     *
+     * @param collectionPath The path of the resource collection (e.g. api/v1/namespaces/test/pods).
+     * @param accept         The accepted media types or null for the default.
+     * @return The server's http response.
+     */
+    @Streaming
+    @GET
+    Call<ResponseBody> list(@Url String collectionPath, @Header("Accept") String accept);
+
+    /**
+     * Returns the http response for a request to a page of the specified resource collection.
+     *
+     * @param collectionPath The path of the resource collection (e.g. api/v1/namespaces/test/pods).
+     * @param limit          The maximum number of resources on the page.
+     * @param continueToken  The token of the page to request or null for the first page.
+     * @param accept         The accepted media types or null for the default.
+     * @return The server's http response.
+     */
+    @Streaming
+    @GET
+    Call<ResponseBody> list(@Url String collectionPath, @Query("limit") int limit, @Query("continue") String continueToken, @Header("Accept") String accept);
+
+    /**
+     * Opens a watch stream for the specified resource collection.
+     *
+     * @param collectionPath  The path of the resource collection (e.g. api/v1/namespaces/test/pods).
+     * @param watch           Has to be TRUE to open a stream of events.
+     * @param resourceVersion The version after which events are streamed.
+     * @param timeoutSeconds  The duration after which the server closes the stream.
+     * @param accept          The accepted media types or null for the default.
+     * @return The server's http response which contains the event stream.
+     */
+    @Streaming
+    @GET
+    Call<ResponseBody> watch(@Url String collectionPath, @Query("watch") boolean watch, @Query("resourceVersion") String resourceVersion, @Query("timeoutSeconds") int timeoutSeconds, @Header("Accept") String accept);
+}
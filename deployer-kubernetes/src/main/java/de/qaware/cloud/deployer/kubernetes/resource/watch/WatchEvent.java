@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.kubernetes.resource.watch;
+
+/**
+ * Represents a single event of a watch stream. Only the fields necessary for completion tracking are contained.
+ */
+class WatchEvent {
+
+    /**
+     * The type of a event which signals that a resource was added.
+     */
+    static final String ADDED = "ADDED";
+
+    /**
+     * The type of a event which signals that a resource was modified.
+     */
+    static final String MODIFIED = "MODIFIED";
+
+    /**
+     * The type of a event which signals that a resource was deleted.
+     */
+    static final String DELETED = "DELETED";
+
+    /**
+     * The type of a event which signals that the watch failed.
+     */
+    static final String ERROR = "ERROR";
+
+    /**
+     * The type of this event.
+     */
+    private final String type;
+
+    /**
+     * The name of the resource this event belongs to.
+     */
+    private final String name;
+
+    /**
+     * The resource version of the resource this event belongs to.
+     */
+    private final String resourceVersion;
+
+    /**
+     * The status code of a error event.
+     */
+    private final int code;
+
+    /**
+     * Creates a new watch event.
+     *
+     * @param type            The type of the event.
+     * @param name            The name of the resource the event belongs to.
+     * @param resourceVersion The resource version of the resource the event belongs to.
+     * @param code            The status code of a error event.
+     */
+    WatchEvent(String type, String name, String resourceVersion, int code) {
+        this.type = type;
+        this.name = name;
+        this.resourceVersion = resourceVersion;
+        this.code = code;
+    }
+
+    /**
+     * Returns the type of this event.
+     *
+     * @return The type.
+     */
+    String getType() {
+        return type;
+    }
+
+    /**
+     * Returns the name of the resource this event belongs to.
+     *
+     * @return The name.
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the resource version of the resource this event belongs to.
+     *
+     * @return The resource version.
+     */
+    String getResourceVersion() {
+        return resourceVersion;
+    }
+
+    /**
+     * Returns the status code of a error event.
+     *
+     * @return The status code.
+     */
+    int getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.kubernetes.resource.watch;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Parses json list responses and watch streams token by token. Only the metadata which is necessary for completion
+ * tracking is extracted, everything else is skipped without building an object tree.
+ */
+class WatchEventParser implements CollectionParser {
+
+    /**
+     * The factory which creates the json parsers. It's thread safe and shared.
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * The parser which reads the stream.
+     */
+    private final JsonParser parser;
+
+    /**
+     * Creates a new parser for the specified stream.
+     *
+     * @param inputStream The stream which contains the json documents.
+     * @throws IOException If the parser can't be created.
+     */
+    WatchEventParser(InputStream inputStream) throws IOException {
+        this.parser = JSON_FACTORY.createParser(inputStream);
+    }
+
+    @Override
+    public WatchEvent nextEvent() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            return null;
+        }
+        assertToken(JsonToken.START_OBJECT, token);
+
+        String type = null;
+        ObjectMetadata metadata = new ObjectMetadata();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            parser.nextToken();
+            if ("type".equals(fieldName)) {
+                type = parser.getValueAsString();
+            } else if ("object".equals(fieldName)) {
+                readObject(metadata);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new WatchEvent(type, metadata.name, metadata.resourceVersion, metadata.code);
+    }
+
+    @Override
+    public ResourceList readList() throws IOException {
+        assertToken(JsonToken.START_OBJECT, parser.nextToken());
+
+        Set<String> names = new HashSet<>();
+        String resourceVersion = null;
+        String continueToken = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if ("metadata".equals(fieldName)) {
+                ObjectMetadata metadata = new ObjectMetadata();
+                readMetadata(metadata);
+                resourceVersion = metadata.resourceVersion;
+                continueToken = metadata.continueToken;
+            } else if ("items".equals(fieldName) && token == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    ObjectMetadata metadata = new ObjectMetadata();
+                    readObject(metadata);
+                    if (metadata.name != null) {
+                        names.add(metadata.name);
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new ResourceList(names, resourceVersion, continueToken);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    /**
+     * Reads a api object whose start token was already consumed and extracts its metadata. Status objects (as used in
+     * error events) contain a code instead of metadata.
+     *
+     * @param metadata The metadata which is filled.
+     * @throws IOException If the stream can't be read or contains invalid json.
+     */
+    private void readObject(ObjectMetadata metadata) throws IOException {
+        if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            parser.nextToken();
+            if ("metadata".equals(fieldName)) {
+                readMetadata(metadata);
+            } else if ("code".equals(fieldName)) {
+                metadata.code = parser.getValueAsInt();
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Reads a metadata object whose start token was already consumed.
+     *
+     * @param metadata The metadata which is filled.
+     * @throws IOException If the stream can't be read or contains invalid json.
+     */
+    private void readMetadata(ObjectMetadata metadata) throws IOException {
+        if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            parser.nextToken();
+            if ("name".equals(fieldName)) {
+                metadata.name = parser.getValueAsString();
+            } else if ("resourceVersion".equals(fieldName)) {
+                metadata.resourceVersion = parser.getValueAsString();
+            } else if ("continue".equals(fieldName)) {
+                metadata.continueToken = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Checks whether the specified token is the expected one.
+     *
+     * @param expected The expected token.
+     * @param actual   The actual token.
+     * @throws JsonParseException If the tokens don't match.
+     */
+    private void assertToken(JsonToken expected, JsonToken actual) throws JsonParseException {
+        if (expected != actual) {
+            throw new JsonParseException(parser, "Expected " + expected + " but found " + actual);
+        }
+    }
+
+    /**
+     * Collects the extracted metadata of a single api object.
+     */
+    private static final class ObjectMetadata {
+
+        /**
+         * The name of the object.
+         */
+        private String name;
+
+        /**
+         * The resource version of the object.
+         */
+        private String resourceVersion;
+
+        /**
+         * The token of the next page (list metadata only).
+         */
+        private String continueToken;
+
+        /**
+         * The status code of the object (status objects only).
+         */
+        private int code;
+    }
+}
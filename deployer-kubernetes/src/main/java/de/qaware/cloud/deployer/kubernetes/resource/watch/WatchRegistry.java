@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.kubernetes.resource.watch;
+
+import de.qaware.cloud.deployer.commons.resource.ClientFactory;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Manages the resource watchers of an environment. A watcher is started lazily for every resource collection which is
+ * waited for and is shared by all resources of that collection.
+ */
+public class WatchRegistry implements Closeable {
+
+    /**
+     * The client which is used to list collections.
+     */
+    private final WatchClient listClient;
+
+    /**
+     * The client without read timeout which is used to stream the events of collections.
+     */
+    private final WatchClient watchClient;
+
+    /**
+     * The accepted media types of the list and watch requests or null for json.
+     */
+    private final String accept;
+
+    /**
+     * The started watchers mapped by their collection paths.
+     */
+    private final Map<String, ResourceWatcher> watchers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new registry which uses the specified factory to create its clients. The collections are listed and
+     * watched using json.
+     *
+     * @param clientFactory The factory which is used to create the clients for the backend communication.
+     */
+    public WatchRegistry(ClientFactory clientFactory) {
+        this(clientFactory, false);
+    }
+
+    /**
+     * Creates a new registry which uses the specified factory to create its clients.
+     *
+     * @param clientFactory The factory which is used to create the clients for the backend communication.
+     * @param protobuf      Signals whether the collections are listed and watched using protobuf. Kinds without
+     *                      protobuf support fall back to json.
+     */
+    public WatchRegistry(ClientFactory clientFactory, boolean protobuf) {
+        this.listClient = clientFactory.create(WatchClient.class);
+        this.watchClient = clientFactory.createStreamingClient(WatchClient.class);
+        this.accept = protobuf ? ProtobufWatchEventParser.ACCEPT : null;
+    }
+
+    /**
+     * Returns the watcher for the specified collection. If there is none yet, it's created and started.
+     *
+     * @param collectionPath The path of the resource collection (e.g. api/v1/namespaces/test/pods).
+     * @return The watcher of the collection.
+     */
+    public ResourceWatcher getWatcher(String collectionPath) {
+        return watchers.computeIfAbsent(collectionPath, path -> {
+            ResourceWatcher watcher = new ResourceWatcher(path, listClient, watchClient, accept);
+            watcher.start();
+            return watcher;
+        });
+    }
+
+    /**
+     * Stops all watchers.
+     */
+    @Override
+    public void close() {
+        watchers.values().forEach(ResourceWatcher::close);
+        watchers.clear();
+    }
+}
@@ -15,13 +15,14 @@
  */
 package de.qaware.cloud.deployer.kubernetes.strategy;
 
+import de.qaware.cloud.deployer.commons.config.environment.ExecutionConfig;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.logging.EnvironmentLogContext;
 import de.qaware.cloud.deployer.commons.strategy.BaseReplaceStrategy;
 import de.qaware.cloud.deployer.kubernetes.resource.base.KubernetesResource;
 import de.qaware.cloud.deployer.kubernetes.resource.namespace.NamespaceResource;
 import de.qaware.cloud.deployer.kubernetes.resource.namespace.NamespaceUtil;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.util.List;
 
@@ -36,7 +37,23 @@ class KubernetesReplaceStrategy extends BaseReplaceStrategy implements Kubernete
     /**
      * The logger of this class.
      */
-    private static final Logger LOGGER = LoggerFactory.getLogger(KubernetesReplaceStrategy.class);
+    private static final Logger LOGGER = EnvironmentLogContext.getLogger(KubernetesReplaceStrategy.class);
+
+    /**
+     * Creates a new strategy which processes all resources one after another.
+     */
+    KubernetesReplaceStrategy() {
+        super();
+    }
+
+    /**
+     * Creates a new strategy which processes the resources as defined in the specified execution config.
+     *
+     * @param executionConfig The config which defines how the resources are processed.
+     */
+    KubernetesReplaceStrategy(ExecutionConfig executionConfig) {
+        super(executionConfig);
+    }
 
     @Override
     public void deploy(NamespaceResource namespaceResource, List<KubernetesResource> resources) throws ResourceException {
@@ -15,14 +15,14 @@
  */
 package de.qaware.cloud.deployer.kubernetes.strategy;
 
+import de.qaware.cloud.deployer.commons.config.environment.ExecutionConfig;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
-import de.qaware.cloud.deployer.commons.resource.Resource;
+import de.qaware.cloud.deployer.commons.logging.EnvironmentLogContext;
 import de.qaware.cloud.deployer.commons.strategy.BaseDeletionStrategy;
 import de.qaware.cloud.deployer.kubernetes.resource.base.KubernetesResource;
 import de.qaware.cloud.deployer.kubernetes.resource.namespace.NamespaceResource;
 import de.qaware.cloud.deployer.kubernetes.resource.namespace.NamespaceUtil;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.util.List;
 
@@ -36,7 +36,23 @@ class KubernetesResetStrategy extends BaseDeletionStrategy implements Kubernetes
     /**
      * The logger of this class.
      */
-    private static final Logger LOGGER = LoggerFactory.getLogger(KubernetesResetStrategy.class);
+    private static final Logger LOGGER = EnvironmentLogContext.getLogger(KubernetesResetStrategy.class);
+
+    /**
+     * Creates a new strategy which processes all resources one after another.
+     */
+    KubernetesResetStrategy() {
+        super();
+    }
+
+    /**
+     * Creates a new strategy which processes the resources as defined in the specified execution config.
+     *
+     * @param executionConfig The config which defines how the resources are processed.
+     */
+    KubernetesResetStrategy(ExecutionConfig executionConfig) {
+        super(executionConfig);
+    }
 
     /**
      * Deploys the list of resources.
@@ -44,12 +60,13 @@ class KubernetesResetStrategy extends BaseDeletionStrategy implements Kubernetes
      * @param resources The resources to deploy.
      * @throws ResourceException If an error during deployment occurs.
      */
-    private static void deployResources(List<KubernetesResource> resources) throws ResourceException {
+    private void deployResources(List<KubernetesResource> resources) throws ResourceException {
         LOGGER.info(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_MESSAGE_DEPLOYING_RESOURCES_STARTED"));
-        for (Resource resource : resources) {
+        executeOperation(resources, resource -> {
             LOGGER.info(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_MESSAGE_CREATING_SINGLE_RESOURCE", resource));
             resource.create();
-        }
+            resource.release();
+        });
         LOGGER.info(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_MESSAGE_DEPLOYING_RESOURCES_DONE"));
     }
 
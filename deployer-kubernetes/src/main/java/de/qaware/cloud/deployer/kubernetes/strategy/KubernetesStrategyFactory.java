@@ -15,6 +15,7 @@
  */
 package de.qaware.cloud.deployer.kubernetes.strategy;
 
+import de.qaware.cloud.deployer.commons.config.environment.ExecutionConfig;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
 import de.qaware.cloud.deployer.commons.strategy.Strategy;
 
@@ -39,6 +40,19 @@ public final class KubernetesStrategyFactory {
      * @throws ResourceException If the string specifies a not existing strategy.
      */
     public static KubernetesStrategy create(Strategy strategy) throws ResourceException {
+        return create(strategy, new ExecutionConfig());
+    }
+
+    /**
+     * Accepts an strategy and instantiates a new object of this strategy which processes the resources as defined in
+     * the specified execution config.
+     *
+     * @param strategy        The strategy.
+     * @param executionConfig The config which defines how the resources are processed.
+     * @return A new object of the specified strategy.
+     * @throws ResourceException If the string specifies a not existing strategy.
+     */
+    public static KubernetesStrategy create(Strategy strategy, ExecutionConfig executionConfig) throws ResourceException {
 
         // Check if the strategy is defined
         if (strategy == null) {
@@ -47,11 +61,11 @@ public final class KubernetesStrategyFactory {
 
         switch (strategy) {
             case RESET:
-                return new KubernetesResetStrategy();
+                return new KubernetesResetStrategy(executionConfig);
             case REPLACE:
-                return new KubernetesReplaceStrategy();
+                return new KubernetesReplaceStrategy(executionConfig);
             case UPDATE:
-                return new KubernetesUpdateStrategy();
+                return new KubernetesUpdateStrategy(executionConfig);
             default:
                 throw new ResourceException(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_ERROR_UNSUPPORTED_STRATEGY", strategy));
         }
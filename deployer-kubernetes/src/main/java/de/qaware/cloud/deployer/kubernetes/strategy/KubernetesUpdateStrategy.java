@@ -15,13 +15,14 @@
  */
 package de.qaware.cloud.deployer.kubernetes.strategy;
 
+import de.qaware.cloud.deployer.commons.config.environment.ExecutionConfig;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.logging.EnvironmentLogContext;
 import de.qaware.cloud.deployer.commons.strategy.BaseUpdateStrategy;
 import de.qaware.cloud.deployer.kubernetes.resource.base.KubernetesResource;
 import de.qaware.cloud.deployer.kubernetes.resource.namespace.NamespaceResource;
 import de.qaware.cloud.deployer.kubernetes.resource.namespace.NamespaceUtil;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -37,13 +38,29 @@ class KubernetesUpdateStrategy extends BaseUpdateStrategy implements KubernetesS
     /**
      * The logger of this class.
      */
-    private static final Logger LOGGER = LoggerFactory.getLogger(KubernetesUpdateStrategy.class);
+    private static final Logger LOGGER = EnvironmentLogContext.getLogger(KubernetesUpdateStrategy.class);
 
     /**
      * The name of the update method.
      */
     private static final String UPDATE_METHOD = "update";
 
+    /**
+     * Creates a new strategy which processes all resources one after another.
+     */
+    KubernetesUpdateStrategy() {
+        super();
+    }
+
+    /**
+     * Creates a new strategy which processes the resources as defined in the specified execution config.
+     *
+     * @param executionConfig The config which defines how the resources are processed.
+     */
+    KubernetesUpdateStrategy(ExecutionConfig executionConfig) {
+        super(executionConfig);
+    }
+
     @Override
     public void deploy(NamespaceResource namespaceResource, List<KubernetesResource> resources) throws ResourceException {
 
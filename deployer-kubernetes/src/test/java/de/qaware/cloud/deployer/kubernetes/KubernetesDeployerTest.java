@@ -15,6 +15,7 @@
  */
 package de.qaware.cloud.deployer.kubernetes;
 
+import de.qaware.cloud.deployer.commons.config.environment.ExecutionConfig;
 import de.qaware.cloud.deployer.commons.strategy.Strategy;
 import de.qaware.cloud.deployer.kubernetes.config.cloud.KubernetesEnvironmentConfig;
 import de.qaware.cloud.deployer.kubernetes.config.resource.KubernetesResourceConfig;
@@ -59,6 +60,7 @@ public class KubernetesDeployerTest {
         // Mock environment config
         kubernetesEnvironmentConfig = mock(KubernetesEnvironmentConfig.class);
         when(kubernetesEnvironmentConfig.getStrategy()).thenReturn(Strategy.UPDATE);
+        when(kubernetesEnvironmentConfig.getExecutionConfig()).thenReturn(new ExecutionConfig());
 
         // Mock files
         files = new ArrayList<>();
@@ -88,7 +90,7 @@ public class KubernetesDeployerTest {
 
         // Return mock factories
         whenNew(KubernetesResourceFactory.class).withArguments(kubernetesEnvironmentConfig).thenReturn(kubernetesResourceFactory);
-        whenNew(KubernetesResourceConfigFactory.class).withNoArguments().thenReturn(kubernetesResourceConfigFactory);
+        whenNew(KubernetesResourceConfigFactory.class).withArguments(ExecutionConfig.DEFAULT_PARALLELISM).thenReturn(kubernetesResourceConfigFactory);
     }
 
     @Test
@@ -105,6 +107,7 @@ public class KubernetesDeployerTest {
         verify(resource2, times(1)).exists();
         verify(resource1, times(1)).update();
         verify(resource2, times(1)).update();
+        verify(kubernetesResourceFactory, times(1)).close();
     }
 
     @Test
@@ -123,5 +126,6 @@ public class KubernetesDeployerTest {
         verify(resource2, times(1)).exists();
         verify(resource1, times(1)).delete();
         verify(resource2, times(1)).delete();
+        verify(kubernetesResourceFactory, times(1)).close();
     }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.kubernetes.config.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import de.qaware.cloud.deployer.commons.config.resource.ConfigContent;
+import de.qaware.cloud.deployer.commons.config.resource.ContentType;
+import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author sjahreis
+ */
+public class KubernetesDocumentReaderTest {
+
+    @Test
+    public void testReadYaml() throws ResourceConfigException {
+        String content = "a: 1\r\nb: \"x---y\"\r\n---\r\n---\r\nc: |\r\n  z\r\n  ---\r\n";
+        List<ConfigContent> contents = new ArrayList<>();
+        List<JsonNode> objectTrees = new ArrayList<>();
+        int documents = KubernetesDocumentReader.read(ContentType.YAML, toContent(content), new String[]{"b", "c"}, (documentContent, values) -> {
+            contents.add(documentContent);
+            objectTrees.add(values);
+        });
+
+        assertEquals(2, documents);
+        assertEquals("a: 1\r\nb: \"x---y\"", contents.get(0).toString());
+        assertEquals("x---y", objectTrees.get(0).get("b").textValue());
+        assertFalse(objectTrees.get(0).has("a"));
+        assertEquals("c: |\r\n  z\r\n  ---", contents.get(1).toString());
+        assertEquals("z\n---\n", objectTrees.get(1).get("c").textValue());
+    }
+
+    @Test
+    public void testReadJson() throws ResourceConfigException {
+        String content = "\n{\"a\": \"x---y\"}\n---\n{\"b\": [1, 2]}\n---\n";
+        List<ConfigContent> contents = new ArrayList<>();
+        List<JsonNode> objectTrees = new ArrayList<>();
+        int documents = KubernetesDocumentReader.read(ContentType.JSON, toContent(content), new String[]{"a", "b"}, (documentContent, values) -> {
+            contents.add(documentContent);
+            objectTrees.add(values);
+        });
+
+        assertEquals(2, documents);
+        assertEquals("{\"a\": \"x---y\"}", contents.get(0).toString());
+        assertEquals("x---y", objectTrees.get(0).get("a").textValue());
+        assertEquals("{\"b\": [1, 2]}", contents.get(1).toString());
+        assertEquals(2, objectTrees.get(1).get("b").size());
+    }
+
+    @Test
+    public void testReadSharesBuffer() throws ResourceConfigException {
+        ConfigContent content = toContent("name: \u00e4\u20ac\n---\nname: b\u00fc\n");
+        List<ConfigContent> contents = new ArrayList<>();
+        KubernetesDocumentReader.read(ContentType.YAML, content, new String[]{"name"}, (documentContent, values) -> contents.add(documentContent));
+
+        assertEquals(2, contents.size());
+        assertSame(content.getBuffer(), contents.get(0).getBuffer());
+        assertEquals("name: \u00e4\u20ac", contents.get(0).toString());
+        assertSame(content.getBuffer(), contents.get(1).getBuffer());
+        assertEquals("name: b\u00fc", contents.get(1).toString());
+    }
+
+    @Test
+    public void testReadInvalidJson() {
+        boolean exceptionThrown = false;
+        try {
+            KubernetesDocumentReader.read(ContentType.JSON, toContent("{\"a\": 1}\n---\n{\"b\" 2}"), new String[]{"a"}, (documentContent, values) -> {
+            });
+        } catch (ResourceConfigException e) {
+            exceptionThrown = true;
+            assertEquals(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_DURING_CONTENT_PARSING"), e.getMessage());
+        }
+        assertTrue(exceptionThrown);
+    }
+
+    private static ConfigContent toContent(String content) {
+        return new ConfigContent(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -106,6 +106,27 @@ public class KubernetesResourceConfigFactoryTest extends TestCase {
         assertEquals(FileUtil.readFileContent(testFile2), config.getContent());
     }
 
+    public void testCreateConfigsInParallel() throws ResourceConfigException, IOException {
+        String testFile1 = getTestFilePath("pods.json");
+        String testFile2 = getTestFilePath("service.yml");
+        String testFile3 = getTestFilePath("pod2.json");
+
+        // Create configs
+        List<File> files = new ArrayList<>();
+        files.add(new File(this.getClass().getResource(testFile1).getPath()));
+        files.add(new File(this.getClass().getResource(testFile2).getPath()));
+        files.add(new File(this.getClass().getResource(testFile3).getPath()));
+        KubernetesResourceConfigFactory resourceConfigFactory = new KubernetesResourceConfigFactory(3);
+        List<KubernetesResourceConfig> configs = resourceConfigFactory.createConfigs(files);
+
+        // Check the order of the configs
+        assertEquals(4, configs.size());
+        assertEquals("nginx-mysql", configs.get(0).getResourceId());
+        assertEquals("nginx-mysql2", configs.get(1).getResourceId());
+        assertEquals("zwitscher-eureka", configs.get(2).getResourceId());
+        assertEquals("nginx-mysql2", configs.get(3).getResourceId());
+    }
+
     public void testCreateConfigsWithMultipleResourcesInOneJsonFile() throws ResourceConfigException, IOException {
         String testFile = getTestFilePath("pods.json");
 
@@ -141,6 +162,35 @@ public class KubernetesResourceConfigFactoryTest extends TestCase {
         assertEquals(FileUtil.readFileContent(pod2), config.getContent());
     }
 
+    public void testCreateConfigsWithMultipleResourcesInOneYamlFile() throws ResourceConfigException {
+        String testFile = getTestFilePath("services.yml");
+
+        // Create config
+        File file = new File(this.getClass().getResource(testFile).getPath());
+        List<File> files = new ArrayList<>();
+        files.add(file);
+        KubernetesResourceConfigFactory resourceConfigFactory = new KubernetesResourceConfigFactory();
+        List<KubernetesResourceConfig> configs = resourceConfigFactory.createConfigs(files);
+
+        // Check createConfigs result (the empty document is skipped)
+        assertEquals(2, configs.size());
+
+        // Check configs
+        KubernetesResourceConfig config = configs.get(0);
+        assertEquals("zwitscher-eureka", config.getResourceId());
+        assertEquals("Service", config.getResourceType());
+        assertEquals(ContentType.YAML, config.getContentType());
+        assertEquals("first---service", config.getObjectTree().get("metadata").get("annotations").get("description").textValue());
+        assertEquals("line\n---\nline\n", config.getObjectTree().get("metadata").get("annotations").get("notes").textValue());
+        assertTrue(config.getContent().startsWith("apiVersion: v1"));
+        assertTrue(config.getContent().endsWith("type: NodePort"));
+
+        config = configs.get(1);
+        assertEquals("zwitscher-board", config.getResourceId());
+        assertEquals("Service", config.getResourceType());
+        assertEquals("apiVersion: v1\nkind: Service\nmetadata:\n  name: zwitscher-board", config.getContent());
+    }
+
     public void testCreateConfigsWithExistingAndNonExistingFiles() {
         File nonExistingFile = new File("service-non-existing.yml");
         File existingFile = new File(getTestFilePath("service.yml"));
@@ -51,6 +51,11 @@ public class DeploymentResourceTest extends BaseKubernetesResourceTest {
         testExists(DEPLOYMENT_PATTERN);
     }
 
+    @Test
+    public void testExistsRequestsMetadata() throws ResourceException {
+        testExistsRequestsMetadata(DEPLOYMENT_PATTERN);
+    }
+
     @Test
     public void testCreate() throws ResourceException {
         testCreate(DEPLOYMENTS_PATTERN, DEPLOYMENT_PATTERN);
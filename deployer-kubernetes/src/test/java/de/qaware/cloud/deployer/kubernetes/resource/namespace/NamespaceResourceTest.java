@@ -43,6 +43,11 @@ public class NamespaceResourceTest extends BaseKubernetesResourceTest {
         testExists(NAMESPACE_PATTERN);
     }
 
+    @Test
+    public void testExistsRequestsMetadata() throws ResourceException {
+        testExistsRequestsMetadata(NAMESPACE_PATTERN);
+    }
+
     @Test
     public void testDelete() throws ResourceException, JsonProcessingException {
         testDelete(NAMESPACE_PATTERN);
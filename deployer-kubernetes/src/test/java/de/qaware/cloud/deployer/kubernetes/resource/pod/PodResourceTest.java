@@ -46,6 +46,11 @@ public class PodResourceTest extends BaseKubernetesResourceTest {
         testExists(POD_PATTERN);
     }
 
+    @Test
+    public void testExistsRequestsMetadata() throws ResourceException {
+        testExistsRequestsMetadata(POD_PATTERN);
+    }
+
     @Test
     public void testCreate() throws ResourceException {
         testCreate(PODS_PATTERN, POD_PATTERN);
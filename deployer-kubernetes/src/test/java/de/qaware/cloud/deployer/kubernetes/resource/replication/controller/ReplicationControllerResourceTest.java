@@ -53,6 +53,11 @@ public class ReplicationControllerResourceTest extends BaseKubernetesResourceTes
         testExists(REPLICATION_CONTROLLER_PATTERN);
     }
 
+    @Test
+    public void testExistsRequestsMetadata() throws ResourceException {
+        testExistsRequestsMetadata(REPLICATION_CONTROLLER_PATTERN);
+    }
+
     @Test
     public void testCreate() throws ResourceException, InterruptedException {
         testCreate(REPLICATION_CONTROLLERS_PATTERN, REPLICATION_CONTROLLER_PATTERN);
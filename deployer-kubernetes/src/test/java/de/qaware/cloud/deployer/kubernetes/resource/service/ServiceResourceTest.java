@@ -23,18 +23,23 @@ import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
 import de.qaware.cloud.deployer.commons.resource.BaseResource;
 import de.qaware.cloud.deployer.kubernetes.config.resource.KubernetesResourceConfig;
+import de.qaware.cloud.deployer.kubernetes.resource.base.KubernetesResource;
+import de.qaware.cloud.deployer.kubernetes.resource.watch.NamespaceSnapshot;
 import de.qaware.cloud.deployer.kubernetes.test.BaseKubernetesResourceTest;
 import org.junit.Test;
 
 import java.io.IOException;
 
-import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class ServiceResourceTest extends BaseKubernetesResourceTest {
 
     private static final String BASE_PATH = "/api/v1/namespaces/" + NAMESPACE;
     private static final UrlPattern SERVICES_PATTERN = urlEqualTo(BASE_PATH + "/services");
     private static final UrlPattern SERVICE_PATTERN = urlEqualTo(BASE_PATH + "/services/zwitscher-eureka");
+    private static final UrlPattern SERVICES_LIST_PATTERN = urlPathEqualTo(BASE_PATH + "/services");
 
     @Override
     public BaseResource createResource() throws ResourceException, ResourceConfigException {
@@ -48,6 +53,11 @@ public class ServiceResourceTest extends BaseKubernetesResourceTest {
         testExists(SERVICE_PATTERN);
     }
 
+    @Test
+    public void testExistsRequestsMetadata() throws ResourceException {
+        testExistsRequestsMetadata(SERVICE_PATTERN);
+    }
+
     @Test
     public void testCreate() throws ResourceException {
         testCreate(SERVICES_PATTERN, SERVICE_PATTERN);
@@ -62,4 +72,39 @@ public class ServiceResourceTest extends BaseKubernetesResourceTest {
     public void testUpdate() throws ResourceException, IOException {
         testUpdate(SERVICE_PATTERN);
     }
+
+    @Test
+    public void testExistsWithSnapshot() throws ResourceException {
+        instanceRule.stubFor(get(SERVICES_LIST_PATTERN)
+                .willReturn(aResponse().withStatus(200).withBody("{\"metadata\":{},\"items\":[]}")));
+        instanceRule.stubFor(post(SERVICES_PATTERN)
+                .willReturn(aResponse().withStatus(201)));
+        instanceRule.stubFor(get(SERVICE_PATTERN)
+                .willReturn(aResponse().withStatus(200)));
+        ((KubernetesResource) resource).setSnapshot(new NamespaceSnapshot(clientFactory));
+
+        // Answered by the snapshot
+        assertFalse(resource.exists());
+        instanceRule.verify(1, getRequestedFor(SERVICES_LIST_PATTERN));
+        instanceRule.verify(0, getRequestedFor(SERVICE_PATTERN));
+
+        // The creation is polled and updates the snapshot
+        resource.create();
+        instanceRule.verify(1, getRequestedFor(SERVICE_PATTERN));
+        assertTrue(resource.exists());
+        instanceRule.verify(1, getRequestedFor(SERVICES_LIST_PATTERN));
+        instanceRule.verify(1, getRequestedFor(SERVICE_PATTERN));
+    }
+
+    @Test
+    public void testExistsWithUnavailableSnapshot() throws ResourceException {
+        instanceRule.stubFor(get(SERVICES_LIST_PATTERN)
+                .willReturn(aResponse().withStatus(403)));
+        instanceRule.stubFor(get(SERVICE_PATTERN)
+                .willReturn(aResponse().withStatus(200)));
+        ((KubernetesResource) resource).setSnapshot(new NamespaceSnapshot(clientFactory));
+
+        assertTrue(resource.exists());
+        instanceRule.verify(1, getRequestedFor(SERVICE_PATTERN));
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.kubernetes.resource.watch;
+
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.github.tomakehurst.wiremock.matching.UrlPattern;
+import de.qaware.cloud.deployer.commons.config.environment.EnvironmentConfig;
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.resource.AsyncCallUtil;
+import de.qaware.cloud.deployer.commons.resource.ClientFactory;
+import de.qaware.cloud.deployer.commons.strategy.Strategy;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author sjahreis
+ */
+public class NamespaceSnapshotTest {
+
+    private static final String COLLECTION_PATH = "api/v1/namespaces/test/pods";
+    private static final UrlPattern COLLECTION_PATTERN = urlPathEqualTo("/" + COLLECTION_PATH);
+
+    @Rule
+    public WireMockRule instanceRule = new WireMockRule(WireMockConfiguration.options().dynamicPort());
+
+    private NamespaceSnapshot snapshot;
+
+    @Before
+    public void setup() throws ResourceException {
+        EnvironmentConfig environmentConfig = new EnvironmentConfig("test-env", "http://localhost:" + instanceRule.port(), Strategy.REPLACE);
+        snapshot = new NamespaceSnapshot(new ClientFactory(environmentConfig));
+    }
+
+    @Test
+    public void testContainsWithPagedList() throws ResourceException {
+        instanceRule.stubFor(get(COLLECTION_PATTERN)
+                .withQueryParam("limit", equalTo(String.valueOf(NamespaceSnapshot.PAGE_SIZE)))
+                .willReturn(aResponse().withStatus(200).withBody("{\"metadata\":{\"continue\":\"page2\"},\"items\":[{\"metadata\":{\"name\":\"pod1\"}}]}")));
+        instanceRule.stubFor(get(COLLECTION_PATTERN)
+                .withQueryParam("continue", equalTo("page2"))
+                .willReturn(aResponse().withStatus(200).withBody("{\"metadata\":{},\"items\":[{\"metadata\":{\"name\":\"pod2\"}}]}")));
+
+        assertTrue(AsyncCallUtil.join(snapshot.contains(COLLECTION_PATH, "pod1")));
+        assertTrue(AsyncCallUtil.join(snapshot.contains(COLLECTION_PATH, "pod2")));
+        assertFalse(AsyncCallUtil.join(snapshot.contains(COLLECTION_PATH, "pod3")));
+
+        // Every page is requested once
+        instanceRule.verify(2, getRequestedFor(COLLECTION_PATTERN));
+    }
+
+    @Test
+    public void testUpdate() throws ResourceException {
+        instanceRule.stubFor(get(COLLECTION_PATTERN)
+                .willReturn(aResponse().withStatus(200).withBody("{\"metadata\":{},\"items\":[{\"metadata\":{\"name\":\"pod1\"}}]}")));
+
+        // Collections which weren't listed yet are ignored
+        snapshot.update(COLLECTION_PATH, "pod2", true);
+        assertFalse(AsyncCallUtil.join(snapshot.contains(COLLECTION_PATH, "pod2")));
+
+        snapshot.update(COLLECTION_PATH, "pod2", true);
+        snapshot.update(COLLECTION_PATH, "pod1", false);
+        assertTrue(AsyncCallUtil.join(snapshot.contains(COLLECTION_PATH, "pod2")));
+        assertFalse(AsyncCallUtil.join(snapshot.contains(COLLECTION_PATH, "pod1")));
+
+        instanceRule.verify(1, getRequestedFor(COLLECTION_PATTERN));
+    }
+
+    @Test
+    public void testClearNamespace() throws ResourceException {
+        instanceRule.stubFor(get(COLLECTION_PATTERN)
+                .willReturn(aResponse().withStatus(200).withBody("{\"metadata\":{},\"items\":[{\"metadata\":{\"name\":\"pod1\"}}]}")));
+
+        assertTrue(AsyncCallUtil.join(snapshot.contains(COLLECTION_PATH, "pod1")));
+        snapshot.clearNamespace("other");
+        assertTrue(AsyncCallUtil.join(snapshot.contains(COLLECTION_PATH, "pod1")));
+        snapshot.clearNamespace("test");
+        assertFalse(AsyncCallUtil.join(snapshot.contains(COLLECTION_PATH, "pod1")));
+
+        instanceRule.verify(1, getRequestedFor(COLLECTION_PATTERN));
+    }
+
+    @Test
+    public void testContainsWithProtobufList() throws ResourceException {
+        instanceRule.stubFor(get(COLLECTION_PATTERN)
+                .withHeader("Accept", equalTo(ProtobufWatchEventParser.ACCEPT))
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", ProtobufWatchEventParser.MEDIA_TYPE)
+                        .withBody(ProtobufTestUtil.list("42", null, "pod1"))));
+        EnvironmentConfig environmentConfig = new EnvironmentConfig("test-env", "http://localhost:" + instanceRule.port(), Strategy.REPLACE);
+        NamespaceSnapshot protobufSnapshot = new NamespaceSnapshot(new ClientFactory(environmentConfig), true);
+
+        assertTrue(AsyncCallUtil.join(protobufSnapshot.contains(COLLECTION_PATH, "pod1")));
+        assertFalse(AsyncCallUtil.join(protobufSnapshot.contains(COLLECTION_PATH, "pod2")));
+    }
+
+    @Test
+    public void testContainsWithJsonFallback() throws ResourceException {
+        instanceRule.stubFor(get(COLLECTION_PATTERN)
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"metadata\":{},\"items\":[{\"metadata\":{\"name\":\"pod1\"}}]}")));
+        EnvironmentConfig environmentConfig = new EnvironmentConfig("test-env", "http://localhost:" + instanceRule.port(), Strategy.REPLACE);
+        NamespaceSnapshot protobufSnapshot = new NamespaceSnapshot(new ClientFactory(environmentConfig), true);
+
+        assertTrue(AsyncCallUtil.join(protobufSnapshot.contains(COLLECTION_PATH, "pod1")));
+    }
+
+    @Test(expected = ResourceException.class)
+    public void testContainsWithForbiddenList() throws ResourceException {
+        instanceRule.stubFor(get(COLLECTION_PATTERN)
+                .willReturn(aResponse().withStatus(403)));
+
+        AsyncCallUtil.join(snapshot.contains(COLLECTION_PATH, "pod1"));
+    }
+}
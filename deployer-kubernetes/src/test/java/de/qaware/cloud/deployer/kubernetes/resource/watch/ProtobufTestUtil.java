@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.kubernetes.resource.watch;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes the protobuf messages of the api server for tests.
+ *
+ * @author sjahreis
+ */
+final class ProtobufTestUtil {
+
+    private static final byte[] MAGIC = {0x6b, 0x38, 0x73, 0x00};
+
+    private ProtobufTestUtil() {
+    }
+
+    static byte[] list(String resourceVersion, String continueToken, String... names) {
+        byte[] listMetadata = continueToken == null
+                ? message(string(2, resourceVersion))
+                : message(string(2, resourceVersion), string(3, continueToken));
+        byte[][] fields = new byte[names.length + 2][];
+        // The first field is unknown and has to be skipped
+        fields[0] = varint(5, 300);
+        fields[1] = bytes(1, listMetadata);
+        for (int i = 0; i < names.length; i++) {
+            fields[i + 2] = bytes(2, object(names[i], resourceVersion));
+        }
+        return envelope("PodList", message(fields));
+    }
+
+    static byte[] event(String type, byte[] object) {
+        byte[] rawExtension = bytes(1, object);
+        return frame(envelope("WatchEvent", message(string(1, type), bytes(2, rawExtension))));
+    }
+
+    static byte[] object(String name, String resourceVersion) {
+        byte[] metadata = message(string(1, name), string(3, "test"), string(6, resourceVersion), varint(7, 1));
+        return message(bytes(1, metadata), bytes(2, message(string(1, "spec"))));
+    }
+
+    static byte[] status(int code) {
+        return message(bytes(1, message()), string(2, "Failure"), string(4, "Expired"), varint(6, code));
+    }
+
+    static byte[] envelope(String kind, byte[] raw) {
+        byte[] typeMeta = message(string(1, "v1"), string(2, kind));
+        return concat(MAGIC, message(bytes(1, typeMeta), bytes(2, raw)));
+    }
+
+    static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            outputStream.write(part, 0, part.length);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] frame(byte[] content) {
+        return concat(ByteBuffer.allocate(4).putInt(content.length).array(), content);
+    }
+
+    private static byte[] message(byte[]... fields) {
+        return concat(fields);
+    }
+
+    private static byte[] string(int field, String value) {
+        return bytes(field, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] bytes(int field, byte[] value) {
+        return concat(encodeVarint(field << 3 | 2), encodeVarint(value.length), value);
+    }
+
+    private static byte[] varint(int field, long value) {
+        return concat(encodeVarint(field << 3), encodeVarint(value));
+    }
+
+    private static byte[] encodeVarint(long value) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        while ((value & ~0x7fL) != 0) {
+            outputStream.write((int) (value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        outputStream.write((int) value);
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.kubernetes.resource.watch;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static de.qaware.cloud.deployer.kubernetes.logging.KubernetesMessageBundle.KUBERNETES_MESSAGE_BUNDLE;
+import static de.qaware.cloud.deployer.kubernetes.resource.watch.ProtobufTestUtil.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author sjahreis
+ */
+public class ProtobufWatchEventParserTest {
+
+    @Test
+    public void testReadList() throws IOException {
+        byte[] list = list("42", null, "pod1", "pod2");
+        try (ProtobufWatchEventParser parser = new ProtobufWatchEventParser(new ByteArrayInputStream(list))) {
+            ResourceList resourceList = parser.readList();
+            assertEquals("42", resourceList.getResourceVersion());
+            assertEquals(2, resourceList.getNames().size());
+            assertTrue(resourceList.getNames().contains("pod1"));
+            assertTrue(resourceList.getNames().contains("pod2"));
+            assertNull(resourceList.getContinueToken());
+        }
+    }
+
+    @Test
+    public void testReadPagedList() throws IOException {
+        byte[] list = list("42", "page2", "pod1");
+        try (ProtobufWatchEventParser parser = new ProtobufWatchEventParser(new ByteArrayInputStream(list))) {
+            ResourceList resourceList = parser.readList();
+            assertEquals("page2", resourceList.getContinueToken());
+            assertEquals(1, resourceList.getNames().size());
+        }
+    }
+
+    @Test
+    public void testNextEvent() throws IOException {
+        byte[] events = concat(
+                event(WatchEvent.ADDED, envelope("Pod", object("pod1", "43"))),
+                event(WatchEvent.DELETED, envelope("Pod", object("pod2", "44"))),
+                event(WatchEvent.ERROR, envelope("Status", status(410))));
+        try (ProtobufWatchEventParser parser = new ProtobufWatchEventParser(new ByteArrayInputStream(events))) {
+            WatchEvent added = parser.nextEvent();
+            assertEquals(WatchEvent.ADDED, added.getType());
+            assertEquals("pod1", added.getName());
+            assertEquals("43", added.getResourceVersion());
+
+            WatchEvent deleted = parser.nextEvent();
+            assertEquals(WatchEvent.DELETED, deleted.getType());
+            assertEquals("pod2", deleted.getName());
+            assertEquals("44", deleted.getResourceVersion());
+
+            WatchEvent error = parser.nextEvent();
+            assertEquals(WatchEvent.ERROR, error.getType());
+            assertNull(error.getName());
+            assertEquals(410, error.getCode());
+
+            assertNull(parser.nextEvent());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncatedList() throws IOException {
+        byte[] list = list("42", null, "pod1");
+        byte[] truncated = new byte[list.length - 3];
+        System.arraycopy(list, 0, truncated, 0, truncated.length);
+        try (ProtobufWatchEventParser parser = new ProtobufWatchEventParser(new ByteArrayInputStream(truncated))) {
+            parser.readList();
+        }
+    }
+
+    @Test
+    public void testInvalidFrameLength() {
+        byte[] frame = {(byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff};
+        boolean exceptionThrown = false;
+        try (ProtobufWatchEventParser parser = new ProtobufWatchEventParser(new ByteArrayInputStream(frame))) {
+            parser.nextEvent();
+        } catch (IOException e) {
+            exceptionThrown = true;
+            assertEquals(KUBERNETES_MESSAGE_BUNDLE.getMessage("DEPLOYER_KUBERNETES_ERROR_PROTOBUF_INVALID_FRAME_LENGTH", -1), e.getMessage());
+        }
+        assertTrue(exceptionThrown);
+    }
+
+    @Test
+    public void testCreateParserByContentType() throws IOException {
+        ResponseBody protobufBody = ResponseBody.create(MediaType.parse("application/vnd.kubernetes.protobuf;stream=watch"), new byte[0]);
+        ResponseBody jsonBody = ResponseBody.create(MediaType.parse("application/json"), "{}");
+        try (CollectionParser protobufParser = CollectionParser.create(protobufBody);
+             CollectionParser jsonParser = CollectionParser.create(jsonBody)) {
+            assertTrue(protobufParser instanceof ProtobufWatchEventParser);
+            assertTrue(jsonParser instanceof WatchEventParser);
+        }
+    }
+}
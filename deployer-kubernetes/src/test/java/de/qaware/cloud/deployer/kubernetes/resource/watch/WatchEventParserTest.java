@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.kubernetes.resource.watch;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author sjahreis
+ */
+public class WatchEventParserTest {
+
+    @Test
+    public void testReadList() throws IOException {
+        String list = "{\"kind\":\"PodList\",\"metadata\":{\"selfLink\":\"/api/v1/namespaces/test/pods\",\"resourceVersion\":\"42\"}," +
+                "\"items\":[{\"metadata\":{\"name\":\"pod1\",\"labels\":{\"name\":\"x\"}},\"spec\":{\"containers\":[{\"name\":\"c\"}]}}," +
+                "{\"metadata\":{\"name\":\"pod2\"}}]}";
+        try (WatchEventParser parser = new WatchEventParser(createStream(list))) {
+            ResourceList resourceList = parser.readList();
+            assertEquals("42", resourceList.getResourceVersion());
+            assertEquals(2, resourceList.getNames().size());
+            assertTrue(resourceList.getNames().contains("pod1"));
+            assertTrue(resourceList.getNames().contains("pod2"));
+            assertNull(resourceList.getContinueToken());
+        }
+    }
+
+    @Test
+    public void testReadPagedList() throws IOException {
+        String list = "{\"kind\":\"PodList\",\"metadata\":{\"resourceVersion\":\"42\",\"continue\":\"page2\"}," +
+                "\"items\":[{\"metadata\":{\"name\":\"pod1\"}}]}";
+        try (WatchEventParser parser = new WatchEventParser(createStream(list))) {
+            ResourceList resourceList = parser.readList();
+            assertEquals("page2", resourceList.getContinueToken());
+            assertEquals(1, resourceList.getNames().size());
+        }
+    }
+
+    @Test
+    public void testReadEmptyList() throws IOException {
+        String list = "{\"kind\":\"PodList\",\"metadata\":{\"resourceVersion\":\"7\"},\"items\":null}";
+        try (WatchEventParser parser = new WatchEventParser(createStream(list))) {
+            ResourceList resourceList = parser.readList();
+            assertEquals("7", resourceList.getResourceVersion());
+            assertTrue(resourceList.getNames().isEmpty());
+        }
+    }
+
+    @Test
+    public void testNextEvent() throws IOException {
+        String events = "{\"type\":\"ADDED\",\"object\":{\"kind\":\"Pod\",\"metadata\":{\"name\":\"pod1\",\"resourceVersion\":\"43\"},\"status\":{\"phase\":\"Pending\"}}}\n" +
+                "{\"type\":\"DELETED\",\"object\":{\"kind\":\"Pod\",\"metadata\":{\"name\":\"pod2\",\"resourceVersion\":\"44\"}}}\n" +
+                "{\"type\":\"ERROR\",\"object\":{\"kind\":\"Status\",\"status\":\"Failure\",\"code\":410}}\n";
+        try (WatchEventParser parser = new WatchEventParser(createStream(events))) {
+            WatchEvent added = parser.nextEvent();
+            assertEquals(WatchEvent.ADDED, added.getType());
+            assertEquals("pod1", added.getName());
+            assertEquals("43", added.getResourceVersion());
+
+            WatchEvent deleted = parser.nextEvent();
+            assertEquals(WatchEvent.DELETED, deleted.getType());
+            assertEquals("pod2", deleted.getName());
+            assertEquals("44", deleted.getResourceVersion());
+
+            WatchEvent error = parser.nextEvent();
+            assertEquals(WatchEvent.ERROR, error.getType());
+            assertNull(error.getName());
+            assertEquals(410, error.getCode());
+
+            assertNull(parser.nextEvent());
+        }
+    }
+
+    private InputStream createStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
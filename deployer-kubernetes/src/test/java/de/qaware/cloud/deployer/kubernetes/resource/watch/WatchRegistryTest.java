@@ -0,0 +1,145 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.kubernetes.resource.watch;
+
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.github.tomakehurst.wiremock.matching.UrlPattern;
+import de.qaware.cloud.deployer.commons.config.environment.AuthConfig;
+import de.qaware.cloud.deployer.commons.config.environment.EnvironmentConfig;
+import de.qaware.cloud.deployer.commons.config.environment.SSLConfig;
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.resource.AsyncCallUtil;
+import de.qaware.cloud.deployer.commons.resource.ClientFactory;
+import de.qaware.cloud.deployer.commons.strategy.Strategy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static org.junit.Assert.*;
+
+/**
+ * @author sjahreis
+ */
+public class WatchRegistryTest {
+
+    private static final String COLLECTION_PATH = "api/v1/namespaces/test/pods";
+    private static final UrlPattern COLLECTION_PATTERN = urlEqualTo("/" + COLLECTION_PATH);
+    private static final UrlPattern WATCH_PATTERN = urlPathEqualTo("/" + COLLECTION_PATH);
+    private static final long TIMEOUT = 5000;
+
+    @Rule
+    public WireMockRule instanceRule = new WireMockRule(WireMockConfiguration.options().dynamicPort());
+
+    private WatchRegistry watchRegistry;
+
+    @Before
+    public void setup() throws ResourceException {
+        EnvironmentConfig environmentConfig = new EnvironmentConfig("test-env", "http://localhost:" + instanceRule.port(), Strategy.REPLACE);
+        environmentConfig.setAuthConfig(new AuthConfig());
+        environmentConfig.setSslConfig(new SSLConfig());
+        watchRegistry = new WatchRegistry(new ClientFactory(environmentConfig));
+    }
+
+    @After
+    public void reset() {
+        watchRegistry.close();
+    }
+
+    @Test
+    public void testAwaitExistence() throws ResourceException {
+        String scenarioName = "testAwaitExistence";
+
+        // List
+        instanceRule.stubFor(get(COLLECTION_PATTERN)
+                .willReturn(aResponse().withStatus(200).withBody("{\"metadata\":{\"resourceVersion\":\"10\"},\"items\":[{\"metadata\":{\"name\":\"pod1\"}}]}")));
+
+        // Events
+        instanceRule.stubFor(get(WATCH_PATTERN)
+                .inScenario(scenarioName)
+                .whenScenarioStateIs(STARTED)
+                .withQueryParam("watch", equalTo("true"))
+                .withQueryParam("resourceVersion", equalTo("10"))
+                .willReturn(aResponse().withStatus(200).withFixedDelay(500).withBody(
+                        "{\"type\":\"ADDED\",\"object\":{\"metadata\":{\"name\":\"pod2\",\"resourceVersion\":\"11\"}}}\n" +
+                                "{\"type\":\"DELETED\",\"object\":{\"metadata\":{\"name\":\"pod1\",\"resourceVersion\":\"12\"}}}\n"))
+                .willSetStateTo("watched"));
+
+        // Idle watch
+        instanceRule.stubFor(get(WATCH_PATTERN)
+                .inScenario(scenarioName)
+                .whenScenarioStateIs("watched")
+                .withQueryParam("watch", equalTo("true"))
+                .willReturn(aResponse().withStatus(200).withFixedDelay(10000)));
+
+        // Test
+        ResourceWatcher watcher = watchRegistry.getWatcher(COLLECTION_PATH);
+        assertSame(watcher, watchRegistry.getWatcher(COLLECTION_PATH));
+        AsyncCallUtil.join(watcher.awaitSync());
+        AsyncCallUtil.join(watcher.awaitExistence("pod2", true, TIMEOUT, "creation timed out"));
+        AsyncCallUtil.join(watcher.awaitExistence("pod1", false, TIMEOUT, "deletion timed out"));
+
+        // Verify calls
+        instanceRule.verify(1, getRequestedFor(COLLECTION_PATTERN));
+        instanceRule.verify(getRequestedFor(WATCH_PATTERN).withQueryParam("resourceVersion", equalTo("10")));
+    }
+
+    @Test
+    public void testAwaitExistenceTimeout() throws ResourceException {
+        // List
+        instanceRule.stubFor(get(COLLECTION_PATTERN)
+                .willReturn(aResponse().withStatus(200).withBody("{\"metadata\":{\"resourceVersion\":\"10\"},\"items\":[]}")));
+
+        // Idle watch
+        instanceRule.stubFor(get(WATCH_PATTERN)
+                .withQueryParam("watch", equalTo("true"))
+                .willReturn(aResponse().withStatus(200).withFixedDelay(10000)));
+
+        // Test
+        ResourceWatcher watcher = watchRegistry.getWatcher(COLLECTION_PATH);
+        AsyncCallUtil.join(watcher.awaitSync());
+        AsyncCallUtil.join(watcher.awaitExistence("pod1", false, TIMEOUT, "deletion timed out"));
+        boolean exceptionThrown = false;
+        try {
+            AsyncCallUtil.join(watcher.awaitExistence("pod1", true, 200, "creation timed out"));
+        } catch (ResourceException e) {
+            exceptionThrown = true;
+            assertEquals("creation timed out", e.getMessage());
+        }
+        assertTrue(exceptionThrown);
+    }
+
+    @Test
+    public void testAwaitSyncFailure() {
+        // Forbidden list
+        instanceRule.stubFor(get(COLLECTION_PATTERN)
+                .willReturn(aResponse().withStatus(403)));
+
+        // Test
+        ResourceWatcher watcher = watchRegistry.getWatcher(COLLECTION_PATH);
+        boolean exceptionThrown = false;
+        try {
+            AsyncCallUtil.join(watcher.awaitSync());
+        } catch (ResourceException e) {
+            exceptionThrown = true;
+        }
+        assertTrue(exceptionThrown);
+        instanceRule.verify(0, getRequestedFor(WATCH_PATTERN).withQueryParam("watch", equalTo("true")));
+    }
+}
@@ -38,6 +38,20 @@ public abstract class BaseKubernetesResourceTest extends BaseResourceTest {
 
     protected static final String NAMESPACE = "test";
 
+    protected void testExistsRequestsMetadata(UrlPattern instancePattern) throws ResourceException {
+        // Exists
+        instanceRule.stubFor(get(instancePattern)
+                .withHeader("Accept", containing("as=PartialObjectMetadata"))
+                .willReturn(aResponse().withStatus(200)));
+
+        // Check exists
+        assertTrue(resource.exists());
+
+        // Verify calls
+        instanceRule.verify(1, getRequestedFor(instancePattern)
+                .withHeader("Accept", equalTo("application/json;as=PartialObjectMetadata;g=meta.k8s.io;v=v1, application/json")));
+    }
+
     protected void testCreate(UrlPattern creationPattern, UrlPattern instancePattern) throws ResourceException {
         String scenarioName = "testCreate";
 
@@ -77,7 +77,7 @@ public class MarathonDeployer extends BaseDeployer<EnvironmentConfig> {
      */
     private List<MarathonResource> createResources(List<File> files) throws ResourceConfigException, ResourceException {
         // 1. Read and create resource configs
-        MarathonResourceConfigFactory resourceConfigFactory = new MarathonResourceConfigFactory();
+        MarathonResourceConfigFactory resourceConfigFactory = new MarathonResourceConfigFactory(getEnvironmentConfig().getExecutionConfig().getParallelism());
         List<MarathonResourceConfig> resourceConfigs = resourceConfigFactory.createConfigs(files);
 
         // 2. Create a resource factory for the specified namespace
@@ -94,6 +94,6 @@ public class MarathonDeployer extends BaseDeployer<EnvironmentConfig> {
      * @throws ResourceException If an error during strategy creation occurs.
      */
     private MarathonStrategy createStrategy() throws ResourceException {
-        return MarathonStrategyFactory.create(getEnvironmentConfig().getStrategy());
+        return MarathonStrategyFactory.create(getEnvironmentConfig().getStrategy(), getEnvironmentConfig().getExecutionConfig());
     }
 }
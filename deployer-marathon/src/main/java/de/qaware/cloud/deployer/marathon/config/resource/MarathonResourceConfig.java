@@ -17,6 +17,8 @@ package de.qaware.cloud.deployer.marathon.config.resource;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import de.qaware.cloud.deployer.commons.config.resource.BaseResourceConfig;
+import de.qaware.cloud.deployer.commons.config.resource.ConfigContent;
+import de.qaware.cloud.deployer.commons.config.util.ContentPathExtractor;
 import de.qaware.cloud.deployer.commons.config.util.ContentTreeUtil;
 import de.qaware.cloud.deployer.commons.config.resource.ContentType;
 import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
@@ -36,10 +38,31 @@ public class MarathonResourceConfig extends BaseResourceConfig {
      */
     public MarathonResourceConfig(String filename, ContentType contentType, String content) throws ResourceConfigException {
         super(filename, contentType, content);
+        readResourceId();
+    }
+
+    /**
+     * Creates a new resource config for marathon using the utf-8 encoded content.
+     *
+     * @param filename The name of the file which contains this config.
+     * @param contentType The content type (json, yml, ...) of the file.
+     * @param content The utf-8 encoded content of the file.
+     * @throws ResourceConfigException If the content doesn't contain all necessary attributes or can't be parsed.
+     */
+    public MarathonResourceConfig(String filename, ContentType contentType, ConfigContent content) throws ResourceConfigException {
+        super(filename, contentType, content, null);
+        readResourceId();
+    }
 
-        // Create the object tree and retrieve the id.
-        JsonNode contentObjectTree = ContentTreeUtil.createObjectTree(contentType, content);
-        String id = ContentTreeUtil.readStringValue(contentObjectTree, "id");
+    /**
+     * Reads the id of the resource out of the content. Only the id is extracted, the content isn't parsed completely.
+     *
+     * @throws ResourceConfigException If the content doesn't contain the id or can't be parsed.
+     */
+    private void readResourceId() throws ResourceConfigException {
+        // Extract and retrieve the id.
+        JsonNode idTree = ContentPathExtractor.extract(getContentType(), getConfigContent(), "id");
+        String id = ContentTreeUtil.readStringValue(idTree, "id");
         this.setResourceId(id);
     }
 }
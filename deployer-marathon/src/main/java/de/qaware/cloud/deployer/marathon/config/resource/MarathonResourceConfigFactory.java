@@ -16,12 +16,13 @@
 package de.qaware.cloud.deployer.marathon.config.resource;
 
 import de.qaware.cloud.deployer.commons.config.resource.BaseResourceConfigFactory;
+import de.qaware.cloud.deployer.commons.config.resource.ConfigContent;
+import de.qaware.cloud.deployer.commons.config.resource.ConfigContentStore;
 import de.qaware.cloud.deployer.commons.config.resource.ContentType;
-import de.qaware.cloud.deployer.commons.config.util.FileUtil;
 import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
+import de.qaware.cloud.deployer.commons.logging.EnvironmentLogContext;
 import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.List;
@@ -36,7 +37,23 @@ public class MarathonResourceConfigFactory extends BaseResourceConfigFactory<Mar
     /**
      * The logger of this class.
      */
-    private static final Logger LOGGER = LoggerFactory.getLogger(MarathonResourceConfigFactory.class);
+    private static final Logger LOGGER = EnvironmentLogContext.getLogger(MarathonResourceConfigFactory.class);
+
+    /**
+     * Creates a new factory which reads and parses the files one after another.
+     */
+    public MarathonResourceConfigFactory() {
+        super();
+    }
+
+    /**
+     * Creates a new factory which reads and parses up to the specified number of files at the same time.
+     *
+     * @param parallelism The number of files which are read and parsed at the same time.
+     */
+    public MarathonResourceConfigFactory(int parallelism) {
+        super(parallelism);
+    }
 
     @Override
     public List<MarathonResourceConfig> createConfigs(List<File> files) throws ResourceConfigException {
@@ -51,7 +68,7 @@ public class MarathonResourceConfigFactory extends BaseResourceConfigFactory<Mar
     public MarathonResourceConfig createConfig(File file) throws ResourceConfigException {
         String filename = file.getName();
         ContentType contentType = retrieveContentType(file);
-        String content = FileUtil.readFileContent(file);
+        ConfigContent content = ConfigContentStore.read(file);
 
         // Is the content empty?
         if (content.isEmpty()) {
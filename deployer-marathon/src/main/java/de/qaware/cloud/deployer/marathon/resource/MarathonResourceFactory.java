@@ -16,16 +16,11 @@
 package de.qaware.cloud.deployer.marathon.resource;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.github.fge.jsonschema.core.exceptions.ProcessingException;
-import com.github.fge.jsonschema.core.load.configuration.LoadingConfiguration;
-import com.github.fge.jsonschema.core.load.uri.URITranslatorConfiguration;
-import com.github.fge.jsonschema.core.report.ProcessingReport;
-import com.github.fge.jsonschema.main.JsonSchema;
-import com.github.fge.jsonschema.main.JsonSchemaFactory;
 import de.qaware.cloud.deployer.commons.config.environment.EnvironmentConfig;
-import de.qaware.cloud.deployer.commons.config.util.ContentTreeUtil;
 import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.logging.EnvironmentLogContext;
+import de.qaware.cloud.deployer.commons.resource.AsyncCallUtil;
 import de.qaware.cloud.deployer.commons.resource.BasePingResource;
 import de.qaware.cloud.deployer.commons.resource.BaseResourceFactory;
 import de.qaware.cloud.deployer.marathon.config.resource.MarathonResourceConfig;
@@ -34,36 +29,24 @@ import de.qaware.cloud.deployer.marathon.resource.base.MarathonResource;
 import de.qaware.cloud.deployer.marathon.resource.group.GroupResource;
 import de.qaware.cloud.deployer.marathon.resource.ping.MarathonPingResource;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
 
 import static de.qaware.cloud.deployer.marathon.logging.MarathonMessageBundle.MARATHON_MESSAGE_BUNDLE;
 
 /**
- * Factory which creates MarathonResources using the specified MarathonResourceConfigs.
+ * Factory which creates MarathonResources using the specified MarathonResourceConfigs. The type of every config is
+ * detected using the shared schemas of the {@link MarathonSchemaRegistry}.
  */
 public class MarathonResourceFactory extends BaseResourceFactory<MarathonResource, MarathonResourceConfig> {
 
     /**
      * The logger.
      */
-    private static final Logger LOGGER = LoggerFactory.getLogger(MarathonResourceFactory.class);
-
-    /**
-     * The json schema for an application.
-     */
-    private static final String APP_JSON_SCHEMA = "AppDefinition.json";
-
-    /**
-     * The json schema for a group.
-     */
-    private static final String GROUP_JSON_SCHEMA = "GroupDefinition.json";
-
-    /**
-     * The namespace where the schemas can be found.
-     */
-    private static final String NAMESPACE = "resource:/schemas/";
+    private static final Logger LOGGER = EnvironmentLogContext.getLogger(MarathonResourceFactory.class);
 
     /**
      * Creates a new MarathonResourceConfigFactory for the specified cloud.
@@ -75,42 +58,38 @@ public class MarathonResourceFactory extends BaseResourceFactory<MarathonResourc
         super(environmentConfig);
     }
 
+    /**
+     * Creates the resources for the specified configs. The types of the configs are detected concurrently.
+     *
+     * @param resourceConfigs The configs which are the sources for the resources.
+     * @return A list of resources.
+     * @throws ResourceException If an error during resource creation occurs.
+     */
     @Override
     public List<MarathonResource> createResources(List<MarathonResourceConfig> resourceConfigs) throws ResourceException {
         LOGGER.info(MARATHON_MESSAGE_BUNDLE.getMessage("DEPLOYER_MARATHON_MESSAGE_CREATING_RESOURCES_STARTED"));
-        List<MarathonResource> resources = super.createResources(resourceConfigs);
-        LOGGER.info(MARATHON_MESSAGE_BUNDLE.getMessage("DEPLOYER_MARATHON_MESSAGE_CREATING_RESOURCES_DONE"));
-        return resources;
-    }
 
-    @Override
-    public MarathonResource createResource(MarathonResourceConfig resourceConfig) throws ResourceException {
-        MarathonResource resource;
-
-        // Is the content empty?
-        if (resourceConfig.getContent().isEmpty()) {
-            throw new ResourceException(MARATHON_MESSAGE_BUNDLE.getMessage("DEPLOYER_MARATHON_ERROR_EMPTY_CONFIG", resourceConfig.getFilename()));
+        // 1. Detect the types of all configs concurrently
+        List<CompletableFuture<String>> resourceTypes = new ArrayList<>();
+        for (MarathonResourceConfig resourceConfig : resourceConfigs) {
+            resourceTypes.add(detectResourceTypeAsync(resourceConfig));
         }
 
-        try {
-            JsonNode contentObjectTree = ContentTreeUtil.createObjectTree(resourceConfig.getContentType(), resourceConfig.getContent());
-            // What type of config is this json tree?
-            if (isApp(contentObjectTree)) {
-                // App?
-                resource = new AppResource(resourceConfig, getClientFactory());
-            } else if (isGroup(contentObjectTree)) {
-                // Group?
-                resource = new GroupResource(resourceConfig, getClientFactory());
-            } else {
-                throw new ResourceException(MARATHON_MESSAGE_BUNDLE.getMessage("DEPLOYER_MARATHON_ERROR_UNKNOWN_RESOURCE_TYPE", resourceConfig.getFilename()));
-            }
-        } catch (ResourceConfigException e) {
-            throw new ResourceException(MARATHON_MESSAGE_BUNDLE.getMessage("DEPLOYER_MARATHON_ERROR_DURING_RESOURCE_CREATION", resourceConfig.getFilename()), e);
+        // 2. Create the resources in the order of the configs
+        List<MarathonResource> resources = new ArrayList<>();
+        for (int i = 0; i < resourceConfigs.size(); i++) {
+            MarathonResource resource = createResource(resourceConfigs.get(i), AsyncCallUtil.join(resourceTypes.get(i)));
+            applyWaitConfig(resource);
+            resources.add(resource);
         }
 
-        LOGGER.info(MARATHON_MESSAGE_BUNDLE.getMessage("DEPLOYER_MARATHON_MESSAGE_CREATING_RESOURCES_SINGLE_RESOURCE", resource));
+        LOGGER.info(MARATHON_MESSAGE_BUNDLE.getMessage("DEPLOYER_MARATHON_MESSAGE_CREATING_RESOURCES_DONE"));
+        return resources;
+    }
 
-        return resource;
+    @Override
+    public MarathonResource createResource(MarathonResourceConfig resourceConfig) throws ResourceException {
+        return createResource(resourceConfig, detectResourceType(resourceConfig));
     }
 
     @Override
@@ -119,45 +98,66 @@ public class MarathonResourceFactory extends BaseResourceFactory<MarathonResourc
     }
 
     /**
-     * Indicates whether the specified json is of type app.
+     * Creates the resource of the specified type for the specified config.
      *
-     * @param contentObjectTree The json which is analysed.
-     * @return TRUE if the json is of type app, FALSE otherwise.
-     * @throws ResourceException if an error occurred.
+     * @param resourceConfig The config which is the source for the resource.
+     * @param resourceType   The detected type of the config or null if the type is unknown.
+     * @return The created resource.
+     * @throws ResourceException If the type is unknown.
      */
-    private boolean isApp(JsonNode contentObjectTree) throws ResourceException {
-        return validateSchema(APP_JSON_SCHEMA, contentObjectTree);
+    private MarathonResource createResource(MarathonResourceConfig resourceConfig, String resourceType) throws ResourceException {
+        MarathonResource resource;
+        if (AppResource.RESOURCE_TYPE.equals(resourceType)) {
+            resource = new AppResource(resourceConfig, getClientFactory());
+        } else if (GroupResource.RESOURCE_TYPE.equals(resourceType)) {
+            resource = new GroupResource(resourceConfig, getClientFactory());
+        } else {
+            throw new ResourceException(MARATHON_MESSAGE_BUNDLE.getMessage("DEPLOYER_MARATHON_ERROR_UNKNOWN_RESOURCE_TYPE", resourceConfig.getFilename()));
+        }
+
+        LOGGER.info(MARATHON_MESSAGE_BUNDLE.getMessage("DEPLOYER_MARATHON_MESSAGE_CREATING_RESOURCES_SINGLE_RESOURCE", resource));
+
+        return resource;
     }
 
     /**
-     * Indicates whether the specified json is of type group.
+     * Detects the type of the specified config in the common pool.
      *
-     * @param contentObjectTree The json which is analysed.
-     * @return TRUE if the json is of type group, FALSE otherwise.
-     * @throws ResourceException if an error occurred.
+     * @param resourceConfig The config which is analysed.
+     * @return The future which is completed with the detected type or null if the type is unknown. It's completed
+     * exceptionally if the config is invalid.
      */
-    private boolean isGroup(JsonNode contentObjectTree) throws ResourceException {
-        return validateSchema(GROUP_JSON_SCHEMA, contentObjectTree);
+    private CompletableFuture<String> detectResourceTypeAsync(MarathonResourceConfig resourceConfig) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        ForkJoinPool.commonPool().execute(() -> {
+            try {
+                future.complete(detectResourceType(resourceConfig));
+            } catch (ResourceException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
     }
 
     /**
-     * Checks if the specified json fulfills the specified schema.
+     * Detects the type of the specified config.
      *
-     * @param schemaName        The name of the schema.
-     * @param contentObjectTree The json which is analysed.
-     * @return TRUE if the json fulfills the specified schema, FALSE otherwise.
-     * @throws ResourceException if an error occurred.
+     * @param resourceConfig The config which is analysed.
+     * @return The detected type or null if the type is unknown.
+     * @throws ResourceException If the config is empty or invalid.
      */
-    private boolean validateSchema(String schemaName, JsonNode contentObjectTree) throws ResourceException {
+    private String detectResourceType(MarathonResourceConfig resourceConfig) throws ResourceException {
+
+        // Is the content empty?
+        if (resourceConfig.getConfigContent().isEmpty()) {
+            throw new ResourceException(MARATHON_MESSAGE_BUNDLE.getMessage("DEPLOYER_MARATHON_ERROR_EMPTY_CONFIG", resourceConfig.getFilename()));
+        }
+
         try {
-            URITranslatorConfiguration translatorCfg = URITranslatorConfiguration.newBuilder().setNamespace(NAMESPACE).freeze();
-            LoadingConfiguration cfg = LoadingConfiguration.newBuilder().setURITranslatorConfiguration(translatorCfg).freeze();
-            JsonSchemaFactory factory = JsonSchemaFactory.newBuilder().setLoadingConfiguration(cfg).freeze();
-            JsonSchema schema = factory.getJsonSchema(schemaName);
-            ProcessingReport report = schema.validate(contentObjectTree);
-            return report.isSuccess();
-        } catch (ProcessingException e) {
-            throw new ResourceException(e);
+            JsonNode contentObjectTree = resourceConfig.getObjectTree();
+            return MarathonSchemaRegistry.detectResourceType(contentObjectTree);
+        } catch (ResourceConfigException e) {
+            throw new ResourceException(MARATHON_MESSAGE_BUNDLE.getMessage("DEPLOYER_MARATHON_ERROR_DURING_RESOURCE_CREATION", resourceConfig.getFilename()), e);
         }
     }
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.marathon.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.load.configuration.LoadingConfiguration;
+import com.github.fge.jsonschema.core.load.uri.URITranslatorConfiguration;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.marathon.resource.app.AppResource;
+import de.qaware.cloud.deployer.marathon.resource.group.GroupResource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Detects the type of marathon resources using the marathon json schemas. The schemas are loaded and compiled once per
+ * process and are shared by all validations, which may run concurrently.
+ */
+final class MarathonSchemaRegistry {
+
+    /**
+     * The json schema for an application.
+     */
+    static final String APP_JSON_SCHEMA = "AppDefinition.json";
+
+    /**
+     * The json schema for a group.
+     */
+    static final String GROUP_JSON_SCHEMA = "GroupDefinition.json";
+
+    /**
+     * The namespace where the schemas can be found.
+     */
+    private static final String NAMESPACE = "resource:/schemas/";
+
+    /**
+     * The factory which loads the schemas out of the namespace.
+     */
+    private static final JsonSchemaFactory SCHEMA_FACTORY = createSchemaFactory();
+
+    /**
+     * The compiled schemas mapped by their names.
+     */
+    private static final Map<String, JsonSchema> SCHEMAS = new ConcurrentHashMap<>();
+
+    /**
+     * UTILITY.
+     */
+    private MarathonSchemaRegistry() {
+    }
+
+    /**
+     * Detects the type of the specified resource. A structural pre-check selects the likely schema, so in general
+     * only one full validation is necessary: Groups contain apps or groups, apps don't.
+     *
+     * @param contentObjectTree The json which is analysed.
+     * @return The resource type ({@link AppResource#RESOURCE_TYPE} or {@link GroupResource#RESOURCE_TYPE}) or null if
+     * the json fulfills none of the schemas.
+     * @throws ResourceException If a schema can't be loaded or the validation fails.
+     */
+    static String detectResourceType(JsonNode contentObjectTree) throws ResourceException {
+        boolean likelyGroup = contentObjectTree.has("apps") || contentObjectTree.has("groups");
+        if (likelyGroup) {
+            if (validate(GROUP_JSON_SCHEMA, contentObjectTree)) {
+                return GroupResource.RESOURCE_TYPE;
+            } else if (validate(APP_JSON_SCHEMA, contentObjectTree)) {
+                return AppResource.RESOURCE_TYPE;
+            }
+        } else {
+            if (validate(APP_JSON_SCHEMA, contentObjectTree)) {
+                return AppResource.RESOURCE_TYPE;
+            } else if (validate(GROUP_JSON_SCHEMA, contentObjectTree)) {
+                return GroupResource.RESOURCE_TYPE;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the specified json fulfills the specified schema.
+     *
+     * @param schemaName        The name of the schema.
+     * @param contentObjectTree The json which is analysed.
+     * @return TRUE if the json fulfills the specified schema, FALSE otherwise.
+     * @throws ResourceException If the schema can't be loaded or the validation fails.
+     */
+    static boolean validate(String schemaName, JsonNode contentObjectTree) throws ResourceException {
+        try {
+            return getSchema(schemaName).validate(contentObjectTree).isSuccess();
+        } catch (ProcessingException e) {
+            throw new ResourceException(e);
+        }
+    }
+
+    /**
+     * Returns the compiled schema with the specified name. It's loaded on first use.
+     *
+     * @param schemaName The name of the schema.
+     * @return The compiled schema.
+     * @throws ProcessingException If the schema can't be loaded.
+     */
+    private static JsonSchema getSchema(String schemaName) throws ProcessingException {
+        JsonSchema schema = SCHEMAS.get(schemaName);
+        if (schema == null) {
+            synchronized (SCHEMAS) {
+                schema = SCHEMAS.get(schemaName);
+                if (schema == null) {
+                    schema = SCHEMA_FACTORY.getJsonSchema(schemaName);
+                    SCHEMAS.put(schemaName, schema);
+                }
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * Creates the factory which loads the schemas out of the namespace.
+     *
+     * @return The schema factory.
+     */
+    private static JsonSchemaFactory createSchemaFactory() {
+        URITranslatorConfiguration translatorCfg = URITranslatorConfiguration.newBuilder().setNamespace(NAMESPACE).freeze();
+        LoadingConfiguration cfg = LoadingConfiguration.newBuilder().setURITranslatorConfiguration(translatorCfg).freeze();
+        return JsonSchemaFactory.newBuilder().setLoadingConfiguration(cfg).freeze();
+    }
+}
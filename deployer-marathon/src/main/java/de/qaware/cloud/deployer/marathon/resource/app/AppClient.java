@@ -27,11 +27,14 @@ interface AppClient {
 
     /**
      * Returns the http response for a request to the app resource with the specified id.
+     * Only the task counts are embedded instead of the tasks, the response is meant for existence checks.
+     * The body is streamed, so it can be closed without being buffered.
      *
      * @param appId The app's id.
      * @return The server's http response.
      */
-    @GET("service/marathon/v2/apps/{appId}")
+    @Streaming
+    @GET("service/marathon/v2/apps/{appId}?embed=app.counts")
     Call<ResponseBody> get(@Path("appId") String appId);
 
     /**
@@ -27,11 +27,14 @@ interface GroupClient {
 
     /**
      * Returns the http response for a request to the group resource with the specified id.
+     * The apps aren't embedded, the response is meant for existence checks.
+     * The body is streamed, so it can be closed without being buffered.
      *
      * @param groupId The groups's id.
      * @return The server's http response.
      */
-    @GET("service/marathon/v2/groups/{groupId}")
+    @Streaming
+    @GET("service/marathon/v2/groups/{groupId}?embed=group.groups")
     Call<ResponseBody> get(@Path("groupId") String groupId);
 
     /**
@@ -22,6 +22,8 @@ import de.qaware.cloud.deployer.marathon.resource.base.MarathonResource;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
 
+import java.util.concurrent.CompletableFuture;
+
 import static de.qaware.cloud.deployer.marathon.logging.MarathonMessageBundle.MARATHON_MESSAGE_BUNDLE;
 
 /**
@@ -29,6 +31,11 @@ import static de.qaware.cloud.deployer.marathon.logging.MarathonMessageBundle.MA
  */
 public class GroupResource extends MarathonResource {
 
+    /**
+     * The type of this resource which selects its wait profile.
+     */
+    public static final String RESOURCE_TYPE = "Group";
+
     /**
      * The client which is used for communication with the backend.
      */
@@ -46,21 +53,21 @@ public class GroupResource extends MarathonResource {
     }
 
     @Override
-    public boolean exists() throws ResourceException {
+    public CompletableFuture<Boolean> existsAsync() throws ResourceException {
         Call<ResponseBody> call = groupClient.get(getId());
-        return executeExistsCall(call);
+        return executeExistsCallAsync(call);
     }
 
     @Override
-    public void create() throws ResourceException {
+    public CompletableFuture<Void> createAsync() throws ResourceException {
         Call<ResponseBody> call = groupClient.create(createRequestBody());
-        executeCreateCallAndBlock(call);
+        return executeCreateCallAndWait(call);
     }
 
     @Override
-    public void delete() throws ResourceException {
+    public CompletableFuture<Void> deleteAsync() throws ResourceException {
         Call<ResponseBody> deleteCall = groupClient.delete(getId());
-        executeDeleteCallAndBlock(deleteCall);
+        return executeDeleteCallAndWait(deleteCall);
     }
 
     @Override
@@ -69,6 +76,11 @@ public class GroupResource extends MarathonResource {
         executeCall(updateCall);
     }
 
+    @Override
+    public String getResourceType() {
+        return RESOURCE_TYPE;
+    }
+
     @Override
     public String toString() {
         return MARATHON_MESSAGE_BUNDLE.getMessage("DEPLOYER_MARATHON_MESSAGE_GROUP", getId());
@@ -15,11 +15,12 @@
  */
 package de.qaware.cloud.deployer.marathon.strategy;
 
+import de.qaware.cloud.deployer.commons.config.environment.ExecutionConfig;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.logging.EnvironmentLogContext;
 import de.qaware.cloud.deployer.commons.strategy.BaseReplaceStrategy;
 import de.qaware.cloud.deployer.marathon.resource.base.MarathonResource;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.util.List;
 
@@ -34,7 +35,23 @@ class MarathonReplaceStrategy extends BaseReplaceStrategy implements MarathonStr
     /**
      * The logger of this class.
      */
-    private static final Logger LOGGER = LoggerFactory.getLogger(MarathonReplaceStrategy.class);
+    private static final Logger LOGGER = EnvironmentLogContext.getLogger(MarathonReplaceStrategy.class);
+
+    /**
+     * Creates a new strategy which processes all resources one after another.
+     */
+    MarathonReplaceStrategy() {
+        super();
+    }
+
+    /**
+     * Creates a new strategy which processes the resources as defined in the specified execution config.
+     *
+     * @param executionConfig The config which defines how the resources are processed.
+     */
+    MarathonReplaceStrategy(ExecutionConfig executionConfig) {
+        super(executionConfig);
+    }
 
     @Override
     public void deploy(List<MarathonResource> resources) throws ResourceException {
@@ -15,6 +15,7 @@
  */
 package de.qaware.cloud.deployer.marathon.strategy;
 
+import de.qaware.cloud.deployer.commons.config.environment.ExecutionConfig;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
 import de.qaware.cloud.deployer.commons.strategy.Strategy;
 
@@ -39,11 +40,24 @@ public final class MarathonStrategyFactory {
      * @throws ResourceException If the string specifies a not existing strategy.
      */
     public static MarathonStrategy create(Strategy strategy) throws ResourceException {
+        return create(strategy, new ExecutionConfig());
+    }
+
+    /**
+     * Accepts an strategy and instantiates a new object of this strategy which processes the resources as defined in
+     * the specified execution config.
+     *
+     * @param strategy        The strategy.
+     * @param executionConfig The config which defines how the resources are processed.
+     * @return A new object of the specified strategy.
+     * @throws ResourceException If the string specifies a not existing strategy.
+     */
+    public static MarathonStrategy create(Strategy strategy, ExecutionConfig executionConfig) throws ResourceException {
         switch (strategy) {
             case REPLACE:
-                return new MarathonReplaceStrategy();
+                return new MarathonReplaceStrategy(executionConfig);
             case UPDATE:
-                return new MarathonUpdateStrategy();
+                return new MarathonUpdateStrategy(executionConfig);
             default:
                 throw new ResourceException(MARATHON_MESSAGE_BUNDLE.getMessage("DEPLOYER_MARATHON_ERROR_UNSUPPORTED_STRATEGY", strategy));
         }
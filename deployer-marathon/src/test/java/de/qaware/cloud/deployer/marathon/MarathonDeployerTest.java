@@ -16,6 +16,7 @@
 package de.qaware.cloud.deployer.marathon;
 
 import de.qaware.cloud.deployer.commons.config.environment.EnvironmentConfig;
+import de.qaware.cloud.deployer.commons.config.environment.ExecutionConfig;
 import de.qaware.cloud.deployer.commons.strategy.Strategy;
 import de.qaware.cloud.deployer.marathon.config.resource.MarathonResourceConfig;
 import de.qaware.cloud.deployer.marathon.config.resource.MarathonResourceConfigFactory;
@@ -57,6 +58,7 @@ public class MarathonDeployerTest {
         // Mock environment config
         environmentConfig = mock(EnvironmentConfig.class);
         when(environmentConfig.getStrategy()).thenReturn(Strategy.UPDATE);
+        when(environmentConfig.getExecutionConfig()).thenReturn(new ExecutionConfig());
 
         // Mock files
         files = new ArrayList<>();
@@ -83,7 +85,7 @@ public class MarathonDeployerTest {
 
         // Return mock factories
         whenNew(MarathonResourceFactory.class).withArguments(environmentConfig).thenReturn(marathonResourceFactory);
-        whenNew(MarathonResourceConfigFactory.class).withNoArguments().thenReturn(marathonResourceConfigFactory);
+        whenNew(MarathonResourceConfigFactory.class).withArguments(ExecutionConfig.DEFAULT_PARALLELISM).thenReturn(marathonResourceConfigFactory);
     }
 
     @Test
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.marathon.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import de.qaware.cloud.deployer.commons.config.resource.ContentType;
+import de.qaware.cloud.deployer.commons.config.util.ContentTreeUtil;
+import de.qaware.cloud.deployer.commons.config.util.FileUtil;
+import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.marathon.resource.app.AppResource;
+import de.qaware.cloud.deployer.marathon.resource.group.GroupResource;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author sjahreis
+ */
+public class MarathonSchemaRegistryTest {
+
+    @Test
+    public void testDetectApp() throws ResourceException, ResourceConfigException {
+        JsonNode app = readTree("app.json");
+        assertEquals(AppResource.RESOURCE_TYPE, MarathonSchemaRegistry.detectResourceType(app));
+        assertTrue(MarathonSchemaRegistry.validate(MarathonSchemaRegistry.APP_JSON_SCHEMA, app));
+        assertFalse(MarathonSchemaRegistry.validate(MarathonSchemaRegistry.GROUP_JSON_SCHEMA, app));
+    }
+
+    @Test
+    public void testDetectGroup() throws ResourceException, ResourceConfigException {
+        JsonNode group = readTree("group.json");
+        assertEquals(GroupResource.RESOURCE_TYPE, MarathonSchemaRegistry.detectResourceType(group));
+        assertTrue(MarathonSchemaRegistry.validate(MarathonSchemaRegistry.GROUP_JSON_SCHEMA, group));
+        assertFalse(MarathonSchemaRegistry.validate(MarathonSchemaRegistry.APP_JSON_SCHEMA, group));
+    }
+
+    @Test
+    public void testDetectUnknown() throws ResourceException, ResourceConfigException {
+        assertNull(MarathonSchemaRegistry.detectResourceType(readTree("unknown.json")));
+    }
+
+    private JsonNode readTree(String filename) throws ResourceConfigException {
+        String content = FileUtil.readFileContent("/de/qaware/cloud/deployer/marathon/resource/factory/" + filename);
+        return ContentTreeUtil.createObjectTree(ContentType.JSON, content);
+    }
+}
@@ -27,13 +27,15 @@ import org.junit.Test;
 
 import java.io.IOException;
 
-import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.Assert.assertTrue;
 
 public class AppResourceTest extends BaseMarathonResourceTest {
 
     private static final String APPS_PATH = "/service/marathon/v2/apps";
     private static final UrlPattern APPS_PATTERN = urlEqualTo(APPS_PATH);
-    private static final UrlPattern APP_PATTERN = urlEqualTo(APPS_PATH + "/zwitscher-eureka");
+    private static final UrlPattern APP_PATTERN = urlPathEqualTo(APPS_PATH + "/zwitscher-eureka");
+    private static final UrlPattern APP_EXISTS_PATTERN = urlEqualTo(APPS_PATH + "/zwitscher-eureka" + "?embed=app.counts");
 
     @Override
     public BaseResource createResource() throws ResourceException, ResourceConfigException {
@@ -47,6 +49,16 @@ public class AppResourceTest extends BaseMarathonResourceTest {
         testExists(APP_PATTERN);
     }
 
+    @Test
+    public void testExistsWithMinimalEmbed() throws ResourceException {
+        instanceRule.stubFor(get(APP_EXISTS_PATTERN)
+                .willReturn(aResponse().withStatus(200)));
+
+        assertTrue(resource.exists());
+
+        instanceRule.verify(1, getRequestedFor(APP_EXISTS_PATTERN));
+    }
+
     @Test
     public void testCreate() throws ResourceException {
         testCreate(APPS_PATTERN, APP_PATTERN);
@@ -27,13 +27,15 @@ import org.junit.Test;
 
 import java.io.IOException;
 
-import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.Assert.assertTrue;
 
 public class GroupResourceTest extends BaseMarathonResourceTest {
 
     private static final String GROUPS_PATH = "/service/marathon/v2/groups";
     private static final UrlPattern GROUPS_PATTERN = urlEqualTo(GROUPS_PATH);
-    private static final UrlPattern GROUP_PATTERN = urlEqualTo(GROUPS_PATH + "/group-test");
+    private static final UrlPattern GROUP_PATTERN = urlPathEqualTo(GROUPS_PATH + "/group-test");
+    private static final UrlPattern GROUP_EXISTS_PATTERN = urlEqualTo(GROUPS_PATH + "/group-test" + "?embed=group.groups");
 
     @Override
     public BaseResource createResource() throws ResourceException, ResourceConfigException {
@@ -47,6 +49,16 @@ public class GroupResourceTest extends BaseMarathonResourceTest {
         testExists(GROUP_PATTERN);
     }
 
+    @Test
+    public void testExistsWithMinimalEmbed() throws ResourceException {
+        instanceRule.stubFor(get(GROUP_EXISTS_PATTERN)
+                .willReturn(aResponse().withStatus(200)));
+
+        assertTrue(resource.exists());
+
+        instanceRule.verify(1, getRequestedFor(GROUP_EXISTS_PATTERN));
+    }
+
     @Test
     public void testCreate() throws ResourceException {
         testCreate(GROUPS_PATTERN, GROUP_PATTERN);
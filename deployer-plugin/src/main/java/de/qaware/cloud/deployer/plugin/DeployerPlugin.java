@@ -15,13 +15,23 @@
  */
 package de.qaware.cloud.deployer.plugin;
 
+import de.qaware.cloud.deployer.commons.config.resource.ConfigContentStore;
+import de.qaware.cloud.deployer.commons.resource.HttpClientRegistry;
+import de.qaware.cloud.deployer.commons.resource.TokenCache;
 import de.qaware.cloud.deployer.plugin.extension.DeployerExtension;
 import de.qaware.cloud.deployer.plugin.task.DeleteAllTask;
 import de.qaware.cloud.deployer.plugin.task.DeleteTask;
 import de.qaware.cloud.deployer.plugin.task.DeployAllTask;
 import de.qaware.cloud.deployer.plugin.task.DeployTask;
+import org.gradle.BuildAdapter;
+import org.gradle.BuildResult;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.invocation.Gradle;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 import static de.qaware.cloud.deployer.plugin.logging.PluginMessageBundle.PLUGIN_MESSAGE_BUNDLE;
 
@@ -30,6 +40,11 @@ import static de.qaware.cloud.deployer.plugin.logging.PluginMessageBundle.PLUGIN
  */
 public class DeployerPlugin implements Plugin<Project> {
 
+    /**
+     * The builds which already have a listener that releases the shared resources.
+     */
+    private static final Set<Gradle> BUILDS = Collections.newSetFromMap(new WeakHashMap<>());
+
     /**
      * Apply this plugin and it's tasks and extension.
      *
@@ -56,5 +71,33 @@ public class DeployerPlugin implements Plugin<Project> {
         DeleteTask deleteTask = project.getTasks().create("delete", DeleteTask.class);
         deleteTask.setDescription(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_MESSAGES_TASK_DESCRIPTION_DELETE"));
         deleteTask.setGroup(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_MESSAGES_PLUGIN_GROUP"));
+
+        // Release the shared http clients, tokens and config contents when the build finished
+        registerBuildListener(project.getGradle());
+    }
+
+    /**
+     * Registers the listener which releases the shared http clients, tokens and config contents when the build
+     * finished. The listener is registered once per build instead of once per project which applies this plugin.
+     *
+     * @param gradle The build.
+     */
+    private static void registerBuildListener(Gradle gradle) {
+        synchronized (BUILDS) {
+            if (!BUILDS.add(gradle)) {
+                return;
+            }
+        }
+        gradle.addBuildListener(new BuildAdapter() {
+            @Override
+            public void buildFinished(BuildResult result) {
+                synchronized (BUILDS) {
+                    BUILDS.remove(gradle);
+                }
+                HttpClientRegistry.closeAll();
+                TokenCache.clear();
+                ConfigContentStore.clear();
+            }
+        });
     }
 }
@@ -16,16 +16,36 @@
 package de.qaware.cloud.deployer.plugin.environment;
 
 import de.qaware.cloud.deployer.commons.config.environment.AuthConfig;
+import de.qaware.cloud.deployer.commons.config.environment.CircuitBreakerConfig;
+import de.qaware.cloud.deployer.commons.config.environment.CompressionConfig;
 import de.qaware.cloud.deployer.commons.config.environment.EnvironmentConfig;
+import de.qaware.cloud.deployer.commons.config.environment.ExecutionConfig;
+import de.qaware.cloud.deployer.commons.config.environment.HttpConfig;
+import de.qaware.cloud.deployer.commons.config.environment.RateLimitConfig;
+import de.qaware.cloud.deployer.commons.config.environment.RetryConfig;
 import de.qaware.cloud.deployer.commons.config.environment.SSLConfig;
+import de.qaware.cloud.deployer.commons.config.environment.TokenProvider;
+import de.qaware.cloud.deployer.commons.config.environment.WaitConfig;
 import de.qaware.cloud.deployer.commons.error.EnvironmentConfigException;
+import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
 import de.qaware.cloud.deployer.commons.strategy.Strategy;
 import de.qaware.cloud.deployer.kubernetes.config.cloud.KubernetesEnvironmentConfig;
 import de.qaware.cloud.deployer.plugin.extension.AuthExtension;
+import de.qaware.cloud.deployer.plugin.extension.CircuitBreakerExtension;
+import de.qaware.cloud.deployer.plugin.extension.CompressionExtension;
 import de.qaware.cloud.deployer.plugin.extension.EnvironmentExtension;
+import de.qaware.cloud.deployer.plugin.extension.ExecutionExtension;
+import de.qaware.cloud.deployer.plugin.extension.HttpExtension;
+import de.qaware.cloud.deployer.plugin.extension.RateLimitExtension;
+import de.qaware.cloud.deployer.plugin.extension.RetryExtension;
 import de.qaware.cloud.deployer.plugin.extension.SSLExtension;
+import de.qaware.cloud.deployer.plugin.extension.WaitExtension;
 import de.qaware.cloud.deployer.plugin.token.TokenInitializer;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import static de.qaware.cloud.deployer.plugin.logging.PluginMessageBundle.PLUGIN_MESSAGE_BUNDLE;
 
 /**
@@ -67,6 +87,34 @@ final class EnvironmentConfigFactory {
         SSLConfig sslConfig = extractSSLConfig(extension);
         environmentConfig.setSslConfig(sslConfig);
 
+        // Set execution config
+        ExecutionConfig executionConfig = extractExecutionConfig(extension);
+        environmentConfig.setExecutionConfig(executionConfig);
+
+        // Set wait configs
+        environmentConfig.setWaitConfig(extractWaitConfig(extension, extension.getWaitExtension()));
+        environmentConfig.setWaitProfiles(extractWaitProfiles(extension));
+
+        // Set retry config
+        RetryConfig retryConfig = extractRetryConfig(extension);
+        environmentConfig.setRetryConfig(retryConfig);
+
+        // Set circuit breaker config
+        CircuitBreakerConfig circuitBreakerConfig = extractCircuitBreakerConfig(extension);
+        environmentConfig.setCircuitBreakerConfig(circuitBreakerConfig);
+
+        // Set rate limit config
+        RateLimitConfig rateLimitConfig = extractRateLimitConfig(extension);
+        environmentConfig.setRateLimitConfig(rateLimitConfig);
+
+        // Set compression config
+        CompressionConfig compressionConfig = extractCompressionConfig(extension);
+        environmentConfig.setCompressionConfig(compressionConfig);
+
+        // Set http config
+        HttpConfig httpConfig = extractHttpConfig(extension);
+        environmentConfig.setHttpConfig(httpConfig);
+
         // Initialize the token
         initializeToken(extension, environmentConfig, authConfig);
 
@@ -91,7 +139,11 @@ final class EnvironmentConfigFactory {
         switch (extension.getDeployerType()) {
             case KUBERNETES:
                 String namespace = extractNamespace(extension);
-                config = new KubernetesEnvironmentConfig(id, baseUrl, strategy, namespace);
+                KubernetesEnvironmentConfig kubernetesConfig = new KubernetesEnvironmentConfig(id, baseUrl, strategy, namespace);
+                kubernetesConfig.setWatchEnabled(extension.isWatch());
+                kubernetesConfig.setSnapshotEnabled(extension.isSnapshot());
+                kubernetesConfig.setProtobufEnabled(extension.isProtobuf());
+                config = kubernetesConfig;
                 break;
             default:
                 config = new EnvironmentConfig(id, baseUrl, strategy);
@@ -131,16 +183,17 @@ final class EnvironmentConfigFactory {
      *
      * @param extension The extension which contains the ssl config.
      * @return The extracted ssl config.
+     * @throws EnvironmentConfigException If the certificate file can't be read or is empty.
      */
-    private static SSLConfig extractSSLConfig(EnvironmentExtension extension) {
+    private static SSLConfig extractSSLConfig(EnvironmentExtension extension) throws EnvironmentConfigException {
         SSLConfig sslConfig = new SSLConfig();
         SSLExtension sslExtension = extension.getSslExtension();
         if (sslExtension != null) {
             if (sslExtension.isTrustAll()) {
                 sslConfig = new SSLConfig(true);
             } else {
-                String certificate = sslExtension.getCertificate();
-                if (sslExtension.getCertificate() != null && !certificate.isEmpty()) {
+                String certificate = extractCertificate(sslExtension);
+                if (certificate != null && !certificate.isEmpty()) {
                     sslConfig = new SSLConfig(certificate);
                 } else {
                     sslConfig = new SSLConfig();
@@ -150,6 +203,191 @@ final class EnvironmentConfigFactory {
         return sslConfig;
     }
 
+    /**
+     * Reads the certificate of the specified ssl extension.
+     *
+     * @param sslExtension The ssl extension.
+     * @return The certificate or null if no certificate is specified.
+     * @throws EnvironmentConfigException If the certificate file can't be read or is empty.
+     */
+    private static String extractCertificate(SSLExtension sslExtension) throws EnvironmentConfigException {
+        try {
+            return sslExtension.getCertificate();
+        } catch (ResourceConfigException e) {
+            throw new EnvironmentConfigException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Extracts the execution config out of the specified extension.
+     *
+     * @param extension The extension which contains the execution config.
+     * @return The extracted execution config.
+     * @throws EnvironmentConfigException If the specified parallelism is invalid.
+     */
+    private static ExecutionConfig extractExecutionConfig(EnvironmentExtension extension) throws EnvironmentConfigException {
+        ExecutionConfig executionConfig = new ExecutionConfig();
+        ExecutionExtension executionExtension = extension.getExecutionExtension();
+        if (executionExtension != null) {
+            int parallelism = executionExtension.getParallelism();
+            if (parallelism < 1) {
+                throw new EnvironmentConfigException(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_INVALID_PARALLELISM", parallelism, extension.getId()));
+            }
+            executionConfig = new ExecutionConfig(parallelism, executionExtension.isDeleteBeforeCreate());
+        }
+        return executionConfig;
+    }
+
+    /**
+     * Extracts the wait profiles for special resource types out of the specified extension.
+     *
+     * @param extension The extension which contains the wait profiles.
+     * @return The extracted wait profiles mapped by the resource type.
+     * @throws EnvironmentConfigException If a wait profile is invalid.
+     */
+    private static Map<String, WaitConfig> extractWaitProfiles(EnvironmentExtension extension) throws EnvironmentConfigException {
+        Map<String, WaitConfig> waitProfiles = new HashMap<>();
+        for (Map.Entry<String, WaitExtension> waitProfile : extension.getWaitProfiles().entrySet()) {
+            waitProfiles.put(waitProfile.getKey(), extractWaitConfig(extension, waitProfile.getValue()));
+        }
+        return waitProfiles;
+    }
+
+    /**
+     * Extracts a wait config out of the specified wait extension.
+     *
+     * @param extension     The extension of the environment the wait extension belongs to.
+     * @param waitExtension The wait extension or null if the defaults are used.
+     * @return The extracted wait config.
+     * @throws EnvironmentConfigException If the specified values are invalid.
+     */
+    private static WaitConfig extractWaitConfig(EnvironmentExtension extension, WaitExtension waitExtension) throws EnvironmentConfigException {
+        if (waitExtension == null) {
+            return new WaitConfig();
+        }
+        long initialDelay = waitExtension.getInitialDelay();
+        long maxDelay = waitExtension.getMaxDelay();
+        double multiplier = waitExtension.getMultiplier();
+        double jitter = waitExtension.getJitter();
+        long timeout = waitExtension.getTimeout();
+        if (initialDelay <= 0 || maxDelay < initialDelay || multiplier < 1 || jitter < 0 || jitter >= 1 || timeout <= 0) {
+            throw new EnvironmentConfigException(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_INVALID_WAIT_POLICY", extension.getId()));
+        }
+        return new WaitConfig(initialDelay, maxDelay, multiplier, jitter, timeout);
+    }
+
+    /**
+     * Extracts the retry config out of the specified extension.
+     *
+     * @param extension The extension which contains the retry config.
+     * @return The extracted retry config.
+     * @throws EnvironmentConfigException If the specified values are invalid.
+     */
+    private static RetryConfig extractRetryConfig(EnvironmentExtension extension) throws EnvironmentConfigException {
+        RetryExtension retryExtension = extension.getRetryExtension();
+        if (retryExtension == null) {
+            return new RetryConfig();
+        }
+        int maxAttempts = retryExtension.getMaxAttempts();
+        long initialDelay = retryExtension.getInitialDelay();
+        long maxDelay = retryExtension.getMaxDelay();
+        double multiplier = retryExtension.getMultiplier();
+        double jitter = retryExtension.getJitter();
+        int budget = retryExtension.getBudget();
+        if (maxAttempts < 1 || initialDelay <= 0 || maxDelay < initialDelay || multiplier < 1 || jitter < 0 || jitter >= 1 || budget < 0) {
+            throw new EnvironmentConfigException(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_INVALID_RETRY_POLICY", extension.getId()));
+        }
+        return new RetryConfig(maxAttempts, initialDelay, maxDelay, multiplier, jitter, budget);
+    }
+
+    /**
+     * Extracts the circuit breaker config out of the specified extension.
+     *
+     * @param extension The extension which contains the circuit breaker config.
+     * @return The extracted circuit breaker config.
+     * @throws EnvironmentConfigException If the specified values are invalid.
+     */
+    private static CircuitBreakerConfig extractCircuitBreakerConfig(EnvironmentExtension extension) throws EnvironmentConfigException {
+        CircuitBreakerExtension circuitBreakerExtension = extension.getCircuitBreakerExtension();
+        if (circuitBreakerExtension == null) {
+            return new CircuitBreakerConfig();
+        }
+        int windowSize = circuitBreakerExtension.getWindowSize();
+        int minimumCalls = circuitBreakerExtension.getMinimumCalls();
+        double failureRateThreshold = circuitBreakerExtension.getFailureRateThreshold();
+        long slowCallDuration = circuitBreakerExtension.getSlowCallDuration();
+        long openDuration = circuitBreakerExtension.getOpenDuration();
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize || failureRateThreshold <= 0 || failureRateThreshold > 1 || slowCallDuration <= 0 || openDuration <= 0) {
+            throw new EnvironmentConfigException(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_INVALID_CIRCUIT_BREAKER", extension.getId()));
+        }
+        return new CircuitBreakerConfig(windowSize, minimumCalls, failureRateThreshold, slowCallDuration, openDuration);
+    }
+
+    /**
+     * Extracts the rate limit config out of the specified extension.
+     *
+     * @param extension The extension which contains the rate limit config.
+     * @return The extracted rate limit config.
+     * @throws EnvironmentConfigException If the specified values are invalid.
+     */
+    private static RateLimitConfig extractRateLimitConfig(EnvironmentExtension extension) throws EnvironmentConfigException {
+        RateLimitExtension rateLimitExtension = extension.getRateLimitExtension();
+        if (rateLimitExtension == null) {
+            return new RateLimitConfig();
+        }
+        double qps = rateLimitExtension.getQps();
+        int burst = rateLimitExtension.getBurst();
+        if (qps < 0 || burst < 1) {
+            throw new EnvironmentConfigException(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_INVALID_RATE_LIMIT", extension.getId()));
+        }
+        return new RateLimitConfig(qps, burst);
+    }
+
+    /**
+     * Extracts the compression config out of the specified extension.
+     *
+     * @param extension The extension which contains the compression config.
+     * @return The extracted compression config.
+     * @throws EnvironmentConfigException If the specified values are invalid.
+     */
+    private static CompressionConfig extractCompressionConfig(EnvironmentExtension extension) throws EnvironmentConfigException {
+        CompressionExtension compressionExtension = extension.getCompressionExtension();
+        if (compressionExtension == null) {
+            return new CompressionConfig();
+        }
+        long threshold = compressionExtension.getThreshold();
+        if (threshold < 0) {
+            throw new EnvironmentConfigException(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_INVALID_COMPRESSION", extension.getId()));
+        }
+        return new CompressionConfig(compressionExtension.isEnabled(), threshold);
+    }
+
+    /**
+     * Extracts the http config out of the specified extension.
+     *
+     * @param extension The extension which contains the http config.
+     * @return The extracted http config.
+     * @throws EnvironmentConfigException If the specified values are invalid.
+     */
+    private static HttpConfig extractHttpConfig(EnvironmentExtension extension) throws EnvironmentConfigException {
+        HttpExtension httpExtension = extension.getHttpExtension();
+        if (httpExtension == null) {
+            return new HttpConfig();
+        }
+        List<String> protocols = httpExtension.getProtocols();
+        boolean validProtocols = protocols != null && protocols.contains(HttpConfig.PROTOCOL_HTTP_1_1)
+                && protocols.stream().allMatch(protocol -> HttpConfig.PROTOCOL_HTTP_1_1.equals(protocol) || HttpConfig.PROTOCOL_HTTP_2.equals(protocol));
+        if (httpExtension.getMaxIdleConnections() < 0 || httpExtension.getKeepAliveDuration() <= 0 || httpExtension.getMaxRequests() < 1
+                || httpExtension.getMaxRequestsPerHost() < 1 || !validProtocols || httpExtension.getConnectTimeout() < 0
+                || httpExtension.getReadTimeout() < 0 || httpExtension.getWriteTimeout() < 0 || httpExtension.getCallTimeout() < 0
+                || httpExtension.getTlsSessionCacheSize() < 0) {
+            throw new EnvironmentConfigException(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_INVALID_HTTP", extension.getId()));
+        }
+        return new HttpConfig(httpExtension.getMaxIdleConnections(), httpExtension.getKeepAliveDuration(), httpExtension.getMaxRequests(),
+                httpExtension.getMaxRequestsPerHost(), protocols, httpExtension.getConnectTimeout(), httpExtension.getReadTimeout(),
+                httpExtension.getWriteTimeout(), httpExtension.getCallTimeout(), httpExtension.getTlsSessionCacheSize());
+    }
+
     /**
      * Extracts the authorization config out the specified extension.
      *
@@ -217,7 +455,8 @@ final class EnvironmentConfigFactory {
     }
 
     /**
-     * Uses the extension's token initializer to initialize the token in the auth config, if available.
+     * Uses the extension's token initializer to initialize the token and, if the token can be refreshed, its provider
+     * in the auth config, if available.
      *
      * @param extension         The extension which contains the token initializer or null.
      * @param environmentConfig The environment config that will be used to retrieve the token.
@@ -228,7 +467,9 @@ final class EnvironmentConfigFactory {
         TokenInitializer tokenInitializer = extension.getAuthExtension().getToken();
         if (tokenInitializer != null) {
             String token = tokenInitializer.initialize(environmentConfig);
+            TokenProvider tokenProvider = tokenInitializer.initializeProvider(environmentConfig);
             authConfig.setToken(token);
+            authConfig.setTokenProvider(tokenProvider);
         }
     }
 
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.plugin.extension;
+
+import de.qaware.cloud.deployer.commons.config.environment.CircuitBreakerConfig;
+
+/**
+ * Contains the circuit breaker configuration for a environment.
+ */
+public class CircuitBreakerExtension {
+
+    /**
+     * The number of calls whose outcomes are tracked.
+     */
+    private int windowSize = CircuitBreakerConfig.DEFAULT_WINDOW_SIZE;
+
+    /**
+     * The number of calls which have to be tracked before the circuit may open.
+     */
+    private int minimumCalls = CircuitBreakerConfig.DEFAULT_MINIMUM_CALLS;
+
+    /**
+     * The fraction of failed calls which opens the circuit.
+     */
+    private double failureRateThreshold = CircuitBreakerConfig.DEFAULT_FAILURE_RATE_THRESHOLD;
+
+    /**
+     * The duration in milliseconds after which a call counts as failed.
+     */
+    private long slowCallDuration = CircuitBreakerConfig.DEFAULT_SLOW_CALL_DURATION;
+
+    /**
+     * The duration in milliseconds the circuit stays open before a probe call is allowed.
+     */
+    private long openDuration = CircuitBreakerConfig.DEFAULT_OPEN_DURATION;
+
+    /**
+     * Returns the number of calls whose outcomes are tracked.
+     *
+     * @return The window size.
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Sets the number of calls whose outcomes are tracked.
+     *
+     * @param windowSize The window size.
+     */
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Returns the number of calls which have to be tracked before the circuit may open.
+     *
+     * @return The minimum number of calls.
+     */
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    /**
+     * Sets the number of calls which have to be tracked before the circuit may open.
+     *
+     * @param minimumCalls The minimum number of calls.
+     */
+    public void setMinimumCalls(int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+    }
+
+    /**
+     * Returns the fraction of failed calls which opens the circuit.
+     *
+     * @return The failure rate threshold.
+     */
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    /**
+     * Sets the fraction of failed calls which opens the circuit.
+     *
+     * @param failureRateThreshold The failure rate threshold.
+     */
+    public void setFailureRateThreshold(double failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    /**
+     * Returns the duration in milliseconds after which a call counts as failed.
+     *
+     * @return The slow call duration.
+     */
+    public long getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    /**
+     * Sets the duration in milliseconds after which a call counts as failed.
+     *
+     * @param slowCallDuration The slow call duration.
+     */
+    public void setSlowCallDuration(long slowCallDuration) {
+        this.slowCallDuration = slowCallDuration;
+    }
+
+    /**
+     * Returns the duration in milliseconds the circuit stays open before a probe call is allowed.
+     *
+     * @return The open duration.
+     */
+    public long getOpenDuration() {
+        return openDuration;
+    }
+
+    /**
+     * Sets the duration in milliseconds the circuit stays open before a probe call is allowed.
+     *
+     * @param openDuration The open duration.
+     */
+    public void setOpenDuration(long openDuration) {
+        this.openDuration = openDuration;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.plugin.extension;
+
+import de.qaware.cloud.deployer.commons.config.environment.CompressionConfig;
+
+/**
+ * Contains the compression configuration for a environment. Declaring it enables the compression, unless it's
+ * disabled explicitly.
+ */
+public class CompressionExtension {
+
+    /**
+     * Indicates whether request bodies are compressed.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The size in bytes a request body needs to be compressed.
+     */
+    private long threshold = CompressionConfig.DEFAULT_THRESHOLD;
+
+    /**
+     * Indicates whether request bodies are compressed.
+     *
+     * @return TRUE if request bodies are compressed, FALSE otherwise.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether request bodies are compressed.
+     *
+     * @param enabled TRUE if request bodies are compressed, FALSE otherwise.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the size in bytes a request body needs to be compressed.
+     *
+     * @return The threshold.
+     */
+    public long getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Sets the size in bytes a request body needs to be compressed.
+     *
+     * @param threshold The threshold.
+     */
+    public void setThreshold(long threshold) {
+        this.threshold = threshold;
+    }
+}
@@ -20,6 +20,8 @@ import org.gradle.api.Project;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Contains all plugin configurations.
@@ -27,15 +29,27 @@ import java.util.Collection;
 public class DeployerExtension {
 
     /**
-     * Contains all configs defined in this deployer extension.
+     * Contains all configs defined in this deployer extension mapped to the closures which configure them. The
+     * closures are applied when the configs are requested for the first time, so builds which don't deploy don't
+     * pay for them.
      */
-    private Collection<EnvironmentExtension> configs = new ArrayList<>();
+    private final Map<EnvironmentExtension, Closure> pendingConfigs = new LinkedHashMap<>();
+
+    /**
+     * Contains all configs defined in this deployer extension. It is null as long as the configs aren't configured.
+     */
+    private Collection<EnvironmentExtension> configs;
 
     /**
      * The project this deployer extension belongs to.
      */
     private Project project;
 
+    /**
+     * The number of environments which are processed at the same time by the tasks for all environments.
+     */
+    private int parallelEnvironments = 1;
+
     /**
      * Creates a new deployer extension.
      *
@@ -46,37 +60,77 @@ public class DeployerExtension {
     }
 
     /**
-     * Creates a new marathon environment extension.
+     * Creates a new marathon environment extension. The closure is applied when the configs are requested, so the
+     * returned extension isn't configured before {@link #getConfigs()} is called for the first time. Values set on
+     * it before that are overwritten by the closure.
      *
      * @param closure The closure which contains the environment configuration.
-     * @return The new marathon environment extension.
+     * @return The new marathon environment extension, not configured yet.
      */
     public EnvironmentExtension marathon(Closure closure) {
-        EnvironmentExtension config = new EnvironmentExtension(DeployerType.MARATHON, project);
-        config = (EnvironmentExtension) project.configure(config, closure);
-        configs.add(config);
-        return config;
+        return addConfig(new EnvironmentExtension(DeployerType.MARATHON, project), closure);
     }
 
     /**
-     * Creates a new kubernetes environment extension.
+     * Creates a new kubernetes environment extension. The closure is applied when the configs are requested, so the
+     * returned extension isn't configured before {@link #getConfigs()} is called for the first time. Values set on
+     * it before that are overwritten by the closure.
      *
      * @param closure The closure which contains the environment configuration.
-     * @return The new kubernetes environment extension.
+     * @return The new kubernetes environment extension, not configured yet.
      */
     public EnvironmentExtension kubernetes(Closure closure) {
-        EnvironmentExtension config = new EnvironmentExtension(DeployerType.KUBERNETES, project);
-        config = (EnvironmentExtension) project.configure(config, closure);
-        configs.add(config);
-        return config;
+        return addConfig(new EnvironmentExtension(DeployerType.KUBERNETES, project), closure);
     }
 
     /**
-     * Returns the configs for this deployer extension.
+     * Returns the configs for this deployer extension. The first call configures all configs.
      *
      * @return The configs.
      */
-    public Collection<EnvironmentExtension> getConfigs() {
+    public synchronized Collection<EnvironmentExtension> getConfigs() {
+        if (configs == null) {
+            configs = new ArrayList<>();
+            for (Map.Entry<EnvironmentExtension, Closure> pendingConfig : pendingConfigs.entrySet()) {
+                configs.add((EnvironmentExtension) project.configure(pendingConfig.getKey(), pendingConfig.getValue()));
+            }
+            pendingConfigs.clear();
+        }
         return configs;
     }
+
+    /**
+     * Adds the specified config. If the configs are already configured the closure is applied immediately.
+     *
+     * @param config  The config.
+     * @param closure The closure which configures the config.
+     * @return The config.
+     */
+    private synchronized EnvironmentExtension addConfig(EnvironmentExtension config, Closure closure) {
+        if (configs == null) {
+            pendingConfigs.put(config, closure);
+            return config;
+        }
+        EnvironmentExtension configuredConfig = (EnvironmentExtension) project.configure(config, closure);
+        configs.add(configuredConfig);
+        return configuredConfig;
+    }
+
+    /**
+     * Returns the number of environments which are processed at the same time by the tasks for all environments.
+     *
+     * @return The number of parallel environments.
+     */
+    public int getParallelEnvironments() {
+        return parallelEnvironments;
+    }
+
+    /**
+     * Sets the number of environments which are processed at the same time by the tasks for all environments.
+     *
+     * @param parallelEnvironments The number of parallel environments.
+     */
+    public void setParallelEnvironments(int parallelEnvironments) {
+        this.parallelEnvironments = parallelEnvironments;
+    }
 }
@@ -19,7 +19,9 @@ import groovy.lang.Closure;
 import org.gradle.api.Project;
 
 import java.io.File;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Contains all relevant configuration for a environment.
@@ -56,6 +58,46 @@ public class EnvironmentExtension {
      */
     private AuthExtension authExtension;
 
+    /**
+     * The execution configuration for this environment.
+     */
+    private ExecutionExtension executionExtension;
+
+    /**
+     * The wait policy configuration for this environment.
+     */
+    private WaitExtension waitExtension;
+
+    /**
+     * The wait policy configurations for special resource types mapped by the resource type.
+     */
+    private Map<String, WaitExtension> waitProfiles = new HashMap<>();
+
+    /**
+     * The retry policy configuration for this environment.
+     */
+    private RetryExtension retryExtension;
+
+    /**
+     * The circuit breaker configuration for this environment.
+     */
+    private CircuitBreakerExtension circuitBreakerExtension;
+
+    /**
+     * The rate limit configuration for this environment.
+     */
+    private RateLimitExtension rateLimitExtension;
+
+    /**
+     * The compression configuration for this environment.
+     */
+    private CompressionExtension compressionExtension;
+
+    /**
+     * The http client tuning for this environment.
+     */
+    private HttpExtension httpExtension;
+
     /**
      * The list of config files which belong to this environment.
      */
@@ -66,6 +108,22 @@ public class EnvironmentExtension {
      */
     private String namespace;
 
+    /**
+     * Signals whether kubernetes resource states are tracked using watches instead of polling.
+     */
+    private boolean watch;
+
+    /**
+     * Signals whether kubernetes existence checks are answered by a snapshot of the namespace instead of single
+     * requests.
+     */
+    private boolean snapshot = true;
+
+    /**
+     * Signals whether kubernetes collections are listed and watched using protobuf instead of json.
+     */
+    private boolean protobuf;
+
     /**
      * Creates a new environment extension.
      *
@@ -101,6 +159,104 @@ public class EnvironmentExtension {
         return auth;
     }
 
+    /**
+     * Adds a new execution configuration to this environment.
+     *
+     * @param closure The closure which contains the execution configuration.
+     * @return The execution configuration.
+     */
+    public ExecutionExtension execution(Closure closure) {
+        ExecutionExtension execution = (ExecutionExtension) project.configure(new ExecutionExtension(), closure);
+        this.executionExtension = execution;
+        return execution;
+    }
+
+    /**
+     * Adds a new wait policy configuration to this environment. It's used for all resource types without a own
+     * profile.
+     *
+     * @param closure The closure which contains the wait policy configuration.
+     * @return The wait policy configuration.
+     */
+    public WaitExtension waitPolicy(Closure closure) {
+        WaitExtension waitPolicy = (WaitExtension) project.configure(new WaitExtension(), closure);
+        this.waitExtension = waitPolicy;
+        return waitPolicy;
+    }
+
+    /**
+     * Adds a new wait policy configuration for the specified resource type (e.g. Namespace) to this environment.
+     *
+     * @param resourceType The resource type the configuration belongs to.
+     * @param closure      The closure which contains the wait policy configuration.
+     * @return The wait policy configuration.
+     */
+    public WaitExtension waitPolicy(String resourceType, Closure closure) {
+        WaitExtension waitPolicy = (WaitExtension) project.configure(new WaitExtension(), closure);
+        this.waitProfiles.put(resourceType, waitPolicy);
+        return waitPolicy;
+    }
+
+    /**
+     * Adds a new retry policy configuration to this environment.
+     *
+     * @param closure The closure which contains the retry policy configuration.
+     * @return The retry policy configuration.
+     */
+    public RetryExtension retry(Closure closure) {
+        RetryExtension retry = (RetryExtension) project.configure(new RetryExtension(), closure);
+        this.retryExtension = retry;
+        return retry;
+    }
+
+    /**
+     * Adds a new circuit breaker configuration to this environment.
+     *
+     * @param closure The closure which contains the circuit breaker configuration.
+     * @return The circuit breaker configuration.
+     */
+    public CircuitBreakerExtension circuitBreaker(Closure closure) {
+        CircuitBreakerExtension circuitBreaker = (CircuitBreakerExtension) project.configure(new CircuitBreakerExtension(), closure);
+        this.circuitBreakerExtension = circuitBreaker;
+        return circuitBreaker;
+    }
+
+    /**
+     * Adds a new rate limit configuration to this environment.
+     *
+     * @param closure The closure which contains the rate limit configuration.
+     * @return The rate limit configuration.
+     */
+    public RateLimitExtension rateLimit(Closure closure) {
+        RateLimitExtension rateLimit = (RateLimitExtension) project.configure(new RateLimitExtension(), closure);
+        this.rateLimitExtension = rateLimit;
+        return rateLimit;
+    }
+
+    /**
+     * Adds a new compression configuration to this environment.
+     *
+     * @param closure The closure which contains the compression configuration.
+     * @return The compression configuration.
+     */
+    public CompressionExtension compression(Closure closure) {
+        CompressionExtension compression = (CompressionExtension) project.configure(new CompressionExtension(), closure);
+        this.compressionExtension = compression;
+        return compression;
+    }
+
+    /**
+     * Adds a new http client tuning to this environment.
+     *
+     * @param closure The closure which contains the http client tuning.
+     * @return The http client tuning.
+     */
+    public HttpExtension http(Closure closure) {
+        HttpExtension http = (HttpExtension) project.configure(new HttpExtension(), closure);
+        this.httpExtension = http;
+        return http;
+    }
+
     /**
      * Returns the id of this environment.
      *
@@ -182,6 +338,78 @@ public class EnvironmentExtension {
         return authExtension;
     }
 
+    /**
+     * Returns the execution configuration for this environment.
+     *
+     * @return The execution configuration.
+     */
+    public ExecutionExtension getExecutionExtension() {
+        return executionExtension;
+    }
+
+    /**
+     * Returns the wait policy configuration for this environment.
+     *
+     * @return The wait policy configuration.
+     */
+    public WaitExtension getWaitExtension() {
+        return waitExtension;
+    }
+
+    /**
+     * Returns the wait policy configurations for special resource types mapped by the resource type.
+     *
+     * @return The wait policy configurations.
+     */
+    public Map<String, WaitExtension> getWaitProfiles() {
+        return waitProfiles;
+    }
+
+    /**
+     * Returns the retry policy configuration for this environment.
+     *
+     * @return The retry policy configuration.
+     */
+    public RetryExtension getRetryExtension() {
+        return retryExtension;
+    }
+
+    /**
+     * Returns the circuit breaker configuration for this environment.
+     *
+     * @return The circuit breaker configuration.
+     */
+    public CircuitBreakerExtension getCircuitBreakerExtension() {
+        return circuitBreakerExtension;
+    }
+
+    /**
+     * Returns the rate limit configuration for this environment.
+     *
+     * @return The rate limit configuration.
+     */
+    public RateLimitExtension getRateLimitExtension() {
+        return rateLimitExtension;
+    }
+
+    /**
+     * Returns the compression configuration for this environment.
+     *
+     * @return The compression configuration.
+     */
+    public CompressionExtension getCompressionExtension() {
+        return compressionExtension;
+    }
+
+    /**
+     * Returns the http client tuning for this environment.
+     *
+     * @return The http client tuning.
+     */
+    public HttpExtension getHttpExtension() {
+        return httpExtension;
+    }
+
     /**
      * Returns the config files for this environment.
      *
@@ -217,4 +445,59 @@ public class EnvironmentExtension {
     public void setNamespace(String namespace) {
         this.namespace = namespace;
     }
+
+    /**
+     * Returns whether kubernetes resource states are tracked using watches instead of polling.
+     *
+     * @return TRUE if watches are used, FALSE otherwise.
+     */
+    public boolean isWatch() {
+        return watch;
+    }
+
+    /**
+     * Sets whether kubernetes resource states are tracked using watches instead of polling.
+     *
+     * @param watch TRUE if watches are used, FALSE otherwise.
+     */
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
+
+    /**
+     * Returns whether kubernetes existence checks are answered by a snapshot of the namespace instead of single
+     * requests.
+     *
+     * @return TRUE if a snapshot is used, FALSE otherwise.
+     */
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Sets whether kubernetes existence checks are answered by a snapshot of the namespace instead of single requests.
+     *
+     * @param snapshot TRUE if a snapshot is used, FALSE otherwise.
+     */
+    public void setSnapshot(boolean snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Returns whether kubernetes collections are listed and watched using protobuf instead of json.
+     *
+     * @return TRUE if protobuf is used, FALSE otherwise.
+     */
+    public boolean isProtobuf() {
+        return protobuf;
+    }
+
+    /**
+     * Sets whether kubernetes collections are listed and watched using protobuf instead of json.
+     *
+     * @param protobuf TRUE if protobuf is used, FALSE otherwise.
+     */
+    public void setProtobuf(boolean protobuf) {
+        this.protobuf = protobuf;
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.plugin.extension;
+
+/**
+ * Contains the execution configuration for a environment.
+ */
+public class ExecutionExtension {
+
+    /**
+     * The number of resources which are processed at the same time.
+     */
+    private int parallelism = 1;
+
+    /**
+     * Indicates whether all existing resources are deleted before the first resource is created.
+     */
+    private boolean deleteBeforeCreate;
+
+    /**
+     * Returns the number of resources which are processed at the same time.
+     *
+     * @return The parallelism.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the number of resources which are processed at the same time.
+     *
+     * @param parallelism The parallelism.
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Indicates whether all existing resources are deleted before the first resource is created.
+     *
+     * @return TRUE if deletions and creations are separated, FALSE otherwise.
+     */
+    public boolean isDeleteBeforeCreate() {
+        return deleteBeforeCreate;
+    }
+
+    /**
+     * Sets whether all existing resources are deleted before the first resource is created.
+     *
+     * @param deleteBeforeCreate TRUE if deletions and creations are separated, FALSE otherwise.
+     */
+    public void setDeleteBeforeCreate(boolean deleteBeforeCreate) {
+        this.deleteBeforeCreate = deleteBeforeCreate;
+    }
+}
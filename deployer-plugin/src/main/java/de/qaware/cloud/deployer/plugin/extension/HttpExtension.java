@@ -0,0 +1,257 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.plugin.extension;
+
+import de.qaware.cloud.deployer.commons.config.environment.HttpConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contains the tuning of the http client for a environment. Options which aren't specified keep their defaults.
+ */
+public class HttpExtension {
+
+    /**
+     * The number of idle connections which are kept in the pool.
+     */
+    private int maxIdleConnections = HttpConfig.DEFAULT_MAX_IDLE_CONNECTIONS;
+
+    /**
+     * The duration in milliseconds an idle connection is kept alive.
+     */
+    private long keepAliveDuration = HttpConfig.DEFAULT_KEEP_ALIVE_DURATION;
+
+    /**
+     * The number of requests which are executed concurrently.
+     */
+    private int maxRequests = HttpConfig.DEFAULT_MAX_REQUESTS;
+
+    /**
+     * The number of requests which are executed concurrently for one host.
+     */
+    private int maxRequestsPerHost = HttpConfig.DEFAULT_MAX_REQUESTS_PER_HOST;
+
+    /**
+     * The protocols which may be used, in order of preference.
+     */
+    private List<String> protocols = new ArrayList<>(HttpConfig.DEFAULT_PROTOCOLS);
+
+    /**
+     * The duration in milliseconds after which connecting times out.
+     */
+    private long connectTimeout = HttpConfig.DEFAULT_CONNECT_TIMEOUT;
+
+    /**
+     * The duration in milliseconds after which reading times out.
+     */
+    private long readTimeout = HttpConfig.DEFAULT_READ_TIMEOUT;
+
+    /**
+     * The duration in milliseconds after which writing times out.
+     */
+    private long writeTimeout = HttpConfig.DEFAULT_WRITE_TIMEOUT;
+
+    /**
+     * The duration in milliseconds after which a whole call times out.
+     */
+    private long callTimeout = HttpConfig.DEFAULT_CALL_TIMEOUT;
+
+    /**
+     * The number of cached tls sessions.
+     */
+    private int tlsSessionCacheSize = HttpConfig.DEFAULT_TLS_SESSION_CACHE_SIZE;
+
+    /**
+     * Returns the number of idle connections which are kept in the pool.
+     *
+     * @return The maximum number of idle connections.
+     */
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    /**
+     * Sets the number of idle connections which are kept in the pool.
+     *
+     * @param maxIdleConnections The maximum number of idle connections.
+     */
+    public void setMaxIdleConnections(int maxIdleConnections) {
+        this.maxIdleConnections = maxIdleConnections;
+    }
+
+    /**
+     * Returns the duration in milliseconds an idle connection is kept alive.
+     *
+     * @return The keep-alive duration.
+     */
+    public long getKeepAliveDuration() {
+        return keepAliveDuration;
+    }
+
+    /**
+     * Sets the duration in milliseconds an idle connection is kept alive.
+     *
+     * @param keepAliveDuration The keep-alive duration.
+     */
+    public void setKeepAliveDuration(long keepAliveDuration) {
+        this.keepAliveDuration = keepAliveDuration;
+    }
+
+    /**
+     * Returns the number of requests which are executed concurrently.
+     *
+     * @return The maximum number of requests.
+     */
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    /**
+     * Sets the number of requests which are executed concurrently.
+     *
+     * @param maxRequests The maximum number of requests.
+     */
+    public void setMaxRequests(int maxRequests) {
+        this.maxRequests = maxRequests;
+    }
+
+    /**
+     * Returns the number of requests which are executed concurrently for one host.
+     *
+     * @return The maximum number of requests per host.
+     */
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    /**
+     * Sets the number of requests which are executed concurrently for one host.
+     *
+     * @param maxRequestsPerHost The maximum number of requests per host.
+     */
+    public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    /**
+     * Returns the protocols which may be used, in order of preference.
+     *
+     * @return The protocols.
+     */
+    public List<String> getProtocols() {
+        return protocols;
+    }
+
+    /**
+     * Sets the protocols which may be used, in order of preference.
+     *
+     * @param protocols The protocols.
+     */
+    public void setProtocols(List<String> protocols) {
+        this.protocols = protocols;
+    }
+
+    /**
+     * Returns the duration in milliseconds after which connecting times out.
+     *
+     * @return The connect timeout.
+     */
+    public long getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * Sets the duration in milliseconds after which connecting times out.
+     *
+     * @param connectTimeout The connect timeout.
+     */
+    public void setConnectTimeout(long connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    /**
+     * Returns the duration in milliseconds after which reading times out.
+     *
+     * @return The read timeout.
+     */
+    public long getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * Sets the duration in milliseconds after which reading times out.
+     *
+     * @param readTimeout The read timeout.
+     */
+    public void setReadTimeout(long readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Returns the duration in milliseconds after which writing times out.
+     *
+     * @return The write timeout.
+     */
+    public long getWriteTimeout() {
+        return writeTimeout;
+    }
+
+    /**
+     * Sets the duration in milliseconds after which writing times out.
+     *
+     * @param writeTimeout The write timeout.
+     */
+    public void setWriteTimeout(long writeTimeout) {
+        this.writeTimeout = writeTimeout;
+    }
+
+    /**
+     * Returns the duration in milliseconds after which a whole call times out.
+     *
+     * @return The call timeout.
+     */
+    public long getCallTimeout() {
+        return callTimeout;
+    }
+
+    /**
+     * Sets the duration in milliseconds after which a whole call times out.
+     *
+     * @param callTimeout The call timeout.
+     */
+    public void setCallTimeout(long callTimeout) {
+        this.callTimeout = callTimeout;
+    }
+
+    /**
+     * Returns the number of cached tls sessions.
+     *
+     * @return The tls session cache size.
+     */
+    public int getTlsSessionCacheSize() {
+        return tlsSessionCacheSize;
+    }
+
+    /**
+     * Sets the number of cached tls sessions.
+     *
+     * @param tlsSessionCacheSize The tls session cache size.
+     */
+    public void setTlsSessionCacheSize(int tlsSessionCacheSize) {
+        this.tlsSessionCacheSize = tlsSessionCacheSize;
+    }
+}
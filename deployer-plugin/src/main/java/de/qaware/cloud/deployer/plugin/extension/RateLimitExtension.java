@@ -0,0 +1,70 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.plugin.extension;
+
+import de.qaware.cloud.deployer.commons.config.environment.RateLimitConfig;
+
+/**
+ * Contains the rate limit configuration for a environment.
+ */
+public class RateLimitExtension {
+
+    /**
+     * The number of requests per second - 0 means unlimited.
+     */
+    private double qps = RateLimitConfig.DEFAULT_QPS;
+
+    /**
+     * The number of requests which may be sent at once.
+     */
+    private int burst = RateLimitConfig.DEFAULT_BURST;
+
+    /**
+     * Returns the number of requests per second - 0 means unlimited.
+     *
+     * @return The number of requests per second.
+     */
+    public double getQps() {
+        return qps;
+    }
+
+    /**
+     * Sets the number of requests per second - 0 means unlimited.
+     *
+     * @param qps The number of requests per second.
+     */
+    public void setQps(double qps) {
+        this.qps = qps;
+    }
+
+    /**
+     * Returns the number of requests which may be sent at once.
+     *
+     * @return The burst.
+     */
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * Sets the number of requests which may be sent at once.
+     *
+     * @param burst The burst.
+     */
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+}
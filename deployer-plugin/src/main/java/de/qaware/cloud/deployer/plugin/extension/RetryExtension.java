@@ -0,0 +1,162 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.plugin.extension;
+
+import de.qaware.cloud.deployer.commons.config.environment.RetryConfig;
+
+/**
+ * Contains the retry policy configuration for a environment.
+ */
+public class RetryExtension {
+
+    /**
+     * The maximum number of attempts of a single call (including the first one).
+     */
+    private int maxAttempts = RetryConfig.DEFAULT_MAX_ATTEMPTS;
+
+    /**
+     * The delay in milliseconds before the first retry.
+     */
+    private long initialDelay = RetryConfig.DEFAULT_INITIAL_DELAY;
+
+    /**
+     * The maximum delay in milliseconds before a retry.
+     */
+    private long maxDelay = RetryConfig.DEFAULT_MAX_DELAY;
+
+    /**
+     * The factor the delay grows with after every retry.
+     */
+    private double multiplier = RetryConfig.DEFAULT_MULTIPLIER;
+
+    /**
+     * The fraction by which a delay is randomly increased or decreased.
+     */
+    private double jitter = RetryConfig.DEFAULT_JITTER;
+
+    /**
+     * The maximum number of retries of all calls of a deploy run.
+     */
+    private int budget = RetryConfig.DEFAULT_BUDGET;
+
+    /**
+     * Returns the maximum number of attempts of a single call (including the first one).
+     *
+     * @return The maximum number of attempts.
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Sets the maximum number of attempts of a single call (including the first one).
+     *
+     * @param maxAttempts The maximum number of attempts.
+     */
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Returns the delay in milliseconds before the first retry.
+     *
+     * @return The initial delay.
+     */
+    public long getInitialDelay() {
+        return initialDelay;
+    }
+
+    /**
+     * Sets the delay in milliseconds before the first retry.
+     *
+     * @param initialDelay The initial delay.
+     */
+    public void setInitialDelay(long initialDelay) {
+        this.initialDelay = initialDelay;
+    }
+
+    /**
+     * Returns the maximum delay in milliseconds before a retry.
+     *
+     * @return The maximum delay.
+     */
+    public long getMaxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * Sets the maximum delay in milliseconds before a retry.
+     *
+     * @param maxDelay The maximum delay.
+     */
+    public void setMaxDelay(long maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     * Returns the factor the delay grows with after every retry.
+     *
+     * @return The multiplier.
+     */
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    /**
+     * Sets the factor the delay grows with after every retry.
+     *
+     * @param multiplier The multiplier.
+     */
+    public void setMultiplier(double multiplier) {
+        this.multiplier = multiplier;
+    }
+
+    /**
+     * Returns the fraction by which a delay is randomly increased or decreased.
+     *
+     * @return The jitter.
+     */
+    public double getJitter() {
+        return jitter;
+    }
+
+    /**
+     * Sets the fraction by which a delay is randomly increased or decreased.
+     *
+     * @param jitter The jitter.
+     */
+    public void setJitter(double jitter) {
+        this.jitter = jitter;
+    }
+
+    /**
+     * Returns the maximum number of retries of all calls of a deploy run.
+     *
+     * @return The retry budget.
+     */
+    public int getBudget() {
+        return budget;
+    }
+
+    /**
+     * Sets the maximum number of retries of all calls of a deploy run.
+     *
+     * @param budget The retry budget.
+     */
+    public void setBudget(int budget) {
+        this.budget = budget;
+    }
+}
@@ -21,6 +21,7 @@ import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
 
 import java.io.File;
 
+import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
 import static de.qaware.cloud.deployer.plugin.logging.PluginMessageBundle.PLUGIN_MESSAGE_BUNDLE;
 
 /**
@@ -34,7 +35,12 @@ public class SSLExtension {
     private boolean trustAll;
 
     /**
-     * Specifies a custom certificate which is trusted.
+     * The file which contains the custom certificate which is trusted.
+     */
+    private File certificateFile;
+
+    /**
+     * The content of the certificate file. It is read when the certificate is requested for the first time.
      */
     private String certificate;
 
@@ -57,27 +63,45 @@ public class SSLExtension {
     }
 
     /**
-     * Returns the custom certificate which is trusted.
+     * Returns the custom certificate which is trusted. The certificate file is read on the first call, so builds
+     * which don't deploy never touch it.
      *
-     * @return The trusted certificate.
+     * @return The trusted certificate or null if no certificate file was specified.
+     * @throws ResourceConfigException    If an error during file reading occurs.
+     * @throws EnvironmentConfigException If the file is empty.
      */
-    public String getCertificate() {
+    public String getCertificate() throws ResourceConfigException, EnvironmentConfigException {
+        if (certificate == null && certificateFile != null) {
+            String fileContent = FileUtil.readFileContent(certificateFile);
+            if (fileContent.isEmpty()) {
+                throw new EnvironmentConfigException(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_RETRIEVING_CERTIFICATE_FROM_FILE", certificateFile.getName()));
+            }
+            certificate = fileContent;
+        }
         return certificate;
     }
 
     /**
-     * Sets a custom certificate which will be trust from the specified file.
+     * Returns the file which contains the custom certificate which is trusted.
+     *
+     * @return The certificate file.
+     */
+    public File getCertificateFile() {
+        return certificateFile;
+    }
+
+    /**
+     * Sets the file which contains a custom certificate which will be trusted. The file is read when the certificate
+     * is requested.
      *
      * @param certificateFile The file which contains the certificate.
-     * @throws ResourceConfigException    If an error during file reading occurs.
-     * @throws EnvironmentConfigException If the file is empty.
+     * @throws ResourceConfigException If the file is null.
      */
-    public void setCertificate(File certificateFile) throws ResourceConfigException, EnvironmentConfigException {
-        String fileContent = FileUtil.readFileContent(certificateFile);
-        if (!fileContent.isEmpty()) {
-            this.certificate = fileContent;
-        } else {
-            throw new EnvironmentConfigException(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_RETRIEVING_CERTIFICATE_FROM_FILE", certificateFile.getName()));
+    public void setCertificate(File certificateFile) throws ResourceConfigException {
+        if (certificateFile == null) {
+            throw new ResourceConfigException(COMMONS_MESSAGE_BUNDLE.getMessage("DEPLOYER_COMMONS_ERROR_INVALID_FILENAME"));
         }
+        this.certificateFile = certificateFile;
+        this.certificate = null;
     }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.plugin.extension;
+
+import de.qaware.cloud.deployer.commons.config.environment.WaitConfig;
+
+/**
+ * Contains the wait policy configuration for a environment or a special resource type.
+ */
+public class WaitExtension {
+
+    /**
+     * The delay in milliseconds before the second state check.
+     */
+    private long initialDelay = WaitConfig.DEFAULT_INITIAL_DELAY;
+
+    /**
+     * The maximum delay in milliseconds between two state checks.
+     */
+    private long maxDelay = WaitConfig.DEFAULT_MAX_DELAY;
+
+    /**
+     * The factor the delay grows with after every state check.
+     */
+    private double multiplier = WaitConfig.DEFAULT_MULTIPLIER;
+
+    /**
+     * The fraction by which a delay is randomly increased or decreased.
+     */
+    private double jitter = WaitConfig.DEFAULT_JITTER;
+
+    /**
+     * The maximum duration in milliseconds of a wait.
+     */
+    private long timeout = WaitConfig.DEFAULT_TIMEOUT;
+
+    /**
+     * Returns the delay in milliseconds before the second state check.
+     *
+     * @return The initial delay.
+     */
+    public long getInitialDelay() {
+        return initialDelay;
+    }
+
+    /**
+     * Sets the delay in milliseconds before the second state check.
+     *
+     * @param initialDelay The initial delay.
+     */
+    public void setInitialDelay(long initialDelay) {
+        this.initialDelay = initialDelay;
+    }
+
+    /**
+     * Returns the maximum delay in milliseconds between two state checks.
+     *
+     * @return The maximum delay.
+     */
+    public long getMaxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * Sets the maximum delay in milliseconds between two state checks.
+     *
+     * @param maxDelay The maximum delay.
+     */
+    public void setMaxDelay(long maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     * Returns the factor the delay grows with after every state check.
+     *
+     * @return The multiplier.
+     */
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    /**
+     * Sets the factor the delay grows with after every state check.
+     *
+     * @param multiplier The multiplier.
+     */
+    public void setMultiplier(double multiplier) {
+        this.multiplier = multiplier;
+    }
+
+    /**
+     * Returns the fraction by which a delay is randomly increased or decreased.
+     *
+     * @return The jitter.
+     */
+    public double getJitter() {
+        return jitter;
+    }
+
+    /**
+     * Sets the fraction by which a delay is randomly increased or decreased.
+     *
+     * @param jitter The jitter.
+     */
+    public void setJitter(double jitter) {
+        this.jitter = jitter;
+    }
+
+    /**
+     * Returns the maximum duration in milliseconds of a wait.
+     *
+     * @return The timeout.
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Sets the maximum duration in milliseconds of a wait.
+     *
+     * @param timeout The timeout.
+     */
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+}
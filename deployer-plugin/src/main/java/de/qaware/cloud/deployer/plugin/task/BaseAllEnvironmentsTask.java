@@ -22,13 +22,18 @@ import de.qaware.cloud.deployer.commons.error.ResourceException;
 import de.qaware.cloud.deployer.plugin.environment.Environment;
 import de.qaware.cloud.deployer.plugin.environment.EnvironmentFactory;
 import de.qaware.cloud.deployer.plugin.extension.DeployerExtension;
+import de.qaware.cloud.deployer.plugin.extension.EnvironmentExtension;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.tasks.Internal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
 
 import static de.qaware.cloud.deployer.plugin.logging.PluginMessageBundle.PLUGIN_MESSAGE_BUNDLE;
 import static de.qaware.cloud.deployer.plugin.task.ExtendedExceptionMessageUtil.createExtendedMessage;
@@ -43,12 +48,29 @@ public abstract class BaseAllEnvironmentsTask extends DefaultTask {
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(BaseAllEnvironmentsTask.class);
 
+    /**
+     * The directory inside the build directory which contains the receipts of the deployed environments.
+     */
+    private static final String RECEIPT_DIRECTORY = "cloud-deployer/receipts";
+
     /**
      * Contains all environments.
      */
     @Internal
     private List<Environment> environments;
 
+    /**
+     * Applies the deployments and deletions to the environments.
+     */
+    @Internal
+    private EnvironmentExecutor environmentExecutor = new EnvironmentExecutor(1);
+
+    /**
+     * Indicates whether environments are deployed even if they didn't change since their last deployment.
+     */
+    @Internal
+    private boolean force;
+
     /**
      * Deletes the specified environment.
      *
@@ -68,11 +90,18 @@ public abstract class BaseAllEnvironmentsTask extends DefaultTask {
         } catch (ResourceException e) {
             throw new ResourceException(createExtendedMessage(environment, e.getMessage()), e);
         }
+        try {
+            DeploymentReceipt.delete(getReceiptDirectory(), environment);
+        } catch (IOException e) {
+            LOGGER.warn(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_MESSAGES_RECEIPT_NOT_DELETED", environment.getId()), e);
+        }
         LOGGER.info(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_MESSAGES_DELETING_ENVIRONMENT_DONE", environment.getId()));
     }
 
     /**
-     * Deploys the specified environment.
+     * Deploys the specified environment. A environment which didn't change since its last successful deployment is
+     * skipped unless the deployment is forced. The fingerprint of the receipt is calculated before deploying, so a
+     * file which is edited during the deployment is deployed again by the next build.
      *
      * @param environment The environment that will be deployed.
      * @throws ResourceException       If a error during resource interaction with the backend occurs.
@@ -81,6 +110,19 @@ public abstract class BaseAllEnvironmentsTask extends DefaultTask {
     void deploy(Environment environment) throws ResourceConfigException, ResourceException {
         Deployer deployer = environment.getDeployer();
         List<File> files = environment.getFiles();
+        File receiptDirectory = getReceiptDirectory();
+
+        String fingerprint = null;
+        try {
+            fingerprint = DeploymentReceipt.fingerprint(environment);
+        } catch (IOException e) {
+            LOGGER.warn(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_MESSAGES_RECEIPT_NOT_WRITTEN", environment.getId()), e);
+        }
+
+        if (!force && fingerprint != null && DeploymentReceipt.isUpToDate(receiptDirectory, environment, fingerprint)) {
+            LOGGER.info(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_MESSAGES_DEPLOYING_ENVIRONMENT_UP_TO_DATE", environment.getId()));
+            return;
+        }
 
         LOGGER.info(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_MESSAGES_DEPLOYING_ENVIRONMENT_STARTED", environment.getId()));
         try {
@@ -90,6 +132,13 @@ public abstract class BaseAllEnvironmentsTask extends DefaultTask {
         } catch (ResourceException e) {
             throw new ResourceException(createExtendedMessage(environment, e.getMessage()), e);
         }
+        if (fingerprint != null) {
+            try {
+                DeploymentReceipt.write(receiptDirectory, environment, fingerprint);
+            } catch (IOException e) {
+                LOGGER.warn(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_MESSAGES_RECEIPT_NOT_WRITTEN", environment.getId()), e);
+            }
+        }
         LOGGER.info(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_MESSAGES_DEPLOYING_ENVIRONMENT_DONE", environment.getId()));
     }
 
@@ -103,7 +152,89 @@ public abstract class BaseAllEnvironmentsTask extends DefaultTask {
     }
 
     /**
-     * Sets up the environments.
+     * Indicates whether environments are deployed even if they didn't change since their last deployment.
+     *
+     * @return TRUE if the deployment is forced, FALSE otherwise.
+     */
+    boolean isForce() {
+        return force;
+    }
+
+    /**
+     * Sets whether environments are deployed even if they didn't change since their last deployment.
+     *
+     * @param force TRUE if the deployment is forced, FALSE otherwise.
+     */
+    public void setForce(boolean force) {
+        this.force = force;
+    }
+
+    /**
+     * Returns the directory which contains the receipts of the deployed environments.
+     *
+     * @return The receipt directory.
+     */
+    File getReceiptDirectory() {
+        return new File(getProject().getBuildDir(), RECEIPT_DIRECTORY);
+    }
+
+    /**
+     * Declares the files and settings of all environments as inputs and the receipt directory as output of this task.
+     * This allows gradle to skip the task if neither the environments nor the receipts changed. A forced deployment
+     * is never up-to-date.
+     */
+    void declareDeploymentInputsAndOutputs() {
+        getInputs().files((Callable<List<File>>) this::collectEnvironmentFiles);
+        getInputs().property("environments", (Callable<String>) this::describeEnvironments);
+        getOutputs().dir((Callable<File>) this::getReceiptDirectory);
+        getOutputs().upToDateWhen(task -> !force);
+    }
+
+    /**
+     * Collects the files of all configured environments.
+     *
+     * @return The files.
+     */
+    private List<File> collectEnvironmentFiles() {
+        List<File> files = new ArrayList<>();
+        DeployerExtension deployerExtension = getProject().getExtensions().findByType(DeployerExtension.class);
+        if (deployerExtension != null) {
+            for (EnvironmentExtension environmentExtension : deployerExtension.getConfigs()) {
+                if (environmentExtension.getFiles() != null) {
+                    files.addAll(environmentExtension.getFiles());
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Describes the settings which define the target of every configured environment.
+     *
+     * @return The description.
+     */
+    private String describeEnvironments() {
+        DeployerExtension deployerExtension = getProject().getExtensions().findByType(DeployerExtension.class);
+        if (deployerExtension == null) {
+            return "";
+        }
+        return deployerExtension.getConfigs().stream()
+                .map(extension -> extension.getDeployerType() + "|" + extension.getId() + "|" + extension.getBaseUrl() + "|"
+                        + extension.getStrategy() + "|" + extension.getNamespace())
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Returns the executor which applies the deployments and deletions to the environments.
+     *
+     * @return The environment executor.
+     */
+    EnvironmentExecutor getEnvironmentExecutor() {
+        return environmentExecutor;
+    }
+
+    /**
+     * Sets up the environments and the executor which processes them.
      *
      * @throws EnvironmentConfigException If an error during environment setup occurs.
      */
@@ -114,5 +245,12 @@ public abstract class BaseAllEnvironmentsTask extends DefaultTask {
 
         // Build environments
         environments = EnvironmentFactory.create(deployerExtension);
+
+        // Build the executor
+        int parallelEnvironments = deployerExtension.getParallelEnvironments();
+        if (parallelEnvironments < 1) {
+            throw new EnvironmentConfigException(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_INVALID_ENVIRONMENT_PARALLELISM", parallelEnvironments));
+        }
+        environmentExecutor = new EnvironmentExecutor(parallelEnvironments);
     }
 }
@@ -52,6 +52,15 @@ public abstract class BaseSingleEnvironmentTask extends BaseAllEnvironmentsTask
         this.environmentId = environmentId;
     }
 
+    /**
+     * Returns the id of the selected environment.
+     *
+     * @return The environment id.
+     */
+    String getEnvironmentId() {
+        return environmentId;
+    }
+
     /**
      * Returns the environment this task belongs to.
      *
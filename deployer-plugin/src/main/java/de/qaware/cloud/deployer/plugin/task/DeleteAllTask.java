@@ -54,9 +54,7 @@ public class DeleteAllTask extends BaseAllEnvironmentsTask {
 
         // Delete every environment
         LOGGER.info(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_MESSAGES_DELETING_ENVIRONMENTS_STARTED"));
-        for (Environment environment : environments) {
-            delete(environment);
-        }
+        getEnvironmentExecutor().execute(environments, this::delete);
         LOGGER.info(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_MESSAGES_DELETING_ENVIRONMENTS_DONE"));
     }
 }
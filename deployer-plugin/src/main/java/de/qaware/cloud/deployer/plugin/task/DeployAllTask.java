@@ -19,6 +19,7 @@ import de.qaware.cloud.deployer.commons.error.EnvironmentConfigException;
 import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
 import de.qaware.cloud.deployer.plugin.environment.Environment;
+import org.gradle.api.internal.tasks.options.Option;
 import org.gradle.api.tasks.TaskAction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +38,24 @@ public class DeployAllTask extends BaseAllEnvironmentsTask {
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(DeployAllTask.class);
 
+    /**
+     * Creates a new deploy all task which is up-to-date if no environment changed since its last deployment.
+     */
+    public DeployAllTask() {
+        declareDeploymentInputsAndOutputs();
+    }
+
+    /**
+     * Sets whether the environments are deployed even if they didn't change since their last deployment.
+     *
+     * @param force TRUE if the deployment is forced, FALSE otherwise.
+     */
+    @Override
+    @Option(option = "force", description = "Deploys all environments even if they didn't change since their last deployment.")
+    public void setForce(boolean force) {
+        super.setForce(force);
+    }
+
     /**
      * Deploys all environments in the configuration.
      *
@@ -54,9 +73,7 @@ public class DeployAllTask extends BaseAllEnvironmentsTask {
 
         // Deploy every environment
         LOGGER.info(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_MESSAGES_DEPLOYING_ENVIRONMENTS_STARTED"));
-        for (Environment environment : environments) {
-            deploy(environment);
-        }
+        getEnvironmentExecutor().execute(environments, this::deploy);
         LOGGER.info(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_MESSAGES_DEPLOYING_ENVIRONMENTS_DONE"));
     }
 }
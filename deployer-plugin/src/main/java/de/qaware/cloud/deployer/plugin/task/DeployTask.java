@@ -19,13 +19,36 @@ import de.qaware.cloud.deployer.commons.error.EnvironmentConfigException;
 import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
 import de.qaware.cloud.deployer.plugin.environment.Environment;
+import org.gradle.api.internal.tasks.options.Option;
 import org.gradle.api.tasks.TaskAction;
 
+import java.util.concurrent.Callable;
+
 /**
  * Represents a task which deploys one specified environment.
  */
 public class DeployTask extends BaseSingleEnvironmentTask {
 
+    /**
+     * Creates a new deploy task which is up-to-date if the selected environment didn't change since its last
+     * deployment.
+     */
+    public DeployTask() {
+        declareDeploymentInputsAndOutputs();
+        getInputs().property("environmentId", (Callable<String>) () -> String.valueOf(getEnvironmentId()));
+    }
+
+    /**
+     * Sets whether the environment is deployed even if it didn't change since its last deployment.
+     *
+     * @param force TRUE if the deployment is forced, FALSE otherwise.
+     */
+    @Override
+    @Option(option = "force", description = "Deploys the environment even if it didn't change since its last deployment.")
+    public void setForce(boolean force) {
+        super.setForce(force);
+    }
+
     /**
      * Deploys the environment with the specified id.
      *
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.plugin.task;
+
+import de.qaware.cloud.deployer.commons.config.environment.EnvironmentConfig;
+import de.qaware.cloud.deployer.kubernetes.config.cloud.KubernetesEnvironmentConfig;
+import de.qaware.cloud.deployer.plugin.environment.Environment;
+import okio.ByteString;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Manages the receipts of successful deployments. A receipt contains a fingerprint of the environment's effective
+ * config and the contents of its files. A environment whose fingerprint matches its receipt doesn't have to be
+ * deployed again.
+ */
+final class DeploymentReceipt {
+
+    /**
+     * The file extension of a receipt.
+     */
+    private static final String RECEIPT_EXTENSION = ".receipt";
+
+    /**
+     * UTILITY.
+     */
+    private DeploymentReceipt() {
+    }
+
+    /**
+     * Calculates the fingerprint of the specified environment. It covers the deployer, the effective config which
+     * defines the target of the deployment and the path and content of every file.
+     *
+     * @param environment The environment.
+     * @return The fingerprint as hex string.
+     * @throws IOException If a file can't be read.
+     */
+    static String fingerprint(Environment environment) throws IOException {
+        EnvironmentConfig config = environment.getConfig();
+
+        // 1. Describe the target of the deployment
+        StringBuilder description = new StringBuilder()
+                .append(environment.getDeployer().getClass().getName()).append('\n')
+                .append(config.getId()).append('\n')
+                .append(config.getBaseUrl()).append('\n')
+                .append(config.getStrategy()).append('\n');
+        if (config instanceof KubernetesEnvironmentConfig) {
+            description.append(((KubernetesEnvironmentConfig) config).getNamespace()).append('\n');
+        }
+
+        // 2. Describe the files
+        for (File file : environment.getFiles()) {
+            ByteString content = ByteString.of(Files.readAllBytes(file.toPath()));
+            description.append(file.getAbsolutePath()).append('=').append(content.sha256().hex()).append('\n');
+        }
+
+        return ByteString.encodeUtf8(description.toString()).sha256().hex();
+    }
+
+    /**
+     * Indicates whether the receipt of the specified environment matches its current fingerprint.
+     *
+     * @param directory   The directory which contains the receipts.
+     * @param environment The environment.
+     * @return TRUE if the environment didn't change since its last successful deployment, FALSE otherwise.
+     */
+    static boolean isUpToDate(File directory, Environment environment) {
+        try {
+            return isUpToDate(directory, environment, fingerprint(environment));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Indicates whether the receipt of the specified environment matches the specified fingerprint.
+     *
+     * @param directory   The directory which contains the receipts.
+     * @param environment The environment.
+     * @param fingerprint The fingerprint of the environment.
+     * @return TRUE if the receipt contains the fingerprint, FALSE otherwise.
+     */
+    static boolean isUpToDate(File directory, Environment environment, String fingerprint) {
+        File receipt = getReceipt(directory, environment);
+        if (!receipt.isFile()) {
+            return false;
+        }
+        try {
+            String storedFingerprint = new String(Files.readAllBytes(receipt.toPath()), StandardCharsets.UTF_8).trim();
+            return storedFingerprint.equals(fingerprint);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes the receipt of the specified environment. The fingerprint has to be calculated before the deployment, so
+     * files which change during the deployment aren't recorded as deployed. The receipt is replaced atomically so an
+     * interrupted build never leaves a partial receipt behind.
+     *
+     * @param directory   The directory which contains the receipts.
+     * @param environment The environment.
+     * @param fingerprint The fingerprint of the deployed environment.
+     * @throws IOException If the receipt can't be written.
+     */
+    static void write(File directory, Environment environment, String fingerprint) throws IOException {
+        Files.createDirectories(directory.toPath());
+        File receipt = getReceipt(directory, environment);
+        File temporaryReceipt = File.createTempFile(receipt.getName(), null, directory);
+        try {
+            Files.write(temporaryReceipt.toPath(), fingerprint.getBytes(StandardCharsets.UTF_8));
+            Files.move(temporaryReceipt.toPath(), receipt.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryReceipt.toPath());
+        }
+    }
+
+    /**
+     * Deletes the receipt of the specified environment.
+     *
+     * @param directory   The directory which contains the receipts.
+     * @param environment The environment.
+     * @throws IOException If the receipt exists but can't be deleted.
+     */
+    static void delete(File directory, Environment environment) throws IOException {
+        Files.deleteIfExists(getReceipt(directory, environment).toPath());
+    }
+
+    /**
+     * Returns the receipt file of the specified environment.
+     *
+     * @param directory   The directory which contains the receipts.
+     * @param environment The environment.
+     * @return The receipt file.
+     */
+    static File getReceipt(File directory, Environment environment) {
+        return new File(directory, environment.getId().replaceAll("[^A-Za-z0-9._-]", "_") + RECEIPT_EXTENSION);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.plugin.task;
+
+import de.qaware.cloud.deployer.commons.error.ErrorAggregationUtil;
+import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.logging.EnvironmentLogContext;
+import de.qaware.cloud.deployer.plugin.environment.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.qaware.cloud.deployer.plugin.logging.PluginMessageBundle.PLUGIN_MESSAGE_BUNDLE;
+
+/**
+ * Applies operations to a list of environments. Depending on the parallelism the environments are processed one after
+ * another or by a fixed number of workers at the same time.
+ */
+class EnvironmentExecutor {
+
+    /**
+     * The prefix of the worker thread names.
+     */
+    private static final String THREAD_NAME_PREFIX = "deployer-environment-";
+
+    /**
+     * The number of environments which are processed at the same time.
+     */
+    private final int parallelism;
+
+    /**
+     * Creates a new environment executor.
+     *
+     * @param parallelism The number of environments which are processed at the same time.
+     */
+    EnvironmentExecutor(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the number of environments which are processed at the same time.
+     *
+     * @return The parallelism.
+     */
+    int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Applies the specified operation to all environments. Sequential execution stops at the first error. Concurrent
+     * execution processes all environments and reports all errors at once afterwards.
+     *
+     * @param environments The environments the operation is applied to.
+     * @param operation    The operation.
+     * @throws ResourceException       If the operation failed for at least one environment.
+     * @throws ResourceConfigException If the operation failed for exactly one environment because of an invalid config.
+     */
+    void execute(List<Environment> environments, EnvironmentOperation operation) throws ResourceConfigException, ResourceException {
+        if (parallelism <= 1 || environments.size() <= 1) {
+            for (Environment environment : environments) {
+                operation.apply(environment);
+            }
+        } else {
+            executeConcurrently(environments, operation);
+        }
+    }
+
+    /**
+     * Applies the specified operation to all environments using a fixed number of workers. While a worker processes a
+     * environment its thread name carries the id of the environment and the messages of the deployers are prefixed
+     * with it.
+     *
+     * @param environments The environments the operation is applied to.
+     * @param operation    The operation.
+     * @throws ResourceException       If the operation failed for at least one environment.
+     * @throws ResourceConfigException If the operation failed for exactly one environment because of an invalid config.
+     */
+    private void executeConcurrently(List<Environment> environments, EnvironmentOperation operation) throws ResourceConfigException, ResourceException {
+        int workers = Math.min(parallelism, environments.size());
+        ExecutorService executorService = Executors.newFixedThreadPool(workers, createThreadFactory());
+        try {
+            // 1. Submit one task per environment
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Environment environment : environments) {
+                futures.add(executorService.submit(() -> EnvironmentLogContext.call(environment.getId(), () -> {
+                    Thread worker = Thread.currentThread();
+                    String workerName = worker.getName();
+                    worker.setName(THREAD_NAME_PREFIX + environment.getId());
+                    try {
+                        operation.apply(environment);
+                    } finally {
+                        worker.setName(workerName);
+                    }
+                    return null;
+                })));
+            }
+
+            // 2. Wait for all tasks and collect the errors
+            List<Throwable> errors = new ArrayList<>();
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    errors.add(e.getCause());
+                }
+            }
+
+            // 3. Report the errors
+            assertNoErrors(errors, environments.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceException(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_INTERRUPTED_DURING_EXECUTION"), e);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Throws a exception if the specified list contains errors. A single config error is rethrown as it is, all other
+     * errors are aggregated by {@link ErrorAggregationUtil}.
+     *
+     * @param errors       The errors which occurred.
+     * @param environments The number of processed environments.
+     * @throws ResourceException       If the list contains multiple errors or a single resource error.
+     * @throws ResourceConfigException If the list contains a single config error.
+     */
+    private static void assertNoErrors(List<Throwable> errors, int environments) throws ResourceConfigException, ResourceException {
+        if (errors.size() == 1 && errors.get(0) instanceof ResourceConfigException) {
+            throw (ResourceConfigException) errors.get(0);
+        }
+        ErrorAggregationUtil.assertNoErrors(errors, ResourceException.class, messages -> new ResourceException(
+                PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_ENVIRONMENTS_FAILED", errors.size(), environments, messages)));
+    }
+
+    /**
+     * Creates a thread factory which creates named daemon threads.
+     *
+     * @return The thread factory.
+     */
+    private static ThreadFactory createThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
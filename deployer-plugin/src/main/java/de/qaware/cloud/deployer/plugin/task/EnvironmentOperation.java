@@ -0,0 +1,36 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.plugin.task;
+
+import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.plugin.environment.Environment;
+
+/**
+ * Represents a operation which is applied to a single environment.
+ */
+@FunctionalInterface
+interface EnvironmentOperation {
+
+    /**
+     * Applies this operation to the specified environment.
+     *
+     * @param environment The environment.
+     * @throws ResourceException       If an error during resource interaction with the backend occurs.
+     * @throws ResourceConfigException If an error during config creation/parsing occurs.
+     */
+    void apply(Environment environment) throws ResourceConfigException, ResourceException;
+}
@@ -16,40 +16,86 @@
 package de.qaware.cloud.deployer.plugin.token;
 
 import de.qaware.cloud.deployer.commons.config.environment.EnvironmentConfig;
+import de.qaware.cloud.deployer.commons.config.environment.TokenProvider;
 import de.qaware.cloud.deployer.commons.config.util.FileUtil;
 import de.qaware.cloud.deployer.commons.error.EnvironmentConfigException;
 import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.resource.TokenCache;
 import de.qaware.cloud.deployer.dcos.token.TokenResource;
+import okio.ByteString;
 
 import java.io.File;
 
 import static de.qaware.cloud.deployer.plugin.logging.PluginMessageBundle.PLUGIN_MESSAGE_BUNDLE;
 
 /**
- * Initializes a dcos authentication token using a OpenId Connect Id token from the specified file.
+ * Initializes a dcos authentication token using a OpenId Connect Id token from the specified file. The retrieved
+ * tokens are cached per environment and OpenId Connect Id token, in memory and in the user's home directory, and
+ * refreshed before they expire.
  */
 public class OpenIdConnectIdTokenInitializer implements TokenInitializer {
 
+    /**
+     * The path of the token cache directory relative to the user's home directory.
+     */
+    private static final String TOKEN_CACHE_DIRECTORY = ".cloud-deployer/tokens";
+
     /**
      * The file which contains the dcos auth token.
      */
     private final File authTokenFile;
 
+    /**
+     * The directory which stores the retrieved tokens.
+     */
+    private final File cacheDirectory;
+
     /**
      * Creates a new OpenId Connect Id token initializer.
      *
      * @param tokenFile The file which contains the OpenId Connect Id token.
      */
     public OpenIdConnectIdTokenInitializer(File tokenFile) {
+        this(tokenFile, new File(System.getProperty("user.home"), TOKEN_CACHE_DIRECTORY));
+    }
+
+    /**
+     * Creates a new OpenId Connect Id token initializer which stores the retrieved tokens in the specified directory.
+     *
+     * @param tokenFile      The file which contains the OpenId Connect Id token.
+     * @param cacheDirectory The directory which stores the retrieved tokens.
+     */
+    OpenIdConnectIdTokenInitializer(File tokenFile, File cacheDirectory) {
         this.authTokenFile = tokenFile;
+        this.cacheDirectory = cacheDirectory;
     }
 
     @Override
     public String initialize(EnvironmentConfig environmentConfig) throws EnvironmentConfigException {
+        try {
+            return initializeProvider(environmentConfig).getToken();
+        } catch (ResourceException e) {
+            if (e.getCause() instanceof EnvironmentConfigException) {
+                throw (EnvironmentConfigException) e.getCause();
+            }
+            throw new EnvironmentConfigException(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_RETRIEVING_DCOS_API_TOKEN"), e);
+        }
+    }
+
+    @Override
+    public TokenProvider initializeProvider(EnvironmentConfig environmentConfig) throws EnvironmentConfigException {
         try {
             String authToken = FileUtil.readFileContent(authTokenFile);
-            return new TokenResource(environmentConfig).retrieveAuthenticationToken(authToken);
+            TokenResource tokenResource = new TokenResource(environmentConfig);
+            String key = environmentConfig.getId() + "|" + environmentConfig.getBaseUrl() + "|" + ByteString.encodeUtf8(authToken).sha256().hex();
+            return TokenCache.getProvider(key, cacheDirectory, () -> {
+                try {
+                    return tokenResource.retrieveAuthenticationToken(authToken);
+                } catch (EnvironmentConfigException e) {
+                    throw new ResourceException(e.getMessage(), e);
+                }
+            });
         } catch (ResourceException e) {
             throw new EnvironmentConfigException(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_RETRIEVING_DCOS_API_TOKEN"), e);
         } catch (ResourceConfigException e) {
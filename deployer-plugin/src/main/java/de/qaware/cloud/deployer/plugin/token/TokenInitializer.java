@@ -16,6 +16,7 @@
 package de.qaware.cloud.deployer.plugin.token;
 
 import de.qaware.cloud.deployer.commons.config.environment.EnvironmentConfig;
+import de.qaware.cloud.deployer.commons.config.environment.TokenProvider;
 import de.qaware.cloud.deployer.commons.error.EnvironmentConfigException;
 
 /**
@@ -31,4 +32,15 @@ public interface TokenInitializer {
      * @throws EnvironmentConfigException If a error during token initialization occurs.
      */
     String initialize(EnvironmentConfig environmentConfig) throws EnvironmentConfigException;
+
+    /**
+     * Initializes a provider which keeps the token up to date using the specified environment config.
+     *
+     * @param environmentConfig The environment config.
+     * @return The token provider or null if the token can't be refreshed.
+     * @throws EnvironmentConfigException If a error during token initialization occurs.
+     */
+    default TokenProvider initializeProvider(EnvironmentConfig environmentConfig) throws EnvironmentConfigException {
+        return null;
+    }
 }
@@ -16,7 +16,14 @@
 package de.qaware.cloud.deployer.plugin.environment;
 
 import de.qaware.cloud.deployer.commons.config.environment.AuthConfig;
+import de.qaware.cloud.deployer.commons.config.environment.CircuitBreakerConfig;
+import de.qaware.cloud.deployer.commons.config.environment.CompressionConfig;
 import de.qaware.cloud.deployer.commons.config.environment.EnvironmentConfig;
+import de.qaware.cloud.deployer.commons.config.environment.ExecutionConfig;
+import de.qaware.cloud.deployer.commons.config.environment.HttpConfig;
+import de.qaware.cloud.deployer.commons.config.environment.RateLimitConfig;
+import de.qaware.cloud.deployer.commons.config.environment.RetryConfig;
+import de.qaware.cloud.deployer.commons.config.environment.WaitConfig;
 import de.qaware.cloud.deployer.commons.config.environment.SSLConfig;
 import de.qaware.cloud.deployer.commons.error.EnvironmentConfigException;
 import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
@@ -24,7 +31,14 @@ import de.qaware.cloud.deployer.commons.strategy.Strategy;
 import de.qaware.cloud.deployer.kubernetes.config.cloud.KubernetesEnvironmentConfig;
 import de.qaware.cloud.deployer.plugin.extension.AuthExtension;
 import de.qaware.cloud.deployer.plugin.extension.DeployerType;
+import de.qaware.cloud.deployer.plugin.extension.CompressionExtension;
 import de.qaware.cloud.deployer.plugin.extension.EnvironmentExtension;
+import de.qaware.cloud.deployer.plugin.extension.ExecutionExtension;
+import de.qaware.cloud.deployer.plugin.extension.CircuitBreakerExtension;
+import de.qaware.cloud.deployer.plugin.extension.HttpExtension;
+import de.qaware.cloud.deployer.plugin.extension.RateLimitExtension;
+import de.qaware.cloud.deployer.plugin.extension.RetryExtension;
+import de.qaware.cloud.deployer.plugin.extension.WaitExtension;
 import de.qaware.cloud.deployer.plugin.extension.SSLExtension;
 import de.qaware.cloud.deployer.plugin.token.DefaultTokenInitializer;
 import de.qaware.cloud.deployer.plugin.token.TokenInitializer;
@@ -34,14 +48,18 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import java.util.Collections;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static de.qaware.cloud.deployer.plugin.logging.PluginMessageBundle.PLUGIN_MESSAGE_BUNDLE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -57,6 +75,14 @@ public class EnvironmentConfigFactoryTest {
     private EnvironmentExtension environmentExtension;
     private SSLExtension sslExtension;
     private AuthExtension authExtension;
+    private ExecutionExtension executionExtension;
+    private WaitExtension waitExtension;
+    private Map<String, WaitExtension> waitProfiles;
+    private RetryExtension retryExtension;
+    private CircuitBreakerExtension circuitBreakerExtension;
+    private RateLimitExtension rateLimitExtension;
+    private CompressionExtension compressionExtension;
+    private HttpExtension httpExtension;
 
     @Before
     public void setup() {
@@ -64,6 +90,14 @@ public class EnvironmentConfigFactoryTest {
 
         sslExtension = new SSLExtension();
         authExtension = new AuthExtension();
+        executionExtension = new ExecutionExtension();
+        waitExtension = new WaitExtension();
+        waitProfiles = new HashMap<>();
+        retryExtension = new RetryExtension();
+        circuitBreakerExtension = new CircuitBreakerExtension();
+        rateLimitExtension = new RateLimitExtension();
+        compressionExtension = new CompressionExtension();
+        httpExtension = new HttpExtension();
 
         environmentExtension = mock(EnvironmentExtension.class);
         when(environmentExtension.getDeployerType()).thenReturn(DeployerType.MARATHON);
@@ -72,8 +106,19 @@ public class EnvironmentConfigFactoryTest {
         when(environmentExtension.getStrategy()).thenReturn("REPLACE");
         when(environmentExtension.getSslExtension()).thenReturn(sslExtension);
         when(environmentExtension.getAuthExtension()).thenReturn(authExtension);
+        when(environmentExtension.getExecutionExtension()).thenReturn(executionExtension);
+        when(environmentExtension.getWaitExtension()).thenReturn(waitExtension);
+        when(environmentExtension.getWaitProfiles()).thenReturn(waitProfiles);
+        when(environmentExtension.getRetryExtension()).thenReturn(retryExtension);
+        when(environmentExtension.getCircuitBreakerExtension()).thenReturn(circuitBreakerExtension);
+        when(environmentExtension.getRateLimitExtension()).thenReturn(rateLimitExtension);
+        when(environmentExtension.getCompressionExtension()).thenReturn(compressionExtension);
+        when(environmentExtension.getHttpExtension()).thenReturn(httpExtension);
         when(environmentExtension.getFiles()).thenReturn(files);
         when(environmentExtension.getNamespace()).thenReturn("namespace");
+        when(environmentExtension.isWatch()).thenReturn(true);
+        when(environmentExtension.isSnapshot()).thenReturn(true);
+        when(environmentExtension.isProtobuf()).thenReturn(true);
     }
 
     @Test
@@ -113,13 +158,27 @@ public class EnvironmentConfigFactoryTest {
     }
 
     @Test
-    public void testCreateWithEmptyCustomCertificate() throws EnvironmentConfigException {
+    public void testCreateWithEmptyCustomCertificate() throws EnvironmentConfigException, ResourceConfigException {
         sslExtension = spy(sslExtension);
         when(sslExtension.getCertificate()).thenReturn("");
         EnvironmentConfig environmentConfig = EnvironmentConfigFactory.create(environmentExtension);
         testEquality(environmentConfig);
     }
 
+    @Test
+    public void testCreateWithMissingCertificateFile() throws ResourceConfigException {
+        File certificateFile = new File(folder.getRoot(), "missing.pem");
+        sslExtension.setCertificate(certificateFile);
+        boolean exceptionThrown = false;
+        try {
+            EnvironmentConfigFactory.create(environmentExtension);
+        } catch (EnvironmentConfigException e) {
+            exceptionThrown = true;
+            assertTrue(e.getCause() instanceof ResourceConfigException);
+        }
+        assertTrue(exceptionThrown);
+    }
+
     @Test
     public void testCreateWithTokenAuthentication() throws EnvironmentConfigException, IOException {
         File tokenFile = folder.newFile("token.temp");
@@ -210,6 +269,225 @@ public class EnvironmentConfigFactoryTest {
         assertExceptionOnCreate(environmentExtension, message);
     }
 
+    @Test
+    public void testCreateWithParallelExecution() throws EnvironmentConfigException {
+        executionExtension.setParallelism(8);
+        executionExtension.setDeleteBeforeCreate(true);
+        EnvironmentConfig environmentConfig = EnvironmentConfigFactory.create(environmentExtension);
+        testEquality(environmentConfig);
+    }
+
+    @Test
+    public void testCreateWithoutExecution() throws EnvironmentConfigException {
+        when(environmentExtension.getExecutionExtension()).thenReturn(null);
+        EnvironmentConfig environmentConfig = EnvironmentConfigFactory.create(environmentExtension);
+
+        // Reset
+        when(environmentExtension.getExecutionExtension()).thenReturn(executionExtension);
+
+        testEquality(environmentConfig);
+    }
+
+    @Test
+    public void testCreateWithInvalidParallelism() {
+        executionExtension.setParallelism(0);
+        String message = PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_INVALID_PARALLELISM", 0, environmentExtension.getId());
+        assertExceptionOnCreate(environmentExtension, message);
+    }
+
+    @Test
+    public void testCreateWithWaitPolicy() throws EnvironmentConfigException {
+        waitExtension.setInitialDelay(50);
+        waitExtension.setMaxDelay(2000);
+        waitExtension.setMultiplier(1.5);
+        waitExtension.setJitter(0.1);
+        waitExtension.setTimeout(60000);
+        WaitExtension namespaceProfile = new WaitExtension();
+        namespaceProfile.setInitialDelay(1000);
+        namespaceProfile.setMaxDelay(10000);
+        waitProfiles.put("Namespace", namespaceProfile);
+        EnvironmentConfig environmentConfig = EnvironmentConfigFactory.create(environmentExtension);
+        testEquality(environmentConfig);
+        testEquality(namespaceProfile, environmentConfig.getWaitConfig("Namespace"));
+        testEquality(waitExtension, environmentConfig.getWaitConfig("Pod"));
+    }
+
+    @Test
+    public void testCreateWithoutWaitPolicy() throws EnvironmentConfigException {
+        when(environmentExtension.getWaitExtension()).thenReturn(null);
+        EnvironmentConfig environmentConfig = EnvironmentConfigFactory.create(environmentExtension);
+
+        // Reset
+        when(environmentExtension.getWaitExtension()).thenReturn(waitExtension);
+
+        testEquality(environmentConfig);
+    }
+
+    @Test
+    public void testCreateWithInvalidWaitPolicy() {
+        waitExtension.setMaxDelay(waitExtension.getInitialDelay() - 1);
+        String message = PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_INVALID_WAIT_POLICY", environmentExtension.getId());
+        assertExceptionOnCreate(environmentExtension, message);
+    }
+
+    @Test
+    public void testCreateWithInvalidWaitProfile() {
+        WaitExtension namespaceProfile = new WaitExtension();
+        namespaceProfile.setJitter(1);
+        waitProfiles.put("Namespace", namespaceProfile);
+        String message = PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_INVALID_WAIT_POLICY", environmentExtension.getId());
+        assertExceptionOnCreate(environmentExtension, message);
+    }
+
+    @Test
+    public void testCreateWithRetryPolicy() throws EnvironmentConfigException {
+        retryExtension.setMaxAttempts(6);
+        retryExtension.setInitialDelay(200);
+        retryExtension.setMaxDelay(8000);
+        retryExtension.setMultiplier(3);
+        retryExtension.setJitter(0.5);
+        retryExtension.setBudget(100);
+        EnvironmentConfig environmentConfig = EnvironmentConfigFactory.create(environmentExtension);
+        testEquality(environmentConfig);
+    }
+
+    @Test
+    public void testCreateWithoutRetryPolicy() throws EnvironmentConfigException {
+        when(environmentExtension.getRetryExtension()).thenReturn(null);
+        EnvironmentConfig environmentConfig = EnvironmentConfigFactory.create(environmentExtension);
+
+        // Reset
+        when(environmentExtension.getRetryExtension()).thenReturn(retryExtension);
+
+        testEquality(environmentConfig);
+    }
+
+    @Test
+    public void testCreateWithInvalidRetryPolicy() {
+        retryExtension.setMaxAttempts(0);
+        String message = PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_INVALID_RETRY_POLICY", environmentExtension.getId());
+        assertExceptionOnCreate(environmentExtension, message);
+    }
+
+    @Test
+    public void testCreateWithCircuitBreaker() throws EnvironmentConfigException {
+        circuitBreakerExtension.setWindowSize(50);
+        circuitBreakerExtension.setMinimumCalls(25);
+        circuitBreakerExtension.setFailureRateThreshold(0.8);
+        circuitBreakerExtension.setSlowCallDuration(5000);
+        circuitBreakerExtension.setOpenDuration(60000);
+        EnvironmentConfig environmentConfig = EnvironmentConfigFactory.create(environmentExtension);
+        testEquality(environmentConfig);
+    }
+
+    @Test
+    public void testCreateWithoutCircuitBreaker() throws EnvironmentConfigException {
+        when(environmentExtension.getCircuitBreakerExtension()).thenReturn(null);
+        EnvironmentConfig environmentConfig = EnvironmentConfigFactory.create(environmentExtension);
+
+        // Reset
+        when(environmentExtension.getCircuitBreakerExtension()).thenReturn(circuitBreakerExtension);
+
+        testEquality(environmentConfig);
+    }
+
+    @Test
+    public void testCreateWithInvalidCircuitBreaker() {
+        circuitBreakerExtension.setMinimumCalls(circuitBreakerExtension.getWindowSize() + 1);
+        String message = PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_INVALID_CIRCUIT_BREAKER", environmentExtension.getId());
+        assertExceptionOnCreate(environmentExtension, message);
+    }
+
+    @Test
+    public void testCreateWithRateLimit() throws EnvironmentConfigException {
+        rateLimitExtension.setQps(20);
+        rateLimitExtension.setBurst(40);
+        EnvironmentConfig environmentConfig = EnvironmentConfigFactory.create(environmentExtension);
+        testEquality(environmentConfig);
+        assertTrue(environmentConfig.getRateLimitConfig().isLimited());
+    }
+
+    @Test
+    public void testCreateWithoutRateLimit() throws EnvironmentConfigException {
+        when(environmentExtension.getRateLimitExtension()).thenReturn(null);
+        EnvironmentConfig environmentConfig = EnvironmentConfigFactory.create(environmentExtension);
+
+        // Reset
+        when(environmentExtension.getRateLimitExtension()).thenReturn(rateLimitExtension);
+
+        testEquality(environmentConfig);
+        assertFalse(environmentConfig.getRateLimitConfig().isLimited());
+    }
+
+    @Test
+    public void testCreateWithInvalidRateLimit() {
+        rateLimitExtension.setBurst(0);
+        String message = PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_INVALID_RATE_LIMIT", environmentExtension.getId());
+        assertExceptionOnCreate(environmentExtension, message);
+    }
+
+    @Test
+    public void testCreateWithCompression() throws EnvironmentConfigException {
+        compressionExtension.setThreshold(4096);
+        EnvironmentConfig environmentConfig = EnvironmentConfigFactory.create(environmentExtension);
+        testEquality(environmentConfig);
+        assertTrue(environmentConfig.getCompressionConfig().isEnabled());
+    }
+
+    @Test
+    public void testCreateWithoutCompression() throws EnvironmentConfigException {
+        when(environmentExtension.getCompressionExtension()).thenReturn(null);
+        EnvironmentConfig environmentConfig = EnvironmentConfigFactory.create(environmentExtension);
+
+        // Reset
+        when(environmentExtension.getCompressionExtension()).thenReturn(compressionExtension);
+
+        assertFalse(environmentConfig.getCompressionConfig().isEnabled());
+        assertEquals(CompressionConfig.DEFAULT_THRESHOLD, environmentConfig.getCompressionConfig().getThreshold());
+    }
+
+    @Test
+    public void testCreateWithInvalidCompression() {
+        compressionExtension.setThreshold(-1);
+        String message = PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_INVALID_COMPRESSION", environmentExtension.getId());
+        assertExceptionOnCreate(environmentExtension, message);
+    }
+
+    @Test
+    public void testCreateWithHttp() throws EnvironmentConfigException {
+        httpExtension.setMaxRequestsPerHost(20);
+        httpExtension.setProtocols(Collections.singletonList(HttpConfig.PROTOCOL_HTTP_1_1));
+        httpExtension.setCallTimeout(60000);
+        httpExtension.setTlsSessionCacheSize(100);
+        EnvironmentConfig environmentConfig = EnvironmentConfigFactory.create(environmentExtension);
+        testEquality(environmentConfig);
+    }
+
+    @Test
+    public void testCreateWithoutHttp() throws EnvironmentConfigException {
+        when(environmentExtension.getHttpExtension()).thenReturn(null);
+        EnvironmentConfig environmentConfig = EnvironmentConfigFactory.create(environmentExtension);
+
+        // Reset
+        when(environmentExtension.getHttpExtension()).thenReturn(httpExtension);
+
+        assertEquals(new HttpConfig(), environmentConfig.getHttpConfig());
+    }
+
+    @Test
+    public void testCreateWithInvalidHttp() {
+        httpExtension.setMaxRequestsPerHost(0);
+        String message = PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_INVALID_HTTP", environmentExtension.getId());
+        assertExceptionOnCreate(environmentExtension, message);
+    }
+
+    @Test
+    public void testCreateWithInvalidHttpProtocols() {
+        httpExtension.setProtocols(Collections.singletonList(HttpConfig.PROTOCOL_HTTP_2));
+        String message = PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_INVALID_HTTP", environmentExtension.getId());
+        assertExceptionOnCreate(environmentExtension, message);
+    }
+
     @Test
     public void testCreateWithEmptyBaseUrl() {
         when(environmentExtension.getBaseUrl()).thenReturn("");
@@ -235,9 +513,22 @@ public class EnvironmentConfigFactoryTest {
         if (config instanceof KubernetesEnvironmentConfig) {
             String namespace = ((KubernetesEnvironmentConfig) config).getNamespace();
             assertEquals(environmentExtension.getNamespace(), namespace);
+            boolean watchEnabled = ((KubernetesEnvironmentConfig) config).isWatchEnabled();
+            assertEquals(environmentExtension.isWatch(), watchEnabled);
+            boolean snapshotEnabled = ((KubernetesEnvironmentConfig) config).isSnapshotEnabled();
+            assertEquals(environmentExtension.isSnapshot(), snapshotEnabled);
+            boolean protobufEnabled = ((KubernetesEnvironmentConfig) config).isProtobufEnabled();
+            assertEquals(environmentExtension.isProtobuf(), protobufEnabled);
         }
         testEquality(config.getAuthConfig());
         testEquality(config.getSslConfig());
+        testEquality(config.getExecutionConfig());
+        testEquality(waitExtension, config.getWaitConfig());
+        testEquality(config.getRetryConfig());
+        testEquality(config.getCircuitBreakerConfig());
+        testEquality(config.getRateLimitConfig());
+        testEquality(config.getCompressionConfig());
+        testEquality(config.getHttpConfig());
     }
 
     private void testEquality(AuthConfig authConfig) throws EnvironmentConfigException {
@@ -248,11 +539,69 @@ public class EnvironmentConfigFactoryTest {
         assertEquals(token, authConfig.getToken());
     }
 
-    private void testEquality(SSLConfig sslConfig) {
-        String certificate = sslExtension.getCertificate();
+    private void testEquality(SSLConfig sslConfig) throws EnvironmentConfigException {
+        String certificate;
+        try {
+            certificate = sslExtension.getCertificate();
+        } catch (ResourceConfigException e) {
+            throw new AssertionError(e);
+        }
         certificate = certificate == null ? "" : certificate;
         assertEquals(certificate, sslConfig.getCertificate());
         assertEquals(!certificate.isEmpty(), sslConfig.hasCertificate());
         assertEquals(sslExtension.isTrustAll(), sslConfig.isTrustAll());
     }
+
+    private void testEquality(ExecutionConfig executionConfig) {
+        assertEquals(executionExtension.getParallelism(), executionConfig.getParallelism());
+        assertEquals(executionExtension.isDeleteBeforeCreate(), executionConfig.isDeleteBeforeCreate());
+    }
+
+    private void testEquality(WaitExtension waitExtension, WaitConfig waitConfig) {
+        assertEquals(waitExtension.getInitialDelay(), waitConfig.getInitialDelay());
+        assertEquals(waitExtension.getMaxDelay(), waitConfig.getMaxDelay());
+        assertEquals(waitExtension.getMultiplier(), waitConfig.getMultiplier(), 0);
+        assertEquals(waitExtension.getJitter(), waitConfig.getJitter(), 0);
+        assertEquals(waitExtension.getTimeout(), waitConfig.getTimeout());
+    }
+
+    private void testEquality(RateLimitConfig rateLimitConfig) {
+        assertEquals(rateLimitExtension.getQps(), rateLimitConfig.getQps(), 0);
+        assertEquals(rateLimitExtension.getBurst(), rateLimitConfig.getBurst());
+    }
+
+    private void testEquality(CompressionConfig compressionConfig) {
+        assertEquals(compressionExtension.isEnabled(), compressionConfig.isEnabled());
+        assertEquals(compressionExtension.getThreshold(), compressionConfig.getThreshold());
+    }
+
+    private void testEquality(HttpConfig httpConfig) {
+        assertEquals(httpExtension.getMaxIdleConnections(), httpConfig.getMaxIdleConnections());
+        assertEquals(httpExtension.getKeepAliveDuration(), httpConfig.getKeepAliveDuration());
+        assertEquals(httpExtension.getMaxRequests(), httpConfig.getMaxRequests());
+        assertEquals(httpExtension.getMaxRequestsPerHost(), httpConfig.getMaxRequestsPerHost());
+        assertEquals(httpExtension.getProtocols(), httpConfig.getProtocols());
+        assertEquals(httpExtension.getConnectTimeout(), httpConfig.getConnectTimeout());
+        assertEquals(httpExtension.getReadTimeout(), httpConfig.getReadTimeout());
+        assertEquals(httpExtension.getWriteTimeout(), httpConfig.getWriteTimeout());
+        assertEquals(httpExtension.getCallTimeout(), httpConfig.getCallTimeout());
+        assertEquals(httpExtension.getTlsSessionCacheSize(), httpConfig.getTlsSessionCacheSize());
+    }
+
+    private void testEquality(CircuitBreakerConfig circuitBreakerConfig) {
+        assertEquals(circuitBreakerExtension.getWindowSize(), circuitBreakerConfig.getWindowSize());
+        assertEquals(circuitBreakerExtension.getMinimumCalls(), circuitBreakerConfig.getMinimumCalls());
+        assertEquals(circuitBreakerExtension.getFailureRateThreshold(), circuitBreakerConfig.getFailureRateThreshold(), 0);
+        assertEquals(circuitBreakerExtension.getSlowCallDuration(), circuitBreakerConfig.getSlowCallDuration());
+        assertEquals(circuitBreakerExtension.getOpenDuration(), circuitBreakerConfig.getOpenDuration());
+    }
+
+    private void testEquality(RetryConfig retryConfig) {
+        assertEquals(retryExtension.getMaxAttempts(), retryConfig.getMaxAttempts());
+        assertEquals(retryExtension.getInitialDelay(), retryConfig.getInitialDelay());
+        assertEquals(retryExtension.getMaxDelay(), retryConfig.getMaxDelay());
+        assertEquals(retryExtension.getMultiplier(), retryConfig.getMultiplier(), 0);
+        assertEquals(retryExtension.getJitter(), retryConfig.getJitter(), 0);
+        assertEquals(retryExtension.getBudget(), retryConfig.getBudget());
+    }
 }
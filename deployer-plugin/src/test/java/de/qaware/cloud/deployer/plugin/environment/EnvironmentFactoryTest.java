@@ -20,6 +20,7 @@ import de.qaware.cloud.deployer.commons.config.environment.AuthConfig;
 import de.qaware.cloud.deployer.commons.config.environment.EnvironmentConfig;
 import de.qaware.cloud.deployer.commons.config.environment.SSLConfig;
 import de.qaware.cloud.deployer.commons.error.EnvironmentConfigException;
+import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
 import de.qaware.cloud.deployer.kubernetes.KubernetesDeployer;
 import de.qaware.cloud.deployer.kubernetes.config.cloud.KubernetesEnvironmentConfig;
 import de.qaware.cloud.deployer.marathon.MarathonDeployer;
@@ -43,7 +44,7 @@ import static org.mockito.Mockito.when;
 public class EnvironmentFactoryTest {
 
     @Test
-    public void testCreate() throws EnvironmentConfigException {
+    public void testCreate() throws EnvironmentConfigException, ResourceConfigException {
         EnvironmentExtension environmentExtension1 = createEnvironmentExtension(1);
         EnvironmentExtension environmentExtension2 = createEnvironmentExtension(2);
 
@@ -86,7 +87,7 @@ public class EnvironmentFactoryTest {
         return environmentExtension;
     }
 
-    private void testEquality(EnvironmentExtension environmentExtension, EnvironmentConfig config) throws EnvironmentConfigException {
+    private void testEquality(EnvironmentExtension environmentExtension, EnvironmentConfig config) throws EnvironmentConfigException, ResourceConfigException {
         assertEquals(environmentExtension.getStrategy(), config.getStrategy().toString());
         assertEquals(environmentExtension.getId(), config.getId());
         assertEquals(environmentExtension.getBaseUrl(), config.getBaseUrl());
@@ -106,7 +107,7 @@ public class EnvironmentFactoryTest {
         assertEquals(token, authConfig.getToken());
     }
 
-    private void testEquality(SSLExtension sslExtension, SSLConfig sslConfig) {
+    private void testEquality(SSLExtension sslExtension, SSLConfig sslConfig) throws EnvironmentConfigException, ResourceConfigException {
         String certificate = sslExtension.getCertificate();
         certificate = certificate == null ? "" : certificate;
         assertEquals(certificate, sslConfig.getCertificate());
@@ -24,9 +24,14 @@ import java.util.Collection;
 import java.util.Iterator;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -89,4 +94,47 @@ public class DeployerExtensionTest {
         assertEquals(environmentExtension1, iterator.next());
         assertEquals(environmentExtension2, iterator.next());
     }
+
+    @Test
+    public void testParallelEnvironments() {
+        assertEquals(1, deployerExtension.getParallelEnvironments());
+        deployerExtension.setParallelEnvironments(4);
+        assertEquals(4, deployerExtension.getParallelEnvironments());
+    }
+
+    @Test
+    public void testConfigsAreConfiguredLazily() {
+        EnvironmentExtension environmentExtension = mock(EnvironmentExtension.class);
+        when(project.configure(any(EnvironmentExtension.class), any(Closure.class))).thenReturn(environmentExtension);
+
+        Closure closure = mock(Closure.class);
+        deployerExtension.kubernetes(closure);
+        verify(project, never()).configure(any(EnvironmentExtension.class), any(Closure.class));
+
+        assertEquals(environmentExtension, deployerExtension.getConfigs().iterator().next());
+        deployerExtension.getConfigs();
+        verify(project, times(1)).configure(any(EnvironmentExtension.class), eq(closure));
+
+        // Configs added afterwards are configured immediately
+        deployerExtension.marathon(closure);
+        verify(project, times(2)).configure(any(EnvironmentExtension.class), eq(closure));
+        assertEquals(2, deployerExtension.getConfigs().size());
+    }
+
+    @Test
+    public void testReturnedExtensionIsConfiguredWithTheConfigs() {
+        when(project.configure(any(EnvironmentExtension.class), any(Closure.class))).thenAnswer(invocation -> {
+            EnvironmentExtension config = (EnvironmentExtension) invocation.getArguments()[0];
+            config.setId("environment");
+            return config;
+        });
+
+        Closure closure = mock(Closure.class);
+        EnvironmentExtension environmentExtension = deployerExtension.kubernetes(closure);
+        assertEquals(DeployerType.KUBERNETES, environmentExtension.getDeployerType());
+        assertNull(environmentExtension.getId());
+
+        assertSame(environmentExtension, deployerExtension.getConfigs().iterator().next());
+        assertEquals("environment", environmentExtension.getId());
+    }
 }
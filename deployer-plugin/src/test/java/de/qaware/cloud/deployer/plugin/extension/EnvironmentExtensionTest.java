@@ -52,4 +52,91 @@ public class EnvironmentExtensionTest {
         environmentExtension.ssl(closure);
         assertEquals(sslExtension, environmentExtension.getSslExtension());
     }
+
+    @Test
+    public void testExecution() {
+        ExecutionExtension executionExtension = new ExecutionExtension();
+        Project project = mock(Project.class);
+        when(project.configure(any(ExecutionExtension.class), any(Closure.class))).thenReturn(executionExtension);
+        Closure closure = mock(Closure.class);
+
+        EnvironmentExtension environmentExtension = new EnvironmentExtension(DeployerType.MARATHON, project);
+        environmentExtension.execution(closure);
+        assertEquals(executionExtension, environmentExtension.getExecutionExtension());
+    }
+
+    @Test
+    public void testWaitPolicy() {
+        WaitExtension waitExtension = new WaitExtension();
+        WaitExtension namespaceExtension = new WaitExtension();
+        Project project = mock(Project.class);
+        when(project.configure(any(WaitExtension.class), any(Closure.class))).thenReturn(waitExtension, namespaceExtension);
+        Closure closure = mock(Closure.class);
+
+        EnvironmentExtension environmentExtension = new EnvironmentExtension(DeployerType.KUBERNETES, project);
+        environmentExtension.waitPolicy(closure);
+        environmentExtension.waitPolicy("Namespace", closure);
+        assertEquals(waitExtension, environmentExtension.getWaitExtension());
+        assertEquals(namespaceExtension, environmentExtension.getWaitProfiles().get("Namespace"));
+    }
+
+    @Test
+    public void testRetry() {
+        RetryExtension retryExtension = new RetryExtension();
+        Project project = mock(Project.class);
+        when(project.configure(any(RetryExtension.class), any(Closure.class))).thenReturn(retryExtension);
+        Closure closure = mock(Closure.class);
+
+        EnvironmentExtension environmentExtension = new EnvironmentExtension(DeployerType.MARATHON, project);
+        environmentExtension.retry(closure);
+        assertEquals(retryExtension, environmentExtension.getRetryExtension());
+    }
+
+    @Test
+    public void testCircuitBreaker() {
+        CircuitBreakerExtension circuitBreakerExtension = new CircuitBreakerExtension();
+        Project project = mock(Project.class);
+        when(project.configure(any(CircuitBreakerExtension.class), any(Closure.class))).thenReturn(circuitBreakerExtension);
+        Closure closure = mock(Closure.class);
+
+        EnvironmentExtension environmentExtension = new EnvironmentExtension(DeployerType.MARATHON, project);
+        environmentExtension.circuitBreaker(closure);
+        assertEquals(circuitBreakerExtension, environmentExtension.getCircuitBreakerExtension());
+    }
+
+    @Test
+    public void testRateLimit() {
+        RateLimitExtension rateLimitExtension = new RateLimitExtension();
+        Project project = mock(Project.class);
+        when(project.configure(any(RateLimitExtension.class), any(Closure.class))).thenReturn(rateLimitExtension);
+        Closure closure = mock(Closure.class);
+
+        EnvironmentExtension environmentExtension = new EnvironmentExtension(DeployerType.MARATHON, project);
+        environmentExtension.rateLimit(closure);
+        assertEquals(rateLimitExtension, environmentExtension.getRateLimitExtension());
+    }
+
+    @Test
+    public void testCompression() {
+        CompressionExtension compressionExtension = new CompressionExtension();
+        Project project = mock(Project.class);
+        when(project.configure(any(CompressionExtension.class), any(Closure.class))).thenReturn(compressionExtension);
+        Closure closure = mock(Closure.class);
+
+        EnvironmentExtension environmentExtension = new EnvironmentExtension(DeployerType.MARATHON, project);
+        environmentExtension.compression(closure);
+        assertEquals(compressionExtension, environmentExtension.getCompressionExtension());
+    }
+
+    @Test
+    public void testHttp() {
+        HttpExtension httpExtension = new HttpExtension();
+        Project project = mock(Project.class);
+        when(project.configure(any(HttpExtension.class), any(Closure.class))).thenReturn(httpExtension);
+        Closure closure = mock(Closure.class);
+
+        EnvironmentExtension environmentExtension = new EnvironmentExtension(DeployerType.MARATHON, project);
+        environmentExtension.http(closure);
+        assertEquals(httpExtension, environmentExtension.getHttpExtension());
+    }
 }
@@ -29,6 +29,7 @@ import java.nio.charset.Charset;
 import static de.qaware.cloud.deployer.commons.logging.CommonsMessageBundle.COMMONS_MESSAGE_BUNDLE;
 import static de.qaware.cloud.deployer.plugin.logging.PluginMessageBundle.PLUGIN_MESSAGE_BUNDLE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -55,8 +56,9 @@ public class SSLExtensionTest {
         boolean exceptionThrown = false;
         File certFile = folder.newFile();
         SSLExtension extension = new SSLExtension();
+        extension.setCertificate(certFile);
         try {
-            extension.setCertificate(certFile);
+            extension.getCertificate();
         } catch (EnvironmentConfigException e) {
             assertEquals(PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_RETRIEVING_CERTIFICATE_FROM_FILE", certFile.getName()), e.getMessage());
             exceptionThrown = true;
@@ -65,7 +67,7 @@ public class SSLExtensionTest {
     }
 
     @Test
-    public void testSetCertificateWithNullFile() throws IOException, EnvironmentConfigException {
+    public void testSetCertificateWithNullFile() {
         boolean exceptionThrown = false;
         SSLExtension extension = new SSLExtension();
         try {
@@ -76,4 +78,20 @@ public class SSLExtensionTest {
         }
         assertTrue(exceptionThrown);
     }
+
+    @Test
+    public void testSetCertificateReadsFileLazily() throws IOException, EnvironmentConfigException, ResourceConfigException {
+        File certFile = new File(folder.getRoot(), "cert.pem");
+        SSLExtension extension = new SSLExtension();
+        extension.setCertificate(certFile);
+        assertEquals(certFile, extension.getCertificateFile());
+
+        FileUtils.writeStringToFile(certFile, "CERT", Charset.defaultCharset());
+        assertEquals("CERT", extension.getCertificate());
+    }
+
+    @Test
+    public void testWithoutCertificate() throws EnvironmentConfigException, ResourceConfigException {
+        assertNull(new SSLExtension().getCertificate());
+    }
 }
@@ -16,13 +16,18 @@
 package de.qaware.cloud.deployer.plugin.task;
 
 import de.qaware.cloud.deployer.commons.Deployer;
+import de.qaware.cloud.deployer.commons.config.environment.EnvironmentConfig;
 import de.qaware.cloud.deployer.commons.error.EnvironmentConfigException;
+import de.qaware.cloud.deployer.commons.strategy.Strategy;
 import de.qaware.cloud.deployer.plugin.environment.Environment;
 import org.gradle.api.Project;
 import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.After;
 import org.junit.Before;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,13 +39,16 @@ import static org.mockito.Mockito.*;
  */
 abstract class BaseAllTaskTestHelper {
 
+    private final TemporaryFolder folder = new TemporaryFolder();
+
     BaseAllEnvironmentsTask task;
     List<Environment> environments;
 
     public abstract BaseAllEnvironmentsTask createTask(Project project);
 
     @Before
-    public void setup() throws EnvironmentConfigException {
+    public void setup() throws EnvironmentConfigException, IOException {
+        folder.create();
         Project project = ProjectBuilder.builder().build();
         task = createTask(project);
 
@@ -56,15 +64,21 @@ abstract class BaseAllTaskTestHelper {
         doNothing().when(task).setupEnvironments();
     }
 
-    private Environment createEnvironment(int idSuffix) {
-        File file0 = mock(File.class);
-        File file1 = mock(File.class);
+    @After
+    public void tearDown() {
+        folder.delete();
+    }
+
+    private Environment createEnvironment(int idSuffix) throws IOException {
+        File file0 = folder.newFile();
+        File file1 = folder.newFile();
         List<File> files = new ArrayList<>();
         files.add(file0);
         files.add(file1);
         Deployer deployer = mock(Deployer.class);
         Environment environment = mock(Environment.class);
         when(environment.getId()).thenReturn("environment" + idSuffix);
+        when(environment.getConfig()).thenReturn(new EnvironmentConfig("environment" + idSuffix, "http://localhost", Strategy.REPLACE));
         when(environment.getFiles()).thenReturn(files);
         when(environment.getDeployer()).thenReturn(deployer);
         return environment;
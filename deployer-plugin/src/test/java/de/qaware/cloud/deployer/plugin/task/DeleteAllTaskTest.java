@@ -22,6 +22,10 @@ import de.qaware.cloud.deployer.plugin.environment.Environment;
 import org.gradle.api.Project;
 import org.junit.Test;
 
+import java.io.IOException;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -47,4 +51,16 @@ public class DeleteAllTaskTest extends BaseAllTaskTestHelper {
             verify(environment.getDeployer(), never()).deploy(any());
         }
     }
+
+    @Test
+    public void testDeleteAllRemovesReceipts() throws ResourceException, ResourceConfigException, EnvironmentConfigException, IOException {
+        for (Environment environment : environments) {
+            DeploymentReceipt.write(task.getReceiptDirectory(), environment, DeploymentReceipt.fingerprint(environment));
+            assertTrue(DeploymentReceipt.isUpToDate(task.getReceiptDirectory(), environment));
+        }
+        ((DeleteAllTask) task).deleteAll();
+        for (Environment environment : environments) {
+            assertFalse(DeploymentReceipt.isUpToDate(task.getReceiptDirectory(), environment));
+        }
+    }
 }
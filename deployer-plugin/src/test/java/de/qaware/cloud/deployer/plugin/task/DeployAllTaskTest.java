@@ -15,6 +15,7 @@
  */
 package de.qaware.cloud.deployer.plugin.task;
 
+import de.qaware.cloud.deployer.commons.Deployer;
 import de.qaware.cloud.deployer.commons.error.EnvironmentConfigException;
 import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
 import de.qaware.cloud.deployer.commons.error.ResourceException;
@@ -22,7 +23,18 @@ import de.qaware.cloud.deployer.plugin.environment.Environment;
 import org.gradle.api.Project;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -47,4 +59,74 @@ public class DeployAllTaskTest extends BaseAllTaskTestHelper {
             verify(environment.getDeployer(), never()).delete(any());
         }
     }
+
+    @Test
+    public void testDeployAllInParallelReportsAllFailures() throws ResourceException, ResourceConfigException, EnvironmentConfigException {
+        DeployAllTask deployAllTask = (DeployAllTask) task;
+        doReturn(new EnvironmentExecutor(2)).when(deployAllTask).getEnvironmentExecutor();
+        for (Environment environment : environments) {
+            Deployer deployer = environment.getDeployer();
+            List<File> files = environment.getFiles();
+            doThrow(new ResourceException("error")).when(deployer).deploy(files);
+        }
+
+        boolean exceptionThrown = false;
+        try {
+            deployAllTask.deployAll();
+        } catch (ResourceException e) {
+            exceptionThrown = true;
+            assertEquals(2, e.getSuppressed().length);
+        }
+        assertTrue(exceptionThrown);
+        for (Environment environment : environments) {
+            verify(environment.getDeployer(), times(1)).deploy(environment.getFiles());
+        }
+    }
+
+    @Test
+    public void testDeployAllSkipsUnchangedEnvironments() throws ResourceException, ResourceConfigException, EnvironmentConfigException, IOException {
+        DeployAllTask deployAllTask = (DeployAllTask) task;
+        deployAllTask.deployAll();
+        deployAllTask.deployAll();
+        for (Environment environment : environments) {
+            verify(environment.getDeployer(), times(1)).deploy(environment.getFiles());
+        }
+
+        // A changed file only deploys its own environment again
+        Environment changedEnvironment = environments.get(0);
+        Files.write(changedEnvironment.getFiles().get(0).toPath(), "changed".getBytes(StandardCharsets.UTF_8));
+        deployAllTask.deployAll();
+        verify(changedEnvironment.getDeployer(), times(2)).deploy(changedEnvironment.getFiles());
+        verify(environments.get(1).getDeployer(), times(1)).deploy(environments.get(1).getFiles());
+    }
+
+    @Test
+    public void testDeployAllWithForce() throws ResourceException, ResourceConfigException, EnvironmentConfigException {
+        DeployAllTask deployAllTask = (DeployAllTask) task;
+        deployAllTask.deployAll();
+        deployAllTask.setForce(true);
+        deployAllTask.deployAll();
+        for (Environment environment : environments) {
+            verify(environment.getDeployer(), times(2)).deploy(environment.getFiles());
+        }
+    }
+
+    @Test
+    public void testFailedEnvironmentIsNotUpToDate() throws ResourceException, ResourceConfigException, EnvironmentConfigException {
+        DeployAllTask deployAllTask = (DeployAllTask) task;
+        Environment failedEnvironment = environments.get(1);
+        Deployer deployer = failedEnvironment.getDeployer();
+        List<File> files = failedEnvironment.getFiles();
+        doThrow(new ResourceException("error")).when(deployer).deploy(files);
+
+        boolean exceptionThrown = false;
+        try {
+            deployAllTask.deployAll();
+        } catch (ResourceException e) {
+            exceptionThrown = true;
+        }
+        assertTrue(exceptionThrown);
+        assertTrue(DeploymentReceipt.isUpToDate(deployAllTask.getReceiptDirectory(), environments.get(0)));
+        assertFalse(DeploymentReceipt.isUpToDate(deployAllTask.getReceiptDirectory(), failedEnvironment));
+    }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.plugin.task;
+
+import de.qaware.cloud.deployer.commons.Deployer;
+import de.qaware.cloud.deployer.commons.config.environment.EnvironmentConfig;
+import de.qaware.cloud.deployer.commons.strategy.Strategy;
+import de.qaware.cloud.deployer.kubernetes.config.cloud.KubernetesEnvironmentConfig;
+import de.qaware.cloud.deployer.plugin.environment.Environment;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author sjahreis
+ */
+public class DeploymentReceiptTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File receiptDirectory;
+    private File file;
+    private Deployer deployer;
+
+    @Before
+    public void setup() throws IOException {
+        receiptDirectory = new File(folder.getRoot(), "receipts");
+        file = folder.newFile("app.yml");
+        Files.write(file.toPath(), "replicas: 1".getBytes(StandardCharsets.UTF_8));
+        deployer = mock(Deployer.class);
+    }
+
+    @Test
+    public void testFingerprintIsStable() throws IOException {
+        Environment environment = createEnvironment(new EnvironmentConfig("test", "http://localhost", Strategy.REPLACE));
+        assertEquals(DeploymentReceipt.fingerprint(environment), DeploymentReceipt.fingerprint(environment));
+    }
+
+    @Test
+    public void testFingerprintChangesWithFileContent() throws IOException {
+        Environment environment = createEnvironment(new EnvironmentConfig("test", "http://localhost", Strategy.REPLACE));
+        String fingerprint = DeploymentReceipt.fingerprint(environment);
+        Files.write(file.toPath(), "replicas: 2".getBytes(StandardCharsets.UTF_8));
+        assertNotEquals(fingerprint, DeploymentReceipt.fingerprint(environment));
+    }
+
+    @Test
+    public void testFingerprintChangesWithConfig() throws IOException {
+        String fingerprint = DeploymentReceipt.fingerprint(createEnvironment(new EnvironmentConfig("test", "http://localhost", Strategy.REPLACE)));
+        assertNotEquals(fingerprint, DeploymentReceipt.fingerprint(createEnvironment(new EnvironmentConfig("test", "http://remote", Strategy.REPLACE))));
+        assertNotEquals(fingerprint, DeploymentReceipt.fingerprint(createEnvironment(new EnvironmentConfig("test", "http://localhost", Strategy.UPDATE))));
+
+        String kubernetesFingerprint = DeploymentReceipt.fingerprint(createEnvironment(new KubernetesEnvironmentConfig("test", "http://localhost", Strategy.REPLACE, "a")));
+        assertNotEquals(kubernetesFingerprint, DeploymentReceipt.fingerprint(createEnvironment(new KubernetesEnvironmentConfig("test", "http://localhost", Strategy.REPLACE, "b"))));
+    }
+
+    @Test
+    public void testWriteAndDelete() throws IOException {
+        Environment environment = createEnvironment(new EnvironmentConfig("test", "http://localhost", Strategy.REPLACE));
+        assertFalse(DeploymentReceipt.isUpToDate(receiptDirectory, environment));
+
+        DeploymentReceipt.write(receiptDirectory, environment, DeploymentReceipt.fingerprint(environment));
+        assertTrue(DeploymentReceipt.isUpToDate(receiptDirectory, environment));
+        assertEquals(1, receiptDirectory.list().length);
+
+        DeploymentReceipt.delete(receiptDirectory, environment);
+        assertFalse(DeploymentReceipt.isUpToDate(receiptDirectory, environment));
+        assertEquals(0, receiptDirectory.list().length);
+    }
+
+    @Test
+    public void testChangedEnvironmentIsNotUpToDate() throws IOException {
+        Environment environment = createEnvironment(new EnvironmentConfig("test", "http://localhost", Strategy.REPLACE));
+        DeploymentReceipt.write(receiptDirectory, environment, DeploymentReceipt.fingerprint(environment));
+
+        Files.write(file.toPath(), "replicas: 2".getBytes(StandardCharsets.UTF_8));
+        assertFalse(DeploymentReceipt.isUpToDate(receiptDirectory, environment));
+    }
+
+    @Test
+    public void testFileChangedDuringDeploymentIsNotUpToDate() throws IOException {
+        Environment environment = createEnvironment(new EnvironmentConfig("test", "http://localhost", Strategy.REPLACE));
+        String fingerprint = DeploymentReceipt.fingerprint(environment);
+
+        // The file is edited while the environment is deployed
+        Files.write(file.toPath(), "replicas: 2".getBytes(StandardCharsets.UTF_8));
+        DeploymentReceipt.write(receiptDirectory, environment, fingerprint);
+
+        assertTrue(DeploymentReceipt.isUpToDate(receiptDirectory, environment, fingerprint));
+        assertFalse(DeploymentReceipt.isUpToDate(receiptDirectory, environment));
+    }
+
+    @Test
+    public void testMissingFileIsNotUpToDate() throws IOException {
+        Environment environment = createEnvironment(new EnvironmentConfig("test", "http://localhost", Strategy.REPLACE));
+        DeploymentReceipt.write(receiptDirectory, environment, DeploymentReceipt.fingerprint(environment));
+
+        assertTrue(file.delete());
+        assertFalse(DeploymentReceipt.isUpToDate(receiptDirectory, environment));
+    }
+
+    @Test
+    public void testReceiptName() {
+        Environment environment = createEnvironment(new EnvironmentConfig("dev/eu west", "http://localhost", Strategy.REPLACE));
+        assertEquals(new File(receiptDirectory, "dev_eu_west.receipt"), DeploymentReceipt.getReceipt(receiptDirectory, environment));
+    }
+
+    private Environment createEnvironment(EnvironmentConfig config) {
+        List<File> files = new ArrayList<>();
+        files.add(file);
+        Environment environment = mock(Environment.class);
+        when(environment.getId()).thenReturn(config.getId());
+        when(environment.getConfig()).thenReturn(config);
+        when(environment.getDeployer()).thenReturn(deployer);
+        when(environment.getFiles()).thenReturn(files);
+        return environment;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2016 QAware GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.qaware.cloud.deployer.plugin.task;
+
+import de.qaware.cloud.deployer.commons.Deployer;
+import de.qaware.cloud.deployer.commons.error.ResourceConfigException;
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.logging.EnvironmentLogContext;
+import de.qaware.cloud.deployer.plugin.environment.Environment;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static de.qaware.cloud.deployer.plugin.logging.PluginMessageBundle.PLUGIN_MESSAGE_BUNDLE;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author sjahreis
+ */
+public class EnvironmentExecutorTest {
+
+    private Environment environment1;
+    private Environment environment2;
+    private Deployer deployer1;
+    private Deployer deployer2;
+    private List<File> files;
+    private List<Environment> environments;
+
+    @Before
+    public void setup() {
+        files = new ArrayList<>();
+        deployer1 = mock(Deployer.class);
+        deployer2 = mock(Deployer.class);
+        environment1 = createEnvironment("environment1", deployer1);
+        environment2 = createEnvironment("environment2", deployer2);
+        environments = new ArrayList<>();
+        environments.add(environment1);
+        environments.add(environment2);
+    }
+
+    @Test
+    public void testSequentialExecution() throws ResourceException, ResourceConfigException {
+        EnvironmentExecutor executor = new EnvironmentExecutor(1);
+        executor.execute(environments, environment -> environment.getDeployer().deploy(environment.getFiles()));
+
+        verify(deployer1, times(1)).deploy(files);
+        verify(deployer2, times(1)).deploy(files);
+    }
+
+    @Test
+    public void testSequentialExecutionStopsAtFirstError() throws ResourceException, ResourceConfigException {
+        ResourceException exception = new ResourceException("error");
+        doThrow(exception).when(deployer1).deploy(files);
+
+        EnvironmentExecutor executor = new EnvironmentExecutor(1);
+        boolean exceptionThrown = false;
+        try {
+            executor.execute(environments, environment -> environment.getDeployer().deploy(environment.getFiles()));
+        } catch (ResourceException e) {
+            exceptionThrown = true;
+            assertEquals(exception, e);
+        }
+        assertTrue(exceptionThrown);
+
+        verify(deployer1, times(1)).deploy(files);
+        verify(deployer2, times(0)).deploy(files);
+    }
+
+    @Test
+    public void testConcurrentExecution() throws ResourceException, ResourceConfigException {
+        // Both operations wait for each other - this only finishes if they run at the same time
+        CountDownLatch latch = new CountDownLatch(2);
+        List<String> threadNames = new ArrayList<>();
+        List<String> logContexts = new ArrayList<>();
+        EnvironmentExecutor executor = new EnvironmentExecutor(2);
+        executor.execute(environments, environment -> {
+            synchronized (threadNames) {
+                threadNames.add(Thread.currentThread().getName());
+                logContexts.add(EnvironmentLogContext.getEnvironmentId());
+            }
+            latch.countDown();
+            try {
+                assertTrue(latch.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new ResourceException(e);
+            }
+            environment.getDeployer().deploy(environment.getFiles());
+        });
+
+        verify(deployer1, times(1)).deploy(files);
+        verify(deployer2, times(1)).deploy(files);
+        assertTrue(threadNames.contains("deployer-environment-environment1"));
+        assertTrue(threadNames.contains("deployer-environment-environment2"));
+        assertTrue(logContexts.contains("environment1"));
+        assertTrue(logContexts.contains("environment2"));
+    }
+
+    @Test
+    public void testConcurrentExecutionSingleConfigError() throws ResourceException, ResourceConfigException {
+        ResourceConfigException exception = new ResourceConfigException("error");
+        doThrow(exception).when(deployer2).deploy(files);
+
+        EnvironmentExecutor executor = new EnvironmentExecutor(2);
+        boolean exceptionThrown = false;
+        try {
+            executor.execute(environments, environment -> environment.getDeployer().deploy(environment.getFiles()));
+        } catch (ResourceConfigException e) {
+            exceptionThrown = true;
+            assertEquals(exception, e);
+        }
+        assertTrue(exceptionThrown);
+
+        verify(deployer1, times(1)).deploy(files);
+        verify(deployer2, times(1)).deploy(files);
+    }
+
+    @Test
+    public void testConcurrentExecutionAggregatesErrors() throws ResourceException, ResourceConfigException {
+        ResourceException exception1 = new ResourceException("error1");
+        ResourceConfigException exception2 = new ResourceConfigException("error2");
+        doThrow(exception1).when(deployer1).deploy(files);
+        doThrow(exception2).when(deployer2).deploy(files);
+
+        EnvironmentExecutor executor = new EnvironmentExecutor(2);
+        boolean exceptionThrown = false;
+        try {
+            executor.execute(environments, environment -> environment.getDeployer().deploy(environment.getFiles()));
+        } catch (ResourceException e) {
+            exceptionThrown = true;
+            String message = PLUGIN_MESSAGE_BUNDLE.getMessage("DEPLOYER_PLUGIN_ERROR_ENVIRONMENTS_FAILED", 2, 2, "- error1\n- error2");
+            assertEquals(message, e.getMessage());
+            assertArrayEquals(new Throwable[]{exception1, exception2}, e.getSuppressed());
+        }
+        assertTrue(exceptionThrown);
+    }
+
+    private Environment createEnvironment(String id, Deployer deployer) {
+        Environment environment = mock(Environment.class);
+        when(environment.getId()).thenReturn(id);
+        when(environment.getFiles()).thenReturn(files);
+        when(environment.getDeployer()).thenReturn(deployer);
+        return environment;
+    }
+}
@@ -18,15 +18,23 @@ package de.qaware.cloud.deployer.plugin.token;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import de.qaware.cloud.deployer.commons.config.environment.EnvironmentConfig;
+import de.qaware.cloud.deployer.commons.config.environment.TokenProvider;
 import de.qaware.cloud.deployer.commons.error.EnvironmentConfigException;
+import de.qaware.cloud.deployer.commons.error.ResourceException;
+import de.qaware.cloud.deployer.commons.resource.TokenCache;
+import de.qaware.cloud.deployer.commons.strategy.Strategy;
+import org.junit.After;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
+import java.io.IOException;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static de.qaware.cloud.deployer.plugin.logging.PluginMessageBundle.PLUGIN_MESSAGE_BUNDLE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -40,6 +48,14 @@ public class OpenIdConnectIdTokenInitializerTest {
     @Rule
     public WireMockRule wireMockRule = new WireMockRule(WireMockConfiguration.options().dynamicPort());
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @After
+    public void tearDown() {
+        TokenCache.clear();
+    }
+
     @Test
     public void testInitialize() throws EnvironmentConfigException {
         String authToken = "TOKEN";
@@ -54,13 +70,34 @@ public class OpenIdConnectIdTokenInitializerTest {
         File tokenFile = new File(this.getClass().getResource(TOKEN_DIR + "token.txt").getPath());
         OpenIdConnectIdTokenInitializer openIdConnectIdTokenInitializer = new OpenIdConnectIdTokenInitializer(tokenFile);
 
-        EnvironmentConfig environmentConfig = mock(EnvironmentConfig.class);
-        when(environmentConfig.getBaseUrl()).thenReturn("http://localhost:" + wireMockRule.port());
+        EnvironmentConfig environmentConfig = new EnvironmentConfig("test", "http://localhost:" + wireMockRule.port(), Strategy.REPLACE);
 
         String token = openIdConnectIdTokenInitializer.initialize(environmentConfig);
         assertEquals(correctToken, token);
     }
 
+    @Test
+    public void testInitializeCachesToken() throws EnvironmentConfigException, ResourceException, IOException {
+        String correctToken = "TOKEN_RESPONSE";
+        wireMockRule.stubFor(post(urlEqualTo("/acs/api/v1/auth/login"))
+                .willReturn(aResponse().withStatus(200).withBody(createTokenBody(correctToken))));
+
+        File tokenFile = new File(this.getClass().getResource(TOKEN_DIR + "token.txt").getPath());
+        OpenIdConnectIdTokenInitializer openIdConnectIdTokenInitializer = new OpenIdConnectIdTokenInitializer(tokenFile, temporaryFolder.newFolder());
+
+        EnvironmentConfig environmentConfig = new EnvironmentConfig("test", "http://localhost:" + wireMockRule.port(), Strategy.REPLACE);
+
+        assertEquals(correctToken, openIdConnectIdTokenInitializer.initialize(environmentConfig));
+        TokenProvider tokenProvider = openIdConnectIdTokenInitializer.initializeProvider(environmentConfig);
+        assertEquals(correctToken, tokenProvider.getToken());
+        assertSame(tokenProvider, openIdConnectIdTokenInitializer.initializeProvider(environmentConfig));
+        wireMockRule.verify(1, postRequestedFor(urlEqualTo("/acs/api/v1/auth/login")));
+
+        // A rejected token is replaced by logging in again
+        assertEquals(correctToken, tokenProvider.refreshToken(correctToken));
+        wireMockRule.verify(2, postRequestedFor(urlEqualTo("/acs/api/v1/auth/login")));
+    }
+
     @Test
     public void testInitializeWithInvalidToken() throws EnvironmentConfigException {
         wireMockRule.stubFor(post(urlEqualTo("/acs/api/v1/auth/login"))